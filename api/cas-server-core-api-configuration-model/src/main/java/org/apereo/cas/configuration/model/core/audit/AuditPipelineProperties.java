@@ -0,0 +1,64 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditPipelineProperties}. Controls how audit records are buffered and written in batches
+ * by audit destinations that are set to record audits asynchronously.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-core-audit")
+@Getter
+@Setter
+public class AuditPipelineProperties implements Serializable {
+
+    private static final long serialVersionUID = -4153927601234187390L;
+
+    /**
+     * Maximum number of audit records that may be waiting to be written.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records written in a single batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum amount of time audit records may wait for a batch to fill up before they are written.
+     */
+    private String flushInterval = "PT1S";
+
+    /**
+     * What should happen to audit records once the buffer is full.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code BLOCK}: Wait for room in the buffer, slowing down requests that produce audits.</li>
+     * <li>{@code DROP}: Discard the audit record and count it as dropped.</li>
+     * <li>{@code SPILL}: Write the audit record to a file on local disk, to be written to the
+     * audit destination once the buffer has drained.</li>
+     * </ul>
+     */
+    private String overflowPolicy = "BLOCK";
+
+    /**
+     * Directory where audit records are spilled when the overflow policy is {@code SPILL}.
+     * If left undefined, the system temporary directory is used.
+     */
+    private String spillDirectory;
+
+    /**
+     * Name of the file, without extension, to which audit records are spilled when the overflow policy is {@code SPILL}.
+     * If left undefined, the name is derived from the audit destination. Each audit destination locks its own file;
+     * if the file is already used by another destination or CAS server that shares the directory,
+     * a numeric suffix is appended to the name.
+     */
+    private String spillFileName;
+}
@@ -101,6 +101,13 @@ public class AuditProperties implements Serializable {
     @NestedConfigurationProperty
     private AuditCouchbaseProperties couchbase = new AuditCouchbaseProperties();
 
+    /**
+     * Family of sub-properties that control how audit records are buffered and written in batches
+     * by destinations that record audits asynchronously.
+     */
+    @NestedConfigurationProperty
+    private AuditPipelineProperties pipeline = new AuditPipelineProperties();
+
     /**
      * Indicates whether catastrophic audit failures should simply be logged
      * or whether errors should bubble up and thrown back.
@@ -21,4 +21,11 @@ public class AuditRestProperties extends RestEndpointProperties {
      * Make storage requests asymchronously.
      */
     private boolean asynchronous = true;
+
+    /**
+     * Whether audit records that are recorded asynchronously should be sent in batches,
+     * as a JSON array of audit records in a single request. The endpoint must be able to accept
+     * such requests; otherwise each audit record is sent in a request of its own.
+     */
+    private boolean batchRequests;
 }
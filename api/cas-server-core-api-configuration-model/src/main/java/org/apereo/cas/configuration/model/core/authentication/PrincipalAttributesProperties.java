@@ -8,7 +8,9 @@ import lombok.Setter;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -133,4 +135,107 @@ public class PrincipalAttributesProperties implements Serializable {
      * </pre>
      */
     private GrouperPrincipalAttributesProperties grouper = new GrouperPrincipalAttributesProperties();
+
+    /**
+     * Control whether attribute repository sources are queried concurrently.
+     */
+    private Parallel parallel = new Parallel();
+
+    /**
+     * Control the cache of principal attributes that is shared by attribute release policies of all services.
+     */
+    private Cache cache = new Cache();
+
+    @RequiresModule(name = "cas-server-core-authentication", automated = true)
+    @Getter
+    @Setter
+    public static class Cache implements Serializable {
+
+        private static final long serialVersionUID = -7052143312958826101L;
+
+        /**
+         * Whether principal attributes cached by attribute release policies of services
+         * should be kept in a single cache, rather than in one cache per service.
+         * Attributes of a principal are then fetched and kept once for all services that share
+         * the same merging strategy, while each service still decides how long cached attributes remain valid.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Approximate amount of memory that cached attributes may take up, i.e. {@code 64MB}.
+         * Attributes of principals that were used least recently are removed once the limit is reached.
+         */
+        private String maximumSize = "64MB";
+
+        /**
+         * Maximum amount of time attributes are kept in the cache, regardless of
+         * how long services consider them to be valid.
+         */
+        private String maximumLifetime = "PT8H";
+
+        /**
+         * Whether cached attributes of a principal should be removed once the principal logs in,
+         * so that attributes are fetched afresh for each single sign-on session.
+         */
+        private boolean invalidateOnLogin = true;
+    }
+
+    @RequiresModule(name = "cas-server-support-person-directory", automated = true)
+    @Getter
+    @Setter
+    public static class Parallel implements Serializable {
+
+        private static final long serialVersionUID = 4612853012866431509L;
+
+        /**
+         * Whether attribute repository sources should be queried concurrently
+         * rather than one after another. Results are still merged in the order
+         * in which sources are defined, using the configured merging strategy.
+         */
+        private boolean enabled;
+
+        /**
+         * Number of threads that query attribute repository sources.
+         */
+        private int threads = 10;
+
+        /**
+         * Default amount of time given to each source to produce attributes,
+         * measured from the moment the query is submitted.
+         */
+        private String timeout = "PT5S";
+
+        /**
+         * Whether sources that fail or do not respond in time should be skipped (fail-open),
+         * or should cause the entire attribute resolution attempt to fail (fail-closed).
+         */
+        private boolean failOpen = true;
+
+        /**
+         * Settings that override the defaults for individual sources.
+         * Keys are either the type of the source, i.e. {@code ldap}, {@code jdbc}, {@code rest},
+         * {@code groovy}, {@code json}, {@code script}, {@code grouper} or {@code stub}, in which case
+         * settings apply to all sources of that type, or the type followed by the position of the source
+         * among those of the same type, i.e. {@code ldap-0}.
+         */
+        private Map<String, Source> sources = new LinkedHashMap<>();
+    }
+
+    @RequiresModule(name = "cas-server-support-person-directory", automated = true)
+    @Getter
+    @Setter
+    public static class Source implements Serializable {
+
+        private static final long serialVersionUID = -2281720381962043196L;
+
+        /**
+         * Amount of time given to the source to produce attributes.
+         */
+        private String timeout;
+
+        /**
+         * Whether the source should be skipped if it fails or does not respond in time.
+         */
+        private Boolean failOpen;
+    }
 }
@@ -82,6 +82,37 @@ public class MonitorProperties implements Serializable {
      */
     private Endpoints endpoints = new Endpoints();
 
+    /**
+     * Options for metrics recorded by CAS components.
+     */
+    private Metrics metrics = new Metrics();
+
+    @RequiresModule(name = "cas-server-support-metrics")
+    @Getter
+    @Setter
+    public static class Metrics implements Serializable {
+
+        private static final long serialVersionUID = 2867434710461542836L;
+
+        /**
+         * Maximum number of distinct registered services that are tagged individually
+         * on CAS meters. Once reached, all other services are recorded under a single
+         * {@code other} tag value so that the number of time series remains bounded.
+         */
+        private int maximumServiceTags = 100;
+
+        /**
+         * Whether CAS timers should publish percentile histograms,
+         * allowing latency percentiles to be aggregated across nodes by the monitoring backend.
+         */
+        private boolean percentileHistogram = true;
+
+        /**
+         * Whether ticket registry operations should be timed.
+         */
+        private boolean ticketRegistryEnabled = true;
+    }
+
     @RequiresModule(name = "cas-server-core-monitor", automated = true)
     @Getter
     @Setter
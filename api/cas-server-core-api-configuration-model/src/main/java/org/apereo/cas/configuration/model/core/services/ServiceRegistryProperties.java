@@ -133,6 +133,7 @@ public class ServiceRegistryProperties implements Serializable {
      * <ul>
      * <li>DEFAULT: Keep all services inside a concurrent map.</li>
      * <li>DOMAIN: Group registered services by their domain having been explicitly defined.</li>
+     * <li>INDEXED: Index registered services by their literal service id or prefix for quicker matching.</li>
      * </ul>
      */
     private ServiceManagementTypes managementType = ServiceManagementTypes.DEFAULT;
@@ -146,6 +147,10 @@ public class ServiceRegistryProperties implements Serializable {
          * Group service definitions by their domain.
          */
         DOMAIN,
+        /**
+         * Index service definitions by their literal service id or prefix.
+         */
+        INDEXED,
         /**
          * Default option to keep definitions in a map as they arrive.
          */
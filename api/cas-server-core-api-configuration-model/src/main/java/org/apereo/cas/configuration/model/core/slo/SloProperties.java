@@ -30,4 +30,63 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Control how asynchronous SLO callbacks are queued and delivered.
+     */
+    private Dispatch dispatch = new Dispatch();
+
+    @RequiresModule(name = "cas-server-core-authentication", automated = true)
+    @Getter
+    @Setter
+    public static class Dispatch implements Serializable {
+
+        private static final long serialVersionUID = -2371657231795318724L;
+
+        /**
+         * Whether asynchronous SLO callbacks should be queued and delivered by a dedicated pool of threads,
+         * with limits on the number of concurrent callbacks per host and retries of failed callbacks.
+         * When false, callbacks are handed over to the HTTP client.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of SLO callbacks that may be waiting for delivery.
+         * Callbacks that exceed this limit are rejected and reported as failures.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Number of threads that deliver SLO callbacks.
+         */
+        private int threads = 10;
+
+        /**
+         * Maximum number of SLO callbacks that are delivered to the same host concurrently.
+         */
+        private int maxConcurrencyPerHost = 2;
+
+        /**
+         * Maximum number of callbacks to the same logout endpoint that are delivered
+         * one after another by a thread, before giving way to other endpoints.
+         */
+        private int batchSize = 20;
+
+        /**
+         * Maximum number of delivery attempts of an SLO callback.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Delay before the first retry of a failed SLO callback. The delay doubles with every attempt.
+         */
+        private String retryDelay = "PT2S";
+
+        /**
+         * Whether pending SLO callbacks should be kept in the ticket registry as transient session tickets,
+         * so that they may be delivered after a restart. Callbacks survive only as long as
+         * transient session tickets do.
+         */
+        private boolean persistent;
+    }
 }
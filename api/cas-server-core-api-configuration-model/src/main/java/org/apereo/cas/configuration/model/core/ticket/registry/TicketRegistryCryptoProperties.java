@@ -0,0 +1,28 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Cryptography settings of ticket registries, which are able to decode
+ * tickets that are encrypted and signed in more than one form.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+@Setter
+public class TicketRegistryCryptoProperties extends EncryptionRandomizedSigningJwtCryptographyProperties {
+
+    private static final long serialVersionUID = 5461257311938722470L;
+
+    /**
+     * Whether tickets should be encrypted and authenticated in a single pass
+     * using {@code AES/GCM}, instead of being encrypted and then signed.
+     * Tickets produced in either form can always be decoded. In a cluster, turn this on
+     * once every node runs a version that is able to decode such tickets.
+     */
+    private boolean authenticatedEncryption;
+}
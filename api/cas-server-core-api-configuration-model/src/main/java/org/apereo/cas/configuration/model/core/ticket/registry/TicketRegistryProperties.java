@@ -1,6 +1,5 @@
 package org.apereo.cas.configuration.model.core.ticket.registry;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
 import org.apereo.cas.configuration.model.support.couchbase.ticketregistry.CouchbaseTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.couchdb.ticketregistry.CouchDbTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
@@ -106,6 +105,16 @@ public class TicketRegistryProperties implements Serializable {
      */
     private InMemory inMemory = new InMemory();
 
+    /**
+     * Settings relevant for the local near cache that may be placed in front of the ticket registry.
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * Codec that turns tickets into bytes before they are encrypted and stored by the ticket registry.
+     * Only applies to ticket registries whose tickets are encrypted.
+     */
+    private TicketCodecTypes codec = TicketCodecTypes.DEFAULT;
 
     /**
      * CouchDb registry settings.
@@ -155,10 +164,53 @@ public class TicketRegistryProperties implements Serializable {
          * Crypto settings for the registry.
          */
         @NestedConfigurationProperty
-        private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+        private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 
         public InMemory() {
             crypto.setEnabled(false);
         }
     }
+
+    /**
+     * Codecs that are available to turn tickets into bytes.
+     */
+    public enum TicketCodecTypes {
+        /**
+         * Java serialization.
+         */
+        DEFAULT,
+        /**
+         * Kryo, which produces smaller payloads and is faster to encode and decode.
+         * Tickets that are written with the default codec can still be decoded.
+         * Requires the {@code cas-server-support-kryo-core} module.
+         */
+        KRYO
+    }
+
+    @RequiresModule(name = "cas-server-core-tickets", automated = true)
+    @Getter
+    @Setter
+    public static class NearCache implements Serializable {
+
+        private static final long serialVersionUID = 3174532683950215870L;
+
+        /**
+         * Keep decoded ticket-granting tickets in a local cache in front of the ticket registry,
+         * so that tickets read repeatedly are not fetched from the registry every time.
+         * The cache is only enabled if the ticket registry is able to report ticket changes made by other CAS nodes.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of tickets kept in the cache.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Duration for which tickets are kept in the cache once loaded or written.
+         * Ticket changes made by other CAS nodes are reported asynchronously, so this also bounds
+         * how long a cached ticket may be stale if a change is reported late or lost, and should be kept short.
+         */
+        private String timeToLive = "PT5S";
+    }
 }
@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.dynamodb;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -45,11 +45,17 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
      */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+     * Number of segments each ticket table is divided into when tables are scanned.
+     * Segments of a table are scanned concurrently, each on its own thread.
+     */
+    private int scanSegments = 4;
+
     /**
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 
     public DynamoDbTicketRegistryProperties() {
         this.crypto.setEnabled(false);
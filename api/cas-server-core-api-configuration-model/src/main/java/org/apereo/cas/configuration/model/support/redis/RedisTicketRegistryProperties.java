@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.redis;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -24,7 +24,21 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
+
+    /**
+     * Number of keys to request per SCAN page when iterating over tickets,
+     * which is also the number of tickets fetched in a single MGET round-trip.
+     */
+    private int scanBatchSize = 100;
+
+    /**
+     * Subscribe to Redis keyspace notifications to learn about expired ticket-granting tickets
+     * and clean them up as they expire, instead of periodically looking them up via the registry cleaner.
+     * CAS attempts to enable expiration events on the Redis server if they are not already enabled,
+     * which requires permissions to change the server configuration.
+     */
+    private boolean keyspaceNotifications;
 
     public RedisTicketRegistryProperties() {
         this.crypto.setEnabled(false);
@@ -50,6 +50,30 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * Percentage of the cache expiration time of metadata after which metadata is refreshed
+     * in the background, while the cached copy continues to be used. A value of zero disables refreshes
+     * ahead of expiration, and metadata is reloaded on demand once it expires.
+     */
+    private int cacheRefreshAheadPercentage = 80;
+
+    /**
+     * Split metadata aggregates, once they are filtered and validated, into per-entity documents
+     * that are kept on disk in the metadata location. Entity descriptors are then only loaded
+     * into memory once they are requested, instead of holding on to the entire aggregate.
+     */
+    private boolean indexAggregates;
+
+    /**
+     * Minimum number of entities in a metadata source before it is indexed.
+     */
+    private int indexMinimumEntities = 100;
+
+    /**
+     * Maximum number of entity descriptors of indexed metadata sources to keep in memory.
+     */
+    private long indexCacheSize = 1000;
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
@@ -38,6 +38,17 @@ public class ThrottleProperties implements Serializable {
      */
     private Failure failure = new Failure();
 
+    /**
+     * Settings that control how failures are tracked in memory.
+     */
+    private InMemory inMemory = new InMemory();
+
+    /**
+     * Settings that control how failures are tracked in dedicated counters
+     * when throttling is backed by a database.
+     */
+    private Counters counters = new Counters();
+
     /**
      * Record authentication throttling events in a JDBC resource.
      */
@@ -106,6 +117,53 @@ public class ThrottleProperties implements Serializable {
         private int rangeSeconds = -1;
     }
 
+    /**
+     * In-memory failure tracking.
+     */
+    @RequiresModule(name = "cas-server-support-throttle", automated = true)
+    @Getter
+    @Setter
+    public static class InMemory implements Serializable {
+
+        private static final long serialVersionUID = 4731095684326521745L;
+
+        /**
+         * Maximum number of keys (i.e. IP addresses, or IP addresses and usernames)
+         * whose failures are tracked at any given time. Once exceeded, keys that are
+         * the least recently used are evicted.
+         */
+        private long maximumSize = 100_000;
+    }
+
+    /**
+     * Failure counters.
+     */
+    @RequiresModule(name = "cas-server-support-throttle", automated = true)
+    @Getter
+    @Setter
+    public static class Counters implements Serializable {
+
+        private static final long serialVersionUID = -2651327432787963025L;
+
+        /**
+         * Whether failures should be tracked in dedicated per-key counters, kept in a table
+         * or collection of their own. When disabled, throttling decisions are made
+         * by querying the audit records of failed authentication attempts.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Name of the table or collection that holds the failure counters.
+         */
+        private String storageName = "CAS_THROTTLE_COUNTERS";
+
+        /**
+         * How often failures recorded locally should be written to the counters store.
+         * Failures that are not yet written are only taken into account by the node that recorded them.
+         */
+        private String flushInterval = "PT1S";
+    }
+
     @RequiresModule(name = "cas-server-support-throttle-jdbc")
     @Getter
     @Setter
@@ -126,6 +126,17 @@ public class X509Properties implements Serializable {
      * When CRLs are cached, indicate the idle timeout of cache items.
      */
     private long cacheTimeToIdleSeconds = TimeUnit.MINUTES.toSeconds(30);
+    /**
+     * When CRLs are cached, keep them parsed and indexed in memory rather than encoded,
+     * and refresh them in the background once their next update is due or once
+     * the time-to-live elapses. Disk overflow and eternal cache settings do not apply in this mode.
+     */
+    private boolean cacheParsedCrls = true;
+    /**
+     * Certificates of CRL issuers. If defined, CRLs fetched from distribution points
+     * must be signed by one of these issuers; signatures are verified once, when a CRL is fetched.
+     */
+    private List<String> crlIssuerCertificates = new ArrayList<>();
     /**
      * If the CRL resource is unavailable, activate the this policy.
      * Activated if {@link #revocationChecker} is {@code RESOURCE}.
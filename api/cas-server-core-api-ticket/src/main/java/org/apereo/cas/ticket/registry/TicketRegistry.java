@@ -1,8 +1,10 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -25,6 +27,20 @@ public interface TicketRegistry {
      */
     void addTicket(Ticket ticket);
 
+    /**
+     * Apply all operations staged in the batch. Staged tickets are deleted first,
+     * and then updated and added. Registries that are able to should override
+     * this operation to write the batch to the backing store in as few round-trips
+     * as possible; the default implementation applies each operation separately.
+     *
+     * @param batch the batch
+     */
+    default void commit(final TicketRegistryBatch batch) {
+        batch.getTicketsToDelete().forEach(this::deleteTicket);
+        batch.getTicketsToUpdate().forEach(this::updateTicket);
+        batch.getTicketsToAdd().forEach(this::addTicket);
+    }
+
     /**
      * Retrieve a ticket from the registry. If the ticket retrieved does not
      * match the expected class, an InvalidTicketException is thrown.
@@ -120,6 +136,58 @@ public interface TicketRegistry {
      */
     long serviceTicketCount();
 
+    /**
+     * Gets statistics on the number of active and expired tickets held by the registry, keyed by ticket type.
+     * <p>
+     * Registries that keep track of ticket counts, or are able to count tickets in the underlying storage
+     * across all CAS nodes, should override this operation; the default implementation scans all tickets
+     * in the registry once.
+     *
+     * @return the statistics
+     */
+    default TicketRegistryStatistics getStatistics() {
+        var statistics = new TicketRegistryStatistics();
+        try (var tickets = getTicketsStream()) {
+            tickets.forEach(ticket -> {
+                if (ticket.isExpired()) {
+                    statistics.addExpired(ticket.getPrefix(), 1);
+                } else {
+                    statistics.addActive(ticket.getPrefix(), 1);
+                }
+            });
+        }
+        return statistics;
+    }
+
+    /**
+     * Gets the non-expired ticket-granting tickets that represent the SSO sessions
+     * established for the given principal id. Principal ids are compared ignoring case.
+     * <p>
+     * Registries that are able to index sessions by their principal should override
+     * this operation; the default implementation scans all tickets in the registry.
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param principalId the principal id
+     * @return the sessions linked to the principal
+     */
+    default Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired()
+            && ((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId));
+    }
+
+    /**
+     * Computes the number of SSO sessions established for the given principal id.
+     *
+     * @param principalId the principal id
+     * @return the number of ticket-granting tickets linked to the principal
+     */
+    default long countSessionsFor(final String principalId) {
+        try (var sessions = getSessionsFor(principalId)) {
+            return sessions.count();
+        }
+    }
+
     /**
      * Gets tickets stream.
      *
@@ -132,4 +200,44 @@ public interface TicketRegistry {
         return getTickets().stream();
     }
 
+    /**
+     * Gets the tickets that have expired and are due for cleanup.
+     * <p>
+     * Registries that keep track of ticket expiration times should override
+     * this operation so only tickets that are actually due are visited;
+     * the default implementation scans all tickets in the registry.
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @return the expired tickets stream
+     */
+    default Stream<? extends Ticket> getExpiredTicketsStream() {
+        return getTicketsStream().filter(Ticket::isExpired);
+    }
+
+    /**
+     * Register a listener that is notified with expired tickets once the underlying storage
+     * expires them on its own, (i.e. via time-to-live settings) so that expired tickets
+     * can be cleaned up without having to look them up.
+     *
+     * @param listener the listener
+     * @return true if the registry is able to publish expiration events and the listener is registered.
+     */
+    default boolean registerExpirationListener(final Consumer<Ticket> listener) {
+        return false;
+    }
+
+    /**
+     * Register a listener that is notified when tickets are updated or removed in the underlying storage
+     * by other CAS nodes, so that copies of tickets that are kept locally may be invalidated.
+     * Listeners are handed the SHA-512 digest of the ticket id, so that ticket ids are never exposed.
+     * Changes are typically reported asynchronously, shortly after the operation that made them completes.
+     *
+     * @param listener the listener
+     * @return true if the registry is able to publish change events and the listener is registered.
+     */
+    default boolean registerTicketChangeListener(final Consumer<String> listener) {
+        return false;
+    }
+
 }
@@ -0,0 +1,94 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link TicketRegistryBatch}. Stages tickets that are to be added, updated and deleted,
+ * so they can be handed over to the {@link TicketRegistry} in a single call.
+ * Staging the same ticket more than once keeps the last staged instance;
+ * {@code null} tickets are ignored.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@ToString
+public class TicketRegistryBatch {
+    private final Map<String, Ticket> ticketsToAdd = new LinkedHashMap<>();
+
+    private final Map<String, Ticket> ticketsToUpdate = new LinkedHashMap<>();
+
+    private final Set<String> ticketsToDelete = new LinkedHashSet<>();
+
+    /**
+     * Stage a ticket to be added to the registry.
+     *
+     * @param ticket the ticket
+     * @return this batch
+     */
+    public TicketRegistryBatch add(final Ticket ticket) {
+        if (ticket != null) {
+            this.ticketsToDelete.remove(ticket.getId());
+            this.ticketsToUpdate.remove(ticket.getId());
+            this.ticketsToAdd.put(ticket.getId(), ticket);
+        }
+        return this;
+    }
+
+    /**
+     * Stage a ticket to be updated in the registry.
+     * Tickets that are staged to be added in this batch are added with their latest state.
+     *
+     * @param ticket the ticket
+     * @return this batch
+     */
+    public TicketRegistryBatch update(final Ticket ticket) {
+        if (ticket != null) {
+            this.ticketsToDelete.remove(ticket.getId());
+            if (this.ticketsToAdd.containsKey(ticket.getId())) {
+                this.ticketsToAdd.put(ticket.getId(), ticket);
+            } else {
+                this.ticketsToUpdate.put(ticket.getId(), ticket);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Stage a ticket to be deleted from the registry.
+     *
+     * @param ticketId the ticket id
+     * @return this batch
+     */
+    public TicketRegistryBatch delete(final String ticketId) {
+        if (ticketId != null) {
+            this.ticketsToAdd.remove(ticketId);
+            this.ticketsToUpdate.remove(ticketId);
+            this.ticketsToDelete.add(ticketId);
+        }
+        return this;
+    }
+
+    public Collection<Ticket> getTicketsToAdd() {
+        return this.ticketsToAdd.values();
+    }
+
+    public Collection<Ticket> getTicketsToUpdate() {
+        return this.ticketsToUpdate.values();
+    }
+
+    public Collection<String> getTicketsToDelete() {
+        return this.ticketsToDelete;
+    }
+
+    public boolean isEmpty() {
+        return this.ticketsToAdd.isEmpty() && this.ticketsToUpdate.isEmpty() && this.ticketsToDelete.isEmpty();
+    }
+}
@@ -0,0 +1,117 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This is {@link TicketRegistryStatistics}. Counts tickets held by the {@link TicketRegistry},
+ * keyed by the ticket prefix (i.e. {@code TGT}, {@code ST}), telling apart tickets that are active
+ * from tickets that have expired but are not yet cleaned up. Statistics collected separately,
+ * such as those reported by individual CAS nodes, may be merged together.
+ * <p>
+ * Registries that are unable to count tickets report {@link #UNKNOWN}, which is also the outcome
+ * of adding or merging any count with an unknown count.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public class TicketRegistryStatistics implements Serializable {
+    /**
+     * Count reported for tickets that cannot be counted.
+     */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private static final long serialVersionUID = -4403187645318423539L;
+
+    private final Map<String, Long> activeTickets = new TreeMap<>();
+
+    private final Map<String, Long> expiredTickets = new TreeMap<>();
+
+    /**
+     * Count active tickets of the given type.
+     *
+     * @param prefix the ticket prefix
+     * @param count  the count
+     * @return this statistics
+     */
+    public TicketRegistryStatistics addActive(final String prefix, final long count) {
+        this.activeTickets.merge(prefix, count, TicketRegistryStatistics::sum);
+        return this;
+    }
+
+    /**
+     * Count expired tickets of the given type, that are not yet cleaned up.
+     *
+     * @param prefix the ticket prefix
+     * @param count  the count
+     * @return this statistics
+     */
+    public TicketRegistryStatistics addExpired(final String prefix, final long count) {
+        this.expiredTickets.merge(prefix, count, TicketRegistryStatistics::sum);
+        return this;
+    }
+
+    private static Long sum(final Long count, final Long other) {
+        if (count == UNKNOWN || other == UNKNOWN) {
+            return UNKNOWN;
+        }
+        return count + other;
+    }
+
+    /**
+     * Merge the given statistics into this one.
+     *
+     * @param statistics the statistics
+     * @return this statistics
+     */
+    public TicketRegistryStatistics merge(final TicketRegistryStatistics statistics) {
+        statistics.activeTickets.forEach(this::addActive);
+        statistics.expiredTickets.forEach(this::addExpired);
+        return this;
+    }
+
+    /**
+     * Gets the number of active tickets of the given type.
+     *
+     * @param prefix the ticket prefix
+     * @return the count, or {@link #UNKNOWN}
+     */
+    public long getActiveCount(final String prefix) {
+        return this.activeTickets.getOrDefault(prefix, 0L);
+    }
+
+    /**
+     * Gets the number of expired tickets of the given type that are not yet cleaned up.
+     *
+     * @param prefix the ticket prefix
+     * @return the count, or {@link #UNKNOWN}
+     */
+    public long getExpiredCount(final String prefix) {
+        return this.expiredTickets.getOrDefault(prefix, 0L);
+    }
+
+    /**
+     * Gets the number of active tickets, keyed by ticket prefix.
+     *
+     * @return the active tickets
+     */
+    public Map<String, Long> getActiveTickets() {
+        return Collections.unmodifiableMap(this.activeTickets);
+    }
+
+    /**
+     * Gets the number of expired tickets that are not yet cleaned up, keyed by ticket prefix.
+     *
+     * @return the expired tickets
+     */
+    public Map<String, Long> getExpiredTickets() {
+        return Collections.unmodifiableMap(this.expiredTickets);
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.validation;
 
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
 
 import java.util.List;
 
@@ -46,4 +47,12 @@ public interface Assertion {
      */
     Service getService();
 
+    /**
+     * Gets the registered service that was located for the service while validating the ticket, if any.
+     *
+     * @return the registered service, or null.
+     */
+    default RegisteredService getRegisteredService() {
+        return null;
+    }
 }
@@ -1,13 +1,16 @@
 package org.apereo.cas.audit.spi;
 
-import lombok.AllArgsConstructor;
+import org.apereo.cas.configuration.model.core.audit.AuditPipelineProperties;
+
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -21,8 +24,7 @@ import java.util.concurrent.Executors;
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
-public abstract class AbstractAuditTrailManager implements AuditTrailManager {
+public abstract class AbstractAuditTrailManager implements AuditTrailManager, DisposableBean {
 
     /**
      * Save records asynchronously.
@@ -31,18 +33,62 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager {
 
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
+    /**
+     * Bounded pipeline that buffers records and saves them in batches, when records are saved asynchronously.
+     */
+    private AuditTrailPipeline pipeline;
+
+    public AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
+    /**
+     * Save asynchronous records through a bounded pipeline, in batches.
+     * Has no effect if records are saved synchronously.
+     *
+     * @param properties the pipeline properties
+     */
+    public void configurePipeline(final AuditPipelineProperties properties) {
+        if (!this.asynchronous) {
+            return;
+        }
+        this.pipeline = new AuditTrailPipeline(this::saveAuditRecords, properties, getClass().getSimpleName());
+    }
+
     @Override
     public void record(final AuditActionContext audit) {
         if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
+            if (this.pipeline != null) {
+                this.pipeline.submit(audit);
+            } else {
+                this.executorService.execute(() -> saveAuditRecord(audit));
+            }
         } else {
             saveAuditRecord(audit);
         }
     }
 
+    @Override
+    public void destroy() throws Exception {
+        if (this.pipeline != null) {
+            this.pipeline.destroy();
+        }
+        this.executorService.shutdown();
+    }
+
     /**
      * Actual audit record save method.
      * @param audit Audit record to be saved.
      */
     protected abstract void saveAuditRecord(AuditActionContext audit);
+
+    /**
+     * Save a batch of audit records. Implementations that are able to write
+     * several records at once should override this method.
+     *
+     * @param audits the audit records
+     */
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        audits.forEach(this::saveAuditRecord);
+    }
 }
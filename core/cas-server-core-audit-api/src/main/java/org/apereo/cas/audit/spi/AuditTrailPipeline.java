@@ -0,0 +1,425 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditPipelineProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link AuditTrailPipeline} that buffers audit records in a bounded queue and hands them over to
+ * the audit trail manager in batches, once a batch fills up or the flush interval elapses, whichever comes first.
+ * Batches are written by a single background thread. Once the queue is full, records are handled according to
+ * the {@link OverflowPolicy}; records that are spilled to disk are written back once the queue is empty, and are
+ * kept on disk for another attempt if they cannot be written. Spilled records are moved to a replay file next to
+ * the spill file while they are written back; a replay file that is left over, i.e. by a process that stopped
+ * while records were written back, is written back first once the pipeline that locks the spill file is idle,
+ * so that records may be written more than once but are never lost.
+ * <p>
+ * Each pipeline locks its own spill file, so that pipelines that share the spill directory, in the same or in
+ * other processes, never spill to the same file. The queue depth, record counts and flush latency are reported
+ * as {@code cas.audit.pipeline} metrics with the global meter registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class AuditTrailPipeline implements DisposableBean {
+    private static final String SPILL_FILE_EXTENSION = ".spill";
+
+    private static final String REPLAY_FILE_EXTENSION = ".replay";
+
+    private static final String METER_NAME_PREFIX = "cas.audit.pipeline.";
+
+    private static final String TAG_PIPELINE = "pipeline";
+
+    private static final int MAX_SPILL_FILES = 100;
+
+    private final BlockingQueue<AuditActionContext> queue;
+
+    private final Consumer<List<AuditActionContext>> consumer;
+
+    private final int batchSize;
+
+    private final long flushInterval;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final File spillFile;
+
+    @Getter(AccessLevel.NONE)
+    private final FileLock spillFileLock;
+
+    @Getter(AccessLevel.NONE)
+    private final Timer flushTimer;
+
+    private final LongAdder droppedRecords = new LongAdder();
+
+    private final LongAdder spilledRecords = new LongAdder();
+
+    private final LongAdder writtenRecords = new LongAdder();
+
+    private final LongAdder flushes = new LongAdder();
+
+    private final LongAdder totalFlushTime = new LongAdder();
+
+    private final AtomicLong lastFlushTime = new AtomicLong();
+
+    private final AuditActionContextJsonSerializer serializer = new AuditActionContextJsonSerializer(new MinimalPrettyPrinter());
+
+    private final Object spillLock = new Object();
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public AuditTrailPipeline(final Consumer<List<AuditActionContext>> consumer, final AuditPipelineProperties properties,
+                              final String name) {
+        this.consumer = consumer;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.flushInterval = Beans.newDuration(properties.getFlushInterval()).toNanos();
+        this.overflowPolicy = OverflowPolicy.valueOf(properties.getOverflowPolicy().trim().toUpperCase(Locale.ENGLISH));
+        if (this.overflowPolicy == OverflowPolicy.SPILL) {
+            val directory = StringUtils.defaultIfBlank(properties.getSpillDirectory(), System.getProperty("java.io.tmpdir"));
+            val spill = lockSpillFile(new File(directory), StringUtils.defaultIfBlank(properties.getSpillFileName(), "cas-audit-" + name));
+            this.spillFile = spill.getLeft();
+            this.spillFileLock = spill.getRight();
+        } else {
+            this.spillFileLock = null;
+            this.spillFile = null;
+        }
+        this.flushTimer = bindMeters(name);
+        this.worker = new Thread(this::run, "cas-audit-pipeline-" + name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Submit the audit record to the pipeline.
+     *
+     * @param audit the audit record
+     */
+    public void submit(final AuditActionContext audit) {
+        if (this.queue.offer(audit)) {
+            return;
+        }
+        switch (this.overflowPolicy) {
+            case DROP:
+                this.droppedRecords.increment();
+                LOGGER.trace("Audit pipeline is full; dropped audit record for [{}]", audit.getActionPerformed());
+                break;
+            case SPILL:
+                spill(audit);
+                break;
+            case BLOCK:
+            default:
+                try {
+                    this.queue.put(audit);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.droppedRecords.increment();
+                    LOGGER.warn("Interrupted while waiting for room in the audit pipeline; dropped audit record for [{}]",
+                        audit.getActionPerformed());
+                }
+                break;
+        }
+    }
+
+    /**
+     * Number of audit records that are waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Average amount of time spent writing a batch, in milliseconds.
+     *
+     * @return the average flush latency
+     */
+    public double getAverageFlushLatency() {
+        val count = this.flushes.sum();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMillis(this.totalFlushTime.sum()) / count;
+    }
+
+    /**
+     * Amount of time spent writing the last batch, in milliseconds.
+     *
+     * @return the last flush latency
+     */
+    public long getLastFlushLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(this.lastFlushTime.get());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.running = false;
+        this.worker.interrupt();
+        this.worker.join(TimeUnit.SECONDS.toMillis(5));
+        val remaining = new ArrayList<AuditActionContext>(this.queue.size());
+        this.queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            LOGGER.debug("Writing [{}] remaining audit record(s)", remaining.size());
+            flush(remaining);
+        }
+        if (this.spillFileLock != null) {
+            this.spillFileLock.release();
+            this.spillFileLock.channel().close();
+        }
+    }
+
+    /**
+     * Lock the first spill file, starting with the given name, that is not locked already
+     * by another pipeline, so that records spilled by another pipeline are never mixed up with ours.
+     */
+    private static Pair<File, FileLock> lockSpillFile(final File directory, final String name) {
+        try {
+            Files.createDirectories(directory.toPath());
+            for (var i = 0; i < MAX_SPILL_FILES; i++) {
+                val file = new File(directory, name + (i == 0 ? StringUtils.EMPTY : "-" + i) + SPILL_FILE_EXTENSION);
+                val channel = FileChannel.open(new File(file.getPath() + ".lock").toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                try {
+                    val lock = channel.tryLock();
+                    if (lock != null) {
+                        LOGGER.debug("Audit records that overflow the pipeline are spilled to [{}]", file);
+                        return Pair.of(file, lock);
+                    }
+                } catch (final OverlappingFileLockException e) {
+                    LOGGER.trace("Spill file [{}] is used by another audit pipeline", file);
+                }
+                channel.close();
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to lock a spill file for " + name + " in " + directory, e);
+        }
+        throw new IllegalStateException("Unable to lock a spill file for " + name + " in " + directory
+            + "; all candidate files are used by other audit pipelines");
+    }
+
+    private Timer bindMeters(final String name) {
+        val registry = Metrics.globalRegistry;
+        Gauge.builder(METER_NAME_PREFIX + "queue", this.queue, BlockingQueue::size)
+            .description("Audit records waiting to be written")
+            .tag(TAG_PIPELINE, name)
+            .register(registry);
+        bindCounter(this.writtenRecords, name, "written");
+        bindCounter(this.droppedRecords, name, "dropped");
+        bindCounter(this.spilledRecords, name, "spilled");
+        return Timer.builder(METER_NAME_PREFIX + "flush")
+            .description("Time spent writing a batch of audit records")
+            .tag(TAG_PIPELINE, name)
+            .register(registry);
+    }
+
+    private static void bindCounter(final LongAdder adder, final String name, final String outcome) {
+        FunctionCounter.builder(METER_NAME_PREFIX + "records", adder, LongAdder::sum)
+            .description("Audit records by outcome")
+            .tag(TAG_PIPELINE, name)
+            .tag("outcome", outcome)
+            .register(Metrics.globalRegistry);
+    }
+
+    private void run() {
+        val batch = new ArrayList<AuditActionContext>(this.batchSize);
+        while (this.running) {
+            try {
+                val first = this.queue.poll(this.flushInterval, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpilledRecords();
+                    continue;
+                }
+                batch.add(first);
+                val deadline = System.nanoTime() + this.flushInterval;
+                while (batch.size() < this.batchSize) {
+                    this.queue.drainTo(batch, this.batchSize - batch.size());
+                    val remaining = deadline - System.nanoTime();
+                    if (batch.size() >= this.batchSize || remaining <= 0) {
+                        break;
+                    }
+                    val next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.trace("Audit pipeline is interrupted");
+                Thread.currentThread().interrupt();
+                this.running = false;
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+            if (!batch.isEmpty()) {
+                flush(new ArrayList<>(batch));
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean flush(final List<AuditActionContext> batch) {
+        val start = System.nanoTime();
+        try {
+            this.consumer.accept(batch);
+            this.writtenRecords.add(batch.size());
+            return true;
+        } catch (final Exception e) {
+            LOGGER.error("Unable to write [{}] audit record(s): [{}]", batch.size(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return false;
+        } finally {
+            val elapsed = System.nanoTime() - start;
+            this.lastFlushTime.set(elapsed);
+            this.totalFlushTime.add(elapsed);
+            this.flushes.increment();
+            this.flushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(final AuditActionContext audit) {
+        try {
+            appendToSpillFile(List.of(this.serializer.toString(audit)));
+            this.spilledRecords.increment();
+        } catch (final Exception e) {
+            this.droppedRecords.increment();
+            LOGGER.error("Unable to spill audit record for [{}] to [{}]: [{}]", audit.getActionPerformed(), this.spillFile, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private void appendToSpillFile(final List<String> lines) throws IOException {
+        synchronized (this.spillLock) {
+            try (val writer = Files.newBufferedWriter(this.spillFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (val line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write spilled records in batches. Once a batch cannot be written, that batch and all records that follow
+     * are spilled again, to be retried the next time the queue is idle. Records left over in the replay file
+     * are written before any records that were spilled since.
+     */
+    private void replaySpilledRecords() throws IOException {
+        if (this.spillFile == null) {
+            return;
+        }
+        val replayFile = getReplayFile();
+        if (!replayFile.exists()) {
+            if (!this.spillFile.exists()) {
+                return;
+            }
+            synchronized (this.spillLock) {
+                Files.move(this.spillFile.toPath(), replayFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        LOGGER.debug("Writing audit records spilled to [{}]", replayFile);
+        val failed = new ArrayList<String>();
+        try (val reader = Files.newBufferedReader(replayFile.toPath(), StandardCharsets.UTF_8)) {
+            val lines = new ArrayList<String>(this.batchSize);
+            var line = reader.readLine();
+            while (line != null) {
+                if (!failed.isEmpty()) {
+                    failed.add(line);
+                } else if (StringUtils.isNotBlank(line)) {
+                    lines.add(line);
+                    if (lines.size() >= this.batchSize) {
+                        if (!replay(lines)) {
+                            failed.addAll(lines);
+                        }
+                        lines.clear();
+                    }
+                }
+                line = reader.readLine();
+            }
+            if (!lines.isEmpty() && !replay(lines)) {
+                failed.addAll(lines);
+            }
+        }
+        if (!failed.isEmpty()) {
+            LOGGER.warn("Unable to write [{}] spilled audit record(s); records are kept in [{}]", failed.size(), this.spillFile);
+            appendToSpillFile(failed);
+        }
+        Files.deleteIfExists(replayFile.toPath());
+    }
+
+    /**
+     * Gets the file that spilled records are moved to while they are written back.
+     * The file name is fixed, so that records left over by a previous process are picked up.
+     *
+     * @return the replay file, or null if records are never spilled
+     */
+    public File getReplayFile() {
+        if (this.spillFile == null) {
+            return null;
+        }
+        return new File(this.spillFile.getParentFile(), this.spillFile.getName() + REPLAY_FILE_EXTENSION);
+    }
+
+    private boolean replay(final List<String> lines) {
+        val batch = new ArrayList<AuditActionContext>(lines.size());
+        lines.forEach(line -> {
+            try {
+                batch.add(this.serializer.from(line));
+            } catch (final Exception e) {
+                LOGGER.error("Discarding spilled audit record that cannot be read: [{}]", e.getMessage());
+            }
+        });
+        return batch.isEmpty() || flush(batch);
+    }
+
+    /**
+     * Determines what happens to audit records once the pipeline is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for room in the pipeline.
+         */
+        BLOCK,
+        /**
+         * Discard the record.
+         */
+        DROP,
+        /**
+         * Write the record to local disk.
+         */
+        SPILL
+    }
+}
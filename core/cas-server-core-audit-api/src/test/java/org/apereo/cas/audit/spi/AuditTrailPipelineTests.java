@@ -0,0 +1,205 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditPipelineProperties;
+
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link AuditTrailPipelineTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class AuditTrailPipelineTests {
+    @TempDir
+    public Path spillDirectory;
+
+    private static AuditActionContext getAuditRecord(final int index) {
+        return new AuditActionContext("casuser" + index, "TEST", "TEST",
+            "CAS", new Date(), "1.2.3.4", "1.2.3.4");
+    }
+
+    private static AuditPipelineProperties getProperties(final int capacity, final int batchSize, final String overflowPolicy) {
+        val properties = new AuditPipelineProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval("PT0.1S");
+        properties.setOverflowPolicy(overflowPolicy);
+        return properties;
+    }
+
+    @SneakyThrows
+    private static void waitFor(final BooleanSupplier condition) {
+        val deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void verifyRecordsAreWrittenInBatches() throws Exception {
+        val batches = new CopyOnWriteArrayList<List<AuditActionContext>>();
+        val pipeline = new AuditTrailPipeline(batches::add, getProperties(100, 10, "BLOCK"), "batches");
+        IntStream.range(0, 25).forEach(i -> pipeline.submit(getAuditRecord(i)));
+        waitFor(() -> batches.stream().mapToInt(List::size).sum() == 25);
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertTrue(batches.size() < 25);
+        assertEquals(0, pipeline.getQueueDepth());
+        assertEquals(25, pipeline.getWrittenRecords().sum());
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifyRecordsAreDroppedWhenFull() throws Exception {
+        val latch = new CountDownLatch(1);
+        val pipeline = new AuditTrailPipeline(batch -> awaitQuietly(latch), getProperties(1, 1, "drop"), "drop");
+        IntStream.range(0, 10).forEach(i -> pipeline.submit(getAuditRecord(i)));
+        assertTrue(pipeline.getDroppedRecords().sum() > 0);
+        latch.countDown();
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifyRecordsAreSpilledAndReplayed() throws Exception {
+        val latch = new CountDownLatch(1);
+        val written = new CopyOnWriteArrayList<AuditActionContext>();
+        val properties = getProperties(1, 1, "SPILL");
+        properties.setSpillDirectory(spillDirectory.toString());
+        val pipeline = new AuditTrailPipeline(batch -> {
+            awaitQuietly(latch);
+            written.addAll(batch);
+        }, properties, "spill");
+        IntStream.range(0, 10).forEach(i -> pipeline.submit(getAuditRecord(i)));
+        assertTrue(pipeline.getSpilledRecords().sum() > 0);
+        assertTrue(pipeline.getSpillFile().exists());
+        latch.countDown();
+        waitFor(() -> written.size() == 10);
+        assertFalse(pipeline.getSpillFile().exists());
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifySpilledRecordsAreKeptWhenReplayFails() throws Exception {
+        val latch = new CountDownLatch(1);
+        val available = new AtomicBoolean();
+        val written = new CopyOnWriteArrayList<AuditActionContext>();
+        val properties = getProperties(1, 2, "SPILL");
+        properties.setSpillDirectory(spillDirectory.toString());
+        val pipeline = new AuditTrailPipeline(batch -> {
+            awaitQuietly(latch);
+            if (!available.get()) {
+                throw new IllegalStateException("Audit destination is unavailable");
+            }
+            written.addAll(batch);
+        }, properties, "replay");
+        IntStream.range(0, 10).forEach(i -> pipeline.submit(getAuditRecord(i)));
+        val spilled = pipeline.getSpilledRecords().sum();
+        assertTrue(spilled > 0);
+        latch.countDown();
+        waitFor(() -> pipeline.getQueueDepth() == 0 && pipeline.getFlushes().sum() > spilled / 2);
+        assertTrue(written.isEmpty());
+        available.set(true);
+        waitFor(() -> written.size() == spilled);
+        assertFalse(pipeline.getSpillFile().exists());
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifyLeftOverReplayFileIsReplayedAtStartup() throws Exception {
+        val serializer = new AuditActionContextJsonSerializer(new MinimalPrettyPrinter());
+        val lines = IntStream.range(0, 5)
+            .mapToObj(i -> serializer.toString(getAuditRecord(i)))
+            .collect(Collectors.toList());
+        Files.write(spillDirectory.resolve("audits.spill.replay"), lines, StandardCharsets.UTF_8);
+        Files.write(spillDirectory.resolve("audits.spill"), List.of(serializer.toString(getAuditRecord(5))), StandardCharsets.UTF_8);
+
+        val written = new CopyOnWriteArrayList<AuditActionContext>();
+        val properties = getProperties(10, 2, "SPILL");
+        properties.setSpillDirectory(spillDirectory.toString());
+        properties.setSpillFileName("audits");
+        val pipeline = new AuditTrailPipeline(written::addAll, properties, "leftover");
+        assertEquals("audits.spill.replay", pipeline.getReplayFile().getName());
+        waitFor(() -> written.size() == 6);
+        assertEquals("casuser0", written.get(0).getPrincipal());
+        assertEquals("casuser5", written.get(5).getPrincipal());
+        assertFalse(pipeline.getReplayFile().exists());
+        assertFalse(pipeline.getSpillFile().exists());
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifySpillFilesAreUniquePerPipeline() throws Exception {
+        val properties = getProperties(1, 1, "SPILL");
+        properties.setSpillDirectory(spillDirectory.toString());
+        properties.setSpillFileName("audits");
+        val first = new AuditTrailPipeline(batch -> { }, properties, "first");
+        val second = new AuditTrailPipeline(batch -> { }, properties, "second");
+        assertEquals("audits.spill", first.getSpillFile().getName());
+        assertEquals("audits-1.spill", second.getSpillFile().getName());
+        first.destroy();
+        second.destroy();
+        val third = new AuditTrailPipeline(batch -> { }, properties, "third");
+        assertEquals("audits.spill", third.getSpillFile().getName());
+        third.destroy();
+    }
+
+    @Test
+    public void verifyInterruptedSubmissionIsDropped() throws Exception {
+        val latch = new CountDownLatch(1);
+        val pipeline = new AuditTrailPipeline(batch -> awaitQuietly(latch), getProperties(1, 1, "BLOCK"), "interrupt");
+        pipeline.submit(getAuditRecord(0));
+        waitFor(() -> pipeline.getQueueDepth() == 0);
+        pipeline.submit(getAuditRecord(1));
+        Thread.currentThread().interrupt();
+        pipeline.submit(getAuditRecord(2));
+        assertTrue(Thread.interrupted());
+        assertEquals(1, pipeline.getDroppedRecords().sum());
+        latch.countDown();
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifyMetersAreRegistered() throws Exception {
+        val registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            val pipeline = new AuditTrailPipeline(batch -> { }, getProperties(10, 1, "BLOCK"), "metered");
+            pipeline.submit(getAuditRecord(0));
+            waitFor(() -> pipeline.getWrittenRecords().sum() == 1);
+            assertNotNull(registry.get("cas.audit.pipeline.queue").tag("pipeline", "metered").gauge());
+            assertEquals(1, registry.get("cas.audit.pipeline.records").tag("pipeline", "metered")
+                .tag("outcome", "written").functionCounter().count());
+            assertEquals(1, registry.get("cas.audit.pipeline.flush").tag("pipeline", "metered").timer().count());
+            pipeline.destroy();
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @SneakyThrows
+    private static void awaitQuietly(final CountDownLatch latch) {
+        latch.await();
+    }
+}
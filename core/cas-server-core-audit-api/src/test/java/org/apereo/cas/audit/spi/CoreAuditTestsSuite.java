@@ -14,6 +14,7 @@ import org.junit.platform.suite.api.SelectClasses;
  */
 @SelectClasses({
     AuditActionContextJsonSerializerTests.class,
+    AuditTrailPipelineTests.class,
     ServiceResourceResolverTests.class,
     TicketAsFirstParameterResourceResolverTests.class,
     ChainingAuditPrincipalIdProviderTests.class
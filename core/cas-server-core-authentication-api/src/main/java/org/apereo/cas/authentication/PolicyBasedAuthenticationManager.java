@@ -10,6 +10,7 @@ import org.apereo.cas.support.events.authentication.CasAuthenticationPrincipalRe
 import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionFailureEvent;
 import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionStartedEvent;
 import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionSuccessfulEvent;
+import org.apereo.cas.util.MetricsUtils;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Getter
 public class PolicyBasedAuthenticationManager implements AuthenticationManager {
+    private static final String METER_NAME_AUTHENTICATION = "cas.authentication";
+
+    private static final String METER_NAME_AUTHENTICATION_HANDLER = "cas.authentication.handler";
+
+    private static final String METER_NAME_PRINCIPAL_RESOLUTION = "cas.authentication.principal.resolution";
+
+    private static final String TAG_HANDLER = "handler";
+
+    private static final String TAG_RESOLVER = "resolver";
 
     private final AuthenticationEventExecutionPlan authenticationEventExecutionPlan;
 
@@ -106,12 +116,17 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
     protected Principal resolvePrincipal(final AuthenticationHandler handler, final PrincipalResolver resolver,
                                          final Credential credential, final Principal principal) {
         if (resolver.supports(credential)) {
+            val sample = MetricsUtils.startTimer();
+            var resolved = false;
             try {
                 val p = resolver.resolve(credential, Optional.ofNullable(principal), Optional.ofNullable(handler));
                 LOGGER.debug("[{}] resolved [{}] from [{}]", resolver, p, credential);
+                resolved = p != null;
                 return p;
             } catch (final Exception e) {
                 LOGGER.error("[{}] failed to resolve principal from [{}]", resolver, credential, e);
+            } finally {
+                MetricsUtils.stopTimer(sample, METER_NAME_PRINCIPAL_RESOLUTION, resolved, TAG_RESOLVER, resolver.getName());
             }
         } else {
             LOGGER.warn(
@@ -127,6 +142,25 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
         actionResolverName = "AUTHENTICATION_RESOLVER",
         resourceResolverName = "AUTHENTICATION_RESOURCE_RESOLVER")
     public Authentication authenticate(final AuthenticationTransaction transaction) throws AuthenticationException {
+        val sample = MetricsUtils.startTimer();
+        var authenticated = false;
+        try {
+            val authentication = authenticateTransaction(transaction);
+            authenticated = true;
+            return authentication;
+        } finally {
+            MetricsUtils.stopTimer(sample, METER_NAME_AUTHENTICATION, authenticated);
+        }
+    }
+
+    /**
+     * Authenticate the transaction, invoking pre and post processors.
+     *
+     * @param transaction the transaction
+     * @return the authentication
+     * @throws AuthenticationException the authentication exception
+     */
+    protected Authentication authenticateTransaction(final AuthenticationTransaction transaction) throws AuthenticationException {
         val result = invokeAuthenticationPreProcessors(transaction);
         if (!result) {
             LOGGER.warn("An authentication pre-processor could not successfully process the authentication transaction");
@@ -195,8 +229,16 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
 
         publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
 
-        val result = handler.authenticate(credential);
         val authenticationHandlerName = handler.getName();
+        val sample = MetricsUtils.startTimer();
+        final AuthenticationHandlerExecutionResult result;
+        try {
+            result = handler.authenticate(credential);
+        } catch (final GeneralSecurityException | PreventedException | RuntimeException e) {
+            MetricsUtils.stopTimer(sample, METER_NAME_AUTHENTICATION_HANDLER, false, TAG_HANDLER, authenticationHandlerName);
+            throw e;
+        }
+        MetricsUtils.stopTimer(sample, METER_NAME_AUTHENTICATION_HANDLER, true, TAG_HANDLER, authenticationHandlerName);
         builder.addSuccess(authenticationHandlerName, result);
         LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", authenticationHandlerName, credential);
 
@@ -8,6 +8,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.MetricsUtils;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -196,10 +197,18 @@ public class PersonDirectoryPrincipalResolver implements PrincipalResolver {
      * @return the map
      */
     protected Map<String, List<Object>> retrievePersonAttributes(final String principalId, final Credential credential) {
-        val personAttributes = this.attributeRepository.getPerson(principalId);
-        return personAttributes == null
-            ? null
-            : personAttributes.getAttributes();
+        val sample = MetricsUtils.startTimer();
+        var success = false;
+        try {
+            val personAttributes = this.attributeRepository.getPerson(principalId);
+            success = true;
+            return personAttributes == null
+                ? null
+                : personAttributes.getAttributes();
+        } finally {
+            MetricsUtils.stopTimer(sample, MetricsUtils.METER_NAME_ATTRIBUTE_REPOSITORY, success,
+                MetricsUtils.TAG_ATTRIBUTE_REPOSITORY, this.attributeRepository.getClass().getSimpleName());
+        }
     }
 
     /**
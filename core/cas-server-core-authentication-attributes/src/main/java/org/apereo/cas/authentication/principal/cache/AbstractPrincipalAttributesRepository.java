@@ -4,6 +4,7 @@ import org.apereo.cas.authentication.CoreAuthenticationUtils;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.PrincipalAttributesRepository;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.MetricsUtils;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
 
 import lombok.EqualsAndHashCode;
@@ -14,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
 import org.apereo.services.persondir.support.merger.IAttributeMerger;
 
 import java.io.Closeable;
@@ -125,7 +127,7 @@ public abstract class AbstractPrincipalAttributesRepository implements Principal
      * @return the map of attributes
      */
     protected Map<String, List<Object>> retrievePersonAttributesToPrincipalAttributes(final String id) {
-        val attrs = getAttributeRepository().getPerson(id);
+        val attrs = getPerson(getAttributeRepository(), id);
         if (attrs == null) {
             LOGGER.debug("Could not find principal [{}] in the repository so no attributes are returned.", id);
             return new HashMap<>(0);
@@ -138,6 +140,19 @@ public abstract class AbstractPrincipalAttributesRepository implements Principal
         return attributes;
     }
 
+    private static IPersonAttributes getPerson(final IPersonAttributeDao repository, final String id) {
+        val sample = MetricsUtils.startTimer();
+        var success = false;
+        try {
+            val person = repository.getPerson(id);
+            success = true;
+            return person;
+        } finally {
+            MetricsUtils.stopTimer(sample, MetricsUtils.METER_NAME_ATTRIBUTE_REPOSITORY, success,
+                MetricsUtils.TAG_ATTRIBUTE_REPOSITORY, repository.getClass().getSimpleName());
+        }
+    }
+
     @Override
     public Map<String, Object> getAttributes(final Principal p) {
         val cachedAttributes = getPrincipalAttributes(p);
@@ -209,7 +224,8 @@ public abstract class AbstractPrincipalAttributesRepository implements Principal
             if (this.attributeRepository == null) {
                 val context = ApplicationContextProvider.getApplicationContext();
                 if (context != null) {
-                    return context.getBean("attributeRepository", IPersonAttributeDao.class);
+                    this.attributeRepository = context.getBean("attributeRepository", IPersonAttributeDao.class);
+                    return this.attributeRepository;
                 }
                 LOGGER.warn("No application context could be retrieved, so no attribute repository instance can be determined.");
             }
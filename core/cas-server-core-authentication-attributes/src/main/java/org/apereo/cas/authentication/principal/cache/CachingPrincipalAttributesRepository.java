@@ -1,14 +1,17 @@
 package org.apereo.cas.authentication.principal.cache;
 
 import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.springframework.data.annotation.Transient;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -16,7 +19,9 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Wrapper around an attribute repository where attributes cached for a configurable period
- * based on google guava's caching library.
+ * based on google guava's caching library. If a {@link PrincipalAttributesCache} is available
+ * in the application context, attributes are kept there and shared with all other repositories
+ * that use the same merging strategy; otherwise, attributes are cached by this repository.
  *
  * @author Misagh Moayyed
  * @since 4.2
@@ -28,7 +33,11 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
 
     @JsonIgnore
     @Transient
-    private final transient Cache<String, Map<String, Object>> cache;
+    private transient volatile Cache<String, Map<String, Object>> cache;
+
+    @JsonIgnore
+    @Transient
+    private transient volatile PrincipalAttributesCache principalAttributesCache;
 
     @JsonIgnore
     @Transient
@@ -40,10 +49,6 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
      * Used for serialization only.
      */
     private CachingPrincipalAttributesRepository() {
-        this.cache = Caffeine.newBuilder()
-            .maximumSize(this.maxCacheSize)
-            .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
-            .build(this.cacheLoader);
     }
 
     /**
@@ -69,14 +74,15 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
                                                 final long expiryDuration) {
         super(expiryDuration, timeUnit);
         this.maxCacheSize = maxCacheSize;
-        this.cache = Caffeine.newBuilder()
-            .maximumSize(maxCacheSize)
-            .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
-            .build(this.cacheLoader);
     }
 
     @Override
     protected void addPrincipalAttributes(final String id, final Map<String, Object> attributes) {
+        initializeCache();
+        if (this.principalAttributesCache != null) {
+            this.principalAttributesCache.put(id, getCacheConfiguration(), attributes);
+            return;
+        }
         this.cache.put(id, attributes);
         LOGGER.debug("Cached attributes for [{}]", id);
     }
@@ -84,6 +90,16 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
     @Override
     protected Map<String, Object> getPrincipalAttributes(final Principal p) {
         try {
+            initializeCache();
+            if (this.principalAttributesCache != null) {
+                val expiration = Duration.ofMillis(TimeUnit.valueOf(getTimeUnit()).toMillis(getExpiration()));
+                val attributes = this.principalAttributesCache.get(p.getId(), getCacheConfiguration(), expiration);
+                if (attributes == null) {
+                    LOGGER.debug("No cached attributes could be found for [{}]", p.getId());
+                    return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                }
+                return attributes;
+            }
             return this.cache.get(p.getId(), s -> {
                 LOGGER.debug("No cached attributes could be found for [{}]", p.getId());
                 return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
@@ -96,7 +112,42 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
 
     @Override
     public void close() {
-        this.cache.cleanUp();
+        if (this.cache != null) {
+            this.cache.cleanUp();
+        }
+    }
+
+    /**
+     * Gets the configuration under which attributes are shared with other repositories.
+     *
+     * @return the cache configuration
+     */
+    protected String getCacheConfiguration() {
+        return String.valueOf(getMergingStrategy());
+    }
+
+    /**
+     * Locate the shared cache once, or else build a cache that belongs to this repository.
+     */
+    private void initializeCache() {
+        if (this.principalAttributesCache != null || this.cache != null) {
+            return;
+        }
+        synchronized (this) {
+            if (this.principalAttributesCache != null || this.cache != null) {
+                return;
+            }
+            val context = ApplicationContextProvider.getApplicationContext();
+            if (context != null && context.containsBean(PrincipalAttributesCache.BEAN_NAME)) {
+                this.principalAttributesCache = context.getBean(PrincipalAttributesCache.BEAN_NAME, PrincipalAttributesCache.class);
+                LOGGER.trace("Using shared principal attributes cache [{}]", this.principalAttributesCache);
+                return;
+            }
+            this.cache = Caffeine.newBuilder()
+                .maximumSize(this.maxCacheSize)
+                .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
+                .build(this.cacheLoader);
+        }
     }
 
     private static class PrincipalAttributesCacheLoader implements CacheLoader<String, Map<String, Object>> {
@@ -0,0 +1,242 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DefaultPrincipalAttributesCache} that keeps principal attributes in memory, bounded by
+ * the approximate number of bytes taken up by cached attributes. Attributes of a principal are cached once per
+ * repository and merging configuration, and each principal attribute repository decides for itself how long
+ * cached attributes remain valid.
+ * <p>
+ * Optionally, attributes may be backed by a distributed cache, i.e. Hazelcast or Redis, that is shared
+ * by all CAS nodes. Attributes that are not found in memory are then looked up in the distributed cache,
+ * and invalidations are carried over to it. Invalidations are also published through the
+ * {@link PrincipalAttributesCacheInvalidationChannel}, if any, so that other nodes drop the attributes they keep in memory.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class DefaultPrincipalAttributesCache implements PrincipalAttributesCache {
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private static final int OBJECT_OVERHEAD = 16;
+
+    private final Cache<String, Map<String, CachedPrincipalAttributes>> cache;
+
+    private final org.springframework.cache.Cache distributedCache;
+
+    private final PrincipalAttributesCacheInvalidationChannel invalidationChannel;
+
+    public DefaultPrincipalAttributesCache(final long maximumWeight, final Duration maximumLifetime) {
+        this(maximumWeight, maximumLifetime, null, null);
+    }
+
+    public DefaultPrincipalAttributesCache(final long maximumWeight, final Duration maximumLifetime,
+                                           final org.springframework.cache.Cache distributedCache,
+                                           final PrincipalAttributesCacheInvalidationChannel invalidationChannel) {
+        this.distributedCache = distributedCache;
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((String id, Map<String, CachedPrincipalAttributes> entries) -> weigh(id, entries))
+            .expireAfterWrite(maximumLifetime.toMillis(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(new PrincipalAttributesCacheInvalidationChannel.InvalidationListener() {
+                @Override
+                public void invalidated(final String principalId) {
+                    LOGGER.trace("Removing cached attributes for [{}] as invalidated by another node", principalId);
+                    cache.invalidate(principalId);
+                }
+
+                @Override
+                public void invalidatedAll() {
+                    LOGGER.trace("Removing all cached attributes as invalidated by another node");
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    private static int weigh(final String id, final Map<String, CachedPrincipalAttributes> entries) {
+        var weight = ENTRY_OVERHEAD + estimate(id);
+        for (val entry : entries.entrySet()) {
+            weight += ENTRY_OVERHEAD + estimate(entry.getKey()) + estimate(entry.getValue().getAttributes());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long estimate(final Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence) {
+            return OBJECT_OVERHEAD * 2 + 2L * ((CharSequence) value).length();
+        }
+        if (value instanceof Map) {
+            var size = (long) OBJECT_OVERHEAD;
+            for (val entry : ((Map<?, ?>) value).entrySet()) {
+                size += OBJECT_OVERHEAD * 2 + estimate(entry.getKey()) + estimate(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            var size = (long) OBJECT_OVERHEAD;
+            for (val item : (Collection<?>) value) {
+                size += OBJECT_OVERHEAD / 2 + estimate(item);
+            }
+            return size;
+        }
+        if (value instanceof byte[]) {
+            return OBJECT_OVERHEAD + ((byte[]) value).length;
+        }
+        return OBJECT_OVERHEAD;
+    }
+
+    @Override
+    public Map<String, Object> get(final String principalId, final String configuration, final Duration expiration) {
+        var entries = this.cache.getIfPresent(principalId);
+        if (entries == null && this.distributedCache != null) {
+            entries = getFromDistributedCache(principalId);
+            if (entries != null) {
+                this.cache.put(principalId, entries);
+            }
+        }
+        if (entries == null) {
+            return null;
+        }
+        val cached = entries.get(configuration);
+        if (cached == null) {
+            return null;
+        }
+        if (expiration != null && System.currentTimeMillis() - cached.getCreated() >= expiration.toMillis()) {
+            LOGGER.trace("Cached attributes for [{}] have expired", principalId);
+            return null;
+        }
+        return cached.getAttributes();
+    }
+
+    @Override
+    public void put(final String principalId, final String configuration, final Map<String, Object> attributes) {
+        val cached = new CachedPrincipalAttributes(attributes, System.currentTimeMillis());
+        val entries = this.cache.asMap().compute(principalId, (id, existing) -> {
+            val updated = existing == null ? new HashMap<String, CachedPrincipalAttributes>(2) : new HashMap<>(existing);
+            updated.put(configuration, cached);
+            return updated;
+        });
+        if (this.distributedCache != null) {
+            try {
+                this.distributedCache.put(principalId, entries);
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to cache attributes for [{}] in the distributed cache: [{}]", principalId, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        LOGGER.debug("Cached attributes for [{}]", principalId);
+    }
+
+    @Override
+    public void invalidate(final String principalId) {
+        this.cache.invalidate(principalId);
+        if (this.distributedCache != null) {
+            try {
+                this.distributedCache.evict(principalId);
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to remove attributes for [{}] from the distributed cache: [{}]", principalId, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        if (this.invalidationChannel != null) {
+            try {
+                this.invalidationChannel.publish(principalId);
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to publish the removal of attributes for [{}] to other nodes: [{}]", principalId, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        LOGGER.debug("Removed cached attributes for [{}]", principalId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+        if (this.distributedCache != null) {
+            try {
+                this.distributedCache.clear();
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to remove all attributes from the distributed cache: [{}]", e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        if (this.invalidationChannel != null) {
+            try {
+                this.invalidationChannel.publishAll();
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to publish the removal of all attributes to other nodes: [{}]", e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        LOGGER.debug("Removed all cached attributes");
+    }
+
+    /**
+     * Gets the hit/miss statistics of the in-memory cache.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStatistics() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Gets the approximate number of bytes taken up by cached attributes.
+     *
+     * @return the weight
+     */
+    public long getWeight() {
+        return this.cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    private Map<String, CachedPrincipalAttributes> getFromDistributedCache(final String principalId) {
+        try {
+            val value = this.distributedCache.get(principalId);
+            if (value != null && value.get() instanceof Map) {
+                LOGGER.trace("Found cached attributes for [{}] in the distributed cache", principalId);
+                return (Map<String, CachedPrincipalAttributes>) value.get();
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to look up attributes for [{}] in the distributed cache: [{}]", principalId, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Attributes cached under a configuration along with the time at which they were cached.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static class CachedPrincipalAttributes implements Serializable {
+        private static final long serialVersionUID = -6870414437425826745L;
+
+        private final Map<String, Object> attributes;
+
+        private final long created;
+    }
+}
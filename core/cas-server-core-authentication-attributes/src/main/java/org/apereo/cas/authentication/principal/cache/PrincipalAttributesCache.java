@@ -0,0 +1,51 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * This is {@link PrincipalAttributesCache} that holds principal attributes fetched from attribute repositories
+ * on behalf of all principal attribute repositories, so that attributes of a principal are fetched and kept once
+ * for all registered services that share the same repository and merging configuration.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface PrincipalAttributesCache {
+
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "principalAttributesCache";
+
+    /**
+     * Gets the attributes cached for the principal under the given configuration.
+     *
+     * @param principalId   the principal id
+     * @param configuration the repository and merging configuration
+     * @param expiration    the amount of time attributes remain valid once cached
+     * @return the attributes, or null if none are cached or they have expired
+     */
+    Map<String, Object> get(String principalId, String configuration, Duration expiration);
+
+    /**
+     * Cache the attributes of the principal under the given configuration.
+     *
+     * @param principalId   the principal id
+     * @param configuration the repository and merging configuration
+     * @param attributes    the attributes
+     */
+    void put(String principalId, String configuration, Map<String, Object> attributes);
+
+    /**
+     * Remove all attributes cached for the principal.
+     *
+     * @param principalId the principal id
+     */
+    void invalidate(String principalId);
+
+    /**
+     * Remove all cached attributes.
+     */
+    void invalidateAll();
+}
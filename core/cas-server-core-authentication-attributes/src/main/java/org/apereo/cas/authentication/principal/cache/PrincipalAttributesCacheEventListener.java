@@ -0,0 +1,37 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.context.event.EventListener;
+
+/**
+ * This is {@link PrincipalAttributesCacheEventListener} that removes cached attributes of a principal
+ * once the principal logs in, so that attributes released during the new single sign-on session
+ * are fetched afresh from attribute repositories.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PrincipalAttributesCacheEventListener {
+    private final PrincipalAttributesCache principalAttributesCache;
+
+    /**
+     * Handle ticket granting ticket created event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleTicketGrantingTicketCreatedEvent(final CasTicketGrantingTicketCreatedEvent event) {
+        val authentication = event.getTicketGrantingTicket().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() != null) {
+            val principalId = authentication.getPrincipal().getId();
+            LOGGER.trace("Removing cached attributes for [{}] upon login", principalId);
+            this.principalAttributesCache.invalidate(principalId);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.apereo.cas.authentication.principal.cache;
+
+/**
+ * This is {@link PrincipalAttributesCacheInvalidationChannel} that carries invalidations of cached principal attributes
+ * to all CAS nodes, so that each node removes the attributes it keeps in memory once they are invalidated by another node.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface PrincipalAttributesCacheInvalidationChannel {
+
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "principalAttributesCacheInvalidationChannel";
+
+    /**
+     * Tell other nodes to remove all attributes cached for the principal.
+     *
+     * @param principalId the principal id
+     */
+    void publish(String principalId);
+
+    /**
+     * Tell other nodes to remove all cached attributes.
+     */
+    void publishAll();
+
+    /**
+     * Register a listener that is notified of invalidations published by other nodes.
+     *
+     * @param listener the listener
+     */
+    void subscribe(InvalidationListener listener);
+
+    /**
+     * Receives invalidations published by other nodes.
+     */
+    interface InvalidationListener {
+        /**
+         * Remove all attributes cached for the principal.
+         *
+         * @param principalId the principal id
+         */
+        void invalidated(String principalId);
+
+        /**
+         * Remove all cached attributes.
+         */
+        void invalidatedAll();
+    }
+}
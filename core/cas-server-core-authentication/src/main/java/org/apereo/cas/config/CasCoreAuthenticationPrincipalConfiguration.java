@@ -11,10 +11,15 @@ import org.apereo.cas.authentication.principal.PrincipalResolutionExecutionPlan;
 import org.apereo.cas.authentication.principal.PrincipalResolutionExecutionPlanConfigurer;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepository;
+import org.apereo.cas.authentication.principal.cache.DefaultPrincipalAttributesCache;
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesCache;
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesCacheEventListener;
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesCacheInvalidationChannel;
 import org.apereo.cas.authentication.principal.resolvers.ChainingPrincipalResolver;
 import org.apereo.cas.authentication.principal.resolvers.EchoingPrincipalResolver;
 import org.apereo.cas.authentication.principal.resolvers.PersonDirectoryPrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -23,11 +28,13 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.util.unit.DataSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -55,6 +62,14 @@ public class CasCoreAuthenticationPrincipalConfiguration implements PrincipalRes
     @Qualifier("attributeRepository")
     private ObjectProvider<IPersonAttributeDao> attributeRepository;
 
+    @Autowired
+    @Qualifier("principalAttributesDistributedCache")
+    private ObjectProvider<org.springframework.cache.Cache> principalAttributesDistributedCache;
+
+    @Autowired
+    @Qualifier(PrincipalAttributesCacheInvalidationChannel.BEAN_NAME)
+    private ObjectProvider<PrincipalAttributesCacheInvalidationChannel> principalAttributesCacheInvalidationChannel;
+
     @ConditionalOnMissingBean(name = "principalElectionStrategy")
     @Bean
     @RefreshScope
@@ -82,6 +97,30 @@ public class CasCoreAuthenticationPrincipalConfiguration implements PrincipalRes
         return new CachingPrincipalAttributesRepository(props.getExpirationTimeUnit().toUpperCase(), cacheTime);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(name = PrincipalAttributesCache.BEAN_NAME)
+    @ConditionalOnProperty(prefix = "cas.authn.attributeRepository.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PrincipalAttributesCache principalAttributesCache() {
+        val cache = casProperties.getAuthn().getAttributeRepository().getCache();
+        val distributedCache = principalAttributesDistributedCache.getIfAvailable();
+        if (distributedCache != null) {
+            LOGGER.debug("Principal attributes are backed by the distributed cache [{}]", distributedCache.getName());
+        }
+        val invalidationChannel = principalAttributesCacheInvalidationChannel.getIfAvailable();
+        if (invalidationChannel != null) {
+            LOGGER.debug("Invalidations of cached principal attributes are published through [{}]", invalidationChannel);
+        }
+        return new DefaultPrincipalAttributesCache(DataSize.parse(cache.getMaximumSize()).toBytes(),
+            Beans.newDuration(cache.getMaximumLifetime()), distributedCache, invalidationChannel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.attributeRepository.cache", name = {"enabled", "invalidateOnLogin"},
+        havingValue = "true", matchIfMissing = true)
+    public PrincipalAttributesCacheEventListener principalAttributesCacheEventListener() {
+        return new PrincipalAttributesCacheEventListener(principalAttributesCache());
+    }
+
     @RefreshScope
     @Bean
     @ConditionalOnMissingBean(name = "personDirectoryAttributeRepositoryPrincipalResolver")
@@ -25,6 +25,7 @@ import org.apereo.cas.authentication.principal.RememberMeAuthenticationMetaDataP
 import org.apereo.cas.authentication.principal.SimplePrincipalFactoryTests;
 import org.apereo.cas.authentication.principal.SimplePrincipalTests;
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepositoryTests;
+import org.apereo.cas.authentication.principal.cache.SharedCachingPrincipalAttributesRepositoryTests;
 import org.apereo.cas.util.TrustedProxyAuthenticationTrustStoreSslSocketFactoryTests;
 
 import org.junit.platform.suite.api.SelectClasses;
@@ -40,6 +41,7 @@ import org.junit.platform.suite.api.SelectClasses;
     PersonDirectoryPrincipalResolverTests.class,
     SimplePrincipalTests.class,
     CachingPrincipalAttributesRepositoryTests.class,
+    SharedCachingPrincipalAttributesRepositoryTests.class,
     ChainingPrincipalResolverTests.class,
     NullPrincipalTests.class,
     SimplePrincipalFactoryTests.class,
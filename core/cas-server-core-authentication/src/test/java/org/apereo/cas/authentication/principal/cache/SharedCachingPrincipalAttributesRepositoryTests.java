@@ -0,0 +1,145 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases around {@link CachingPrincipalAttributesRepository} that is backed by a {@link PrincipalAttributesCache}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SharedCachingPrincipalAttributesRepositoryTests extends AbstractCachingPrincipalAttributesRepositoryTests {
+    private ApplicationContext previousApplicationContext;
+
+    private DefaultPrincipalAttributesCache principalAttributesCache;
+
+    @BeforeEach
+    public void initializeApplicationContext() {
+        this.previousApplicationContext = ApplicationContextProvider.getApplicationContext();
+        this.principalAttributesCache = new DefaultPrincipalAttributesCache(1024 * 1024, Duration.ofHours(1));
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton(PrincipalAttributesCache.BEAN_NAME, this.principalAttributesCache);
+        applicationContext.refresh();
+        ApplicationContextProvider.holdApplicationContext(applicationContext);
+    }
+
+    @AfterEach
+    public void restoreApplicationContext() {
+        ApplicationContextProvider.holdApplicationContext(this.previousApplicationContext);
+    }
+
+    @Override
+    protected AbstractPrincipalAttributesRepository getPrincipalAttributesRepository(final String unit, final long duration) {
+        val repo = new CachingPrincipalAttributesRepository(unit, duration);
+        repo.setAttributeRepository(this.dao);
+        return repo;
+    }
+
+    @Test
+    public void verifyAttributesAreSharedAcrossRepositories() {
+        val principal = new DefaultPrincipalFactory().createPrincipal("shared");
+        val first = getPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        val second = getPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+        assertFalse(first.getAttributes(principal).isEmpty());
+        assertEquals(first.getAttributes(principal), second.getAttributes(principal));
+        verify(this.dao, times(1)).getPerson(anyString());
+
+        this.principalAttributesCache.invalidate(principal.getId());
+        assertFalse(second.getAttributes(principal).isEmpty());
+        verify(this.dao, times(2)).getPerson(anyString());
+    }
+
+    @Test
+    public void verifyMergingStrategiesAreCachedSeparately() {
+        val principal = new DefaultPrincipalFactory().createPrincipal("shared");
+        val first = getPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        val second = getPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        second.setMergingStrategy(AbstractPrincipalAttributesRepository.MergingStrategy.ADD);
+        first.getAttributes(principal);
+        second.getAttributes(principal);
+        verify(this.dao, times(2)).getPerson(anyString());
+    }
+
+    @Test
+    public void verifyCacheIsBoundedByWeight() {
+        val cache = new DefaultPrincipalAttributesCache(4096, Duration.ofHours(1));
+        for (var i = 0; i < 100; i++) {
+            val attributes = new HashMap<String, Object>();
+            attributes.put("memberOf", CollectionUtils.wrapList("group-one-" + i, "group-two-" + i));
+            cache.put("user-" + i, "NONE", attributes);
+        }
+        cache.getCache().cleanUp();
+        assertTrue(cache.getWeight() <= 4096);
+        assertTrue(cache.getCache().estimatedSize() < 100);
+    }
+
+    @Test
+    public void verifyCachedAttributesPerConfigurationAndExpiration() {
+        val cache = new DefaultPrincipalAttributesCache(1024 * 1024, Duration.ofHours(1));
+        cache.put("casuser", "NONE", CollectionUtils.wrap("uid", "casuser"));
+        assertNotNull(cache.get("casuser", "NONE", Duration.ofHours(1)));
+        assertNull(cache.get("casuser", "ADD", Duration.ofHours(1)));
+        assertNull(cache.get("casuser", "NONE", Duration.ZERO));
+        cache.invalidateAll();
+        assertNull(cache.get("casuser", "NONE", Duration.ofHours(1)));
+    }
+
+    @Test
+    public void verifyInvalidationsArePublishedToOtherNodes() {
+        val channel = mock(PrincipalAttributesCacheInvalidationChannel.class);
+        val cache = new DefaultPrincipalAttributesCache(1024 * 1024, Duration.ofHours(1), null, channel);
+        val listener = ArgumentCaptor.forClass(PrincipalAttributesCacheInvalidationChannel.InvalidationListener.class);
+        verify(channel).subscribe(listener.capture());
+
+        cache.put("casuser", "NONE", CollectionUtils.wrap("uid", "casuser"));
+        cache.invalidate("casuser");
+        verify(channel).publish("casuser");
+        cache.invalidateAll();
+        verify(channel).publishAll();
+
+        cache.put("casuser", "NONE", CollectionUtils.wrap("uid", "casuser"));
+        listener.getValue().invalidated("casuser");
+        assertNull(cache.get("casuser", "NONE", Duration.ofHours(1)));
+        cache.put("casuser", "NONE", CollectionUtils.wrap("uid", "casuser"));
+        listener.getValue().invalidatedAll();
+        assertNull(cache.get("casuser", "NONE", Duration.ofHours(1)));
+        verify(channel, times(1)).publish(anyString());
+        verify(channel, times(1)).publishAll();
+    }
+
+    @Test
+    public void verifyInvalidationSurvivesDistributedCacheFailures() {
+        val distributedCache = mock(Cache.class);
+        doThrow(new IllegalStateException("unavailable")).when(distributedCache).evict(any());
+        doThrow(new IllegalStateException("unavailable")).when(distributedCache).clear();
+        val channel = mock(PrincipalAttributesCacheInvalidationChannel.class);
+        val cache = new DefaultPrincipalAttributesCache(1024 * 1024, Duration.ofHours(1), distributedCache, channel);
+
+        cache.put("casuser", "NONE", CollectionUtils.wrap("uid", "casuser"));
+        assertDoesNotThrow(() -> cache.invalidate("casuser"));
+        cache.put("casuser", "NONE", CollectionUtils.wrap("uid", "casuser"));
+        assertDoesNotThrow(cache::invalidateAll);
+        assertNull(cache.get("casuser", "NONE", Duration.ofHours(1)));
+        verify(channel).publish("casuser");
+        verify(channel).publishAll();
+    }
+}
@@ -0,0 +1,86 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnAllowedAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnMappedAttributeReleasePolicy;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AttributeReleasePolicyBenchmarks} that measures how long attribute release policies
+ * take to calculate the attributes released to a service, for principals with an increasing number of attributes.
+ * Half of the principal attributes are allowed for release, or mapped to a different name.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AttributeReleasePolicyBenchmarks {
+    @Param({"RETURN_ALL", "RETURN_ALLOWED", "RETURN_MAPPED"})
+    private String policy;
+
+    @Param({"10", "100"})
+    private int attributes;
+
+    private Principal principal;
+
+    private Service service;
+
+    private RegisteredService registeredService;
+
+    private RegisteredServiceAttributeReleasePolicy attributeReleasePolicy;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val principalAttributes = BenchmarkUtils.getAttributes(this.attributes);
+        this.principal = BenchmarkUtils.getPrincipal("casuser", principalAttributes);
+        this.service = BenchmarkUtils.getService("https://app.example.org/login");
+
+        val released = new ArrayList<String>(principalAttributes.keySet()).subList(0, this.attributes / 2);
+        switch (this.policy) {
+            case "RETURN_ALLOWED":
+                this.attributeReleasePolicy = new ReturnAllowedAttributeReleasePolicy(new ArrayList<>(released));
+                break;
+            case "RETURN_MAPPED":
+                val mapped = new TreeMap<String, Object>();
+                released.forEach(name -> mapped.put(name, "mapped-" + name));
+                this.attributeReleasePolicy = new ReturnMappedAttributeReleasePolicy(mapped);
+                break;
+            default:
+                this.attributeReleasePolicy = new ReturnAllAttributeReleasePolicy();
+                break;
+        }
+        this.registeredService = BenchmarkUtils.getRegisteredService(1, "app.example.org", this.attributeReleasePolicy);
+    }
+
+    @Benchmark
+    public Map<String, Object> getAttributes() {
+        return this.attributeReleasePolicy.getAttributes(this.principal, this.service, this.registeredService);
+    }
+}
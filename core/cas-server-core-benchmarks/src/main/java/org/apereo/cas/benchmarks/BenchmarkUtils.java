@@ -0,0 +1,118 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.metadata.BasicCredentialMetaData;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredServiceAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link BenchmarkUtils} that builds the principals, services and registered services
+ * benchmarks operate on, without the need for an application context.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@UtilityClass
+public class BenchmarkUtils {
+    /**
+     * Application event publisher that discards all events.
+     */
+    public static final ApplicationEventPublisher NO_OP_EVENT_PUBLISHER = event -> {
+    };
+
+    /**
+     * Gets principal attributes.
+     *
+     * @param count the number of attributes
+     * @return the attributes
+     */
+    public static Map<String, Object> getAttributes(final int count) {
+        val attributes = new LinkedHashMap<String, Object>(count);
+        for (var i = 0; i < count; i++) {
+            attributes.put("attribute" + i, CollectionUtils.wrapList("value-" + i, "other-value-" + i));
+        }
+        return attributes;
+    }
+
+    /**
+     * Gets principal.
+     *
+     * @param id         the id
+     * @param attributes the attributes
+     * @return the principal
+     */
+    public static Principal getPrincipal(final String id, final Map<String, Object> attributes) {
+        return new DefaultPrincipalFactory().createPrincipal(id, attributes);
+    }
+
+    /**
+     * Gets authentication.
+     *
+     * @param principal the principal
+     * @return the authentication
+     */
+    public static Authentication getAuthentication(final Principal principal) {
+        val meta = new BasicCredentialMetaData(new UsernamePasswordCredential(principal.getId(), principal.getId()));
+        return new DefaultAuthenticationBuilder(principal)
+            .addCredential(meta)
+            .addSuccess("BenchmarkHandler", new DefaultAuthenticationHandlerExecutionResult("BenchmarkHandler", meta, principal, new ArrayList<>(0)))
+            .build();
+    }
+
+    /**
+     * Gets service.
+     *
+     * @param id the id
+     * @return the service
+     */
+    public static WebApplicationService getService(final String id) {
+        return new WebApplicationServiceFactory().createService(id);
+    }
+
+    /**
+     * Gets registered service that matches all services of the given host.
+     *
+     * @param id   the id
+     * @param host the host
+     * @return the registered service
+     */
+    public static RegexRegisteredService getRegisteredService(final long id, final String host) {
+        return getRegisteredService(id, host, new ReturnAllAttributeReleasePolicy());
+    }
+
+    /**
+     * Gets registered service that matches all services of the given host.
+     *
+     * @param id     the id
+     * @param host   the host
+     * @param policy the attribute release policy
+     * @return the registered service
+     */
+    public static RegexRegisteredService getRegisteredService(final long id, final String host,
+                                                              final RegisteredServiceAttributeReleasePolicy policy) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Benchmark" + id);
+        service.setServiceId("^https://" + host.replace(".", "\\.") + "/.*");
+        service.setEvaluationOrder((int) id);
+        service.setAttributeReleasePolicy(policy);
+        return service;
+    }
+}
@@ -0,0 +1,143 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.DefaultCentralAuthenticationService;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionStrategy;
+import org.apereo.cas.authentication.policy.AcceptAnyAuthenticationPolicyFactory;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceAccessStrategyAuditableEnforcer;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+import org.apereo.cas.ticket.factory.DefaultServiceTicketFactory;
+import org.apereo.cas.ticket.factory.DefaultTicketFactory;
+import org.apereo.cas.ticket.factory.DefaultTicketGrantingTicketFactory;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.validation.Assertion;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CentralAuthenticationServiceBenchmarks} that measures granting and validating
+ * service tickets with {@link DefaultCentralAuthenticationService} on top of a {@link DefaultTicketRegistry}.
+ * Each benchmark thread works with its own ticket-granting ticket, as would separate users.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CentralAuthenticationServiceBenchmarks {
+    private static final String SERVICE_HOST = "app.example.org";
+
+    @Param({"10", "100"})
+    private int attributes;
+
+    private DefaultCentralAuthenticationService centralAuthenticationService;
+
+    private DefaultTicketRegistry ticketRegistry;
+
+    private DefaultTicketFactory ticketFactory;
+
+    private Service service;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val registeredServices = new ArrayList<RegisteredService>();
+        registeredServices.add(BenchmarkUtils.getRegisteredService(1, SERVICE_HOST));
+        val servicesManager = new DefaultServicesManager(
+            new InMemoryServiceRegistry(BenchmarkUtils.NO_OP_EVENT_PUBLISHER, registeredServices),
+            BenchmarkUtils.NO_OP_EVENT_PUBLISHER, new HashSet<>(0));
+        servicesManager.load();
+
+        this.ticketRegistry = new DefaultTicketRegistry();
+        this.ticketFactory = new DefaultTicketFactory();
+        this.ticketFactory.addTicketFactory(TicketGrantingTicket.class,
+            new DefaultTicketGrantingTicketFactory(new DefaultUniqueTicketIdGenerator(),
+                new NeverExpiresExpirationPolicy(), CipherExecutor.noOpOfSerializableToString()));
+        this.ticketFactory.addTicketFactory(ServiceTicket.class,
+            new DefaultServiceTicketFactory(new MultiTimeUseOrTimeoutExpirationPolicy(1, 60),
+                new HashMap<>(0), true, CipherExecutor.noOpOfStringToString()));
+
+        this.centralAuthenticationService = new DefaultCentralAuthenticationService(
+            BenchmarkUtils.NO_OP_EVENT_PUBLISHER,
+            this.ticketRegistry,
+            servicesManager,
+            ticket -> new ArrayList<>(0),
+            this.ticketFactory,
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()),
+            new AcceptAnyAuthenticationPolicyFactory(),
+            new DefaultPrincipalFactory(),
+            CipherExecutor.noOpOfStringToString(),
+            new RegisteredServiceAccessStrategyAuditableEnforcer());
+        this.service = BenchmarkUtils.getService("https://" + SERVICE_HOST + "/login");
+    }
+
+    @Benchmark
+    public Assertion grantAndValidateServiceTicket(final TicketGrantingTicketState state) {
+        return grantAndValidate(state);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Assertion grantAndValidateServiceTicketConcurrently(final TicketGrantingTicketState state) {
+        return grantAndValidate(state);
+    }
+
+    private Assertion grantAndValidate(final TicketGrantingTicketState state) {
+        val serviceTicket = this.centralAuthenticationService.grantServiceTicket(state.getTicketGrantingTicketId(), this.service, null);
+        return this.centralAuthenticationService.validateServiceTicket(serviceTicket.getId(), this.service);
+    }
+
+    /**
+     * The ticket-granting ticket a benchmark thread is granted service tickets for.
+     */
+    @State(Scope.Thread)
+    public static class TicketGrantingTicketState {
+        private String ticketGrantingTicketId;
+
+        @Setup(Level.Trial)
+        public void setup(final CentralAuthenticationServiceBenchmarks benchmarks) {
+            val principal = BenchmarkUtils.getPrincipal("casuser-" + Thread.currentThread().getId(),
+                BenchmarkUtils.getAttributes(benchmarks.attributes));
+            val factory = (TicketGrantingTicketFactory) benchmarks.ticketFactory.get(TicketGrantingTicket.class);
+            val ticketGrantingTicket = factory.create(BenchmarkUtils.getAuthentication(principal), TicketGrantingTicket.class);
+            benchmarks.ticketRegistry.addTicket(ticketGrantingTicket);
+            this.ticketGrantingTicketId = ticketGrantingTicket.getId();
+        }
+
+        public String getTicketGrantingTicketId() {
+            return this.ticketGrantingTicketId;
+        }
+    }
+}
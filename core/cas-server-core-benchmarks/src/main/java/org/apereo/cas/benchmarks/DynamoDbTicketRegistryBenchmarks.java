@@ -0,0 +1,135 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
+import org.apereo.cas.dynamodb.AmazonDynamoDbClientFactory;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.DefaultTicketDefinition;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DynamoDbTicketRegistry;
+import org.apereo.cas.ticket.registry.DynamoDbTicketRegistryFacilitator;
+import org.apereo.cas.ticket.registry.TicketRegistryBatch;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DynamoDbTicketRegistryBenchmarks} that measures adding, fetching, batching and scanning tickets
+ * with the {@link DynamoDbTicketRegistry}. Benchmarks require a DynamoDb Local instance listening on port 8000,
+ * and are expected to be selected explicitly, i.e. {@code -Pjmh.includes=DynamoDbTicketRegistryBenchmarks}.
+ * Ticket tables are dropped and recreated for every trial.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DynamoDbTicketRegistryBenchmarks {
+    private static final int BATCH_SIZE = 25;
+
+    private final DefaultUniqueTicketIdGenerator idGenerator = new DefaultUniqueTicketIdGenerator();
+
+    @Param({"1000"})
+    private int tickets;
+
+    @Param({"1", "4"})
+    private int scanSegments;
+
+    private DynamoDbTicketRegistryFacilitator facilitator;
+
+    private DynamoDbTicketRegistry ticketRegistry;
+
+    private String ticketId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("aws.accessKeyId", System.getProperty("aws.accessKeyId", "benchmark"));
+        System.setProperty("aws.secretKey", System.getProperty("aws.secretKey", "benchmark"));
+
+        val properties = new DynamoDbTicketRegistryProperties();
+        properties.setEndpoint("http://localhost:8000");
+        properties.setRegion("us-east-1");
+        properties.setLocalInstance(true);
+        properties.setScanSegments(this.scanSegments);
+
+        val definition = new DefaultTicketDefinition(TicketGrantingTicketImpl.class, TicketGrantingTicket.PREFIX, Ordered.LOWEST_PRECEDENCE);
+        definition.getProperties().setStorageName(properties.getTicketGrantingTicketsTableName());
+        val catalog = new DefaultTicketCatalog();
+        catalog.register(definition);
+
+        this.facilitator = new DynamoDbTicketRegistryFacilitator(catalog, properties,
+            new AmazonDynamoDbClientFactory().createAmazonDynamoDb(properties));
+        this.facilitator.createTicketTables(true);
+        this.ticketRegistry = new DynamoDbTicketRegistry(CipherExecutor.noOp(), this.facilitator);
+
+        val preloaded = new ArrayList<Pair<Ticket, Ticket>>(this.tickets);
+        for (var i = 0; i < this.tickets; i++) {
+            val ticket = newTicket();
+            preloaded.add(Pair.of(ticket, ticket));
+        }
+        this.facilitator.put(preloaded);
+        this.ticketId = preloaded.get(0).getKey().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.facilitator.destroy();
+    }
+
+    @Benchmark
+    public void addTicket() {
+        this.ticketRegistry.addTicket(newTicket());
+    }
+
+    @Benchmark
+    public Ticket getTicket() {
+        return this.ticketRegistry.getTicket(this.ticketId);
+    }
+
+    @Benchmark
+    public void commitBatch() {
+        val batch = new TicketRegistryBatch();
+        for (var i = 0; i < BATCH_SIZE; i++) {
+            batch.add(newTicket());
+        }
+        this.ticketRegistry.commit(batch);
+    }
+
+    @Benchmark
+    public long scanTickets() {
+        try (val stream = this.ticketRegistry.getTicketsStream()) {
+            return stream.count();
+        }
+    }
+
+    private Ticket newTicket() {
+        val principal = BenchmarkUtils.getPrincipal("casuser", BenchmarkUtils.getAttributes(5));
+        return new TicketGrantingTicketImpl(this.idGenerator.getNewTicketId(TicketGrantingTicket.PREFIX),
+            BenchmarkUtils.getAuthentication(principal), new HardTimeoutExpirationPolicy(3600));
+    }
+}
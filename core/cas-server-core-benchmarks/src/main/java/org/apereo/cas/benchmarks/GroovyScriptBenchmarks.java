@@ -0,0 +1,60 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.scripting.ScriptingUtils;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link GroovyScriptBenchmarks} that compares evaluating an inline groovy script
+ * through {@link ScriptingUtils}, which caches compiled scripts, with parsing the script
+ * on every evaluation as was previously the case.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GroovyScriptBenchmarks {
+    private static final String SCRIPT = "return attributes['memberOf'].findAll { it.startsWith('group-') }.collect { it.toUpperCase() }";
+
+    private Map<String, Object> variables;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ScriptingUtils.clearCompiledScriptCache();
+        this.variables = new HashMap<>();
+        this.variables.put("attributes", CollectionUtils.wrap("memberOf",
+            CollectionUtils.wrapList("group-one", "group-two", "staff", "group-three")));
+    }
+
+    @Benchmark
+    public Object executeCompiledScript() {
+        return ScriptingUtils.executeGroovyShellScript(SCRIPT, this.variables, Object.class);
+    }
+
+    @Benchmark
+    public Object executeParsedScript() {
+        return new GroovyShell(new Binding(new HashMap<>(this.variables))).evaluate(SCRIPT);
+    }
+}
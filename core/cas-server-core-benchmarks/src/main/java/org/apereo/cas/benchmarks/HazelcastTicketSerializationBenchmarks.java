@@ -0,0 +1,140 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.EncodedTicket;
+import org.apereo.cas.ticket.registry.HazelcastTicketHolder;
+import org.apereo.cas.ticket.registry.serialization.EncodedTicketStreamSerializer;
+import org.apereo.cas.ticket.registry.serialization.HazelcastTicketHolderStreamSerializer;
+import org.apereo.cas.ticket.registry.serialization.KryoTicketStreamSerializer;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import lombok.val;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link HazelcastTicketSerializationBenchmarks} that compares writing and reading ticket entries
+ * of the Hazelcast ticket registry with the registry stream serializers and with plain Java serialization.
+ * This is the serialization cost that every put and get against a Hazelcast map pays.
+ * Writes also report the size of the serialized entry, as held by the map, in bytes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HazelcastTicketSerializationBenchmarks {
+    @Param({"true", "false"})
+    private boolean nativeSerializers;
+
+    @Param({"1", "10"})
+    private int services;
+
+    private InternalSerializationService serializationService;
+
+    private HazelcastTicketHolder holder;
+
+    private Data data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val config = new SerializationConfig();
+        if (this.nativeSerializers) {
+            config.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(HazelcastTicketHolder.class)
+                .setImplementation(new HazelcastTicketHolderStreamSerializer()));
+            config.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(EncodedTicket.class)
+                .setImplementation(new EncodedTicketStreamSerializer()));
+            config.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(Ticket.class)
+                .setImplementation(new KryoTicketStreamSerializer()));
+        }
+        this.serializationService = new DefaultSerializationServiceBuilder().setConfig(config).build();
+
+        val principal = BenchmarkUtils.getPrincipal("casuser", BenchmarkUtils.getAttributes(10));
+        val idGenerator = new DefaultUniqueTicketIdGenerator();
+        val ticketGrantingTicket = new TicketGrantingTicketImpl(idGenerator.getNewTicketId(TicketGrantingTicket.PREFIX),
+            BenchmarkUtils.getAuthentication(principal), new NeverExpiresExpirationPolicy());
+        for (var i = 0; i < this.services; i++) {
+            ticketGrantingTicket.grantServiceTicket(idGenerator.getNewTicketId(ServiceTicket.PREFIX),
+                BenchmarkUtils.getService("https://app" + i + ".example.org/login"),
+                new MultiTimeUseOrTimeoutExpirationPolicy(1, 10), false, false);
+        }
+        this.holder = new HazelcastTicketHolder(ticketGrantingTicket.getId(), TicketGrantingTicket.PREFIX,
+            principal.getId(), Long.MAX_VALUE, ticketGrantingTicket);
+        this.data = this.serializationService.toData(this.holder);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data writeTicket(final SerializedSize serializedSize) {
+        val result = this.serializationService.toData(this.holder);
+        serializedSize.record(result);
+        return result;
+    }
+
+    @Benchmark
+    public Object readTicket() {
+        return this.serializationService.toObject(this.data);
+    }
+
+    /**
+     * Reports the size of the serialized entry next to the benchmark score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedSize {
+        private int bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.bytes = 0;
+        }
+
+        /**
+         * Size of the serialized entry in bytes, reported as a counter.
+         *
+         * @return the size
+         */
+        public int serializedBytes() {
+            return this.bytes;
+        }
+
+        void record(final Data data) {
+            this.bytes = data.totalSize();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.AbstractServicesManager;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.DomainServicesManager;
+import org.apereo.cas.services.IndexedServicesManager;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ServicesManagerBenchmarks} that measures {@link AbstractServicesManager#findServiceBy(Service)}
+ * across the available services manager implementations and registries of increasing size.
+ * Services are looked up in a random order so that matches are spread across the entire registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServicesManagerBenchmarks {
+    private static final int LOOKUPS = 1024;
+
+    @Param({"DEFAULT", "DOMAIN", "INDEXED"})
+    private String managementType;
+
+    @Param({"100", "1000", "10000"})
+    private int services;
+
+    private AbstractServicesManager servicesManager;
+
+    private Service[] lookups;
+
+    private Service unknownService;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val registeredServices = new ArrayList<RegisteredService>(this.services);
+        for (var i = 1; i <= this.services; i++) {
+            registeredServices.add(BenchmarkUtils.getRegisteredService(i, "app" + i + ".example.org"));
+        }
+        val registry = new InMemoryServiceRegistry(BenchmarkUtils.NO_OP_EVENT_PUBLISHER, registeredServices);
+        switch (this.managementType) {
+            case "DOMAIN":
+                this.servicesManager = new DomainServicesManager(registry, BenchmarkUtils.NO_OP_EVENT_PUBLISHER, new HashSet<>(0));
+                break;
+            case "INDEXED":
+                this.servicesManager = new IndexedServicesManager(registry, BenchmarkUtils.NO_OP_EVENT_PUBLISHER, new HashSet<>(0));
+                break;
+            default:
+                this.servicesManager = new DefaultServicesManager(registry, BenchmarkUtils.NO_OP_EVENT_PUBLISHER, new HashSet<>(0));
+                break;
+        }
+        this.servicesManager.load();
+
+        val random = new Random(this.services);
+        this.lookups = new Service[LOOKUPS];
+        for (var i = 0; i < LOOKUPS; i++) {
+            val host = "app" + (random.nextInt(this.services) + 1) + ".example.org";
+            this.lookups[i] = BenchmarkUtils.getService("https://" + host + "/cas/login?page=" + i);
+        }
+        this.unknownService = BenchmarkUtils.getService("https://app.example.net/cas/login");
+    }
+
+    @Benchmark
+    public RegisteredService findServiceBy() {
+        val service = this.lookups[this.next++ & (LOOKUPS - 1)];
+        return this.servicesManager.findServiceBy(service);
+    }
+
+    @Benchmark
+    public RegisteredService findServiceByUnknownService() {
+        return this.servicesManager.findServiceBy(this.unknownService);
+    }
+}
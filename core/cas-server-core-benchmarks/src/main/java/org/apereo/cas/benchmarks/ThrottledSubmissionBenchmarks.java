@@ -0,0 +1,82 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.web.support.SlidingWindowSubmissionCounter;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ThrottledSubmissionBenchmarks} that measures recording authentication failures and
+ * checking throttling thresholds from concurrent threads, with the sliding window counter used by
+ * in-memory throttling and with the map of last failures used when a map is provided.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ThrottledSubmissionBenchmarks {
+    private static final int KEYS = 4096;
+
+    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+
+    private static final int FAILURE_THRESHOLD = 3;
+
+    private static final double THRESHOLD_RATE = FAILURE_THRESHOLD / 60.0;
+
+    private String[] keys;
+
+    private SlidingWindowSubmissionCounter submissionCounter;
+
+    private ConcurrentMap<String, ZonedDateTime> submissionMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.keys = new String[KEYS];
+        for (var i = 0; i < KEYS; i++) {
+            this.keys[i] = "192.168." + (i >> 8) + '.' + (i & 0xFF) + ";casuser" + i;
+        }
+        this.submissionCounter = new SlidingWindowSubmissionCounter(Duration.ofMinutes(1), KEYS * 2);
+        this.submissionMap = new ConcurrentHashMap<>(KEYS * 2);
+    }
+
+    @Benchmark
+    public boolean recordFailureAndCheckThresholdWithCounter() {
+        val key = this.keys[ThreadLocalRandom.current().nextInt(KEYS)];
+        this.submissionCounter.increment(key, System.currentTimeMillis());
+        return this.submissionCounter.estimate(key, System.currentTimeMillis()) > FAILURE_THRESHOLD;
+    }
+
+    @Benchmark
+    public boolean recordFailureAndCheckThresholdWithMap() {
+        val key = this.keys[ThreadLocalRandom.current().nextInt(KEYS)];
+        this.submissionMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+        val last = this.submissionMap.get(key);
+        val elapsed = ZonedDateTime.now(ZoneOffset.UTC).toInstant().toEpochMilli() - last.toInstant().toEpochMilli();
+        return SUBMISSION_RATE_DIVIDEND / elapsed > THRESHOLD_RATE;
+    }
+}
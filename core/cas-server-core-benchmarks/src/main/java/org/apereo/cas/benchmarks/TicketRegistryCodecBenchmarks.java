@@ -0,0 +1,109 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.kryo.KryoTicketCodec;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.AbstractTicketRegistry;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketRegistryCodecBenchmarks} that measures {@link AbstractTicketRegistry} encoding
+ * and decoding ticket-granting tickets with a {@link DefaultTicketCipherExecutor} and either ticket codec, for tickets that
+ * have been used to access an increasing number of services.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TicketRegistryCodecBenchmarks {
+    @Param({"true", "false"})
+    private boolean authenticatedEncryption;
+
+    @Param({"DEFAULT", "KRYO"})
+    private String codec;
+
+    @Param({"1", "10", "100"})
+    private int services;
+
+    private CodecTicketRegistry ticketRegistry;
+
+    private Ticket ticket;
+
+    private Ticket encodedTicket;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val cipher = new DefaultTicketCipherExecutor(null, null, "AES", 512, 16, "benchmarks");
+        cipher.setAuthenticatedEncryption(this.authenticatedEncryption);
+        this.ticketRegistry = new CodecTicketRegistry(cipher);
+        if ("KRYO".equals(this.codec)) {
+            this.ticketRegistry.setTicketCodec(new KryoTicketCodec());
+        }
+
+        val principal = BenchmarkUtils.getPrincipal("casuser", BenchmarkUtils.getAttributes(10));
+        val idGenerator = new DefaultUniqueTicketIdGenerator();
+        val ticketGrantingTicket = new TicketGrantingTicketImpl(idGenerator.getNewTicketId(TicketGrantingTicket.PREFIX),
+            BenchmarkUtils.getAuthentication(principal), new NeverExpiresExpirationPolicy());
+        for (var i = 0; i < this.services; i++) {
+            ticketGrantingTicket.grantServiceTicket(idGenerator.getNewTicketId(ServiceTicket.PREFIX),
+                BenchmarkUtils.getService("https://app" + i + ".example.org/login"),
+                new MultiTimeUseOrTimeoutExpirationPolicy(1, 10), false, false);
+        }
+        this.ticket = ticketGrantingTicket;
+        this.encodedTicket = this.ticketRegistry.encode(ticketGrantingTicket);
+    }
+
+    @Benchmark
+    public Ticket encodeTicket() {
+        return this.ticketRegistry.encode(this.ticket);
+    }
+
+    @Benchmark
+    public Ticket decodeTicket() {
+        return this.ticketRegistry.decode(this.encodedTicket);
+    }
+
+    /**
+     * Exposes the ticket encoding operations of the registry.
+     */
+    private static class CodecTicketRegistry extends DefaultTicketRegistry {
+        CodecTicketRegistry(final DefaultTicketCipherExecutor cipherExecutor) {
+            super(cipherExecutor);
+        }
+
+        Ticket encode(final Ticket ticket) {
+            return encodeTicket(ticket);
+        }
+
+        Ticket decode(final Ticket ticket) {
+            return decodeTicket(ticket);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link UniqueTicketIdGeneratorBenchmarks} that measures generating ticket ids
+ * with {@link DefaultUniqueTicketIdGenerator}, from a single thread and from threads that share the generator.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UniqueTicketIdGeneratorBenchmarks {
+    private final UniqueTicketIdGenerator ticketGrantingTicketIdGenerator = new DefaultUniqueTicketIdGenerator();
+
+    private final UniqueTicketIdGenerator serviceTicketIdGenerator = new DefaultUniqueTicketIdGenerator();
+
+    @Benchmark
+    public String getNewTicketGrantingTicketId() {
+        return this.ticketGrantingTicketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+
+    @Benchmark
+    public String getNewServiceTicketId() {
+        return this.serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String getNewServiceTicketIdConcurrently() {
+        return this.serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+    }
+}
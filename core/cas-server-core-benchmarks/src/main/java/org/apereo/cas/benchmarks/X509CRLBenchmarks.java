@@ -0,0 +1,92 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedX509CRL;
+
+import lombok.val;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CRLConverter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link X509CRLBenchmarks} that compares looking up serial numbers in a large CRL
+ * through the {@link IndexedX509CRL} serial number index with looking them up in the CRL itself.
+ * Half of the serial numbers looked up are revoked.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class X509CRLBenchmarks {
+    private static final int LOOKUPS = 1024;
+
+    @Param("500000")
+    private int revoked;
+
+    private X509CRL crl;
+
+    private IndexedX509CRL indexedCrl;
+
+    private BigInteger[] serialNumbers;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        val generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        val keyPair = generator.generateKeyPair();
+
+        val now = new Date();
+        val builder = new X509v2CRLBuilder(new X500Name("CN=CAS Benchmarks CA"), now);
+        builder.setNextUpdate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)));
+        for (var i = 1; i <= this.revoked; i++) {
+            builder.addCRLEntry(BigInteger.valueOf(i * 2L), now, CRLReason.keyCompromise);
+        }
+        val signer = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+        this.crl = new JcaX509CRLConverter().getCRL(builder.build(signer));
+        this.indexedCrl = new IndexedX509CRL(this.crl);
+
+        val random = new Random(this.revoked);
+        this.serialNumbers = new BigInteger[LOOKUPS];
+        for (var i = 0; i < LOOKUPS; i++) {
+            this.serialNumbers[i] = BigInteger.valueOf(random.nextInt(this.revoked * 2) + 1L);
+        }
+    }
+
+    @Benchmark
+    public X509CRLEntry getRevokedCertificate() {
+        return this.crl.getRevokedCertificate(this.serialNumbers[this.next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public X509CRLEntry getRevokedCertificateIndexed() {
+        return this.indexedCrl.getRevokedCertificate(this.serialNumbers[this.next++ & (LOOKUPS - 1)]);
+    }
+}
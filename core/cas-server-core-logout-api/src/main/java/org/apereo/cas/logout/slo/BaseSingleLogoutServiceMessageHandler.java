@@ -13,6 +13,7 @@ import org.apereo.cas.util.http.HttpClient;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -40,6 +41,12 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
     private final boolean asynchronous;
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
 
+    /**
+     * Queues asynchronous logout messages for delivery, if defined.
+     */
+    @Setter
+    private SingleLogoutMessageDispatcher singleLogoutMessageDispatcher;
+
     @Override
     public Collection<SingleLogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
                                                   final TicketGrantingTicket ticketGrantingTicket) {
@@ -191,6 +198,9 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
      * @return the boolean
      */
     protected boolean sendMessageToEndpoint(final LogoutHttpMessage msg, final SingleLogoutRequest request, final SingleLogoutMessage logoutMessage) {
+        if (msg.isAsynchronous() && this.singleLogoutMessageDispatcher != null) {
+            return this.singleLogoutMessageDispatcher.dispatch(msg, request.getService());
+        }
         return this.httpClient.sendMessageToEndPoint(msg);
     }
 
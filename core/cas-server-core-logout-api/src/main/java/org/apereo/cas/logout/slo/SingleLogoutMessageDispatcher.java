@@ -0,0 +1,499 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketFactory;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcher} that delivers back-channel logout messages on a dedicated pool
+ * of threads, so that callers such as the ticket registry cleaner are not held up by slow relying parties.
+ * <p>
+ * Messages are queued per destination host, and no more than a fixed number of messages are delivered to the same
+ * host concurrently. A thread that picks up messages for a host delivers several messages to the same logout endpoint
+ * one after another, skipping duplicates, before giving way to other endpoints. Failed deliveries are retried with
+ * an exponential backoff. The total number of pending messages is bounded; messages that exceed it are rejected.
+ * <p>
+ * Pending messages may optionally be kept in the ticket registry as transient session tickets, tagged with the node
+ * that queued them, so that they can be recovered and delivered by the same node after a restart.
+ * <p>
+ * Threads are only started once the first message is dispatched. The backlog and delivery statistics
+ * are bound to Micrometer under {@code cas.slo.dispatch}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class SingleLogoutMessageDispatcher implements DisposableBean, MeterBinder {
+    /**
+     * Transient session ticket property that marks the ticket as a pending logout message.
+     */
+    public static final String PROPERTY_LOGOUT_URL = "singleLogoutUrl";
+
+    private static final String PROPERTY_LOGOUT_MESSAGE = "singleLogoutMessage";
+
+    private static final String PROPERTY_CONTENT_TYPE = "singleLogoutContentType";
+
+    private static final String PROPERTY_NODE = "singleLogoutNode";
+
+    private static final String METER_NAME_PREFIX = "cas.slo.dispatch.";
+
+    private final HttpClient httpClient;
+
+    private final int capacity;
+
+    private final int maxConcurrencyPerHost;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final long retryDelay;
+
+    private final int threads;
+
+    @Getter(AccessLevel.NONE)
+    private volatile ExecutorService executorService;
+
+    @Getter(AccessLevel.NONE)
+    private volatile ScheduledExecutorService retryExecutorService;
+
+    @Getter(AccessLevel.NONE)
+    private volatile MeterRegistry meterRegistry;
+
+    private volatile boolean destroyed;
+
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    private final LongAdder deliveredMessages = new LongAdder();
+
+    private final LongAdder failedMessages = new LongAdder();
+
+    private final LongAdder rejectedMessages = new LongAdder();
+
+    private final LongAdder coalescedMessages = new LongAdder();
+
+    @Setter
+    private TicketRegistry ticketRegistry;
+
+    @Setter
+    private TransientSessionTicketFactory ticketFactory;
+
+    /**
+     * Identifies this node among the nodes that share the ticket registry.
+     */
+    @Setter
+    private String nodeId;
+
+    public SingleLogoutMessageDispatcher(final HttpClient httpClient, final SloProperties.Dispatch properties) {
+        this.httpClient = httpClient;
+        this.capacity = properties.getCapacity();
+        this.maxConcurrencyPerHost = Math.max(1, properties.getMaxConcurrencyPerHost());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.retryDelay = Beans.newDuration(properties.getRetryDelay()).toMillis();
+        this.threads = Math.max(1, properties.getThreads());
+    }
+
+    private static String getDestinationKey(final URL url) {
+        return url.getAuthority();
+    }
+
+    /**
+     * Queue the logout message for delivery.
+     *
+     * @param message the message
+     * @param service the service that is logged out
+     * @return true if the message is queued, false if it is rejected
+     */
+    public boolean dispatch(final HttpMessage message, final Service service) {
+        if (this.backlog.incrementAndGet() > this.capacity) {
+            this.backlog.decrementAndGet();
+            this.rejectedMessages.increment();
+            LOGGER.warn("Logout message to [{}] is rejected since [{}] messages are already waiting for delivery",
+                message.getUrl(), this.capacity);
+            return false;
+        }
+        val pending = new PendingMessage(message.getUrl(), message.getMessage(), message.getContentType());
+        pending.setTicketId(persist(pending, service));
+        enqueue(pending);
+        return true;
+    }
+
+    /**
+     * Queue logout messages that this node kept in the ticket registry for delivery,
+     * typically after a restart. Messages queued by other nodes are left to them.
+     *
+     * @return the number of recovered messages
+     */
+    public int recover() {
+        if (this.ticketRegistry == null || StringUtils.isBlank(this.nodeId)) {
+            return 0;
+        }
+        val tickets = this.ticketRegistry.getTickets(ticket -> ticket instanceof TransientSessionTicket
+            && ((TransientSessionTicket) ticket).getProperties().containsKey(PROPERTY_LOGOUT_URL)
+            && this.nodeId.equals(((TransientSessionTicket) ticket).getProperties().get(PROPERTY_NODE))
+            && !ticket.isExpired());
+        val count = new AtomicInteger();
+        tickets.map(TransientSessionTicket.class::cast).forEach(ticket -> {
+            try {
+                val properties = ticket.getProperties();
+                val pending = new PendingMessage(new URL(properties.get(PROPERTY_LOGOUT_URL).toString()),
+                    properties.get(PROPERTY_LOGOUT_MESSAGE).toString(),
+                    properties.get(PROPERTY_CONTENT_TYPE).toString());
+                pending.setTicketId(ticket.getId());
+                this.backlog.incrementAndGet();
+                enqueue(pending);
+                count.incrementAndGet();
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to recover logout message from [{}]: [{}]", ticket.getId(), e.getMessage());
+            }
+        });
+        LOGGER.info("Recovered [{}] pending logout message(s) from the ticket registry", count.get());
+        return count.get();
+    }
+
+    /**
+     * Gets average delivery latency in milliseconds, by destination host.
+     *
+     * @return the latencies
+     */
+    public Map<String, Double> getAverageLatencies() {
+        val results = new HashMap<String, Double>();
+        this.destinations.forEach((host, destination) -> results.put(host, destination.getAverageLatency()));
+        return results;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METER_NAME_PREFIX + "backlog", this.backlog, AtomicInteger::get)
+            .description("Logout messages waiting for delivery")
+            .register(registry);
+        bindCounter(registry, this.deliveredMessages, "delivered");
+        bindCounter(registry, this.failedMessages, "failed");
+        bindCounter(registry, this.rejectedMessages, "rejected");
+        bindCounter(registry, this.coalescedMessages, "coalesced");
+        this.meterRegistry = registry;
+        this.destinations.forEach((host, destination) -> bindDestination(registry, host, destination));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        this.destroyed = true;
+        if (this.retryExecutorService != null) {
+            this.retryExecutorService.shutdownNow();
+        }
+        if (this.executorService != null) {
+            this.executorService.shutdown();
+        }
+    }
+
+    private static void bindCounter(final MeterRegistry registry, final LongAdder adder, final String outcome) {
+        FunctionCounter.builder(METER_NAME_PREFIX + "messages", adder, LongAdder::sum)
+            .description("Logout messages by outcome")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static void bindDestination(final MeterRegistry registry, final String host, final Destination destination) {
+        FunctionTimer.builder(METER_NAME_PREFIX + "latency", destination,
+            d -> d.getDeliveries().sum() + d.getFailures().sum(),
+            d -> d.getTotalLatency().sum(), TimeUnit.NANOSECONDS)
+            .description("Delivery latency of logout messages by destination host")
+            .tag("host", host)
+            .register(registry);
+    }
+
+    private ExecutorService getExecutorService() {
+        if (this.executorService == null) {
+            synchronized (this) {
+                if (this.executorService == null && !this.destroyed) {
+                    this.executorService = Executors.newFixedThreadPool(this.threads,
+                        new BasicThreadFactory.Builder().namingPattern("cas-slo-dispatch-%d").daemon(true).build());
+                }
+            }
+        }
+        return this.executorService;
+    }
+
+    private ScheduledExecutorService getRetryExecutorService() {
+        if (this.retryExecutorService == null) {
+            synchronized (this) {
+                if (this.retryExecutorService == null && !this.destroyed) {
+                    this.retryExecutorService = Executors.newSingleThreadScheduledExecutor(
+                        new BasicThreadFactory.Builder().namingPattern("cas-slo-retry-%d").daemon(true).build());
+                }
+            }
+        }
+        return this.retryExecutorService;
+    }
+
+    private Destination getDestination(final String host) {
+        return this.destinations.computeIfAbsent(host, key -> {
+            val destination = new Destination(this.maxConcurrencyPerHost);
+            val registry = this.meterRegistry;
+            if (registry != null) {
+                bindDestination(registry, key, destination);
+            }
+            return destination;
+        });
+    }
+
+    private void enqueue(final PendingMessage message) {
+        val destination = getDestination(getDestinationKey(message.getUrl()));
+        synchronized (destination) {
+            destination.getMessages().addLast(message);
+        }
+        drain(destination);
+    }
+
+    private void drain(final Destination destination) {
+        while (destination.getPermits().tryAcquire()) {
+            val batch = destination.nextBatch(this.batchSize);
+            if (batch.isEmpty()) {
+                destination.getPermits().release();
+                if (destination.hasMessages()) {
+                    continue;
+                }
+                return;
+            }
+            try {
+                getExecutorService().execute(() -> {
+                    try {
+                        deliver(destination, batch);
+                    } finally {
+                        destination.getPermits().release();
+                        drain(destination);
+                    }
+                });
+            } catch (final Exception e) {
+                destination.getPermits().release();
+                LOGGER.error("Unable to schedule delivery of [{}] logout message(s): [{}]", batch.size(), e.getMessage());
+                batch.forEach(this::complete);
+                return;
+            }
+        }
+    }
+
+    private void deliver(final Destination destination, final List<PendingMessage> batch) {
+        val delivered = new HashSet<String>();
+        batch.forEach(message -> {
+            if (!delivered.add(message.getPayload())) {
+                LOGGER.trace("Skipping duplicate logout message to [{}]", message.getUrl());
+                this.coalescedMessages.increment();
+                complete(message);
+                return;
+            }
+            val start = System.nanoTime();
+            var result = false;
+            try {
+                result = this.httpClient.sendMessageToEndPoint(message.toHttpMessage());
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+            destination.record(System.nanoTime() - start, result);
+            if (result) {
+                this.deliveredMessages.increment();
+                complete(message);
+            } else {
+                retry(message);
+            }
+        });
+    }
+
+    private void retry(final PendingMessage message) {
+        val attempts = message.getAttempts().incrementAndGet();
+        if (attempts >= this.maxAttempts) {
+            LOGGER.warn("Unable to deliver logout message to [{}] after [{}] attempt(s)", message.getUrl(), attempts);
+            this.failedMessages.increment();
+            complete(message);
+            return;
+        }
+        val delay = this.retryDelay << (attempts - 1);
+        LOGGER.debug("Retrying delivery of logout message to [{}] in [{}] ms", message.getUrl(), delay);
+        try {
+            getRetryExecutorService().schedule(() -> enqueue(message), delay, TimeUnit.MILLISECONDS);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to schedule retry of logout message to [{}]: [{}]", message.getUrl(), e.getMessage());
+            complete(message);
+        }
+    }
+
+    private void complete(final PendingMessage message) {
+        this.backlog.decrementAndGet();
+        if (this.ticketRegistry != null && message.getTicketId() != null) {
+            try {
+                this.ticketRegistry.deleteTicket(message.getTicketId());
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to remove logout message [{}] from the ticket registry: [{}]", message.getTicketId(), e.getMessage());
+            }
+        }
+    }
+
+    private String persist(final PendingMessage message, final Service service) {
+        if (this.ticketRegistry == null || this.ticketFactory == null) {
+            return null;
+        }
+        try {
+            val properties = new HashMap<String, Serializable>();
+            properties.put(PROPERTY_LOGOUT_URL, message.getUrl().toExternalForm());
+            properties.put(PROPERTY_LOGOUT_MESSAGE, message.getPayload());
+            properties.put(PROPERTY_CONTENT_TYPE, message.getContentType());
+            if (StringUtils.isNotBlank(this.nodeId)) {
+                properties.put(PROPERTY_NODE, this.nodeId);
+            }
+            val ticket = this.ticketFactory.create(service, properties);
+            this.ticketRegistry.addTicket(ticket);
+            return ticket.getId();
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to keep logout message to [{}] in the ticket registry: [{}]", message.getUrl(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Messages and delivery statistics of a destination host.
+     */
+    @Getter
+    public static class Destination {
+        private final Deque<PendingMessage> messages = new ArrayDeque<>();
+
+        private final Semaphore permits;
+
+        private final LongAdder deliveries = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder totalLatency = new LongAdder();
+
+        Destination(final int maxConcurrency) {
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        /**
+         * Gets the number of messages waiting for delivery to this host.
+         *
+         * @return the size
+         */
+        public synchronized int getBacklog() {
+            return this.messages.size();
+        }
+
+        /**
+         * Gets average delivery latency in milliseconds.
+         *
+         * @return the latency
+         */
+        public double getAverageLatency() {
+            val count = this.deliveries.sum() + this.failures.sum();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.totalLatency.sum()) / (double) count;
+        }
+
+        private synchronized boolean hasMessages() {
+            return !this.messages.isEmpty();
+        }
+
+        private synchronized List<PendingMessage> nextBatch(final int batchSize) {
+            val batch = new ArrayList<PendingMessage>(batchSize);
+            val first = this.messages.pollFirst();
+            if (first == null) {
+                return batch;
+            }
+            batch.add(first);
+            val iterator = this.messages.iterator();
+            while (batch.size() < batchSize && iterator.hasNext()) {
+                val next = iterator.next();
+                if (next.getUrl().toExternalForm().equals(first.getUrl().toExternalForm())) {
+                    batch.add(next);
+                    iterator.remove();
+                }
+            }
+            return batch;
+        }
+
+        private void record(final long latency, final boolean delivered) {
+            this.totalLatency.add(latency);
+            if (delivered) {
+                this.deliveries.increment();
+            } else {
+                this.failures.increment();
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingMessage {
+        private final URL url;
+
+        private final String payload;
+
+        private final String contentType;
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        @Setter
+        private String ticketId;
+
+        HttpMessage toHttpMessage() {
+            return new PreparedHttpMessage(this.url, this.payload, this.contentType);
+        }
+    }
+
+    /**
+     * An http message whose payload is already formatted, and is sent synchronously.
+     */
+    private static class PreparedHttpMessage extends HttpMessage {
+        private static final long serialVersionUID = -6342877104712961432L;
+
+        PreparedHttpMessage(final URL url, final String message, final String contentType) {
+            super(url, message, false);
+            setContentType(contentType);
+        }
+
+        @Override
+        protected String formatOutputMessageInternal(final String message) {
+            return message;
+        }
+    }
+}
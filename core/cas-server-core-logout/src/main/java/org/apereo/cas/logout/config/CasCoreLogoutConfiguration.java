@@ -11,24 +11,30 @@ import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceMessageHandler;
 import org.apereo.cas.logout.slo.SingleLogoutMessageCreator;
+import org.apereo.cas.logout.slo.SingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.TransientSessionTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.InetAddressUtils;
 import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.web.UrlValidator;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.RegExUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 
 import java.util.List;
 
@@ -66,6 +72,10 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @Qualifier("authenticationServiceSelectionPlan")
     private ObjectProvider<AuthenticationServiceSelectionPlan> authenticationServiceSelectionPlan;
 
+    @Autowired
+    @Qualifier("defaultTransientSessionTicketFactory")
+    private ObjectProvider<TransientSessionTicketFactory> transientSessionTicketFactory;
+
     @ConditionalOnMissingBean(name = "singleLogoutServiceLogoutUrlBuilder")
     @Bean
     public SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder() {
@@ -75,12 +85,44 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
+        val slo = casProperties.getSlo();
+        val handler = new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
             defaultSingleLogoutMessageCreator(),
             servicesManager.getIfAvailable(),
             singleLogoutServiceLogoutUrlBuilder(),
-            casProperties.getSlo().isAsynchronous(),
+            slo.isAsynchronous(),
             authenticationServiceSelectionPlan.getIfAvailable());
+        if (slo.isAsynchronous() && slo.getDispatch().isEnabled()) {
+            handler.setSingleLogoutMessageDispatcher(singleLogoutMessageDispatcher());
+        }
+        return handler;
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutMessageDispatcher")
+    @Bean
+    public SingleLogoutMessageDispatcher singleLogoutMessageDispatcher() {
+        val dispatch = casProperties.getSlo().getDispatch();
+        val dispatcher = new SingleLogoutMessageDispatcher(httpClient.getIfAvailable(), dispatch);
+        if (dispatch.isPersistent()) {
+            dispatcher.setTicketRegistry(ticketRegistry.getIfAvailable());
+            dispatcher.setTicketFactory(transientSessionTicketFactory.getIfAvailable());
+            dispatcher.setNodeId(StringUtils.defaultIfEmpty(casProperties.getHost().getName(), InetAddressUtils.getCasServerHostName()));
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Deliver logout messages that this node kept in the ticket registry before it was restarted,
+     * once the application is ready to serve requests.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void recoverSingleLogoutMessages(final ApplicationReadyEvent event) {
+        val slo = casProperties.getSlo();
+        if (slo.isAsynchronous() && slo.getDispatch().isEnabled() && slo.getDispatch().isPersistent()) {
+            singleLogoutMessageDispatcher().recover();
+        }
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
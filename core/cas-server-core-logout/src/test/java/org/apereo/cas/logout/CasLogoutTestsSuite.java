@@ -12,7 +12,8 @@ import org.junit.platform.suite.api.SelectClasses;
     DefaultLogoutManagerTests.class,
     DefaultSingleLogoutServiceLogoutUrlBuilderTests.class,
     LogoutHttpMessageTests.class,
-    SamlCompliantLogoutMessageCreatorTests.class
+    SamlCompliantLogoutMessageCreatorTests.class,
+    SingleLogoutMessageDispatcherTests.class
 })
 public class CasLogoutTestsSuite {
 }
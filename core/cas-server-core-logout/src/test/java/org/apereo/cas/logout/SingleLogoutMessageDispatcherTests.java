@@ -0,0 +1,183 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.logout.slo.SingleLogoutMessageDispatcher;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SingleLogoutMessageDispatcherTests {
+
+    private static SloProperties.Dispatch getProperties(final int capacity, final int threads, final int maxConcurrencyPerHost) {
+        val properties = new SloProperties.Dispatch();
+        properties.setCapacity(capacity);
+        properties.setThreads(threads);
+        properties.setMaxConcurrencyPerHost(maxConcurrencyPerHost);
+        properties.setRetryDelay("PT0.05S");
+        return properties;
+    }
+
+    @SneakyThrows
+    private static HttpMessage getMessage(final String url, final String payload) {
+        return new LogoutHttpMessage(new URL(url), payload, true);
+    }
+
+    @SneakyThrows
+    private static void waitForDelivery(final SingleLogoutMessageDispatcher dispatcher) {
+        val deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (dispatcher.getBacklog().get() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dispatcher.getBacklog().get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyConcurrencyPerHostAndDuplicates() {
+        val active = new AtomicInteger();
+        val maxActive = new AtomicInteger();
+        val release = new CountDownLatch(1);
+        val client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(invocation -> {
+            val current = active.incrementAndGet();
+            maxActive.accumulateAndGet(current, Math::max);
+            release.await(10, TimeUnit.SECONDS);
+            active.decrementAndGet();
+            return true;
+        });
+        val dispatcher = new SingleLogoutMessageDispatcher(client, getProperties(100, 4, 1));
+        val service = CoreAuthenticationTestUtils.getService();
+        assertTrue(dispatcher.dispatch(getMessage("https://app.example.org/logout", "first"), service));
+        for (var i = 0; i < 3; i++) {
+            assertTrue(dispatcher.dispatch(getMessage("https://app.example.org/logout", "second"), service));
+        }
+        assertTrue(dispatcher.dispatch(getMessage("https://app.example.org/other", "third"), service));
+        release.countDown();
+        waitForDelivery(dispatcher);
+
+        assertEquals(1, maxActive.get());
+        assertEquals(3, dispatcher.getDeliveredMessages().sum());
+        assertEquals(2, dispatcher.getCoalescedMessages().sum());
+        assertTrue(dispatcher.getDestinations().containsKey("app.example.org"));
+        assertFalse(dispatcher.getAverageLatencies().isEmpty());
+        dispatcher.destroy();
+    }
+
+    @Test
+    public void verifyRetries() {
+        val client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false, true);
+        val dispatcher = new SingleLogoutMessageDispatcher(client, getProperties(100, 1, 1));
+        assertTrue(dispatcher.dispatch(getMessage("https://app.example.org/logout", "retry"),
+            CoreAuthenticationTestUtils.getService()));
+        waitForDelivery(dispatcher);
+        verify(client, times(2)).sendMessageToEndPoint(any(HttpMessage.class));
+        assertEquals(1, dispatcher.getDeliveredMessages().sum());
+        assertEquals(0, dispatcher.getFailedMessages().sum());
+        dispatcher.destroy();
+    }
+
+    @Test
+    public void verifyFailureAfterMaxAttempts() {
+        val client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        val dispatcher = new SingleLogoutMessageDispatcher(client, getProperties(100, 1, 1));
+        assertTrue(dispatcher.dispatch(getMessage("https://app.example.org/logout", "fail"),
+            CoreAuthenticationTestUtils.getService()));
+        waitForDelivery(dispatcher);
+        verify(client, times(3)).sendMessageToEndPoint(any(HttpMessage.class));
+        assertEquals(1, dispatcher.getFailedMessages().sum());
+        dispatcher.destroy();
+    }
+
+    @SneakyThrows
+    private static TransientSessionTicket getPendingTicket(final String id, final String node) {
+        val ticket = mock(TransientSessionTicket.class);
+        when(ticket.getId()).thenReturn(id);
+        when(ticket.getProperties()).thenReturn(Map.<String, Serializable>of(
+            SingleLogoutMessageDispatcher.PROPERTY_LOGOUT_URL, "https://app.example.org/logout",
+            "singleLogoutMessage", id,
+            "singleLogoutContentType", "application/x-www-form-urlencoded",
+            "singleLogoutNode", node));
+        return ticket;
+    }
+
+    @Test
+    public void verifyOnlyMessagesOfThisNodeAreRecovered() {
+        val client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        val registry = mock(TicketRegistry.class);
+        val tickets = List.<Ticket>of(getPendingTicket("TST-1", "cas1"), getPendingTicket("TST-2", "cas2"));
+        when(registry.getTickets(any(Predicate.class))).thenAnswer(invocation -> {
+            val predicate = (Predicate<Ticket>) invocation.getArgument(0);
+            return tickets.stream().filter(predicate);
+        });
+        val dispatcher = new SingleLogoutMessageDispatcher(client, getProperties(100, 1, 1));
+        dispatcher.setTicketRegistry(registry);
+        dispatcher.setNodeId("cas1");
+        assertEquals(1, dispatcher.recover());
+        waitForDelivery(dispatcher);
+        verify(registry).deleteTicket("TST-1");
+        verify(registry, never()).deleteTicket("TST-2");
+        dispatcher.destroy();
+    }
+
+    @Test
+    public void verifyStatisticsAreBoundToMeters() {
+        val client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        val dispatcher = new SingleLogoutMessageDispatcher(client, getProperties(100, 1, 1));
+        val meterRegistry = new SimpleMeterRegistry();
+        dispatcher.bindTo(meterRegistry);
+        assertTrue(dispatcher.dispatch(getMessage("https://app.example.org/logout", "metered"),
+            CoreAuthenticationTestUtils.getService()));
+        waitForDelivery(dispatcher);
+        assertEquals(0, meterRegistry.get("cas.slo.dispatch.backlog").gauge().value());
+        assertEquals(1, meterRegistry.get("cas.slo.dispatch.messages").tag("outcome", "delivered").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cas.slo.dispatch.latency").tag("host", "app.example.org").functionTimer().count());
+        dispatcher.destroy();
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyRejectionOverCapacity() {
+        val release = new CountDownLatch(1);
+        val client = mock(HttpClient.class);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(invocation -> release.await(10, TimeUnit.SECONDS));
+        val dispatcher = new SingleLogoutMessageDispatcher(client, getProperties(1, 1, 1));
+        val service = CoreAuthenticationTestUtils.getService();
+        assertTrue(dispatcher.dispatch(getMessage("https://app.example.org/logout", "first"), service));
+        assertFalse(dispatcher.dispatch(getMessage("https://app.example.org/logout", "second"), service));
+        assertEquals(1, dispatcher.getRejectedMessages().sum());
+        release.countDown();
+        waitForDelivery(dispatcher);
+        dispatcher.destroy();
+    }
+}
@@ -1,6 +1,9 @@
 package org.apereo.cas.monitor;
 
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryStatistics;
 
 import lombok.RequiredArgsConstructor;
 import lombok.val;
@@ -11,6 +14,9 @@ import org.springframework.boot.actuate.health.Health;
  * Monitors the status of a {@link TicketRegistry}
  * for exposing internal
  * state information used in status reports.
+ * Ticket counts are read from the registry statistics, which registries
+ * are expected to maintain without scanning all tickets. Registries that
+ * are unable to count tickets are reported with an unknown status.
  *
  * @author Marvin S. Addison
  * @since 3.5.0
@@ -36,14 +42,23 @@ public class TicketRegistryHealthIndicator extends AbstractHealthIndicator {
     @Override
     protected void doHealthCheck(final Health.Builder builder) {
 
-        val sessionCount = this.registryState.sessionCount();
-        val ticketCount = this.registryState.serviceTicketCount();
+        val statistics = this.registryState.getStatistics();
+        val sessionCount = statistics.getActiveCount(TicketGrantingTicket.PREFIX);
+        val ticketCount = statistics.getActiveCount(ServiceTicket.PREFIX);
 
-        if (sessionCount == Integer.MIN_VALUE || ticketCount == Integer.MIN_VALUE) {
+        if (sessionCount == TicketRegistryStatistics.UNKNOWN || ticketCount == TicketRegistryStatistics.UNKNOWN) {
             val msg = String.format("Ticket registry %s reports unknown session and/or ticket counts.", this.registryState.getClass().getName());
             buildHealthCheckStatus(builder.unknown(), sessionCount, ticketCount, msg);
             return;
         }
+        val expiredSessionCount = statistics.getExpiredCount(TicketGrantingTicket.PREFIX);
+        if (expiredSessionCount != TicketRegistryStatistics.UNKNOWN) {
+            builder.withDetail("expiredSessionCount", expiredSessionCount);
+        }
+        val expiredTicketCount = statistics.getExpiredCount(ServiceTicket.PREFIX);
+        if (expiredTicketCount != TicketRegistryStatistics.UNKNOWN) {
+            builder.withDetail("expiredTicketCount", expiredTicketCount);
+        }
 
         if (this.sessionCountWarnThreshold > -1 && sessionCount > this.sessionCountWarnThreshold) {
             val msg = String.format("Session count (%s) is above threshold %s. ", sessionCount, this.sessionCountWarnThreshold);
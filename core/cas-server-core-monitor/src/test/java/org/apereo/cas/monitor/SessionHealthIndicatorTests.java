@@ -4,10 +4,13 @@ import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.authentication.principal.AbstractWebApplicationService;
 import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
 import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryStatistics;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 
@@ -20,6 +23,7 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit test for {@link TicketRegistryHealthIndicator} class.
@@ -82,4 +86,29 @@ public class SessionHealthIndicatorTests {
         val status = monitor.health();
         assertEquals("WARN", status.getStatus().getCode());
     }
+
+    @Test
+    public void verifyObserveUnknown() {
+        val registry = mock(TicketRegistry.class);
+        when(registry.getStatistics()).thenReturn(new TicketRegistryStatistics()
+            .addActive(TicketGrantingTicket.PREFIX, TicketRegistryStatistics.UNKNOWN)
+            .addActive(ServiceTicket.PREFIX, 1));
+        val monitor = new TicketRegistryHealthIndicator(registry, -1, -1);
+        assertEquals(Status.UNKNOWN, monitor.health().getStatus());
+    }
+
+    @Test
+    public void verifyUnknownExpiredCountsAreNotReported() {
+        val registry = mock(TicketRegistry.class);
+        when(registry.getStatistics()).thenReturn(new TicketRegistryStatistics()
+            .addActive(TicketGrantingTicket.PREFIX, 1)
+            .addActive(ServiceTicket.PREFIX, 1)
+            .addExpired(TicketGrantingTicket.PREFIX, TicketRegistryStatistics.UNKNOWN)
+            .addExpired(TicketGrantingTicket.PREFIX, 2)
+            .addExpired(ServiceTicket.PREFIX, 2));
+        val health = new TicketRegistryHealthIndicator(registry, -1, -1).health();
+        assertEquals(Status.UP, health.getStatus());
+        assertFalse(health.getDetails().containsKey("expiredSessionCount"));
+        assertEquals(2L, health.getDetails().get("expiredTicketCount"));
+    }
 }
@@ -8,6 +8,7 @@ import org.apereo.cas.support.events.service.CasRegisteredServicePreSaveEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicesDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.MetricsUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +39,7 @@ import java.util.stream.Stream;
 @Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractServicesManager implements ServicesManager, InitializingBean {
+    private static final String METER_NAME_FIND_SERVICE = "cas.services.find";
 
     private final ServiceRegistry serviceRegistry;
     private final transient ApplicationEventPublisher eventPublisher;
@@ -78,11 +80,14 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             return null;
         }
 
+        val sample = MetricsUtils.startTimer();
         val service = getCandidateServicesToMatch(serviceId)
             .stream()
             .filter(r -> r.matches(serviceId))
             .findFirst()
             .orElse(null);
+        MetricsUtils.stopTimer(sample, METER_NAME_FIND_SERVICE, service != null,
+            MetricsUtils.TAG_SERVICE, MetricsUtils.getServiceTag(service != null ? service.getId() : null));
 
         if (service != null) {
             service.initialize();
@@ -173,7 +178,7 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
         val r = this.serviceRegistry.save(registeredService);
         this.services.put(r.getId(), r);
-        saveInternal(registeredService);
+        saveInternal(r);
 
         if (publishEvent) {
             publishEvent(new CasRegisteredServiceSavedEvent(this, r));
@@ -292,7 +297,13 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         }
     }
 
-    private boolean validateAndFilterServiceByEnvironment(final RegisteredService service) {
+    /**
+     * Validate and filter service by environment.
+     *
+     * @param service the service
+     * @return true if the service is allowed in the active environments
+     */
+    protected boolean validateAndFilterServiceByEnvironment(final RegisteredService service) {
         if (this.environments.isEmpty()) {
             LOGGER.trace("No environments are defined by which services could be filtered");
             return true;
@@ -0,0 +1,51 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link ServicesManager} interface that keeps service definitions
+ * in a {@link RegisteredServicesMatchingIndex}, so that lookups by service id only evaluate
+ * definitions whose literal exact value or prefix is compatible with the requested service.
+ * Definitions are matched in the same evaluation order as {@link DefaultServicesManager}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class IndexedServicesManager extends AbstractServicesManager {
+
+    private volatile RegisteredServicesMatchingIndex index = new RegisteredServicesMatchingIndex();
+
+    public IndexedServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher, final Set<String> environments) {
+        super(serviceRegistry, eventPublisher, environments);
+    }
+
+    @Override
+    protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        return this.index.getCandidateServicesToMatch(serviceId);
+    }
+
+    @Override
+    protected void deleteInternal(final RegisteredService service) {
+        this.index.remove(service);
+    }
+
+    @Override
+    protected void saveInternal(final RegisteredService service) {
+        if (validateAndFilterServiceByEnvironment(service)) {
+            this.index.put(service);
+        } else {
+            this.index.remove(service);
+        }
+    }
+
+    @Override
+    protected void loadInternal() {
+        this.index = RegisteredServicesMatchingIndex.of(getAllServices());
+        LOGGER.debug("Indexed [{}] service definition(s) for matching", this.index.size());
+    }
+}
@@ -0,0 +1,326 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.util.RegexUtils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This is {@link RegisteredServicesMatchingIndex}.
+ * <p>
+ * Organizes service definitions into three buckets based on the shape of their service id pattern:
+ * <ul>
+ * <li>Patterns that are entirely literal, indexed by the (case-insensitive) literal value.</li>
+ * <li>Patterns that start with a literal prefix, indexed in a prefix trie.</li>
+ * <li>Everything else, which must always be evaluated.</li>
+ * </ul>
+ * Candidates produced by the index are always a superset of the definitions that could
+ * possibly match a given service id, and are returned in their natural (evaluation) order so that
+ * the first match is identical to what a linear scan over all definitions would produce.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class RegisteredServicesMatchingIndex {
+
+    private static final String REGEX_META_CHARACTERS = "[](){}.*+?^$|";
+
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+
+    private static final int MAX_ASCII_CHARACTER = 127;
+
+    private final Map<String, Set<RegisteredService>> literals = new ConcurrentHashMap<>();
+
+    private final PrefixNode prefixes = new PrefixNode();
+
+    private final Set<RegisteredService> patterns = new ConcurrentSkipListSet<>();
+
+    private final Map<Long, IndexedEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Build an index from the given collection of services.
+     *
+     * @param services the services
+     * @return the index
+     */
+    public static RegisteredServicesMatchingIndex of(final Collection<RegisteredService> services) {
+        val index = new RegisteredServicesMatchingIndex();
+        services.forEach(index::put);
+        return index;
+    }
+
+    /**
+     * Analyze the given service id pattern and determine its literal prefix, if any.
+     * Patterns that contain top-level alternations or are otherwise not analyzable
+     * produce an empty prefix. Matching is assumed to be case-insensitive and to span the entire input,
+     * which is the behavior of {@link RegexRegisteredService#matches(String)}.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix
+     */
+    static LiteralPrefix analyze(final String pattern) {
+        if (StringUtils.isBlank(pattern) || !RegexUtils.isValidRegex(pattern) || hasTopLevelAlternation(pattern)) {
+            return LiteralPrefix.NONE;
+        }
+        val prefix = new StringBuilder(pattern.length());
+        val length = pattern.length();
+        var i = pattern.charAt(0) == '^' ? 1 : 0;
+        while (i < length) {
+            val current = pattern.charAt(i);
+            var literal = current;
+            var consumed = 1;
+            if (current == '\\') {
+                if (i + 1 >= length || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    break;
+                }
+                literal = pattern.charAt(i + 1);
+                consumed = 2;
+            } else if (REGEX_META_CHARACTERS.indexOf(current) >= 0) {
+                if (current == '$' && i == length - 1) {
+                    i = length;
+                }
+                break;
+            }
+            val next = i + consumed;
+            if (literal > MAX_ASCII_CHARACTER || next < length && REGEX_QUANTIFIERS.indexOf(pattern.charAt(next)) >= 0) {
+                break;
+            }
+            prefix.append(literal);
+            i = next;
+        }
+        if (prefix.length() == 0) {
+            return LiteralPrefix.NONE;
+        }
+        return new LiteralPrefix(normalize(prefix.toString()), i >= length);
+    }
+
+    /**
+     * Lower-case US-ASCII characters only, which mirrors how
+     * {@link java.util.regex.Pattern#CASE_INSENSITIVE} compares characters.
+     *
+     * @param value the value
+     * @return the normalized value
+     */
+    static String normalize(final String value) {
+        val chars = value.toCharArray();
+        for (var i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        var groupDepth = 0;
+        var classDepth = 0;
+        var i = 0;
+        while (i < pattern.length()) {
+            val current = pattern.charAt(i);
+            if (current == '\\') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == 'Q') {
+                    val end = pattern.indexOf("\\E", i + 2);
+                    i = end < 0 ? pattern.length() : end + 2;
+                    continue;
+                }
+                i += 2;
+                continue;
+            }
+            if (current == '[') {
+                classDepth++;
+            } else if (current == ']' && classDepth > 0) {
+                classDepth--;
+            } else if (classDepth == 0) {
+                if (current == '(') {
+                    groupDepth++;
+                } else if (current == ')') {
+                    groupDepth--;
+                } else if (current == '|' && groupDepth == 0) {
+                    return true;
+                }
+            }
+            i++;
+        }
+        return false;
+    }
+
+    private static Collection<RegisteredService> merge(final Collection<RegisteredService> first,
+                                                       final Collection<RegisteredService> second) {
+        val results = new ArrayList<RegisteredService>(first.size() + second.size());
+        val firstIterator = first.iterator();
+        val secondIterator = second.iterator();
+        var left = next(firstIterator);
+        var right = next(secondIterator);
+        while (left != null || right != null) {
+            if (right == null || left != null && left.compareTo(right) <= 0) {
+                results.add(left);
+                left = next(firstIterator);
+            } else {
+                results.add(right);
+                right = next(secondIterator);
+            }
+        }
+        return results;
+    }
+
+    private static RegisteredService next(final Iterator<RegisteredService> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Gets candidate services, sorted by their natural order, that may match the given service id.
+     *
+     * @param serviceId the service id
+     * @return the candidate services
+     */
+    public Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        if (StringUtils.isBlank(serviceId)) {
+            return new ArrayList<>(0);
+        }
+        val key = normalize(serviceId);
+        val candidates = new TreeSet<RegisteredService>();
+        val exact = this.literals.get(key);
+        if (exact != null) {
+            candidates.addAll(exact);
+        }
+        this.prefixes.collect(key, candidates);
+        LOGGER.trace("Located [{}] indexed candidate service(s) and [{}] pattern(s) for [{}]",
+            candidates.size(), this.patterns.size(), serviceId);
+        if (candidates.isEmpty()) {
+            return this.patterns;
+        }
+        if (this.patterns.isEmpty()) {
+            return candidates;
+        }
+        return merge(candidates, this.patterns);
+    }
+
+    /**
+     * Add or replace the service in the index.
+     *
+     * @param service the service
+     */
+    public synchronized void put(final RegisteredService service) {
+        remove(service);
+        val prefix = service instanceof RegexRegisteredService
+            ? analyze(service.getServiceId())
+            : LiteralPrefix.NONE;
+        val entry = new IndexedEntry(service, prefix);
+        if (prefix == LiteralPrefix.NONE) {
+            this.patterns.add(service);
+        } else if (prefix.isComplete()) {
+            this.literals.computeIfAbsent(prefix.getValue(), k -> new ConcurrentSkipListSet<>()).add(service);
+        } else {
+            this.prefixes.insert(prefix.getValue()).add(service);
+        }
+        this.entries.put(service.getId(), entry);
+        LOGGER.trace("Indexed service [{}] with literal prefix [{}]", service.getServiceId(), prefix.getValue());
+    }
+
+    /**
+     * Remove the service from the index.
+     *
+     * @param service the service
+     */
+    public synchronized void remove(final RegisteredService service) {
+        val entry = this.entries.remove(service.getId());
+        if (entry == null) {
+            return;
+        }
+        val id = entry.getService().getId();
+        val prefix = entry.getPrefix();
+        if (prefix == LiteralPrefix.NONE) {
+            this.patterns.removeIf(s -> s.getId() == id);
+        } else if (prefix.isComplete()) {
+            val services = this.literals.get(prefix.getValue());
+            if (services != null) {
+                services.removeIf(s -> s.getId() == id);
+            }
+        } else {
+            val services = this.prefixes.find(prefix.getValue());
+            if (services != null) {
+                services.removeIf(s -> s.getId() == id);
+            }
+        }
+    }
+
+    /**
+     * Number of indexed services.
+     *
+     * @return the count
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Literal prefix shared by every possible match of a pattern.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    static class LiteralPrefix {
+        static final LiteralPrefix NONE = new LiteralPrefix(StringUtils.EMPTY, false);
+
+        private final String value;
+
+        /**
+         * Whether the pattern is entirely made of the literal value.
+         */
+        private final boolean complete;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class IndexedEntry {
+        private final RegisteredService service;
+
+        private final LiteralPrefix prefix;
+    }
+
+    private static class PrefixNode {
+        private final Map<Character, PrefixNode> children = new ConcurrentHashMap<>();
+
+        private final Set<RegisteredService> services = new ConcurrentSkipListSet<>();
+
+        Set<RegisteredService> insert(final String key) {
+            var node = this;
+            for (var i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new PrefixNode());
+            }
+            return node.services;
+        }
+
+        Set<RegisteredService> find(final String key) {
+            var node = this;
+            for (var i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            return node == null ? null : node.services;
+        }
+
+        void collect(final String key, final Collection<RegisteredService> results) {
+            var node = this;
+            for (var i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                if (node != null) {
+                    results.addAll(node.services);
+                }
+            }
+        }
+    }
+}
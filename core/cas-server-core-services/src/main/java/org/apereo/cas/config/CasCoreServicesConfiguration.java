@@ -16,6 +16,7 @@ import org.apereo.cas.services.DefaultServicesManager;
 import org.apereo.cas.services.DomainServicesManager;
 import org.apereo.cas.services.ImmutableServiceRegistry;
 import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.IndexedServicesManager;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyAuditableEnforcer;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
@@ -135,6 +136,10 @@ public class CasCoreServicesConfiguration {
             LOGGER.trace("Managing CAS service definitions via domains");
             return new DomainServicesManager(serviceRegistry(), eventPublisher, activeProfiles);
         }
+        if (managementType == ServiceRegistryProperties.ServiceManagementTypes.INDEXED) {
+            LOGGER.trace("Managing CAS service definitions via a matching index");
+            return new IndexedServicesManager(serviceRegistry(), eventPublisher, activeProfiles);
+        }
         return new DefaultServicesManager(serviceRegistry(), eventPublisher, activeProfiles);
     }
 
@@ -17,6 +17,7 @@ import org.apereo.cas.services.GroovyRegisteredServiceAccessStrategyTests;
 import org.apereo.cas.services.GroovyRegisteredServiceMultifactorPolicyTests;
 import org.apereo.cas.services.GroovyRegisteredServiceUsernameProviderTests;
 import org.apereo.cas.services.InMemoryServiceRegistryTests;
+import org.apereo.cas.services.IndexedServicesManagerTests;
 import org.apereo.cas.services.PrincipalAttributeRegisteredServiceUsernameProviderTests;
 import org.apereo.cas.services.RefuseRegisteredServiceProxyPolicyTests;
 import org.apereo.cas.services.RegexMatchingRegisteredServiceProxyPolicyTests;
@@ -53,6 +54,7 @@ import org.junit.platform.suite.api.SelectClasses;
     DefaultRegisteredServiceMultifactorPolicyTests.class,
     DefaultServicesManagerTests.class,
     DomainServicesManagerTests.class,
+    IndexedServicesManagerTests.class,
     InMemoryServiceRegistryTests.class,
     PrincipalAttributeRegisteredServiceUsernameProviderTests.class,
     RegexRegisteredServiceTests.class,
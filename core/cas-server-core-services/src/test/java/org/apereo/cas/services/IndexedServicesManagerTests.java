@@ -0,0 +1,137 @@
+package org.apereo.cas.services;
+
+import lombok.val;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link IndexedServicesManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class IndexedServicesManagerTests extends AbstractServicesManagerTests {
+
+    private static RegexRegisteredService newService(final long id, final String serviceId, final int order) {
+        val r = new RegexRegisteredService();
+        r.setId(id);
+        r.setName("service" + id);
+        r.setServiceId(serviceId);
+        r.setEvaluationOrder(order);
+        return r;
+    }
+
+    @Override
+    protected ServicesManager getServicesManagerInstance() {
+        return new IndexedServicesManager(serviceRegistry, mock(ApplicationEventPublisher.class), new HashSet<>());
+    }
+
+    @Test
+    public void verifyMatchesInEvaluationOrder() {
+        servicesManager.save(newService(1, "^https://app.example.org/.*", 10));
+        servicesManager.save(newService(2, "https://APP.example.org/cas/login", 20));
+        servicesManager.save(newService(3, "^(https|imaps)://.*", 5));
+        servicesManager.save(newService(4, "https://other.example.org|https://app.example.org/cas/login", 1));
+
+        assertEquals(4, servicesManager.findServiceBy("https://app.example.org/cas/login").getId());
+        servicesManager.delete(4);
+        assertEquals(3, servicesManager.findServiceBy("https://app.example.org/cas/login").getId());
+        servicesManager.delete(3);
+        assertEquals(1, servicesManager.findServiceBy("https://app.example.org/cas/login").getId());
+        servicesManager.delete(1);
+        assertEquals(2, servicesManager.findServiceBy("https://app.example.org/cas/LOGIN").getId());
+        assertNull(servicesManager.findServiceBy("https://app.example.org/cas/logout"));
+    }
+
+    @Test
+    public void verifyReindexOnSave() {
+        val service = newService(100, "https://app.example.org/.+", 10);
+        servicesManager.save(service);
+        assertNotNull(servicesManager.findServiceBy("https://app.example.org/cas"));
+
+        service.setServiceId("https://sample.example.org/.+");
+        servicesManager.save(service);
+        assertNull(servicesManager.findServiceBy("https://app.example.org/cas"));
+        assertNotNull(servicesManager.findServiceBy("https://sample.example.org/cas"));
+    }
+
+    @Test
+    public void verifyNewServicesSavedAsCopiesAreIndexed() {
+        val registry = new InMemoryServiceRegistry(mock(ApplicationEventPublisher.class)) {
+            @Override
+            public RegisteredService save(final RegisteredService registeredService) {
+                return super.save(SerializationUtils.clone(registeredService));
+            }
+        };
+        val manager = new IndexedServicesManager(registry, mock(ApplicationEventPublisher.class), new HashSet<>());
+        val first = manager.save(newService(RegisteredService.INITIAL_IDENTIFIER_VALUE, "^https://first.example.org/.*", 10));
+        val second = manager.save(newService(RegisteredService.INITIAL_IDENTIFIER_VALUE, "^https://second.example.org/.*", 20));
+        assertNotEquals(first.getId(), second.getId());
+
+        assertEquals(first.getId(), manager.findServiceBy("https://first.example.org/app").getId());
+        assertEquals(second.getId(), manager.findServiceBy("https://second.example.org/app").getId());
+        manager.delete(first);
+        assertNull(manager.findServiceBy("https://first.example.org/app"));
+        assertEquals(second.getId(), manager.findServiceBy("https://second.example.org/app").getId());
+    }
+
+    @Test
+    public void verifySameResultAsDefaultServicesManager() {
+        val defaultManager = new DefaultServicesManager(serviceRegistry, mock(ApplicationEventPublisher.class), new HashSet<>());
+        val patterns = new String[]{
+            "^https://www\\.example\\.org/app1/.*",
+            "https://www.example.org/app1/login",
+            "^https?://www\\.example\\.org/.*",
+            "^https://[a-z]+\\.example\\.org/app2/?.*",
+            "^(https|http)://www\\.example\\.org/app3",
+            "https://www.example.org/app4$",
+            "\\Qhttps://www.example.org/app5\\E.*",
+            "^https://www\\.example\\.org/app6+"
+        };
+        for (var i = 0; i < patterns.length; i++) {
+            servicesManager.save(newService(i + 10, patterns[i], patterns.length - i));
+        }
+        defaultManager.load();
+
+        val serviceIds = new String[]{
+            "https://www.example.org/app1/login",
+            "https://WWW.EXAMPLE.ORG/app1/other",
+            "https://portal.example.org/app2/index",
+            "http://www.example.org/app3",
+            "https://www.example.org/app4",
+            "https://www.example.org/app5/index",
+            "https://www.example.org/app666",
+            "https://unknown.example.net"
+        };
+        for (val serviceId : serviceIds) {
+            assertEquals(defaultManager.findServiceBy(serviceId), servicesManager.findServiceBy(serviceId));
+        }
+    }
+
+    @Test
+    public void verifyLiteralPrefixAnalysis() {
+        var prefix = RegisteredServicesMatchingIndex.analyze("^https://www\\.Example\\.org/app/.*");
+        assertEquals("https://www.example.org/app/", prefix.getValue());
+        assertFalse(prefix.isComplete());
+
+        prefix = RegisteredServicesMatchingIndex.analyze("https://www.example.org$");
+        assertEquals("https://www", prefix.getValue());
+
+        prefix = RegisteredServicesMatchingIndex.analyze("https://app\\.example\\.org/login$");
+        assertEquals("https://app.example.org/login", prefix.getValue());
+        assertTrue(prefix.isComplete());
+
+        prefix = RegisteredServicesMatchingIndex.analyze("https?://app.example.org");
+        assertEquals("http", prefix.getValue());
+
+        assertSame(RegisteredServicesMatchingIndex.LiteralPrefix.NONE, RegisteredServicesMatchingIndex.analyze("https://a|https://b"));
+        assertSame(RegisteredServicesMatchingIndex.LiteralPrefix.NONE, RegisteredServicesMatchingIndex.analyze("(?i)https://.*"));
+        assertSame(RegisteredServicesMatchingIndex.LiteralPrefix.NONE, RegisteredServicesMatchingIndex.analyze("^https://[bad"));
+    }
+}
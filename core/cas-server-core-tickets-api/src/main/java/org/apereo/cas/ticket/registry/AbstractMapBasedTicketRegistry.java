@@ -9,9 +9,14 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -23,6 +28,16 @@ import java.util.function.Predicate;
 @NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    /**
+     * Encoded ticket-granting ticket ids, keyed by the digested principal id.
+     */
+    private final Map<String, Set<String>> principalSessions = new ConcurrentHashMap<>();
+
+    /**
+     * Digested principal ids, keyed by the encoded ticket-granting ticket id.
+     */
+    private final Map<String, String> sessionPrincipals = new ConcurrentHashMap<>();
+
     /**
      * Creates a new, empty registry with the cipher.
      *
@@ -37,6 +52,7 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
         getMapInstance().put(encTicket.getId(), encTicket);
+        getSessionPrincipalId(ticket).ifPresent(principalId -> addSessionToIndex(digestPrincipalId(principalId), encTicket.getId()));
     }
 
     @Override
@@ -66,6 +82,7 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         if (StringUtils.isBlank(encTicketId)) {
             return false;
         }
+        removeSessionFromIndex(encTicketId);
         return getMapInstance().remove(encTicketId) != null;
     }
 
@@ -73,9 +90,56 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        this.principalSessions.clear();
+        this.sessionPrincipals.clear();
         return size;
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val sessions = this.principalSessions.get(digestPrincipalId(principalId));
+        if (sessions == null) {
+            return Stream.empty();
+        }
+        return new ArrayList<>(sessions)
+            .stream()
+            .map(encTicketId -> {
+                val found = getMapInstance().get(encTicketId);
+                if (found == null) {
+                    removeSessionFromIndex(encTicketId);
+                    return null;
+                }
+                return decodeTicket(found);
+            })
+            .filter(Objects::nonNull)
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
+    /**
+     * Remove the ticket-granting ticket from the principal sessions index, typically
+     * once the ticket is removed from the underlying map by means other than deletion.
+     *
+     * @param encTicketId the encoded ticket id
+     */
+    protected void removeSessionFromIndex(final String encTicketId) {
+        val principal = this.sessionPrincipals.remove(encTicketId);
+        if (principal != null) {
+            this.principalSessions.computeIfPresent(principal, (key, sessions) -> {
+                sessions.remove(encTicketId);
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+    }
+
+    private void addSessionToIndex(final String principal, final String encTicketId) {
+        this.sessionPrincipals.put(encTicketId, principal);
+        this.principalSessions.compute(principal, (key, sessions) -> {
+            val results = sessions == null ? ConcurrentHashMap.<String>newKeySet() : sessions;
+            results.add(encTicketId);
+            return results;
+        });
+    }
+
     @Override
     public Collection<? extends Ticket> getTickets() {
         return decodeTickets(getMapInstance().values());
@@ -4,21 +4,23 @@ import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
 
-import com.google.common.io.ByteSource;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -43,6 +45,12 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * The codec that turns tickets into bytes before they are handed to the cipher executor.
+     */
+    @NonNull
+    protected TicketCodec ticketCodec = new DefaultTicketCodec();
+
     @Override
     public Ticket getTicket(final String ticketId) {
         return getTicket(ticketId, ticket -> {
@@ -189,6 +197,91 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     public abstract boolean deleteSingleTicket(String ticketId);
 
+    /**
+     * Gets the principal id of the SSO session represented by the given ticket, if any.
+     *
+     * @param ticket the ticket
+     * @return the principal id, or empty if the ticket is not a ticket-granting ticket
+     */
+    protected static Optional<String> getSessionPrincipalId(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return Optional.ofNullable(authentication.getPrincipal().getId());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Determine whether the ticket is a valid SSO session established for the principal.
+     *
+     * @param ticket      the ticket
+     * @param principalId the principal id
+     * @return true/false
+     */
+    protected static boolean isSessionFor(final Ticket ticket, final String principalId) {
+        return ticket != null && !ticket.isExpired()
+            && getSessionPrincipalId(ticket).filter(id -> id.equalsIgnoreCase(principalId)).isPresent();
+    }
+
+    /**
+     * Gets the earliest point in time, in epoch milliseconds, at which the ticket may expire,
+     * based on the time-to-live and time-to-idle settings that its expiration policy applies to the ticket.
+     * Tickets that are already expired, or have no expiration policy, are due immediately.
+     * Policies may still consider the ticket valid past this point, so callers are expected to verify the
+     * ticket expiration status once this point is reached.
+     *
+     * @param ticket the ticket
+     * @return the expiration time
+     */
+    protected static long getExpirationTime(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        if (policy == null || ticket.isExpired()) {
+            return System.currentTimeMillis();
+        }
+        var expirationTime = Long.MAX_VALUE;
+        val state = ticket instanceof TicketState ? (TicketState) ticket : null;
+        val timeToLive = state == null ? policy.getTimeToLive() : policy.getTimeToLive(state);
+        if (timeToLive != null && timeToLive >= 0) {
+            expirationTime = ticket.getCreationTime().plusSeconds(timeToLive).toInstant().toEpochMilli();
+        }
+        if (state != null) {
+            val timeToIdle = policy.getTimeToIdle(state);
+            if (timeToIdle != null && timeToIdle > 0) {
+                val lastTimeUsed = ObjectUtils.defaultIfNull(state.getLastTimeUsed(), ticket.getCreationTime());
+                expirationTime = Math.min(expirationTime, lastTimeUsed.plusSeconds(timeToIdle).toInstant().toEpochMilli());
+            }
+        }
+        return expirationTime;
+    }
+
+    /**
+     * Digest the principal id so it may be used as a key to index SSO sessions.
+     * Principal ids are normalized to lower case and are digested in the same way
+     * as ticket ids when encryption is enabled.
+     *
+     * @param principalId the principal id
+     * @return the key
+     */
+    protected String digestPrincipalId(final String principalId) {
+        return encodeTicketId(principalId.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the SHA-512 digest of the ticket id, given the key under which
+     * the ticket is stored, which is the encoded ticket id when encryption is enabled.
+     *
+     * @param encodedTicketId the encoded ticket id
+     * @return the digest
+     */
+    protected String digestEncodedTicketId(final String encodedTicketId) {
+        if (isCipherExecutorEnabled()) {
+            return encodedTicketId;
+        }
+        return DigestUtils.sha512(encodedTicketId);
+    }
+
     /**
      * Encode ticket id into a SHA-512.
      *
@@ -225,9 +318,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return null;
         }
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        val encodedTicketObject = (byte[]) this.cipherExecutor.encode(this.ticketCodec.encode(ticket));
         val encodedTicketId = encodeTicketId(ticket.getId());
-        val encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
+        val encodedTicket = new EncodedTicket(encodedTicketId, encodedTicketObject);
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
         return encodedTicket;
     }
@@ -254,7 +347,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Attempting to decode [{}]", result);
         val encodedTicket = (EncodedTicket) result;
-        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        val ticket = this.ticketCodec.decode((byte[]) this.cipherExecutor.decode(encodedTicket.getEncodedTicket()));
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
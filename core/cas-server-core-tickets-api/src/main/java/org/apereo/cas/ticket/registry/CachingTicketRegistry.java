@@ -12,8 +12,10 @@ import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This is {@link CachingTicketRegistry}.
@@ -35,6 +37,8 @@ public class CachingTicketRegistry extends AbstractMapBasedTicketRegistry {
 
     private final LogoutManager logoutManager;
 
+    private volatile Consumer<Ticket> expirationListener;
+
     public CachingTicketRegistry(final LogoutManager logoutManager) {
         this(CipherExecutor.noOp(), logoutManager);
     }
@@ -53,6 +57,12 @@ public class CachingTicketRegistry extends AbstractMapBasedTicketRegistry {
         this.logoutManager = logoutManager;
     }
 
+    @Override
+    public boolean registerExpirationListener(final Consumer<Ticket> listener) {
+        this.expirationListener = listener;
+        return true;
+    }
+
     /**
      * The cached ticket expiration policy.
      */
@@ -89,10 +99,16 @@ public class CachingTicketRegistry extends AbstractMapBasedTicketRegistry {
 
         @Override
         public void onRemoval(final String key, final Ticket value, final RemovalCause cause) {
+            if (cause.wasEvicted()) {
+                removeSessionFromIndex(key);
+            }
             if (cause == RemovalCause.EXPIRED) {
                 LOGGER.warn("Received removal notification for ticket [{}] with cause [{}]. Cleaning...", key, cause);
-                if (value instanceof TicketGrantingTicket) {
-                    logoutManager.performLogout(TicketGrantingTicket.class.cast(value));
+                val ticket = decodeTicket(value);
+                if (expirationListener != null) {
+                    expirationListener.accept(ticket);
+                } else if (ticket instanceof TicketGrantingTicket) {
+                    logoutManager.performLogout(TicketGrantingTicket.class.cast(ticket));
                 }
             }
         }
@@ -0,0 +1,24 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+/**
+ * This is {@link DefaultTicketCodec} that encodes tickets using Java serialization,
+ * which is the format ticket registries have always used to store encoded tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class DefaultTicketCodec implements TicketCodec {
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        return SerializationUtils.serialize(ticket);
+    }
+
+    @Override
+    public Ticket decode(final byte[] value) {
+        return SerializationUtils.deserializeAndCheckObject(value, Ticket.class);
+    }
+}
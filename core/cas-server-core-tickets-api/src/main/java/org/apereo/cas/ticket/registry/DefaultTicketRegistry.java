@@ -1,15 +1,23 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TicketRegistry that is backed by a ConcurrentHashMap.
+ * Tickets are also kept in a {@link TicketExpirationIndex} so that the registry cleaner
+ * only visits tickets that are due for expiration, and so that tickets can be counted without a scan.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -22,6 +30,8 @@ public class DefaultTicketRegistry extends AbstractMapBasedTicketRegistry {
      */
     private final Map<String, Ticket> mapInstance;
 
+    private final TicketExpirationIndex expirationIndex = new TicketExpirationIndex();
+
     public DefaultTicketRegistry() {
         this(CipherExecutor.noOp());
     }
@@ -36,4 +46,62 @@ public class DefaultTicketRegistry extends AbstractMapBasedTicketRegistry {
         this.mapInstance = new ConcurrentHashMap<>(initialCapacity, loadFactor, concurrencyLevel);
     }
 
+    @Override
+    public void addTicket(final @NonNull Ticket ticket) {
+        super.addTicket(ticket);
+        this.expirationIndex.put(encodeTicketId(ticket.getId()), ticket.getPrefix(), getExpirationTime(ticket));
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketId) {
+        this.expirationIndex.remove(encodeTicketId(ticketId));
+        return super.deleteSingleTicket(ticketId);
+    }
+
+    @Override
+    public long deleteAll() {
+        this.expirationIndex.clear();
+        return super.deleteAll();
+    }
+
+    @Override
+    public long sessionCount() {
+        return getStatistics().getActiveCount(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return getStatistics().getActiveCount(ServiceTicket.PREFIX);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets that are due for expiration as of now are counted as expired, even though
+     * sliding expiration policies may consider some of them valid for a while longer.
+     */
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        return this.expirationIndex.getStatistics(System.currentTimeMillis());
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        return this.expirationIndex.getTicketsDueBy(System.currentTimeMillis())
+            .stream()
+            .map(encTicketId -> {
+                val found = this.mapInstance.get(encTicketId);
+                if (found == null) {
+                    this.expirationIndex.remove(encTicketId);
+                    return null;
+                }
+                val ticket = decodeTicket(found);
+                if (!ticket.isExpired()) {
+                    this.expirationIndex.put(encTicketId, ticket.getPrefix(), Math.max(getExpirationTime(ticket), System.currentTimeMillis() + 1));
+                    return null;
+                }
+                return ticket;
+            })
+            .filter(Objects::nonNull);
+    }
 }
@@ -59,7 +59,7 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
      * @return the int
      */
     protected int cleanInternal() {
-        try (val expiredTickets = ticketRegistry.getTicketsStream().filter(Ticket::isExpired)) {
+        try (val expiredTickets = ticketRegistry.getExpiredTicketsStream()) {
             val ticketsDeleted = expiredTickets
                 .mapToInt(this::cleanTicket)
                 .sum();
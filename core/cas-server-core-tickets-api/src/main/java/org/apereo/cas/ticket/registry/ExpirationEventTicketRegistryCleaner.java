@@ -0,0 +1,50 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This is {@link ExpirationEventTicketRegistryCleaner}. It is meant to be used with ticket registries
+ * whose storage expires tickets on its own and is able to publish expiration events. The cleaner
+ * does not look up tickets on schedule; instead, it reacts to expired tickets reported by the registry
+ * and only processes ticket-granting tickets to perform logout, since all other tickets are already
+ * removed by the storage.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ExpirationEventTicketRegistryCleaner implements TicketRegistryCleaner {
+    private final LogoutManager logoutManager;
+
+    private final TicketRegistry ticketRegistry;
+
+    /**
+     * Register this cleaner with the ticket registry to receive expiration events.
+     *
+     * @return true if the registry is able to publish expiration events.
+     */
+    public boolean register() {
+        return this.ticketRegistry.registerExpirationListener(this::cleanTicket);
+    }
+
+    @Override
+    public int cleanTicket(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
+            try {
+                logoutManager.performLogout((TicketGrantingTicket) ticket);
+                return ticketRegistry.deleteTicket(ticket);
+            } catch (final Exception e) {
+                LOGGER.error("Unable to clean up expired ticket-granting ticket [{}]: [{}]", ticket.getId(), e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        return 0;
+    }
+}
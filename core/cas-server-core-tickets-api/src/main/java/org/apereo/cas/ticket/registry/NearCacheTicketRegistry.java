@@ -0,0 +1,265 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCacheTicketRegistry}. It decorates a ticket registry with a bounded local cache
+ * of ticket-granting tickets so that tickets that are read repeatedly during a flow do not have to be
+ * fetched and decoded every time. Other ticket types, that are typically used once, are never cached.
+ * <p>
+ * Cached tickets are kept in serialized form, so each read hands out a copy of its own that may be changed
+ * without affecting concurrent requests. The backing registry must report changes made by other nodes, for instance
+ * via pub/sub or entry listeners; registries that are unable to do so cannot be decorated. Changes are typically
+ * reported asynchronously, so a cached ticket may be stale for as long as it takes for the change to be reported,
+ * and never longer than the time-to-live of the cache, which should therefore be kept short.
+ * The in-memory registry is local to each node and has no changes to report, so it gains nothing from a near cache
+ * and is refused as well.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class NearCacheTicketRegistry implements TicketRegistry, MeterBinder, DisposableBean {
+    /**
+     * Name of the cache as reported by the cache meters.
+     */
+    public static final String CACHE_NAME = "ticketRegistryNearCache";
+
+    private final TicketRegistry delegate;
+
+    private final Cache<String, byte[]> cache;
+
+    public NearCacheTicketRegistry(@NonNull final TicketRegistry delegate, final long maximumSize, final Duration timeToLive) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+        if (!delegate.registerTicketChangeListener(this::invalidate)) {
+            throw new IllegalArgumentException("Ticket registry " + delegate.getClass().getSimpleName()
+                + " is unable to report ticket changes and cannot be decorated with a near cache");
+        }
+    }
+
+    private static String getCacheKey(final String ticketId) {
+        return DigestUtils.sha512(ticketId);
+    }
+
+    private static boolean isCacheable(final Ticket ticket) {
+        return ticket instanceof TicketGrantingTicket;
+    }
+
+    /**
+     * Gets the hit/miss statistics of the cache.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStatistics() {
+        return this.cache.stats();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Invalidate the cached ticket, given the digest of its id.
+     *
+     * @param ticketIdDigest the ticket id digest
+     */
+    public void invalidate(final String ticketIdDigest) {
+        LOGGER.trace("Invalidating cached ticket [{}]", ticketIdDigest);
+        this.cache.invalidate(ticketIdDigest);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        this.delegate.addTicket(ticket);
+        cacheTicket(ticket);
+    }
+
+    @Override
+    public void commit(final TicketRegistryBatch batch) {
+        batch.getTicketsToDelete().forEach(this::invalidateTicket);
+        this.delegate.commit(batch);
+        batch.getTicketsToUpdate().forEach(this::cacheTicket);
+        batch.getTicketsToAdd().forEach(this::cacheTicket);
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, @NonNull final Class<T> clazz) {
+        val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        val ticket = getTicket(ticketId, t -> true);
+        if (ticket != null && ticket.isExpired()) {
+            LOGGER.debug("Ticket [{}] has expired and is now removed from the ticket registry", ticketId);
+            invalidateTicket(ticketId);
+            return this.delegate.getTicket(ticketId);
+        }
+        return ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        val cached = this.cache.getIfPresent(getCacheKey(ticketId));
+        if (cached == null) {
+            val ticket = this.delegate.getTicket(ticketId, predicate);
+            if (ticket != null && !ticket.isExpired()) {
+                cacheTicket(ticket);
+            }
+            return ticket;
+        }
+        val ticket = SerializationUtils.deserialize(cached, Ticket.class);
+        return predicate.test(ticket) ? ticket : null;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        invalidateTicket(ticketId);
+        return this.delegate.deleteTicket(ticketId);
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) {
+        invalidateTicket(ticket.getId());
+        return this.delegate.deleteTicket(ticket);
+    }
+
+    @Override
+    public long deleteAll() {
+        this.cache.invalidateAll();
+        return this.delegate.deleteAll();
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return this.delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        val result = this.delegate.updateTicket(ticket);
+        cacheTicket(ticket);
+        return result;
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        return this.delegate.getStatistics();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return this.delegate.getSessionsFor(principalId);
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return this.delegate.countSessionsFor(principalId);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return this.delegate.getTicketsStream();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        return this.delegate.getExpiredTicketsStream();
+    }
+
+    @Override
+    public boolean registerExpirationListener(final Consumer<Ticket> listener) {
+        return this.delegate.registerExpirationListener(ticket -> {
+            this.cache.invalidate(getCacheKey(ticket.getId()));
+            listener.accept(ticket);
+        });
+    }
+
+    @Override
+    public boolean registerTicketChangeListener(final Consumer<String> listener) {
+        return this.delegate.registerTicketChangeListener(listener);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.delegate instanceof DisposableBean) {
+            ((DisposableBean) this.delegate).destroy();
+        } else if (this.delegate instanceof AutoCloseable) {
+            ((AutoCloseable) this.delegate).close();
+        }
+    }
+
+    private void cacheTicket(final Ticket ticket) {
+        if (isCacheable(ticket)) {
+            this.cache.put(getCacheKey(ticket.getId()), SerializationUtils.serialize(ticket));
+        }
+    }
+
+    private void invalidateTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return;
+        }
+        val key = getCacheKey(ticketId);
+        val cached = this.cache.getIfPresent(key);
+        if (cached != null) {
+            val tgt = SerializationUtils.deserialize(cached, TicketGrantingTicket.class);
+            tgt.getProxyGrantingTickets().keySet().forEach(id -> this.cache.invalidate(getCacheKey(id)));
+        }
+        this.cache.invalidate(key);
+    }
+}
@@ -0,0 +1,46 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link NearCacheTicketRegistryBeanPostProcessor} that decorates the ticket registry bean
+ * with a {@link NearCacheTicketRegistry}, provided the registry implementation in use reports ticket changes
+ * made by other CAS nodes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NearCacheTicketRegistryBeanPostProcessor implements BeanPostProcessor {
+    /**
+     * Name of the ticket registry bean that is decorated.
+     */
+    public static final String BEAN_NAME_TICKET_REGISTRY = "ticketRegistry";
+
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (BEAN_NAME_TICKET_REGISTRY.equals(beanName) && bean instanceof TicketRegistry && !(bean instanceof NearCacheTicketRegistry)) {
+            val nearCache = casProperties.getObject().getTicket().getRegistry().getNearCache();
+            try {
+                val registry = new NearCacheTicketRegistry((TicketRegistry) bean, nearCache.getMaximumSize(), Beans.newDuration(nearCache.getTimeToLive()));
+                LOGGER.info("Placed a near cache of [{}] ticket(s) in front of ticket registry [{}]", nearCache.getMaximumSize(), bean.getClass().getSimpleName());
+                return registry;
+            } catch (final IllegalArgumentException e) {
+                LOGGER.warn("Ticket registry [{}] is unable to report ticket changes made by other CAS nodes; near cache is not enabled "
+                    + "since CAS nodes may otherwise continue to use tickets that are already changed or destroyed", bean.getClass().getSimpleName());
+                return bean;
+            }
+        }
+        return bean;
+    }
+}
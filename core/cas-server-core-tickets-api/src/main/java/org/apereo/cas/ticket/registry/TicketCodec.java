@@ -0,0 +1,30 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketCodec}. Turns tickets into the binary payload that is
+ * handed over to the ticket registry cipher before a ticket is stored, and back.
+ * Implementations are expected to be thread-safe.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface TicketCodec {
+
+    /**
+     * Encode the ticket into its binary form.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    byte[] encode(Ticket ticket);
+
+    /**
+     * Decode the ticket from its binary form.
+     *
+     * @param value the value
+     * @return the ticket
+     */
+    Ticket decode(byte[] value);
+}
@@ -0,0 +1,49 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link TicketCodecTicketRegistryBeanPostProcessor} that hands the configured {@link TicketCodec}
+ * to ticket registries, regardless of the registry implementation in use. Registries are processed
+ * before they are initialized, so that registries wrapped in proxies or decorators are reached as well.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TicketCodecTicketRegistryBeanPostProcessor implements BeanPostProcessor {
+    /**
+     * Name of the ticket codec bean that is handed to ticket registries.
+     */
+    public static final String BEAN_NAME_TICKET_CODEC = "ticketRegistryCodec";
+
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<TicketCodec> ticketCodec;
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+        if (bean instanceof AbstractTicketRegistry) {
+            val codec = this.ticketCodec.getIfAvailable();
+            if (codec != null) {
+                LOGGER.debug("Ticket registry [{}] encodes tickets using [{}]", beanName, codec.getClass().getSimpleName());
+                ((AbstractTicketRegistry) bean).setTicketCodec(codec);
+                return bean;
+            }
+            val type = casProperties.getObject().getTicket().getRegistry().getCodec();
+            if (type != TicketRegistryProperties.TicketCodecTypes.DEFAULT) {
+                LOGGER.warn("Ticket codec [{}] is not available to ticket registry [{}]; make sure the module that provides it is included. "
+                    + "Tickets are encoded using Java serialization instead", type, beanName);
+            }
+        }
+        return bean;
+    }
+}
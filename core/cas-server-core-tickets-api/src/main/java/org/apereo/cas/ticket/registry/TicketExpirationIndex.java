@@ -0,0 +1,153 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link TicketExpirationIndex}. Keeps ticket ids ordered by their expiration time,
+ * so that tickets that are due for expiration can be found without having to visit
+ * every ticket in the registry. Indexed tickets are also counted by their type as they are
+ * added and removed, so that registry statistics are available without a scan.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketExpirationIndex {
+
+    private final Map<String, Entry> expirationTimes = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(
+        Comparator.comparingLong(Entry::getExpirationTime).thenComparing(Entry::getTicketId));
+
+    /**
+     * Add or move the ticket in the index.
+     *
+     * @param ticketId       the ticket id
+     * @param type           the ticket type, typically its prefix
+     * @param expirationTime the expiration time
+     */
+    public void put(final String ticketId, final String type, final long expirationTime) {
+        val entry = new Entry(ticketId, type, expirationTime);
+        val previous = this.expirationTimes.put(ticketId, entry);
+        if (previous == null) {
+            this.counts.computeIfAbsent(type, k -> new LongAdder()).increment();
+        } else if (!previous.equals(entry)) {
+            this.entries.remove(previous);
+        }
+        this.entries.add(entry);
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        val previous = this.expirationTimes.remove(ticketId);
+        if (previous != null) {
+            this.counts.computeIfPresent(previous.getType(), (type, count) -> {
+                count.decrement();
+                return count;
+            });
+            this.entries.remove(previous);
+        }
+    }
+
+    /**
+     * Gets ticket ids whose expiration time is at or before the given time,
+     * ordered by their expiration time.
+     *
+     * @param time the time
+     * @return the ticket ids
+     */
+    public Collection<String> getTicketsDueBy(final long time) {
+        val results = new ArrayList<String>();
+        for (val entry : this.entries) {
+            if (entry.getExpirationTime() > time) {
+                break;
+            }
+            if (isCurrent(entry)) {
+                results.add(entry.getTicketId());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets statistics on indexed tickets by their type. Tickets whose expiration time
+     * is at or before the given time are counted as expired, and all others as active.
+     * Only tickets that are due for expiration are visited.
+     *
+     * @param time the time
+     * @return the statistics
+     */
+    public TicketRegistryStatistics getStatistics(final long time) {
+        val due = new HashMap<String, Long>();
+        for (val entry : this.entries) {
+            if (entry.getExpirationTime() > time) {
+                break;
+            }
+            if (isCurrent(entry)) {
+                due.merge(entry.getType(), 1L, Long::sum);
+            }
+        }
+        val statistics = new TicketRegistryStatistics();
+        this.counts.forEach((type, count) -> {
+            val expired = due.getOrDefault(type, 0L);
+            statistics.addActive(type, Math.max(0, count.sum() - expired));
+            statistics.addExpired(type, expired);
+        });
+        return statistics;
+    }
+
+    /**
+     * Clear the index.
+     */
+    public void clear() {
+        this.expirationTimes.clear();
+        this.entries.clear();
+        this.counts.clear();
+    }
+
+    /**
+     * Number of indexed tickets.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.expirationTimes.size();
+    }
+
+    private boolean isCurrent(final Entry entry) {
+        if (entry.equals(this.expirationTimes.get(entry.getTicketId()))) {
+            return true;
+        }
+        this.entries.remove(entry);
+        return false;
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    @Getter
+    private static class Entry {
+        private final String ticketId;
+
+        private final String type;
+
+        private final long expirationTime;
+    }
+}
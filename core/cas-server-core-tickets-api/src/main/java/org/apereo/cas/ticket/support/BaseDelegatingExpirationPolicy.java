@@ -111,6 +111,21 @@ public abstract class BaseDelegatingExpirationPolicy extends AbstractCasExpirati
         return policy.getTimeToLive(ticketState);
     }
 
+    /**
+     * Checks the given ticketState and gets the timeToIdle for the relevant expiration policy.
+     *
+     * @param ticketState The ticketState to get the delegated expiration policy for
+     * @return The idle time for the relevant expiration policy
+     */
+    @Override
+    public Long getTimeToIdle(final TicketState ticketState) {
+        val match = getExpirationPolicyFor(ticketState);
+        if (match.isEmpty()) {
+            return super.getTimeToIdle(ticketState);
+        }
+        return match.get().getTimeToIdle(ticketState);
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
@@ -1,7 +1,7 @@
 package org.apereo.cas.util;
 
 import org.apereo.cas.CipherExecutor;
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
@@ -26,7 +26,7 @@ public class CoreTicketUtils {
      * @param registryName the registry name
      * @return the cipher executor
      */
-    public static CipherExecutor newTicketRegistryCipherExecutor(final EncryptionRandomizedSigningJwtCryptographyProperties registry,
+    public static CipherExecutor newTicketRegistryCipherExecutor(final TicketRegistryCryptoProperties registry,
                                                                  final String registryName) {
         return newTicketRegistryCipherExecutor(registry, false, registryName);
     }
@@ -39,7 +39,7 @@ public class CoreTicketUtils {
      * @param registryName     the registry name
      * @return the cipher executor
      */
-    public static CipherExecutor newTicketRegistryCipherExecutor(final EncryptionRandomizedSigningJwtCryptographyProperties registry,
+    public static CipherExecutor newTicketRegistryCipherExecutor(final TicketRegistryCryptoProperties registry,
                                                                  final boolean forceIfBlankKeys,
                                                                  final String registryName) {
 
@@ -57,13 +57,15 @@ public class CoreTicketUtils {
 
         if (enabled || forceIfBlankKeys) {
             LOGGER.debug("Ticket registry encryption/signing is enabled for [{}]", registryName);
-            return new DefaultTicketCipherExecutor(
+            val cipher = new DefaultTicketCipherExecutor(
                 registry.getEncryption().getKey(),
                 registry.getSigning().getKey(),
                 registry.getAlg(),
                 registry.getSigning().getKeySize(),
                 registry.getEncryption().getKeySize(),
                 registryName);
+            cipher.setAuthenticatedEncryption(registry.isAuthenticatedEncryption());
+            return cipher;
         }
         LOGGER.info("Ticket registry encryption/signing is turned off. This MAY NOT be safe in a clustered production environment. "
             + "Consider using other choices to handle encryption, signing and verification of "
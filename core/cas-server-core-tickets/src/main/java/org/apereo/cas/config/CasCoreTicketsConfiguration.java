@@ -33,7 +33,11 @@ import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandler;
 import org.apereo.cas.ticket.registry.CachingTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistry;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistryBeanPostProcessor;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
+import org.apereo.cas.ticket.registry.TicketCodec;
+import org.apereo.cas.ticket.registry.TicketCodecTicketRegistryBeanPostProcessor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
@@ -52,6 +56,7 @@ import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
 import org.apereo.cas.util.cipher.ProtocolTicketCipherExecutor;
 import org.apereo.cas.util.http.HttpClient;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.RegExUtils;
@@ -64,6 +69,7 @@ import org.jasig.cas.client.validation.Cas30ServiceTicketValidator;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -283,6 +289,31 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
         return new DefaultTicketRegistry(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency(), cipher);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.ticket.registry.near-cache", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor nearCacheTicketRegistryBeanPostProcessor(final ObjectProvider<CasConfigurationProperties> casProperties) {
+        return new NearCacheTicketRegistryBeanPostProcessor(casProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.ticket.registry.near-cache", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean(name = "nearCacheTicketRegistryMeterBinder")
+    public MeterBinder nearCacheTicketRegistryMeterBinder() {
+        return registry -> {
+            val ticketRegistry = applicationContext.getBean(NearCacheTicketRegistryBeanPostProcessor.BEAN_NAME_TICKET_REGISTRY, TicketRegistry.class);
+            if (ticketRegistry instanceof NearCacheTicketRegistry) {
+                ((NearCacheTicketRegistry) ticketRegistry).bindTo(registry);
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor ticketCodecTicketRegistryBeanPostProcessor(
+        final ObjectProvider<CasConfigurationProperties> casProperties,
+        @Qualifier(TicketCodecTicketRegistryBeanPostProcessor.BEAN_NAME_TICKET_CODEC) final ObjectProvider<TicketCodec> ticketRegistryCodec) {
+        return new TicketCodecTicketRegistryBeanPostProcessor(casProperties, ticketRegistryCodec);
+    }
+
     @ConditionalOnMissingBean(name = "defaultTicketRegistrySupport")
     @Bean
     public TicketRegistrySupport defaultTicketRegistrySupport() {
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.ExpirationEventTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
@@ -50,14 +51,19 @@ public class CasCoreTicketsSchedulingConfiguration {
                                                        @Qualifier("logoutManager") final LogoutManager logoutManager,
                                                        @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
         val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
-        if (isCleanerEnabled) {
-            LOGGER.debug("Ticket registry cleaner is enabled.");
-            return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
+        if (!isCleanerEnabled) {
+            LOGGER.debug("Ticket registry cleaner is not enabled. "
+                + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
+                + "clean up tickets based on expiration and eviction policies.");
+            return NoOpTicketRegistryCleaner.getInstance();
         }
-        LOGGER.debug("Ticket registry cleaner is not enabled. "
-            + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
-            + "clean up tickets based on expiration and eviction policies.");
-        return NoOpTicketRegistryCleaner.getInstance();
+        val eventCleaner = new ExpirationEventTicketRegistryCleaner(logoutManager, ticketRegistry);
+        if (eventCleaner.register()) {
+            LOGGER.debug("Ticket registry publishes expiration events; expired tickets are cleaned as they are reported by the registry.");
+            return eventCleaner;
+        }
+        LOGGER.debug("Ticket registry cleaner is enabled.");
+        return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
     }
 
     @ConditionalOnMissingBean(name = "ticketRegistryCleanerScheduler")
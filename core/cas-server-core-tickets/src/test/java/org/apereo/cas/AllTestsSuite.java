@@ -11,6 +11,7 @@ import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistryTests;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicyTests;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicyTests;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicyTests;
@@ -42,6 +43,7 @@ import org.junit.platform.suite.api.SelectClasses;
     TimeoutExpirationPolicyTests.class,
     DefaultTicketRegistryTests.class,
     CachingTicketRegistryTests.class,
+    NearCacheTicketRegistryTests.class,
     DistributedTicketRegistryTests.class,
     Cas10ProxyHandlerTests.class,
     TicketEncryptionDecryptionTests.class,
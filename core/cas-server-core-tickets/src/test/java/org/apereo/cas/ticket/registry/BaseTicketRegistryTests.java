@@ -4,7 +4,7 @@ import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
@@ -81,10 +81,14 @@ public abstract class BaseTicketRegistryTests {
     protected abstract TicketRegistry getNewTicketRegistry();
 
     private void setUpEncryption() {
-        var registry = (AbstractTicketRegistry) AopTestUtils.getTargetObject(ticketRegistry);
+        var target = AopTestUtils.getTargetObject(ticketRegistry);
+        if (target instanceof NearCacheTicketRegistry) {
+            target = AopTestUtils.getTargetObject(((NearCacheTicketRegistry) target).getDelegate());
+        }
+        val registry = (AbstractTicketRegistry) target;
         if (this.useEncryption) {
             val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(
-                new EncryptionRandomizedSigningJwtCryptographyProperties(), "[tests]");
+                new TicketRegistryCryptoProperties(), "[tests]");
             registry.setCipherExecutor(cipher);
         } else {
             registry.setCipherExecutor(CipherExecutor.noOp());
@@ -184,6 +188,28 @@ public abstract class BaseTicketRegistryTests {
         assertEquals(Collections.singleton("ST1"), tgt.getServices().keySet());
     }
 
+    @RepeatedTest(2)
+    @Transactional
+    public void verifyCommitBatch() {
+        TicketGrantingTicket tgt = new TicketGrantingTicketImpl(
+            ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService("TGT_BATCH_TEST"),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.commit(new TicketRegistryBatch().update(tgt).add(st));
+
+        tgt = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(Collections.singleton(serviceTicketId), tgt.getServices().keySet(), "Ticket services do not match. useEncryption[" + useEncryption + ']');
+        assertNotNull(ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class), "Ticket is null. useEncryption[" + useEncryption + ']');
+
+        ticketRegistry.commit(new TicketRegistryBatch().delete(serviceTicketId));
+        assertNull(ticketRegistry.getTicket(serviceTicketId), TICKET_SHOULD_BE_NULL_USE_ENCRYPTION + useEncryption + ']');
+        assertNotNull(ticketRegistry.getTicket(ticketGrantingTicketId), "Ticket is null. useEncryption[" + useEncryption + ']');
+    }
+
     @RepeatedTest(2)
     public void verifyDeleteAllExistingTickets() {
         assumeTrue(isIterableRegistry());
@@ -196,6 +222,29 @@ public abstract class BaseTicketRegistryTests {
         assertEquals(TICKETS_IN_REGISTRY, actual, "Wrong ticket count. useEncryption["+ useEncryption +"]");
     }
 
+    @RepeatedTest(2)
+    @Transactional
+    public void verifySessionsForPrincipal() {
+        assumeTrue(isIterableRegistry());
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + '1',
+            CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy()));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + '2',
+            CoreAuthenticationTestUtils.getAuthentication("CASUSER"),
+            new NeverExpiresExpirationPolicy()));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + '3',
+            CoreAuthenticationTestUtils.getAuthentication("otheruser"),
+            new NeverExpiresExpirationPolicy()));
+
+        assertEquals(2, ticketRegistry.countSessionsFor("casuser"), "Wrong session count. useEncryption[" + useEncryption + ']');
+        try (val sessions = ticketRegistry.getSessionsFor("casuser")) {
+            assertTrue(sessions.allMatch(TicketGrantingTicket.class::isInstance));
+        }
+        ticketRegistry.deleteTicket(ticketGrantingTicketId + '1');
+        assertEquals(1, ticketRegistry.countSessionsFor("casuser"), "Wrong session count. useEncryption[" + useEncryption + ']');
+        assertEquals(0, ticketRegistry.countSessionsFor("unknown"));
+    }
+
     @RepeatedTest(2)
     @Transactional
     public void verifyDeleteExistingTicket() {
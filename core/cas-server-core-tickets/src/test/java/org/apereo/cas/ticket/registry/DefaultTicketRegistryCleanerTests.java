@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.val;
 import org.junit.jupiter.api.Test;
@@ -29,4 +30,36 @@ public class DefaultTicketRegistryCleanerTests {
         c.clean();
         assertTrue(ticketRegistry.sessionCount() == 0);
     }
+
+    @Test
+    public void verifyOnlyDueTicketsAreCleaned() {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = spy(new DefaultTicketRegistry());
+        val expired = new MockTicketGrantingTicket("expired");
+        expired.markTicketExpired();
+        ticketRegistry.addTicket(expired);
+        ticketRegistry.addTicket(new MockTicketGrantingTicket("casuser"));
+        val c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        assertEquals(1, c.clean());
+        assertEquals(1, ticketRegistry.sessionCount());
+        verify(ticketRegistry, never()).getTicketsStream();
+        verify(logoutManager).performLogout(any(TicketGrantingTicket.class));
+    }
+
+    @Test
+    public void verifyExpirationEventsAreCleaned() {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new CachingTicketRegistry(logoutManager);
+        val cleaner = new ExpirationEventTicketRegistryCleaner(logoutManager, ticketRegistry);
+        assertTrue(cleaner.register());
+        assertFalse(new ExpirationEventTicketRegistryCleaner(logoutManager, mock(TicketRegistry.class)).register());
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.addTicket(tgt);
+        tgt.markTicketExpired();
+        assertEquals(0, cleaner.clean());
+        assertEquals(1, cleaner.cleanTicket(tgt));
+        verify(logoutManager).performLogout(tgt);
+        assertNull(ticketRegistry.getTicket(tgt.getId()));
+    }
 }
@@ -1,11 +1,27 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.RememberMeCredential;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
 
+import lombok.val;
+import org.junit.jupiter.api.RepeatedTest;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Test case to test the DefaultTicketRegistry based on test cases to test all
  * Ticket Registries.
@@ -23,4 +39,47 @@ public class DefaultTicketRegistryTests extends BaseTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() {
         return new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp());
     }
+
+    @RepeatedTest(2)
+    public void verifyStatisticsAreCounted() {
+        val registry = getNewTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication(),
+            new AlwaysExpiresExpirationPolicy()));
+        registry.addTicket(tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true));
+        registry.updateTicket(tgt);
+
+        var statistics = registry.getStatistics();
+        assertEquals(1, statistics.getActiveCount(TicketGrantingTicket.PREFIX));
+        assertEquals(1, statistics.getExpiredCount(TicketGrantingTicket.PREFIX));
+        assertEquals(1, statistics.getActiveCount(ServiceTicket.PREFIX));
+        assertEquals(0, statistics.getExpiredCount(ServiceTicket.PREFIX));
+        assertEquals(1, registry.sessionCount());
+
+        registry.deleteTicket("TGT-2");
+        registry.deleteTicket(tgt.getId());
+        statistics = registry.getStatistics();
+        assertEquals(0, statistics.getActiveCount(TicketGrantingTicket.PREFIX));
+        assertEquals(0, statistics.getExpiredCount(TicketGrantingTicket.PREFIX));
+        assertEquals(0, statistics.getActiveCount(ServiceTicket.PREFIX));
+    }
+
+    @RepeatedTest(2)
+    public void verifyRememberMeSessionsAreCountedByTheirPolicy() {
+        val policy = new RememberMeDelegatingExpirationPolicy(new HardTimeoutExpirationPolicy(0));
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.REMEMBER_ME, new HardTimeoutExpirationPolicy(3600));
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.DEFAULT, new HardTimeoutExpirationPolicy(0));
+
+        val registry = getNewTicketRegistry();
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(CoreAuthenticationTestUtils.getPrincipal(),
+            Map.of(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME, true));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-1", authentication, policy));
+        assertEquals(1, registry.sessionCount());
+        try (val expired = registry.getExpiredTicketsStream()) {
+            assertEquals(0, expired.count());
+        }
+    }
 }
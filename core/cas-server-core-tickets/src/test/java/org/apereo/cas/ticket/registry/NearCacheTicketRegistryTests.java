@@ -0,0 +1,124 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.DigestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link NearCacheTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@SpringBootTest(classes = {
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class
+})
+public class NearCacheTicketRegistryTests extends BaseTicketRegistryTests {
+
+    private static TicketGrantingTicket newTicketGrantingTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() {
+        return new NearCacheTicketRegistry(new ChangeReportingTicketRegistry(), 100, Duration.ofSeconds(5));
+    }
+
+    @RepeatedTest(1)
+    public void verifyCacheHitsAndInvalidation() {
+        val delegate = new ChangeReportingTicketRegistry();
+        val registry = new NearCacheTicketRegistry(delegate, 100, Duration.ofSeconds(5));
+        delegate.addTicket(newTicketGrantingTicket("TGT-1"));
+
+        assertNotNull(registry.getTicket("TGT-1"));
+        assertNotNull(registry.getTicket("TGT-1"));
+        assertEquals(1, registry.getStatistics().missCount());
+        assertEquals(1, registry.getStatistics().hitCount());
+
+        delegate.deleteSingleTicket("TGT-1");
+        assertNotNull(registry.getTicket("TGT-1"));
+        delegate.getListener().accept(DigestUtils.sha512("TGT-1"));
+        assertNull(registry.getTicket("TGT-1"));
+    }
+
+    @RepeatedTest(1)
+    public void verifyOnlyCopiesOfTicketGrantingTicketsAreCached() {
+        val registry = new NearCacheTicketRegistry(new ChangeReportingTicketRegistry(), 100, Duration.ofSeconds(5));
+        val tgt = newTicketGrantingTicket("TGT-1");
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+
+        assertNotNull(registry.getTicket("ST-1"));
+        assertEquals(1, registry.getStatistics().missCount());
+        assertEquals(0, registry.getStatistics().hitCount());
+
+        val first = registry.getTicket("TGT-1", TicketGrantingTicket.class);
+        val second = registry.getTicket("TGT-1", TicketGrantingTicket.class);
+        assertEquals(2, registry.getStatistics().hitCount());
+        assertNotSame(first, second);
+        first.getServices().clear();
+        assertEquals(1, second.getServices().size());
+        assertEquals(1, registry.getTicket("TGT-1", TicketGrantingTicket.class).getServices().size());
+    }
+
+    @RepeatedTest(1)
+    public void verifyRegistryWithoutChangeNotificationIsRefused() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new NearCacheTicketRegistry(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()), 100, Duration.ofSeconds(5)));
+    }
+
+    @RepeatedTest(1)
+    public void verifyCacheStatisticsAreBoundToMeters() {
+        val registry = new NearCacheTicketRegistry(new ChangeReportingTicketRegistry(), 100, Duration.ofSeconds(5));
+        registry.addTicket(newTicketGrantingTicket("TGT-1"));
+        assertNotNull(registry.getTicket("TGT-1"));
+        assertNull(registry.getTicket("TGT-2"));
+
+        val meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", NearCacheTicketRegistry.CACHE_NAME)
+            .tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", NearCacheTicketRegistry.CACHE_NAME)
+            .tag("result", "miss").functionCounter().count());
+    }
+
+    /**
+     * In-memory registry that hands out the listener of ticket changes,
+     * so tests may report changes as if they were made by other nodes.
+     */
+    private static class ChangeReportingTicketRegistry extends DefaultTicketRegistry {
+        private Consumer<String> listener;
+
+        ChangeReportingTicketRegistry() {
+            super(10, 10, 5, CipherExecutor.noOp());
+        }
+
+        @Override
+        public boolean registerTicketChangeListener(final Consumer<String> listener) {
+            this.listener = listener;
+            return true;
+        }
+
+        Consumer<String> getListener() {
+            return this.listener;
+        }
+    }
+}
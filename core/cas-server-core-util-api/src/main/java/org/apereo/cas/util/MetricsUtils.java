@@ -0,0 +1,150 @@
+package org.apereo.cas.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is {@link MetricsUtils} that records latencies of CAS components with the global meter registry,
+ * which is backed by the registries that are configured for the deployment. When no registries are configured,
+ * recording is a no-op. Tags whose values are unbounded, such as the registered service, are expected
+ * to be capped by meter filters. Timers are looked up once per name and set of tags, and are then kept
+ * in a bounded cache so that recording does not go through meter registration every time.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@UtilityClass
+public class MetricsUtils {
+    /**
+     * Prefix of all CAS meter names.
+     */
+    public static final String METER_NAME_PREFIX = "cas.";
+
+    /**
+     * Tag that carries the outcome of the operation.
+     */
+    public static final String TAG_OUTCOME = "outcome";
+
+    /**
+     * Tag that carries the registered service.
+     */
+    public static final String TAG_SERVICE = "service";
+
+    /**
+     * Tag that carries the ticket type.
+     */
+    public static final String TAG_TICKET_TYPE = "ticketType";
+
+    /**
+     * Tag that carries the attribute repository.
+     */
+    public static final String TAG_ATTRIBUTE_REPOSITORY = "repository";
+
+    /**
+     * Name of the timer that records queries of attribute repositories.
+     */
+    public static final String METER_NAME_ATTRIBUTE_REPOSITORY = "cas.attribute.repository";
+
+    /**
+     * Outcome of operations that complete successfully.
+     */
+    public static final String OUTCOME_SUCCESS = "success";
+
+    /**
+     * Outcome of operations that fail.
+     */
+    public static final String OUTCOME_FAILURE = "failure";
+
+    /**
+     * Value of tags that cannot be determined.
+     */
+    public static final String UNKNOWN = "unknown";
+
+    private static final int MAX_TICKET_PREFIX_LENGTH = 8;
+
+    private static final int MAX_CACHED_TIMERS = 10_000;
+
+    private static final Cache<List<String>, Timer> TIMERS = Caffeine.newBuilder().maximumSize(MAX_CACHED_TIMERS).build();
+
+    /**
+     * Whether any meter registries are configured to record metrics.
+     * Callers may use this to skip work that is only needed to compute tags.
+     *
+     * @return true if metrics are recorded
+     */
+    public static boolean isEnabled() {
+        return !Metrics.globalRegistry.getRegistries().isEmpty();
+    }
+
+    /**
+     * Start a timer sample.
+     *
+     * @return the sample
+     */
+    public static Timer.Sample startTimer() {
+        return Timer.start(Metrics.globalRegistry);
+    }
+
+    /**
+     * Stop the timer sample and record it with the timer identified by name and tags.
+     *
+     * @param sample  the sample
+     * @param name    the meter name
+     * @param success whether the operation completed successfully
+     * @param tags    the tags as key/value pairs; blank values are tagged as unknown
+     */
+    public static void stopTimer(final Timer.Sample sample, final String name, final boolean success, final String... tags) {
+        val key = new ArrayList<String>(tags.length + 3);
+        key.add(name);
+        key.add(TAG_OUTCOME);
+        key.add(success ? OUTCOME_SUCCESS : OUTCOME_FAILURE);
+        for (var i = 0; i + 1 < tags.length; i += 2) {
+            key.add(tags[i]);
+            key.add(StringUtils.defaultIfBlank(tags[i + 1], UNKNOWN));
+        }
+        sample.stop(TIMERS.get(key, MetricsUtils::registerTimer));
+    }
+
+    private static Timer registerTimer(final List<String> key) {
+        val builder = Timer.builder(key.get(0));
+        for (var i = 1; i + 1 < key.size(); i += 2) {
+            builder.tag(key.get(i), key.get(i + 1));
+        }
+        return builder.register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Gets the tag value for the registered service, given its numeric id.
+     *
+     * @param id the registered service id, or null
+     * @return the tag value
+     */
+    public static String getServiceTag(final Long id) {
+        return id == null ? UNKNOWN : id.toString();
+    }
+
+    /**
+     * Gets the tag value for the type of the ticket, given its id. Ticket ids start with
+     * a short alphabetic prefix that identifies the type (i.e. {@code TGT}, {@code ST}).
+     * Anything else is tagged as unknown, so that ticket ids never end up in tags.
+     *
+     * @param ticketId the ticket id
+     * @return the tag value
+     */
+    public static String getTicketTypeTag(final String ticketId) {
+        val prefix = StringUtils.substringBefore(ticketId, "-");
+        if (StringUtils.isBlank(prefix) || prefix.length() > MAX_TICKET_PREFIX_LENGTH
+            || prefix.length() == StringUtils.length(ticketId) || !StringUtils.isAlpha(prefix)) {
+            return UNKNOWN;
+        }
+        return prefix;
+    }
+}
@@ -36,6 +36,12 @@ import java.nio.charset.StandardCharsets;
 public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
     private static final String CIPHER_ALGORITHM = "AES";
 
+    /**
+     * Cipher instances are not thread-safe and expensive to look up,
+     * so each thread keeps and re-initializes its own copy.
+     */
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> newCipher(CIPHER_ALGORITHM));
+
     /**
      * Name of the cipher/component whose keys are generated here.
      */
@@ -72,10 +78,21 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         return params.get("k").toString();
     }
 
+    /**
+     * Create a new cipher instance for the given transformation.
+     *
+     * @param transformation the transformation
+     * @return the cipher
+     */
+    @SneakyThrows
+    protected static Cipher newCipher(final String transformation) {
+        return Cipher.getInstance(transformation);
+    }
+
     @Override
     @SneakyThrows
     public byte[] encode(final byte[] value, final Object[] parameters) {
-        val aesCipher = Cipher.getInstance(CIPHER_ALGORITHM);
+        val aesCipher = CIPHER.get();
         aesCipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey);
         val result = aesCipher.doFinal(value);
         return sign(result);
@@ -85,7 +102,7 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
     @SneakyThrows
     public byte[] decode(final byte[] value, final Object[] parameters) {
         val verifiedValue = verifySignature(value);
-        val aesCipher = Cipher.getInstance(CIPHER_ALGORITHM);
+        val aesCipher = CIPHER.get();
         aesCipher.init(Cipher.DECRYPT_MODE, this.encryptionKey);
         try {
             return aesCipher.doFinal(verifiedValue);
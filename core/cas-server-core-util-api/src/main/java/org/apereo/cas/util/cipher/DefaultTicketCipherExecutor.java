@@ -1,14 +1,55 @@
 package org.apereo.cas.util.cipher;
 
+import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.crypto.DecryptionException;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * This is {@link DefaultTicketCipherExecutor} that handles the encryption
  * and signing of tickets during replication.
+ * <p>
+ * When authenticated encryption is turned on, values are encrypted and authenticated
+ * in a single pass using {@code AES/GCM} and stored in a compact binary envelope
+ * that carries a format version, rather than being encrypted and then signed as a JWS.
+ * Values are always decoded based on their format, so that tickets encoded
+ * by either strategy remain readable.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
+@Slf4j
+@Getter
+@Setter
 public class DefaultTicketCipherExecutor extends BaseBinaryCipherExecutor {
+    private static final String AEAD_CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final byte[] AEAD_ENVELOPE_HEADER = {(byte) 0xCA, (byte) 0x5E, 0x01};
+
+    private static final int AEAD_IV_LENGTH = 12;
+
+    private static final int AEAD_TAG_LENGTH = 128;
+
+    private static final ThreadLocal<Cipher> AEAD_CIPHER = ThreadLocal.withInitial(() -> newCipher(AEAD_CIPHER_ALGORITHM));
+
+    private static final SecureRandom RANDOM = RandomUtils.getNativeInstance();
+
+    /**
+     * Whether values should be encoded using the authenticated encryption envelope.
+     */
+    private boolean authenticatedEncryption;
+
     public DefaultTicketCipherExecutor(final String encryptionSecretKey, final String signingSecretKey,
                                        final String secretKeyAlg, final int signingKeySize,
                                        final int encryptionKeySize, final String cipherName) {
@@ -16,6 +57,34 @@ public class DefaultTicketCipherExecutor extends BaseBinaryCipherExecutor {
         setSecretKeyAlgorithm(secretKeyAlg);
     }
 
+    /**
+     * Whether the value is wrapped in the authenticated encryption envelope.
+     *
+     * @param value the value
+     * @return true/false
+     */
+    public static boolean isAuthenticatedEnvelope(final byte[] value) {
+        return value != null
+            && value.length > AEAD_ENVELOPE_HEADER.length + AEAD_IV_LENGTH
+            && Arrays.equals(AEAD_ENVELOPE_HEADER, Arrays.copyOf(value, AEAD_ENVELOPE_HEADER.length));
+    }
+
+    @Override
+    public byte[] encode(final byte[] value, final Object[] parameters) {
+        if (this.authenticatedEncryption) {
+            return encryptAuthenticated(value);
+        }
+        return super.encode(value, parameters);
+    }
+
+    @Override
+    public byte[] decode(final byte[] value, final Object[] parameters) {
+        if (isAuthenticatedEnvelope(value)) {
+            return decryptAuthenticated(value);
+        }
+        return super.decode(value, parameters);
+    }
+
     @Override
     public String getName() {
         return "Ticketing";
@@ -30,4 +99,32 @@ public class DefaultTicketCipherExecutor extends BaseBinaryCipherExecutor {
     protected String getSigningKeySetting() {
         return "cas.ticket.registry." + this.cipherName + ".signing.key";
     }
+
+    @SneakyThrows
+    private byte[] encryptAuthenticated(final byte[] value) {
+        val iv = new byte[AEAD_IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        val cipher = AEAD_CIPHER.get();
+        cipher.init(Cipher.ENCRYPT_MODE, getEncryptionKey(), new GCMParameterSpec(AEAD_TAG_LENGTH, iv));
+        cipher.updateAAD(AEAD_ENVELOPE_HEADER);
+        val buffer = ByteBuffer.allocate(AEAD_ENVELOPE_HEADER.length + AEAD_IV_LENGTH + cipher.getOutputSize(value.length));
+        buffer.put(AEAD_ENVELOPE_HEADER).put(iv);
+        cipher.doFinal(ByteBuffer.wrap(value), buffer);
+        return buffer.array();
+    }
+
+    @SneakyThrows
+    private byte[] decryptAuthenticated(final byte[] value) {
+        val offset = AEAD_ENVELOPE_HEADER.length;
+        val cipher = AEAD_CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, getEncryptionKey(), new GCMParameterSpec(AEAD_TAG_LENGTH, value, offset, AEAD_IV_LENGTH));
+        cipher.updateAAD(AEAD_ENVELOPE_HEADER);
+        try {
+            return cipher.doFinal(value, offset + AEAD_IV_LENGTH, value.length - offset - AEAD_IV_LENGTH);
+        } catch (final AEADBadTagException e) {
+            LOGGER.trace(e.getMessage(), e);
+            //noinspection ThrowInsideCatchBlockWhichIgnoresCaughtException
+            throw new DecryptionException(); //NOPMD
+        }
+    }
 }
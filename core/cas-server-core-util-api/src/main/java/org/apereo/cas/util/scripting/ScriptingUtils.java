@@ -1,12 +1,15 @@
 package org.apereo.cas.util.scripting;
 
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
-import groovy.lang.GroovyShell;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -15,23 +18,29 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.Resource;
 
 import javax.script.Invocable;
 import javax.script.ScriptEngineManager;
-import javax.script.SimpleBindings;
+import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * This is {@link ScriptingUtils}.
+ * <p>
+ * Groovy scripts are compiled once and the compiled classes are kept in a bounded, process-wide cache,
+ * keyed by the digest of inline scripts or by the location and last-modified time of script files.
+ * Every execution creates a new instance of the compiled class with its own variables.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -51,6 +60,35 @@ public class ScriptingUtils {
      */
     private static final Pattern FILE_GROOVY_PATTERN = RegexUtils.createPattern("(file|classpath):(.+\\.groovy)");
 
+    private static final int COMPILED_SCRIPT_CACHE_SIZE = 1_000;
+
+    private static final long COMPILED_SCRIPT_CACHE_IDLE_TIME_HOURS = 1;
+
+    /**
+     * Compiled groovy classes, keyed by script digest or file location and modification time.
+     */
+    private static final Cache<String, Class> COMPILED_SCRIPTS = Caffeine.newBuilder()
+        .maximumSize(COMPILED_SCRIPT_CACHE_SIZE)
+        .expireAfterAccess(COMPILED_SCRIPT_CACHE_IDLE_TIME_HOURS, TimeUnit.HOURS)
+        .recordStats()
+        .build();
+
+    /**
+     * Gets the hit/miss statistics of the compiled script cache.
+     *
+     * @return the statistics
+     */
+    public static CacheStats getCompiledScriptCacheStatistics() {
+        return COMPILED_SCRIPTS.stats();
+    }
+
+    /**
+     * Remove all compiled scripts from the cache.
+     */
+    public static void clearCompiledScriptCache() {
+        COMPILED_SCRIPTS.invalidateAll();
+    }
+
     /**
      * Is inline groovy script ?.
      *
@@ -104,18 +142,7 @@ public class ScriptingUtils {
                                                  final Map<String, Object> variables,
                                                  final Class<T> clazz) {
         try {
-            val binding = new Binding();
-            val shell = new GroovyShell(binding);
-            if (variables != null && !variables.isEmpty()) {
-                variables.forEach(binding::setVariable);
-            }
-            if (!binding.hasVariable("logger")) {
-                binding.setVariable("logger", LOGGER);
-            }
-            LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
-
-            val result = shell.evaluate(script);
-            return getGroovyScriptExecutionResultOrThrow(clazz, result);
+            return evaluateGroovyScript(script, variables, clazz);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -276,11 +303,11 @@ public class ScriptingUtils {
     public static GroovyObject parseGroovyScript(final Resource groovyScript,
                                                  final boolean failOnError) {
         return AccessController.doPrivileged((PrivilegedAction<GroovyObject>) () -> {
-            val parent = ScriptingUtils.class.getClassLoader();
-            try (val loader = new GroovyClassLoader(parent)) {
+            try {
                 val groovyFile = groovyScript.getFile();
                 if (groovyFile.exists()) {
-                    val groovyClass = loader.parseClass(groovyFile);
+                    val key = "file:" + groovyFile.getCanonicalPath() + '@' + groovyFile.lastModified();
+                    val groovyClass = COMPILED_SCRIPTS.get(key, k -> compileGroovyScript(groovyFile));
                     LOGGER.trace("Creating groovy object instance from class [{}]", groovyFile.getCanonicalPath());
                     return (GroovyObject) groovyClass.getDeclaredConstructor().newInstance();
                 }
@@ -318,6 +345,48 @@ public class ScriptingUtils {
         return null;
     }
 
+    private static <T> T evaluateGroovyScript(final String script,
+                                              final Map<String, Object> variables,
+                                              final Class<T> clazz) {
+        val binding = new Binding();
+        if (variables != null && !variables.isEmpty()) {
+            variables.forEach(binding::setVariable);
+        }
+        if (!binding.hasVariable("logger")) {
+            binding.setVariable("logger", LOGGER);
+        }
+        LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
+        val scriptClass = COMPILED_SCRIPTS.get(getCacheKey(script), k -> compileGroovyScript(script));
+        val result = InvokerHelper.createScript(scriptClass, binding).run();
+        return getGroovyScriptExecutionResultOrThrow(clazz, result);
+    }
+
+    private static String getCacheKey(final String script) {
+        return "script:" + DigestUtils.sha256(script);
+    }
+
+    private static Class compileGroovyScript(final File groovyFile) {
+        return AccessController.doPrivileged((PrivilegedAction<Class>) () -> {
+            try (val loader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader())) {
+                LOGGER.trace("Compiling groovy script [{}]", groovyFile);
+                return loader.parseClass(groovyFile);
+            } catch (final Exception e) {
+                throw new IllegalArgumentException(e);
+            }
+        });
+    }
+
+    private static Class compileGroovyScript(final String script) {
+        return AccessController.doPrivileged((PrivilegedAction<Class>) () -> {
+            try (val loader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(), new CompilerConfiguration(), true)) {
+                LOGGER.trace("Compiling groovy script [{}]", script);
+                return loader.parseClass(script);
+            } catch (final Exception e) {
+                throw new IllegalArgumentException(e);
+            }
+        });
+    }
+
     private static <T> T getGroovyScriptExecutionResultOrThrow(final Class<T> clazz, final Object result) {
         if (result != null && !clazz.isAssignableFrom(result.getClass())) {
             throw new ClassCastException("Result [" + result + " is of type " + result.getClass() + " when we were expecting " + clazz);
@@ -377,20 +446,7 @@ public class ScriptingUtils {
                                                   final Map<String, Object> variables,
                                                   final Class<T> clazz) {
         try {
-            val engine = new ScriptEngineManager().getEngineByName("groovy");
-            if (engine == null) {
-                LOGGER.warn("Script engine is not available for Groovy");
-                return null;
-            }
-            val binding = new SimpleBindings();
-            if (variables != null && !variables.isEmpty()) {
-                binding.putAll(variables);
-            }
-            if (!binding.containsKey("logger")) {
-                binding.put("logger", LOGGER);
-            }
-            val result = engine.eval(script, binding);
-            return getGroovyScriptExecutionResultOrThrow(clazz, result);
+            return evaluateGroovyScript(script, variables, clazz);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -432,11 +488,7 @@ public class ScriptingUtils {
 
             val script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
 
-            val clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> {
-                val classLoader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(),
-                    new CompilerConfiguration(), true);
-                return classLoader.parseClass(script);
-            });
+            val clazz = (Class<T>) COMPILED_SCRIPTS.get(getCacheKey(script), k -> compileGroovyScript(script));
 
             LOGGER.debug("Preparing constructor arguments [{}] for resource [{}]", args, resource);
             val ctor = clazz.getDeclaredConstructor(constructorArgs);
@@ -4,6 +4,7 @@ import org.apereo.cas.util.CollectionUtilsTests;
 import org.apereo.cas.util.CompressionUtilsTests;
 import org.apereo.cas.util.DateTimeUtilsTests;
 import org.apereo.cas.util.EncodingUtilsTests;
+import org.apereo.cas.util.MetricsUtilsTests;
 import org.apereo.cas.util.RandomUtilsTests;
 import org.apereo.cas.util.RegexUtilsTests;
 import org.apereo.cas.util.ResourceUtilsTests;
@@ -59,7 +60,8 @@ import org.junit.platform.suite.api.SelectClasses;
     ScriptingUtilsTests.class,
     GroovySmsSenderTests.class,
     RestfulSmsSenderTests.class,
-    RandomUtilsTests.class
+    RandomUtilsTests.class,
+    MetricsUtilsTests.class
 })
 public class AllUtilityTestsSuite {
 }
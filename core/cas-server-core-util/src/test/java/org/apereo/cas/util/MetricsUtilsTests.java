@@ -0,0 +1,58 @@
+package org.apereo.cas.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link MetricsUtilsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class MetricsUtilsTests {
+    @Test
+    public void verifyTicketTypeTag() {
+        assertEquals("TGT", MetricsUtils.getTicketTypeTag("TGT-1-abcdefghijklmnopqrstuvwxyz-cas"));
+        assertEquals("ST", MetricsUtils.getTicketTypeTag("ST-1-abcdefghijklmnopqrstuvwxyz-cas"));
+        assertEquals(MetricsUtils.UNKNOWN, MetricsUtils.getTicketTypeTag("abcdefghijklmnopqrstuvwxyz"));
+        assertEquals(MetricsUtils.UNKNOWN, MetricsUtils.getTicketTypeTag("1-abcdefghijklmnopqrstuvwxyz"));
+        assertEquals(MetricsUtils.UNKNOWN, MetricsUtils.getTicketTypeTag(null));
+    }
+
+    @Test
+    public void verifyTimerIsRecorded() {
+        val registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            assertTrue(MetricsUtils.isEnabled());
+            val sample = MetricsUtils.startTimer();
+            MetricsUtils.stopTimer(sample, "cas.test", true, MetricsUtils.TAG_SERVICE, null);
+            val timer = registry.find("cas.test")
+                .tag(MetricsUtils.TAG_OUTCOME, MetricsUtils.OUTCOME_SUCCESS)
+                .tag(MetricsUtils.TAG_SERVICE, MetricsUtils.UNKNOWN)
+                .timer();
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    public void verifyCachedTimerFollowsRegistries() {
+        MetricsUtils.stopTimer(MetricsUtils.startTimer(), "cas.test.cached", true);
+        val registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            MetricsUtils.stopTimer(MetricsUtils.startTimer(), "cas.test.cached", true);
+            MetricsUtils.stopTimer(MetricsUtils.startTimer(), "cas.test.cached", true);
+            assertEquals(2, registry.get("cas.test.cached").tag(MetricsUtils.TAG_OUTCOME, MetricsUtils.OUTCOME_SUCCESS).timer().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+}
@@ -63,4 +63,27 @@ public class ScriptingUtilsTests {
         val result = ScriptingUtils.executeScriptEngine(file.getCanonicalPath(), new Object[]{"casuser"}, String.class);
         assertEquals("casuser", result);
     }
+
+    @Test
+    public void verifyInlineScriptIsCompiledOnce() {
+        ScriptingUtils.clearCompiledScriptCache();
+        val hits = ScriptingUtils.getCompiledScriptCacheStatistics().hitCount();
+        assertEquals("casuser", ScriptingUtils.executeGroovyShellScript("return name", CollectionUtils.wrap("name", "casuser"), String.class));
+        assertEquals("cas", ScriptingUtils.executeGroovyShellScript("return name", CollectionUtils.wrap("name", "cas"), String.class));
+        assertEquals("user", ScriptingUtils.executeGroovyScriptEngine("return name", CollectionUtils.wrap("name", "user"), String.class));
+        assertEquals(hits + 2, ScriptingUtils.getCompiledScriptCacheStatistics().hitCount());
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyModifiedGroovyResourceIsRecompiled() {
+        val file = File.createTempFile("test", ".groovy");
+        FileUtils.write(file, "def process(String name) { return name }", StandardCharsets.UTF_8);
+        val resource = new FileSystemResource(file);
+        assertEquals("casuser", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+
+        FileUtils.write(file, "def process(String name) { return name.toUpperCase() }", StandardCharsets.UTF_8);
+        assertTrue(file.setLastModified(file.lastModified() + 5_000));
+        assertEquals("CASUSER", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+    }
 }
@@ -1,5 +1,7 @@
 package org.apereo.cas.util.cipher;
 
+import org.apereo.cas.util.crypto.DecryptionException;
+
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
@@ -24,4 +26,24 @@ public class DefaultTicketCipherExecutorTests {
         assertNotNull(cipher.getSigningKeySetting());
         assertNotNull(cipher.getEncryptionKeySetting());
     }
+
+    @Test
+    public void verifyAuthenticatedEncryption() {
+        val cipher = new DefaultTicketCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            "AES", 512, 16, "registry");
+        val value = "TGT-1234567890".getBytes(StandardCharsets.UTF_8);
+        val legacy = cipher.encode(value);
+        assertFalse(DefaultTicketCipherExecutor.isAuthenticatedEnvelope(legacy));
+
+        cipher.setAuthenticatedEncryption(true);
+        val encoded = cipher.encode(value);
+        assertTrue(DefaultTicketCipherExecutor.isAuthenticatedEnvelope(encoded));
+        assertTrue(encoded.length < legacy.length);
+        assertArrayEquals(value, cipher.decode(encoded));
+        assertArrayEquals(value, cipher.decode(legacy));
+
+        encoded[encoded.length - 1] ^= 1;
+        assertThrows(DecryptionException.class, () -> cipher.decode(encoded));
+    }
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.validation;
 
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
 
 import lombok.Getter;
 
@@ -28,6 +29,10 @@ public class DefaultAssertionBuilder {
      * The Service.
      */
     private Service service;
+    /**
+     * The registered service.
+     */
+    private RegisteredService registeredService;
     /**
      * The New login.
      */
@@ -64,6 +69,17 @@ public class DefaultAssertionBuilder {
         return this;
     }
 
+    /**
+     * With default assertion builder.
+     *
+     * @param registeredService the registered service
+     * @return the default assertion builder
+     */
+    public DefaultAssertionBuilder with(final RegisteredService registeredService) {
+        this.registeredService = registeredService;
+        return this;
+    }
+
     /**
      * With default assertion builder.
      *
@@ -81,6 +97,6 @@ public class DefaultAssertionBuilder {
      * @return the assertion
      */
     public Assertion build() {
-        return new ImmutableAssertion(this.auth, this.authentications, this.newLogin, this.service);
+        return new ImmutableAssertion(this.auth, this.authentications, this.newLogin, this.service, this.registeredService);
     }
 }
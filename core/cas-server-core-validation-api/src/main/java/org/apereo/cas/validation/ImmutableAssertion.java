@@ -2,6 +2,7 @@ package org.apereo.cas.validation;
 
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -21,7 +22,7 @@ import java.util.List;
  */
 @ToString
 @RequiredArgsConstructor
-@EqualsAndHashCode
+@EqualsAndHashCode(exclude = "registeredService")
 @Getter
 public class ImmutableAssertion implements Assertion, Serializable {
 
@@ -49,4 +50,14 @@ public class ImmutableAssertion implements Assertion, Serializable {
      * The service we are asserting this ticket for.
      */
     private final @NonNull Service service;
+
+    /**
+     * The registered service located for the service, if any.
+     */
+    private final RegisteredService registeredService;
+
+    public ImmutableAssertion(final Authentication primaryAuthentication, final List<Authentication> chainedAuthentications,
+                              final boolean fromNewLogin, final Service service) {
+        this(primaryAuthentication, chainedAuthentications, fromNewLogin, service, null);
+    }
 }
@@ -40,6 +40,7 @@ import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryBatch;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.validation.Assertion;
 import org.apereo.cas.validation.DefaultAssertionBuilder;
@@ -136,8 +137,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         val principal = latestAuthentication.getPrincipal();
         val factory = (ServiceTicketFactory) this.ticketFactory.get(ServiceTicket.class);
         val serviceTicket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
-        this.ticketRegistry.updateTicket(ticketGrantingTicket);
-        this.ticketRegistry.addTicket(serviceTicket);
+        this.ticketRegistry.commit(new TicketRegistryBatch().update(ticketGrantingTicket).add(serviceTicket));
 
         LOGGER.info("Granted service ticket [{}] for service [{}] and principal [{}]", serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
         doPublishEvent(new CasServiceTicketGrantedEvent(this, ticketGrantingTicket, serviceTicket));
@@ -173,8 +173,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         val factory = (ProxyTicketFactory) this.ticketFactory.get(ProxyTicket.class);
         val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
 
-        this.ticketRegistry.updateTicket(proxyGrantingTicketObject);
-        this.ticketRegistry.addTicket(proxyTicket);
+        this.ticketRegistry.commit(new TicketRegistryBatch().update(proxyGrantingTicketObject).add(proxyTicket));
 
         LOGGER.info("Granted proxy ticket [{}] for service [{}] for user [{}]",
             proxyTicket.getId(), service.getId(), principal.getId());
@@ -304,6 +303,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
             val assertion = new DefaultAssertionBuilder(finalAuthentication)
                 .with(selectedService)
+                .with(registeredService)
                 .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
                 .with(serviceTicket.isFromNewLogin())
                 .build();
@@ -249,6 +249,7 @@ public class DefaultCentralAuthenticationServiceTests extends AbstractCentralAut
         val assertion = getCentralAuthenticationService().validateServiceTicket(serviceTicket.getId(), getService());
         val auth = assertion.getPrimaryAuthentication();
         assertEquals(auth.getPrincipal().getId(), cred.getUsername());
+        assertEquals(getServicesManager().findServiceBy(getService()), assertion.getRegisteredService());
     }
 
     @Test
@@ -44,8 +44,10 @@ public class CasSupportCouchbaseAuditConfiguration {
     @Bean
     public AuditTrailManager couchbaseAuditTrailManager() {
         val cb = casProperties.getAudit().getCouchbase();
-        return new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory(),
+        val manager = new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory(),
             new AuditActionContextJsonSerializer(), cb.isAsynchronous());
+        manager.configurePipeline(casProperties.getAudit().getPipeline());
+        return manager;
     }
 
     @Bean
@@ -1,20 +1,20 @@
 package org.apereo.cas.audit;
 
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
 import org.apereo.cas.couchdb.audit.AuditActionContextCouchDbRepository;
 import org.apereo.cas.couchdb.audit.CouchDbAuditActionContext;
 import org.apereo.cas.util.CollectionUtils;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
+import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.audit.AuditTrailManager;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link CouchDbAuditTrailManager}.
@@ -22,23 +22,25 @@ import java.util.concurrent.Executors;
  * @author Timur Duehr
  * @since 6.0.0
  */
-@AllArgsConstructor
 @Getter
 @Setter
-public class CouchDbAuditTrailManager implements AuditTrailManager {
+public class CouchDbAuditTrailManager extends AbstractAuditTrailManager {
     private @NonNull AuditActionContextCouchDbRepository couchDb;
 
-    private boolean asynchronous;
+    public CouchDbAuditTrailManager(@NonNull final AuditActionContextCouchDbRepository couchDb, final boolean asynchronous) {
+        super(asynchronous);
+        this.couchDb = couchDb;
+    }
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        couchDb.add(new CouchDbAuditActionContext(audit));
+    }
 
     @Override
-    public void record(final AuditActionContext auditActionContext) {
-        if (asynchronous) {
-            this.executorService.execute(() -> couchDb.add(new CouchDbAuditActionContext(auditActionContext)));
-        } else {
-            couchDb.add(new CouchDbAuditActionContext(auditActionContext));
-        }
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        val documents = audits.stream().map(CouchDbAuditActionContext::new).collect(Collectors.toList());
+        couchDb.addAll(documents);
     }
 
     @Override
@@ -7,6 +7,7 @@ import org.apereo.cas.couchdb.audit.AuditActionContextCouchDbRepository;
 import org.apereo.cas.couchdb.core.CouchDbConnectorFactory;
 
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.ektorp.impl.ObjectMapperFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -56,7 +57,9 @@ public class CasSupportCouchDbAuditConfiguration {
     @RefreshScope
     public AuditTrailManager couchDbAuditTrailManager(@Qualifier("auditActionContextCouchDbRepository") final AuditActionContextCouchDbRepository repository) {
         repository.initStandardDesignDocument();
-        return new CouchDbAuditTrailManager(repository, casProperties.getAudit().getCouchDb().isAsynchronous());
+        val manager = new CouchDbAuditTrailManager(repository, casProperties.getAudit().getCouchDb().isAsynchronous());
+        manager.configurePipeline(casProperties.getAudit().getPipeline());
+        return manager;
     }
 
     @ConditionalOnMissingBean(name = "couchDbAuditTrailExecutionPlanConfigurer")
@@ -0,0 +1,83 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BatchingJdbcAuditTrailManager} that writes audit records to the audit table
+ * using batch inserts, and delegates queries to the default JDBC audit trail manager.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class BatchingJdbcAuditTrailManager extends AbstractAuditTrailManager {
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+        + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcAuditTrailManager delegate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String insertSql;
+
+    private final int columnLength;
+
+    public BatchingJdbcAuditTrailManager(final JdbcAuditTrailManager delegate,
+                                         final TransactionTemplate transactionTemplate,
+                                         final DataSource dataSource,
+                                         final String tableName,
+                                         final int columnLength) {
+        super(true);
+        this.delegate = delegate;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insertSql = String.format(INSERT_SQL_TEMPLATE, tableName);
+        this.columnLength = columnLength;
+    }
+
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        saveAuditRecords(List.of(audit));
+    }
+
+    @Override
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        val records = audits.stream()
+            .map(audit -> new Object[]{
+                StringUtils.left(audit.getPrincipal(), this.columnLength),
+                audit.getClientIpAddress(),
+                audit.getServerIpAddress(),
+                StringUtils.left(audit.getResourceOperatedUpon(), this.columnLength),
+                audit.getActionPerformed(),
+                audit.getApplicationCode(),
+                new Timestamp(audit.getWhenActionWasPerformed().getTime())})
+            .collect(Collectors.toList());
+        LOGGER.trace("Inserting [{}] audit record(s)", records.size());
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.batchUpdate(this.insertSql, records));
+    }
+
+    @Override
+    public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return this.delegate.getAuditRecordsSince(localDate);
+    }
+}
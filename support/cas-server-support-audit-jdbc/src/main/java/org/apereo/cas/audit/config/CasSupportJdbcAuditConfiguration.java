@@ -1,6 +1,7 @@
 package org.apereo.cas.audit.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
+import org.apereo.cas.audit.BatchingJdbcAuditTrailManager;
 import org.apereo.cas.audit.spi.entity.AuditTrailEntity;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
@@ -53,6 +54,12 @@ public class CasSupportJdbcAuditConfiguration {
         t.setAsynchronous(jdbc.isAsynchronous());
         t.setColumnLength(jdbc.getColumnLength());
         t.setTableName(getAuditTableNameFrom(jdbc));
+        if (jdbc.isAsynchronous()) {
+            val manager = new BatchingJdbcAuditTrailManager(t, inspektrAuditTransactionTemplate(),
+                inspektrAuditTrailDataSource(), getAuditTableNameFrom(jdbc), jdbc.getColumnLength());
+            manager.configurePipeline(casProperties.getAudit().getPipeline());
+            return manager;
+        }
         return t;
     }
 
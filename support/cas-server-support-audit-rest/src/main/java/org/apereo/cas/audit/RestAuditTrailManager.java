@@ -7,6 +7,7 @@ import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpUtils;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -18,7 +19,9 @@ import org.apereo.inspektr.audit.AuditActionContext;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RestAuditTrailManager}.
@@ -31,6 +34,7 @@ public class RestAuditTrailManager extends AbstractAuditTrailManager {
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
 
     private final AuditActionContextJsonSerializer serializer = new AuditActionContextJsonSerializer();
+    private final AuditActionContextJsonSerializer batchSerializer = new AuditActionContextJsonSerializer(new MinimalPrettyPrinter());
     private final AuditRestProperties properties;
 
     public RestAuditTrailManager(final AuditRestProperties properties) {
@@ -52,6 +56,30 @@ public class RestAuditTrailManager extends AbstractAuditTrailManager {
         }
     }
 
+    /**
+     * Sends the batch of audit records to the REST endpoint as a JSON array, if batch requests are enabled.
+     * Otherwise, each audit record is sent on its own.
+     *
+     * @param audits the audit records
+     */
+    @Override
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        if (!properties.isBatchRequests()) {
+            super.saveAuditRecords(audits);
+            return;
+        }
+        HttpResponse response = null;
+        try {
+            val auditJson = audits.stream().map(batchSerializer::toString).collect(Collectors.joining(",", "[", "]"));
+            LOGGER.debug("Sending [{}] audit action context(s) to REST endpoint [{}]", audits.size(), properties.getUrl());
+            response = HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), auditJson);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        } finally {
+            HttpUtils.close(response);
+        }
+    }
+
     @Override
     public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
         HttpResponse response = null;
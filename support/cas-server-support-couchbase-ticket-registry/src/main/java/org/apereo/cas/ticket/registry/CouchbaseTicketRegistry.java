@@ -182,6 +182,22 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
         return runQuery(ServiceTicket.PREFIX + '-');
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ticket-granting and service tickets are counted by the bucket, so the statistics cover all CAS nodes.
+     * Expiration policies are only known once tickets are loaded, so tickets that have expired but are not yet
+     * cleaned up are counted as active, and the number of expired tickets is reported as unknown.
+     */
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        return new TicketRegistryStatistics()
+            .addActive(TicketGrantingTicket.PREFIX, sessionCount())
+            .addActive(ServiceTicket.PREFIX, serviceTicketCount())
+            .addExpired(TicketGrantingTicket.PREFIX, TicketRegistryStatistics.UNKNOWN)
+            .addExpired(ServiceTicket.PREFIX, TicketRegistryStatistics.UNKNOWN);
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val ticketId = encodeTicketId(ticketIdToDelete);
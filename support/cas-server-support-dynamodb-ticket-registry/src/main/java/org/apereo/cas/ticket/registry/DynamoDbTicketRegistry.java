@@ -1,14 +1,20 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistry}.
@@ -37,6 +43,25 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * Write all added and updated tickets in the batch via batch write requests.
+     *
+     * @param batch the batch
+     */
+    @Override
+    public void commit(final TicketRegistryBatch batch) {
+        batch.getTicketsToDelete().forEach(this::deleteTicket);
+        val tickets = new ArrayList<Pair<Ticket, Ticket>>();
+        try {
+            batch.getTicketsToUpdate().forEach(ticket -> tickets.add(Pair.of(ticket, encodeTicket(ticket))));
+            batch.getTicketsToAdd().forEach(ticket -> tickets.add(Pair.of(ticket, encodeTicket(ticket))));
+            val count = this.dbTableService.put(tickets);
+            LOGGER.debug("Wrote [{}] of [{}] ticket(s) in batch [{}]", count, tickets.size(), batch);
+        } catch (final Exception e) {
+            LOGGER.error("Failed writing tickets [{}]", batch, e);
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         val encTicketId = encodeTicketId(ticketId);
@@ -62,6 +87,35 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return decodeTickets(this.dbTableService.getAll());
     }
 
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return decodeTickets(this.dbTableService.stream());
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        return decodeTickets(this.dbTableService.streamExpired(System.currentTimeMillis())).filter(Ticket::isExpired);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are counted by the database, based on their recorded expiration time,
+     * so the statistics cover all CAS nodes. Tickets that cannot be counted are reported as unknown.
+     */
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        try {
+            return this.dbTableService.getStatistics(System.currentTimeMillis());
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to count tickets: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return new TicketRegistryStatistics()
+                .addActive(TicketGrantingTicket.PREFIX, TicketRegistryStatistics.UNKNOWN)
+                .addActive(ServiceTicket.PREFIX, TicketRegistryStatistics.UNKNOWN);
+        }
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
@@ -73,4 +127,19 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         val ticketId = encodeTicketId(ticketIdToDelete);
         return this.dbTableService.delete(ticketIdToDelete, ticketId);
     }
+
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val tickets = services.keySet()
+            .stream()
+            .map(ticketId -> Pair.of(ticketId, encodeTicketId(ticketId)))
+            .collect(Collectors.toList());
+        val count = this.dbTableService.delete(tickets);
+        LOGGER.debug("Removed [{}] of [{}] children of ticket [{}]", count, tickets.size(), ticket.getId());
+        return count;
+    }
 }
@@ -3,53 +3,120 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.util.CollectionUtils;
 
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jooq.lambda.Unchecked;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.io.ByteArrayInputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
+ * <p>
+ * Tables are scanned page by page, with all segments of a table scanned concurrently, and scan results are handed
+ * over as a lazy stream. Items carry a time-to-live attribute so DynamoDb is able to expire tickets on its own,
+ * and operations that write multiple tickets are submitted as batch write requests.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Slf4j
 @Getter
-@RequiredArgsConstructor
-public class DynamoDbTicketRegistryFacilitator {
+public class DynamoDbTicketRegistryFacilitator implements DisposableBean {
+    /**
+     * Maximum number of items that may be written in a single batch write request.
+     */
+    private static final int BATCH_WRITE_MAX_ITEMS = 25;
+
+    private static final int BATCH_WRITE_MAX_ATTEMPTS = 8;
+
+    private static final long BATCH_WRITE_RETRY_DELAY_MILLIS = 50;
+
+    private static final int QUEUE_CAPACITY_PER_THREAD = 100;
+
+    /**
+     * Matches tickets that may have expired, including items written without an expiration time
+     * (i.e. by versions that did not record one), which are then left to callers to inspect.
+     */
+    private static final String FILTER_EXPRESSION_EXPIRED = "attribute_not_exists(#expirationTime) OR #expirationTime <= :time";
+
     private final TicketCatalog ticketCatalog;
+
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
+
     private final AmazonDynamoDB amazonDynamoDBClient;
 
+    private final ExecutorService scanExecutor;
+
+    public DynamoDbTicketRegistryFacilitator(final TicketCatalog ticketCatalog,
+                                             final DynamoDbTicketRegistryProperties dynamoDbProperties,
+                                             final AmazonDynamoDB amazonDynamoDBClient) {
+        this.ticketCatalog = ticketCatalog;
+        this.dynamoDbProperties = dynamoDbProperties;
+        this.amazonDynamoDBClient = amazonDynamoDBClient;
+        val poolSize = getScanSegments();
+        this.scanExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(poolSize * QUEUE_CAPACITY_PER_THREAD),
+            new BasicThreadFactory.Builder().namingPattern("cas-dynamodb-scan-%d").daemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     private static Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
         val bb = returnItem.get(ColumnNames.ENCODED.getColumnName()).getB();
         LOGGER.debug("Located binary encoding of ticket item [{}]. Transforming item into ticket object", returnItem);
@@ -61,6 +128,11 @@ public class DynamoDbTicketRegistryFacilitator {
         return null;
     }
 
+    @Override
+    public void destroy() {
+        this.scanExecutor.shutdownNow();
+    }
+
     /**
      * Delete.
      *
@@ -81,21 +153,38 @@ public class DynamoDbTicketRegistryFacilitator {
         return false;
     }
 
+    /**
+     * Delete tickets via batch write requests.
+     *
+     * @param tickets the ticket ids paired with their encoded ticket ids
+     * @return the number of tickets deleted
+     */
+    public int delete(final Collection<Pair<String, String>> tickets) {
+        val requests = new ArrayList<Pair<String, WriteRequest>>(tickets.size());
+        tickets.forEach(ticket -> {
+            val metadata = this.ticketCatalog.find(ticket.getKey());
+            if (metadata == null) {
+                LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticket.getKey());
+            } else {
+                val key = CollectionUtils.<String, AttributeValue>wrap(ColumnNames.ID.getColumnName(), new AttributeValue(ticket.getValue()));
+                requests.add(Pair.of(metadata.getProperties().getStorageName(), new WriteRequest(new DeleteRequest(key))));
+            }
+        });
+        return writeBatch(requests);
+    }
+
     /**
      * Delete all.
      *
      * @return the int
      */
     public int deleteAll() {
-        val count = new AtomicInteger();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).getCount());
-        });
+        val count = this.ticketCatalog.findAll()
+            .stream()
+            .mapToLong(r -> count(r.getProperties().getStorageName()))
+            .sum();
         createTicketTables(true);
-        return count.get();
+        return (int) count;
     }
 
     /**
@@ -104,16 +193,64 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the all
      */
     public Collection<Ticket> getAll() {
-        val tickets = new ArrayList<Ticket>();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            val result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.getItems().stream().map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList()));
+        try (val tickets = stream()) {
+            return tickets.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Stream all tickets. Tables are scanned lazily as the stream is consumed.
+     *
+     * @return the tickets
+     */
+    public Stream<Ticket> stream() {
+        return scanTicketTables(ScanRequest::new);
+    }
+
+    /**
+     * Stream tickets that may have expired at the given point in time, based on their recorded expiration time.
+     * Callers are expected to verify the ticket expiration status.
+     *
+     * @param time the time in epoch milliseconds
+     * @return the tickets
+     */
+    public Stream<Ticket> streamExpired(final long time) {
+        return scanTicketTables(tableName -> new ScanRequest(tableName)
+            .withFilterExpression(FILTER_EXPRESSION_EXPIRED)
+            .withExpressionAttributeNames(CollectionUtils.wrap("#expirationTime", ColumnNames.EXPIRATION_TIME.getColumnName()))
+            .withExpressionAttributeValues(CollectionUtils.wrap(":time", new AttributeValue().withN(Long.toString(time)))));
+    }
+
+    /**
+     * Count tickets in each ticket table, telling apart tickets that may have expired at the given point in time,
+     * based on their recorded expiration time. Each table is scanned once, and only counts are returned.
+     *
+     * @param time the time in epoch milliseconds
+     * @return the statistics
+     */
+    public TicketRegistryStatistics getStatistics(final long time) {
+        val statistics = new TicketRegistryStatistics();
+        this.ticketCatalog.findAll().forEach(metadata -> {
+            val tableName = metadata.getProperties().getStorageName();
+            var expired = 0L;
+            var total = 0L;
+            Map<String, AttributeValue> startKey = null;
+            do {
+                val scan = new ScanRequest(tableName)
+                    .withSelect(Select.COUNT)
+                    .withFilterExpression(FILTER_EXPRESSION_EXPIRED)
+                    .withExpressionAttributeNames(CollectionUtils.wrap("#expirationTime", ColumnNames.EXPIRATION_TIME.getColumnName()))
+                    .withExpressionAttributeValues(CollectionUtils.wrap(":time", new AttributeValue().withN(Long.toString(time))))
+                    .withExclusiveStartKey(startKey);
+                LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, tableName);
+                val result = this.amazonDynamoDBClient.scan(scan);
+                expired += result.getCount();
+                total += result.getScannedCount();
+                startKey = result.getLastEvaluatedKey();
+            } while (startKey != null && !startKey.isEmpty());
+            statistics.addActive(metadata.getPrefix(), total - expired).addExpired(metadata.getPrefix(), expired);
         });
-        return tickets;
+        return statistics;
     }
 
     /**
@@ -160,7 +297,26 @@ public class DynamoDbTicketRegistryFacilitator {
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
         val putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
-        getAll();
+    }
+
+    /**
+     * Put tickets via batch write requests.
+     *
+     * @param tickets the tickets paired with their encoded tickets
+     * @return the number of tickets written
+     */
+    public int put(final Collection<Pair<Ticket, Ticket>> tickets) {
+        val requests = new ArrayList<Pair<String, WriteRequest>>(tickets.size());
+        tickets.forEach(ticket -> {
+            val metadata = this.ticketCatalog.find(ticket.getKey());
+            if (metadata == null) {
+                LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticket.getKey().getId());
+            } else {
+                val values = buildTableAttributeValuesMapFromTicket(ticket.getKey(), ticket.getValue());
+                requests.add(Pair.of(metadata.getProperties().getStorageName(), new WriteRequest(new PutRequest(values))));
+            }
+        });
+        return writeBatch(requests);
     }
 
     /**
@@ -189,6 +345,7 @@ public class DynamoDbTicketRegistryFacilitator {
             LOGGER.debug("Sending request [{}] to obtain table description...", describeTableRequest);
             val tableDescription = amazonDynamoDBClient.describeTable(describeTableRequest).getTable();
             LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
+            enableTimeToLive(request.getTableName());
         }));
     }
 
@@ -208,10 +365,156 @@ public class DynamoDbTicketRegistryFacilitator {
         values.put(ColumnNames.TIME_TO_LIVE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToLive())));
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())));
         values.put(ColumnNames.ENCODED.getColumnName(), new AttributeValue().withB(ByteBuffer.wrap(SerializationUtils.serialize(encTicket))));
+        values.put(ColumnNames.EXPIRATION_TIME.getColumnName(),
+            new AttributeValue().withN(Long.toString(AbstractTicketRegistry.getExpirationTime(ticket))));
+        val expirationPolicy = ticket.getExpirationPolicy();
+        val timeToLive = ticket instanceof TicketState
+            ? expirationPolicy.getTimeToLive((TicketState) ticket)
+            : expirationPolicy.getTimeToLive();
+        if (timeToLive != null && timeToLive > 0 && timeToLive < Integer.MAX_VALUE) {
+            val expiresAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + timeToLive;
+            values.put(ColumnNames.EXPIRES_AT.getColumnName(), new AttributeValue().withN(Long.toString(expiresAt)));
+        }
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
     }
 
+    private int getScanSegments() {
+        return Math.max(1, dynamoDbProperties.getScanSegments());
+    }
+
+    private void enableTimeToLive(final String tableName) {
+        try {
+            val describeRequest = new DescribeTimeToLiveRequest().withTableName(tableName);
+            val status = amazonDynamoDBClient.describeTimeToLive(describeRequest).getTimeToLiveDescription().getTimeToLiveStatus();
+            if (TimeToLiveStatus.ENABLED.toString().equals(status) || TimeToLiveStatus.ENABLING.toString().equals(status)) {
+                LOGGER.debug("Time-to-live is already [{}] for table [{}]", status, tableName);
+                return;
+            }
+            val specification = new TimeToLiveSpecification()
+                .withAttributeName(ColumnNames.EXPIRES_AT.getColumnName())
+                .withEnabled(Boolean.TRUE);
+            val request = new UpdateTimeToLiveRequest().withTableName(tableName).withTimeToLiveSpecification(specification);
+            LOGGER.debug("Sending request [{}] to enable time-to-live for table [{}]", request, tableName);
+            amazonDynamoDBClient.updateTimeToLive(request);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to enable time-to-live for table [{}]; expired tickets are only removed by the registry cleaner: [{}]",
+                tableName, e.getMessage());
+        }
+    }
+
+    private long count(final String tableName) {
+        var count = 0L;
+        Map<String, AttributeValue> startKey = null;
+        do {
+            val scan = new ScanRequest(tableName).withSelect(Select.COUNT).withExclusiveStartKey(startKey);
+            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, tableName);
+            val result = this.amazonDynamoDBClient.scan(scan);
+            count += result.getCount();
+            startKey = result.getLastEvaluatedKey();
+        } while (startKey != null && !startKey.isEmpty());
+        return count;
+    }
+
+    private Stream<Ticket> scanTicketTables(final Function<String, ScanRequest> requestBuilder) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .flatMap(r -> {
+                val request = requestBuilder.apply(r.getProperties().getStorageName());
+                val iterator = new SegmentedScanIterator(request, getScanSegments());
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+            })
+            .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+            .filter(Objects::nonNull);
+    }
+
+    private int writeBatch(final List<Pair<String, WriteRequest>> requests) {
+        var written = 0;
+        for (var start = 0; start < requests.size(); start += BATCH_WRITE_MAX_ITEMS) {
+            val chunk = requests.subList(start, Math.min(start + BATCH_WRITE_MAX_ITEMS, requests.size()));
+            Map<String, List<WriteRequest>> items = new LinkedHashMap<>();
+            chunk.forEach(request -> items.computeIfAbsent(request.getKey(), k -> new ArrayList<>()).add(request.getValue()));
+            var attempt = 0;
+            while (!items.isEmpty() && attempt < BATCH_WRITE_MAX_ATTEMPTS) {
+                if (attempt > 0 && !pause(BATCH_WRITE_RETRY_DELAY_MILLIS << (attempt - 1))) {
+                    break;
+                }
+                LOGGER.debug("Submitting batch write request for [{}] item(s) on attempt [{}]", countItems(items), attempt + 1);
+                val result = this.amazonDynamoDBClient.batchWriteItem(new BatchWriteItemRequest(items));
+                items = result.getUnprocessedItems() == null ? Collections.emptyMap() : result.getUnprocessedItems();
+                attempt++;
+            }
+            val unprocessed = countItems(items);
+            if (unprocessed > 0) {
+                LOGGER.error("Unable to write [{}] ticket item(s) after [{}] attempts", unprocessed, attempt);
+            }
+            written += chunk.size() - unprocessed;
+        }
+        return written;
+    }
+
+    private static int countItems(final Map<String, List<WriteRequest>> items) {
+        return items.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static boolean pause(final long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Iterates over the items of a table, while all segments of the table are scanned concurrently.
+     * The next page of a segment is requested once the current page of that segment is handed over,
+     * so no more than one page per segment is held in memory ahead of the consumer.
+     */
+    private class SegmentedScanIterator implements Iterator<Map<String, AttributeValue>> {
+        private final Deque<Pair<ScanRequest, CompletableFuture<ScanResult>>> pages = new ArrayDeque<>();
+
+        private Iterator<Map<String, AttributeValue>> items = Collections.emptyIterator();
+
+        SegmentedScanIterator(final ScanRequest request, final int segments) {
+            for (var segment = 0; segment < segments; segment++) {
+                val segmentRequest = segments > 1
+                    ? request.clone().withSegment(segment).withTotalSegments(segments)
+                    : request;
+                scan(segmentRequest);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.items.hasNext() && !this.pages.isEmpty()) {
+                val page = this.pages.poll();
+                val result = page.getValue().join();
+                LOGGER.trace("Scanned [{}] item(s) with request [{}]", result.getCount(), page.getKey());
+                val startKey = result.getLastEvaluatedKey();
+                if (startKey != null && !startKey.isEmpty()) {
+                    scan(page.getKey().clone().withExclusiveStartKey(startKey));
+                }
+                this.items = result.getItems().iterator();
+            }
+            return this.items.hasNext();
+        }
+
+        @Override
+        public Map<String, AttributeValue> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.items.next();
+        }
+
+        private void scan(final ScanRequest request) {
+            LOGGER.debug("Scanning table with request [{}]", request);
+            this.pages.add(Pair.of(request, CompletableFuture.supplyAsync(() -> amazonDynamoDBClient.scan(request), scanExecutor)));
+        }
+    }
+
     /**
      * Column names for tables holding tickets.
      */
@@ -245,7 +548,16 @@ public class DynamoDbTicketRegistryFacilitator {
         /**
          * encoded column.
          */
-        ENCODED("encoded");
+        ENCODED("encoded"),
+        /**
+         * expirationTime column, in epoch milliseconds, past which the ticket may be expired.
+         */
+        EXPIRATION_TIME("expirationTime"),
+        /**
+         * expiresAt column, in epoch seconds, used as the time-to-live attribute of the table.
+         * Tickets whose expiration policy carries no time-to-live do not have this column.
+         */
+        EXPIRES_AT("expiresAt");
 
         private final String columnName;
 
@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.RememberMeCredential;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -22,11 +23,18 @@ import org.apereo.cas.config.DynamoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.EnabledIfContinuousIntegration;
 import org.apereo.cas.util.junit.EnabledIfPortOpen;
 
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
 import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,7 +43,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -88,6 +99,19 @@ public class DynamoDbTicketRegistryFacilitatorTests {
             .forEach(c -> assertTrue(map.containsKey(c.getColumnName())));
     }
 
+    @Test
+    public void verifyExpiresAtFollowsDelegatedPolicy() {
+        val policy = new RememberMeDelegatingExpirationPolicy(new HardTimeoutExpirationPolicy(10));
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.REMEMBER_ME, new HardTimeoutExpirationPolicy(3600));
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.DEFAULT, new HardTimeoutExpirationPolicy(10));
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(CoreAuthenticationTestUtils.getPrincipal(),
+            CollectionUtils.wrap(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME, true));
+        val ticket = new TicketGrantingTicketImpl("TGT-REMEMBER-ME", authentication, policy);
+        val map = dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket);
+        val expiresAt = Long.parseLong(map.get(DynamoDbTicketRegistryFacilitator.ColumnNames.EXPIRES_AT.getColumnName()).getN());
+        assertTrue(expiresAt >= TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3600 - 5);
+    }
+
     @Test
     public void verifyTicketOperations() {
         dynamoDbTicketRegistryFacilitator.createTicketTables(true);
@@ -103,4 +127,51 @@ public class DynamoDbTicketRegistryFacilitatorTests {
         assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
 
     }
+
+    @Test
+    public void verifyBatchOperations() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val tickets = new ArrayList<Pair<Ticket, Ticket>>();
+        for (var i = 0; i < 60; i++) {
+            val ticket = new MockTicketGrantingTicket("casuser" + i,
+                CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+                CollectionUtils.wrap("name", "CAS"));
+            tickets.add(Pair.of(ticket, ticket));
+        }
+        assertEquals(tickets.size(), dynamoDbTicketRegistryFacilitator.put(tickets));
+        try (val stream = dynamoDbTicketRegistryFacilitator.stream()) {
+            assertEquals(tickets.size(), stream.count());
+        }
+        try (val stream = dynamoDbTicketRegistryFacilitator.streamExpired(System.currentTimeMillis())) {
+            assertEquals(0, stream.count());
+        }
+        val statistics = dynamoDbTicketRegistryFacilitator.getStatistics(System.currentTimeMillis());
+        assertEquals(tickets.size(), statistics.getActiveCount(TicketGrantingTicket.PREFIX));
+        assertEquals(0, statistics.getExpiredCount(TicketGrantingTicket.PREFIX));
+        val ids = tickets.stream()
+            .map(ticket -> Pair.of(ticket.getKey().getId(), ticket.getKey().getId()))
+            .collect(Collectors.toList());
+        assertEquals(ids.size(), dynamoDbTicketRegistryFacilitator.delete(ids));
+        assertTrue(dynamoDbTicketRegistryFacilitator.getAll().isEmpty());
+    }
+
+    @Test
+    public void verifyTicketsWithoutExpirationTimeAreExpirationCandidates() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val ticket = new MockTicketGrantingTicket("casuser",
+            CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+            CollectionUtils.wrap("name", "CAS"));
+        val values = dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket);
+        values.remove(DynamoDbTicketRegistryFacilitator.ColumnNames.EXPIRATION_TIME.getColumnName());
+        val tableName = dynamoDbTicketRegistryFacilitator.getTicketCatalog().find(ticket).getProperties().getStorageName();
+        dynamoDbTicketRegistryFacilitator.getAmazonDynamoDBClient().putItem(new PutItemRequest(tableName, values));
+
+        try (val stream = dynamoDbTicketRegistryFacilitator.streamExpired(System.currentTimeMillis())) {
+            assertEquals(1, stream.count());
+        }
+        val statistics = dynamoDbTicketRegistryFacilitator.getStatistics(System.currentTimeMillis());
+        assertEquals(0, statistics.getActiveCount(TicketGrantingTicket.PREFIX));
+        assertEquals(1, statistics.getExpiredCount(TicketGrantingTicket.PREFIX));
+        assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
+    }
 }
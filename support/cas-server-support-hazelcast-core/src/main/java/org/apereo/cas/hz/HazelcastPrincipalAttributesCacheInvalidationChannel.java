@@ -0,0 +1,62 @@
+package org.apereo.cas.hz;
+
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesCacheInvalidationChannel;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * This is {@link HazelcastPrincipalAttributesCacheInvalidationChannel} that publishes invalidations
+ * of cached principal attributes to all members of the cluster through a Hazelcast topic.
+ * Messages published by this member are not delivered back to its own listeners.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class HazelcastPrincipalAttributesCacheInvalidationChannel implements PrincipalAttributesCacheInvalidationChannel {
+    /**
+     * Name of the topic that carries invalidations.
+     */
+    public static final String TOPIC_NAME = "principalAttributesCacheInvalidations";
+
+    private static final String ALL_PRINCIPALS = StringUtils.EMPTY;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    @Override
+    public void publish(final String principalId) {
+        getTopic().publish(principalId);
+    }
+
+    @Override
+    public void publishAll() {
+        getTopic().publish(ALL_PRINCIPALS);
+    }
+
+    @Override
+    public void subscribe(final InvalidationListener listener) {
+        val localMember = this.hazelcastInstance.getCluster().getLocalMember();
+        getTopic().addMessageListener(message -> {
+            if (localMember.equals(message.getPublishingMember())) {
+                return;
+            }
+            val principalId = message.getMessageObject();
+            LOGGER.trace("Received invalidation of cached attributes for [{}] from [{}]", principalId, message.getPublishingMember());
+            if (StringUtils.isEmpty(principalId)) {
+                listener.invalidatedAll();
+            } else {
+                listener.invalidated(principalId);
+            }
+        });
+    }
+
+    private ITopic<String> getTopic() {
+        return this.hazelcastInstance.getTopic(TOPIC_NAME);
+    }
+}
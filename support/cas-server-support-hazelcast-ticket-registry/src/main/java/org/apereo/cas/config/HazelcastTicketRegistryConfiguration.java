@@ -2,14 +2,23 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.registry.EncodedTicket;
+import org.apereo.cas.ticket.registry.ExpirationEventTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.HazelcastTicketHolder;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
-import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.serialization.EncodedTicketStreamSerializer;
+import org.apereo.cas.ticket.registry.serialization.HazelcastTicketHolderStreamSerializer;
+import org.apereo.cas.ticket.registry.serialization.KryoTicketStreamSerializer;
 import org.apereo.cas.util.CoreTicketUtils;
 
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -49,6 +58,10 @@ public class HazelcastTicketRegistryConfiguration {
     @Qualifier("ticketCatalog")
     private ObjectProvider<TicketCatalog> ticketCatalog;
 
+    @Autowired
+    @Qualifier("logoutManager")
+    private ObjectProvider<LogoutManager> logoutManager;
+
     @Bean
     public TicketRegistry ticketRegistry() {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
@@ -56,7 +69,10 @@ public class HazelcastTicketRegistryConfiguration {
         ticketCatalog.getIfAvailable().findAll().stream()
                 .map(TicketDefinition::getProperties)
                 .peek(p -> LOGGER.debug("Created Hazelcast map configuration for [{}]", p))
-                .map(p -> factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout()))
+                .map(p -> factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout())
+                    .addMapIndexConfig(new MapIndexConfig(HazelcastTicketHolder.ATTRIBUTE_TYPE, false))
+                    .addMapIndexConfig(new MapIndexConfig(HazelcastTicketHolder.ATTRIBUTE_PRINCIPAL, false))
+                    .addMapIndexConfig(new MapIndexConfig(HazelcastTicketHolder.ATTRIBUTE_EXPIRATION_TIME, true)))
                 .forEach(m -> hazelcastInstance.getIfAvailable().getConfig().addMapConfig(m));
         val r = new HazelcastTicketRegistry(hazelcastInstance.getIfAvailable(),
             ticketCatalog.getIfAvailable(),
@@ -65,8 +81,31 @@ public class HazelcastTicketRegistryConfiguration {
         return r;
     }
 
+    @Bean
+    public SerializerConfig hazelcastTicketHolderSerializerConfig() {
+        return new SerializerConfig()
+            .setTypeClass(HazelcastTicketHolder.class)
+            .setImplementation(new HazelcastTicketHolderStreamSerializer());
+    }
+
+    @Bean
+    public SerializerConfig hazelcastEncodedTicketSerializerConfig() {
+        return new SerializerConfig()
+            .setTypeClass(EncodedTicket.class)
+            .setImplementation(new EncodedTicketStreamSerializer());
+    }
+
+    @Bean
+    public SerializerConfig hazelcastTicketSerializerConfig() {
+        return new SerializerConfig()
+            .setTypeClass(Ticket.class)
+            .setImplementation(new KryoTicketStreamSerializer());
+    }
+
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
-        return NoOpTicketRegistryCleaner.getInstance();
+        val cleaner = new ExpirationEventTicketRegistryCleaner(logoutManager.getIfAvailable(), ticketRegistry());
+        cleaner.register();
+        return cleaner;
     }
 }
@@ -0,0 +1,52 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link HazelcastTicketHolder} that wraps a (possibly encoded) ticket stored in Hazelcast maps,
+ * along with a number of plain attributes that describe the ticket. Ticket bodies may be encrypted and
+ * are opaque to the cluster; these attributes are indexed instead, so that queries and aggregations
+ * can be carried out by cluster members without having to transfer and decode tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(of = {"id", "type", "expirationTime"})
+public class HazelcastTicketHolder implements Serializable {
+    /**
+     * Attribute that holds the ticket type, which is the ticket prefix.
+     */
+    public static final String ATTRIBUTE_TYPE = "type";
+
+    /**
+     * Attribute that holds the (digested) principal id for ticket-granting tickets.
+     */
+    public static final String ATTRIBUTE_PRINCIPAL = "principal";
+
+    /**
+     * Attribute that holds the earliest time at which the ticket may expire.
+     */
+    public static final String ATTRIBUTE_EXPIRATION_TIME = "expirationTime";
+
+    private static final long serialVersionUID = 3077924283463624139L;
+
+    private String id;
+
+    private String type;
+
+    private String principal;
+
+    private long expirationTime;
+
+    private Ticket ticket;
+}
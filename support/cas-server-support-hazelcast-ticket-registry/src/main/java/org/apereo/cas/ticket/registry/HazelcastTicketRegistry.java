@@ -1,23 +1,47 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -25,6 +49,9 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Tickets are stored as {@link HazelcastTicketHolder} entries whose type, principal and expiration time
+ * are indexed, so that counts, session lookups and expiration scans are evaluated by cluster members,
+ * and full scans are carried out page by page.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -33,10 +60,20 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements AutoCloseable, DisposableBean {
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
     private final HazelcastInstance hazelcastInstance;
     private final TicketCatalog ticketCatalog;
     private final long pageSize;
 
+    private final List<Consumer<Ticket>> expirationListeners = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<String>> ticketChangeListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean expirationListenerRegistered = new AtomicBoolean();
+
+    private final AtomicBoolean ticketChangeListenerRegistered = new AtomicBoolean();
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
@@ -45,27 +82,205 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public void addTicket(final Ticket ticket) {
+        val ttl = getTimeToLive(ticket);
+        LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
+        val metadata = this.ticketCatalog.find(ticket);
+        val holder = buildTicketHolder(ticket, metadata);
+        val ticketMap = getTicketMapInstanceByMetadata(metadata);
+        ticketMap.set(holder.getId(), holder, ttl, TimeUnit.SECONDS);
+        LOGGER.debug("Added ticket [{}] with ttl [{}s]", holder.getId(), ttl);
+    }
+
+    /**
+     * Write all added and updated tickets in the batch concurrently, and wait for all writes to complete.
+     * Each ticket carries its own time-to-live, which {@link IMap#putAll(Map)} is unable to express,
+     * so asynchronous writes are used instead to avoid waiting on one round-trip per ticket.
+     *
+     * @param batch the batch
+     */
+    @Override
+    @SneakyThrows
+    public void commit(final TicketRegistryBatch batch) {
+        batch.getTicketsToDelete().forEach(this::deleteTicket);
+        val tickets = new ArrayList<Ticket>(batch.getTicketsToUpdate());
+        tickets.addAll(batch.getTicketsToAdd());
+        val writes = new ArrayList<Future<Void>>(tickets.size());
+        for (val ticket : tickets) {
+            val metadata = this.ticketCatalog.find(ticket);
+            val holder = buildTicketHolder(ticket, metadata);
+            val ticketMap = getTicketMapInstanceByMetadata(metadata);
+            writes.add(ticketMap.setAsync(holder.getId(), holder, getTimeToLive(ticket), TimeUnit.SECONDS));
+        }
+        for (val write : writes) {
+            write.get();
+        }
+        LOGGER.debug("Wrote [{}] ticket(s) to Hazelcast", tickets.size());
+    }
+
+    private static long getTimeToLive(final Ticket ticket) {
         val ttl = ticket.getExpirationPolicy().getTimeToLive();
         if (ttl < 0) {
             throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
         }
+        return ttl;
+    }
 
-        LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
+    private HazelcastTicketHolder buildTicketHolder(final Ticket ticket, final TicketDefinition metadata) {
         val encTicket = encodeTicket(ticket);
+        val principal = getSessionPrincipalId(ticket).map(this::digestPrincipalId).orElse(null);
+        return new HazelcastTicketHolder(encTicket.getId(), metadata.getPrefix(), principal, getExpirationTime(ticket), encTicket);
+    }
 
-        val metadata = this.ticketCatalog.find(ticket);
-        val ticketMap = getTicketMapInstanceByMetadata(metadata);
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val predicate = Predicates.equal(HazelcastTicketHolder.ATTRIBUTE_PRINCIPAL, digestPrincipalId(principalId));
+        return getTicketGrantingTicketMaps()
+            .flatMap(map -> map.values(predicate).stream())
+            .map(holder -> decodeTicket(holder.getTicket()))
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
+    /**
+     * Count sessions for the principal in the cluster. Sessions that are not yet due for expiration are counted
+     * by cluster members, and only sessions that may have expired are fetched to verify their status.
+     *
+     * @param principalId the principal id
+     * @return the count
+     */
+    @Override
+    public long countSessionsFor(final String principalId) {
+        val principal = Predicates.equal(HazelcastTicketHolder.ATTRIBUTE_PRINCIPAL, digestPrincipalId(principalId));
+        val now = System.currentTimeMillis();
+        val active = Predicates.and(principal, Predicates.greaterThan(HazelcastTicketHolder.ATTRIBUTE_EXPIRATION_TIME, now));
+        val due = Predicates.and(principal, Predicates.lessEqual(HazelcastTicketHolder.ATTRIBUTE_EXPIRATION_TIME, now));
+        return getTicketGrantingTicketMaps()
+            .mapToLong(map -> map.aggregate(Aggregators.count(), active)
+                + map.values(due).stream()
+                .map(holder -> decodeTicket(holder.getTicket()))
+                .filter(ticket -> isSessionFor(ticket, principalId))
+                .count())
+            .sum();
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.class);
+    }
+
+    /**
+     * Listen to entries that expire in ticket-granting ticket maps. A single listener is registered locally
+     * with each map once, regardless of the number of consumers, so each expired entry is reported once,
+     * by the cluster member that owns it.
+     *
+     * @param listener the listener
+     * @return true
+     */
+    @Override
+    public boolean registerExpirationListener(final Consumer<Ticket> listener) {
+        this.expirationListeners.add(listener);
+        if (this.expirationListenerRegistered.compareAndSet(false, true)) {
+            val entryListener = (EntryExpiredListener<String, HazelcastTicketHolder>) event -> {
+                val value = ObjectUtils.defaultIfNull(event.getOldValue(), event.getValue());
+                if (value != null) {
+                    LOGGER.debug("Ticket [{}] has expired in map [{}]", event.getKey(), event.getName());
+                    val ticket = decodeTicket(value.getTicket());
+                    this.expirationListeners.forEach(consumer -> consumer.accept(ticket));
+                }
+            };
+            getTicketGrantingTicketMaps().forEach(map -> map.addLocalEntryListener(entryListener));
+        }
+        return true;
+    }
 
-        ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
-        LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
+    /**
+     * Listen to entries that are updated or removed across all ticket maps. Updates and removals made by this
+     * cluster member are not reported, since they are carried out through this registry to begin with.
+     * A single listener is registered with each map once, regardless of the number of consumers.
+     *
+     * @param listener the listener
+     * @return true
+     */
+    @Override
+    public boolean registerTicketChangeListener(final Consumer<String> listener) {
+        this.ticketChangeListeners.add(listener);
+        if (this.ticketChangeListenerRegistered.compareAndSet(false, true)) {
+            val entryListener = new TicketChangeEntryListener();
+            getTicketMaps().forEach(map -> map.addEntryListener(entryListener, false));
+        }
+        return true;
     }
 
-    private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
+    private static boolean isTicketGrantingTicketDefinition(final TicketDefinition metadata) {
+        return TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass());
+    }
+
+    private IMap<String, HazelcastTicketHolder> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
         return getTicketMapInstance(mapName);
     }
 
+    private Stream<IMap<String, HazelcastTicketHolder>> getTicketMaps() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(metadata -> metadata.getProperties().getStorageName())
+            .distinct()
+            .map(this::getTicketMapInstance)
+            .filter(Objects::nonNull);
+    }
+
+    private Stream<IMap<String, HazelcastTicketHolder>> getTicketGrantingTicketMaps() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(HazelcastTicketRegistry::isTicketGrantingTicketDefinition)
+            .map(metadata -> metadata.getProperties().getStorageName())
+            .distinct()
+            .map(this::getTicketMapInstance)
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are counted by cluster members, based on the type and expiration time of
+     * ticket entries, so the statistics cover the entire cluster.
+     */
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        val statistics = new TicketRegistryStatistics();
+        val now = System.currentTimeMillis();
+        this.ticketCatalog.findAll().forEach(metadata -> {
+            val map = getTicketMapInstanceByMetadata(metadata);
+            if (map != null) {
+                val type = Predicates.equal(HazelcastTicketHolder.ATTRIBUTE_TYPE, metadata.getPrefix());
+                val active = Predicates.and(type, Predicates.greaterThan(HazelcastTicketHolder.ATTRIBUTE_EXPIRATION_TIME, now));
+                val due = Predicates.and(type, Predicates.lessEqual(HazelcastTicketHolder.ATTRIBUTE_EXPIRATION_TIME, now));
+                statistics.addActive(metadata.getPrefix(), map.aggregate(Aggregators.count(), active));
+                statistics.addExpired(metadata.getPrefix(), map.aggregate(Aggregators.count(), due));
+            }
+        });
+        return statistics;
+    }
+
+    private long countTickets(final Class<? extends Ticket> ticketType) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> ticketType.isAssignableFrom(metadata.getImplementationClass()))
+            .mapToLong(metadata -> {
+                val map = getTicketMapInstanceByMetadata(metadata);
+                if (map == null) {
+                    return 0;
+                }
+                return map.aggregate(Aggregators.count(), Predicates.equal(HazelcastTicketHolder.ATTRIBUTE_TYPE, metadata.getPrefix()));
+            })
+            .sum();
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         val encTicketId = encodeTicketId(ticketId);
@@ -75,8 +290,8 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         val metadata = this.ticketCatalog.find(ticketId);
         if (metadata != null) {
             val map = getTicketMapInstanceByMetadata(metadata);
-            val ticket = map.get(encTicketId);
-            val result = decodeTicket(ticket);
+            val holder = map.get(encTicketId);
+            val result = holder == null ? null : decodeTicket(holder.getTicket());
             if (predicate.test(result)) {
                 return result;
             }
@@ -96,9 +311,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public long deleteAll() {
-        return this.ticketCatalog.findAll().stream()
-            .map(this::getTicketMapInstanceByMetadata)
-            .filter(Objects::nonNull)
+        return getTicketMaps()
             .mapToInt(instance -> {
                 val size = instance.size();
                 instance.evictAll();
@@ -110,19 +323,68 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.ticketCatalog.findAll()
-            .stream()
-            .map(metadata -> getTicketMapInstanceByMetadata(metadata).values())
+        return getTicketMaps()
+            .map(IMap::values)
             .flatMap(tickets -> {
                 if (pageSize > 0) {
                     return tickets.stream().limit(pageSize).collect(Collectors.toList()).stream();
                 }
                 return new ArrayList<>(tickets).stream();
             })
-            .map(this::decodeTicket)
+            .map(holder -> decodeTicket(holder.getTicket()))
             .collect(Collectors.toSet());
     }
 
+    /**
+     * Stream all tickets in the cluster, one page at a time.
+     *
+     * @return the tickets stream
+     */
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return getTicketMaps()
+            .flatMap(map -> streamTicketHolders(map, null))
+            .map(holder -> decodeTicket(holder.getTicket()));
+    }
+
+    /**
+     * Stream tickets in the cluster, one page at a time, that match the predicate. Ticket bodies are opaque
+     * to cluster members, so the predicate is applied as tickets are decoded.
+     *
+     * @param predicate the predicate
+     * @return the tickets stream
+     */
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return getTicketsStream().filter(predicate);
+    }
+
+    /**
+     * Stream tickets that are due for expiration, as reported by cluster members
+     * based on the indexed expiration time of each ticket, one page at a time.
+     *
+     * @return the expired tickets stream
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        val due = Predicates.lessEqual(HazelcastTicketHolder.ATTRIBUTE_EXPIRATION_TIME, System.currentTimeMillis());
+        return getTicketMaps()
+            .flatMap(map -> streamTicketHolders(map, due))
+            .map(holder -> decodeTicket(holder.getTicket()))
+            .filter(Objects::nonNull)
+            .filter(Ticket::isExpired);
+    }
+
+    private Stream<HazelcastTicketHolder> streamTicketHolders(final IMap<String, HazelcastTicketHolder> map,
+                                                              final com.hazelcast.query.Predicate<String, HazelcastTicketHolder> predicate) {
+        val size = pageSize > 0 ? (int) pageSize : DEFAULT_PAGE_SIZE;
+        final PagingPredicate<String, HazelcastTicketHolder> pagingPredicate = predicate == null
+            ? new PagingPredicate<>(size)
+            : new PagingPredicate<>(predicate, size);
+        val iterator = new PagedTicketHolderIterator(map, pagingPredicate);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -145,9 +407,9 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
-    private IMap<String, Ticket> getTicketMapInstance(final String mapName) {
+    private IMap<String, HazelcastTicketHolder> getTicketMapInstance(final String mapName) {
         try {
-            val inst = hazelcastInstance.<String, Ticket>getMap(mapName);
+            val inst = hazelcastInstance.<String, HazelcastTicketHolder>getMap(mapName);
             LOGGER.debug("Located Hazelcast map instance [{}]", mapName);
             return inst;
         } catch (final Exception e) {
@@ -155,4 +417,79 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         }
         return null;
     }
+
+    /**
+     * Iterates over map entries that match a paging predicate, fetching one page at a time.
+     * Entries are fetched rather than values, so that pages are ordered by their keys.
+     */
+    @RequiredArgsConstructor
+    private static class PagedTicketHolderIterator implements Iterator<HazelcastTicketHolder> {
+        private final IMap<String, HazelcastTicketHolder> map;
+
+        private final PagingPredicate<String, HazelcastTicketHolder> predicate;
+
+        private Iterator<Map.Entry<String, HazelcastTicketHolder>> page;
+
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            while (!exhausted && (page == null || !page.hasNext())) {
+                if (page != null) {
+                    predicate.nextPage();
+                }
+                val entries = map.entrySet(predicate);
+                exhausted = entries.isEmpty();
+                page = entries.iterator();
+            }
+            return !exhausted;
+        }
+
+        @Override
+        public HazelcastTicketHolder next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next().getValue();
+        }
+    }
+
+    /**
+     * Reports ticket map entries that are changed or removed to all registered consumers.
+     */
+    private class TicketChangeEntryListener implements EntryUpdatedListener<String, HazelcastTicketHolder>,
+        EntryRemovedListener<String, HazelcastTicketHolder>, EntryEvictedListener<String, HazelcastTicketHolder>,
+        EntryExpiredListener<String, HazelcastTicketHolder> {
+
+        @Override
+        public void entryUpdated(final EntryEvent<String, HazelcastTicketHolder> event) {
+            reportIfRemote(event);
+        }
+
+        @Override
+        public void entryRemoved(final EntryEvent<String, HazelcastTicketHolder> event) {
+            reportIfRemote(event);
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<String, HazelcastTicketHolder> event) {
+            report(event);
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<String, HazelcastTicketHolder> event) {
+            report(event);
+        }
+
+        private void reportIfRemote(final EntryEvent<String, HazelcastTicketHolder> event) {
+            if (event.getMember() == null || !event.getMember().localMember()) {
+                report(event);
+            }
+        }
+
+        private void report(final EntryEvent<String, HazelcastTicketHolder> event) {
+            val ticketIdDigest = digestEncodedTicketId(event.getKey());
+            ticketChangeListeners.forEach(consumer -> consumer.accept(ticketIdDigest));
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package org.apereo.cas.ticket.registry.serialization;
+
+import org.apereo.cas.ticket.registry.EncodedTicket;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import lombok.val;
+
+import java.io.IOException;
+
+/**
+ * This is {@link EncodedTicketStreamSerializer} that writes encrypted tickets
+ * as their id followed by the raw encrypted bytes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class EncodedTicketStreamSerializer implements StreamSerializer<EncodedTicket> {
+    /**
+     * Type id of this serializer.
+     */
+    public static final int TYPE_ID = 6_101;
+
+    @Override
+    public void write(final ObjectDataOutput out, final EncodedTicket ticket) throws IOException {
+        out.writeUTF(ticket.getId());
+        out.writeByteArray(ticket.getEncodedTicket());
+    }
+
+    @Override
+    public EncodedTicket read(final ObjectDataInput in) throws IOException {
+        val id = in.readUTF();
+        return new EncodedTicket(id, in.readByteArray());
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
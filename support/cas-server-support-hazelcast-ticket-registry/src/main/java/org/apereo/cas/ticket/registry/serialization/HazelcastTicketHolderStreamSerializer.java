@@ -0,0 +1,53 @@
+package org.apereo.cas.ticket.registry.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.HazelcastTicketHolder;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import lombok.val;
+
+import java.io.IOException;
+
+/**
+ * This is {@link HazelcastTicketHolderStreamSerializer} that writes the indexed attributes of the holder
+ * directly, and hands the ticket over to the serializer registered for its type.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class HazelcastTicketHolderStreamSerializer implements StreamSerializer<HazelcastTicketHolder> {
+    /**
+     * Type id of this serializer.
+     */
+    public static final int TYPE_ID = 6_100;
+
+    @Override
+    public void write(final ObjectDataOutput out, final HazelcastTicketHolder holder) throws IOException {
+        out.writeUTF(holder.getId());
+        out.writeUTF(holder.getType());
+        out.writeUTF(holder.getPrincipal());
+        out.writeLong(holder.getExpirationTime());
+        out.writeObject(holder.getTicket());
+    }
+
+    @Override
+    public HazelcastTicketHolder read(final ObjectDataInput in) throws IOException {
+        val id = in.readUTF();
+        val type = in.readUTF();
+        val principal = in.readUTF();
+        val expirationTime = in.readLong();
+        final Ticket ticket = in.readObject();
+        return new HazelcastTicketHolder(id, type, principal, expirationTime, ticket);
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,68 @@
+package org.apereo.cas.ticket.registry.serialization;
+
+import org.apereo.cas.kryo.CasKryoPool;
+import org.apereo.cas.ticket.Ticket;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * This is {@link KryoTicketStreamSerializer} that writes ticket objects using Kryo, which avoids the cost
+ * of class descriptors and reflective lookups that come with Java serialization. It is registered for the
+ * {@link Ticket} interface, so it handles all ticket types that have no serializer of their own.
+ * Classes that are not registered with Kryo up front, such as those added by extensions,
+ * are written along with their class name.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class KryoTicketStreamSerializer implements StreamSerializer<Ticket> {
+    /**
+     * Type id of this serializer.
+     */
+    public static final int TYPE_ID = 6_102;
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final CasKryoPool kryoPool;
+
+    public KryoTicketStreamSerializer() {
+        this(new CasKryoPool(new ArrayList<>(), false, false, true, true));
+    }
+
+    @Override
+    public void write(final ObjectDataOutput out, final Ticket ticket) throws IOException {
+        try (val kryo = kryoPool.borrow();
+             val output = new Output(BUFFER_SIZE, -1)) {
+            kryo.writeClassAndObject(output, ticket);
+            out.writeByteArray(output.toBytes());
+        }
+    }
+
+    @Override
+    public Ticket read(final ObjectDataInput in) throws IOException {
+        val bytes = in.readByteArray();
+        try (val kryo = kryoPool.borrow();
+             val input = new Input(bytes)) {
+            return (Ticket) kryo.readClassAndObject(input);
+        }
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
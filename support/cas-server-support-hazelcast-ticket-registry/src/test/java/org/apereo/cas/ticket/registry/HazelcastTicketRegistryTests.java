@@ -20,14 +20,29 @@ import org.apereo.cas.config.CasPersonDirectoryConfiguration;
 import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
 import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.MapListener;
+import lombok.val;
+import org.junit.jupiter.api.RepeatedTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
 /**
  * Unit tests for {@link HazelcastTicketRegistry}.
  *
@@ -59,15 +74,62 @@ import org.springframework.test.context.TestPropertySource;
     CasCoreWebConfiguration.class,
     CasWebApplicationServiceFactoryConfiguration.class
 })
-@TestPropertySource(properties = {"cas.ticket.registry.hazelcast.cluster.instanceName=testlocalhostinstance"})
+@TestPropertySource(properties = {
+    "cas.ticket.registry.hazelcast.cluster.instanceName=testlocalhostinstance",
+    "cas.ticket.registry.hazelcast.pageSize=2"
+})
 public class HazelcastTicketRegistryTests extends BaseTicketRegistryTests {
 
     @Autowired
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
     @Override
     public TicketRegistry getNewTicketRegistry() {
         return ticketRegistry;
     }
+
+    @RepeatedTest(2)
+    public void verifyQueriesAndPagedStream() {
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser");
+        IntStream.range(0, 5).forEach(i -> ticketRegistry.addTicket(
+            new TicketGrantingTicketImpl("TGT-" + i, authentication, new NeverExpiresExpirationPolicy())));
+        assertEquals(5, ticketRegistry.sessionCount());
+        assertEquals(0, ticketRegistry.serviceTicketCount());
+        assertEquals(5, ticketRegistry.countSessionsFor("CASUSER"));
+        assertEquals(0, ticketRegistry.countSessionsFor("unknown"));
+        try (val tickets = ticketRegistry.getTicketsStream()) {
+            assertEquals(5, tickets.count());
+        }
+        try (val tickets = ticketRegistry.getExpiredTicketsStream()) {
+            assertEquals(0, tickets.count());
+        }
+    }
+
+    @RepeatedTest(2)
+    public void verifyEntryListenersAreRegisteredOnce() {
+        val map = mock(IMap.class);
+        val hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.getMap(anyString())).thenReturn(map);
+        val registry = new HazelcastTicketRegistry(hazelcastInstance, ticketCatalog, 0);
+
+        assertTrue(registry.registerTicketChangeListener(id -> {
+        }));
+        assertTrue(registry.registerExpirationListener(ticket -> {
+        }));
+        verify(map, atLeastOnce()).addEntryListener(any(MapListener.class), eq(false));
+        verify(map, atLeastOnce()).addLocalEntryListener(any(MapListener.class));
+
+        clearInvocations(map);
+        assertTrue(registry.registerTicketChangeListener(id -> {
+        }));
+        assertTrue(registry.registerExpirationListener(ticket -> {
+        }));
+        verify(map, never()).addEntryListener(any(MapListener.class), anyBoolean());
+        verify(map, never()).addLocalEntryListener(any(MapListener.class));
+    }
 }
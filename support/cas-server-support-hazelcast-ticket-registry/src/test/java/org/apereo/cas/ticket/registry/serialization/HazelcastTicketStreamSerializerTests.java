@@ -0,0 +1,88 @@
+package org.apereo.cas.ticket.registry.serialization;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.EncodedTicket;
+import org.apereo.cas.ticket.registry.HazelcastTicketHolder;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link HazelcastTicketStreamSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class HazelcastTicketStreamSerializerTests {
+
+    private static InternalSerializationService getSerializationService(final boolean nativeSerializers) {
+        val config = new SerializationConfig();
+        if (nativeSerializers) {
+            config.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(HazelcastTicketHolder.class)
+                .setImplementation(new HazelcastTicketHolderStreamSerializer()));
+            config.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(EncodedTicket.class)
+                .setImplementation(new EncodedTicketStreamSerializer()));
+            config.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(Ticket.class)
+                .setImplementation(new KryoTicketStreamSerializer()));
+        }
+        return new DefaultSerializationServiceBuilder().setConfig(config).build();
+    }
+
+    private static TicketGrantingTicket getTicketGrantingTicket() {
+        val tgt = new TicketGrantingTicketImpl(new DefaultUniqueTicketIdGenerator().getNewTicketId(TicketGrantingTicket.PREFIX),
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, 10), false, true);
+        return tgt;
+    }
+
+    @Test
+    public void verifyTicketHolder() {
+        val service = getSerializationService(true);
+        val tgt = getTicketGrantingTicket();
+        val holder = new HazelcastTicketHolder(tgt.getId(), TicketGrantingTicket.PREFIX, "casuser", Long.MAX_VALUE, tgt);
+        val result = (HazelcastTicketHolder) service.toObject(service.toData(holder));
+        assertEquals(holder.getId(), result.getId());
+        assertEquals(holder.getPrincipal(), result.getPrincipal());
+        assertEquals(holder.getExpirationTime(), result.getExpirationTime());
+        assertEquals(tgt, result.getTicket());
+        assertEquals(1, ((TicketGrantingTicket) result.getTicket()).getServices().size());
+    }
+
+    @Test
+    public void verifyEncodedTicket() {
+        val service = getSerializationService(true);
+        val ticket = new EncodedTicket("TGT-encoded", "encrypted".getBytes(StandardCharsets.UTF_8));
+        val holder = new HazelcastTicketHolder(ticket.getId(), TicketGrantingTicket.PREFIX, null, 0, ticket);
+        val result = (HazelcastTicketHolder) service.toObject(service.toData(holder));
+        assertNull(result.getPrincipal());
+        assertArrayEquals(ticket.getEncodedTicket(), ((EncodedTicket) result.getTicket()).getEncodedTicket());
+    }
+
+    @Test
+    public void verifyEntrySizeIsSmallerThanJavaSerialization() {
+        val tgt = getTicketGrantingTicket();
+        val holder = new HazelcastTicketHolder(tgt.getId(), TicketGrantingTicket.PREFIX, "casuser", Long.MAX_VALUE, tgt);
+        val nativeSize = getSerializationService(true).toData(holder).totalSize();
+        val javaSize = getSerializationService(false).toData(holder).totalSize();
+        assertTrue(nativeSize < javaSize, "Native entry size " + nativeSize + " is not smaller than " + javaSize);
+    }
+}
@@ -1,21 +1,29 @@
 package org.apereo.cas.config;
 
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesCacheInvalidationChannel;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.hz.HazelcastPrincipalAttributesCacheInvalidationChannel;
 
+import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Creates a singular Hazelcast Instance that other hazelcast modules add maps to
- * instead of creating their own instance.
+ * instead of creating their own instance. Modules may also contribute {@link SerializerConfig} beans,
+ * since serializers must be registered before the instance is created.
  *
  * @author Travis Schmidt
  * @since 5.3.4
@@ -28,11 +36,25 @@ public class CasHazelcastConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    private ObjectProvider<List<SerializerConfig>> serializerConfigs;
+
     @ConditionalOnMissingBean(name = "casHazelcastInstance")
     @Bean
     public HazelcastInstance casHazelcastInstance() {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         LOGGER.debug("Creating Hazelcast instance using properties [{}]", hz);
-        return Hazelcast.newHazelcastInstance(HazelcastConfigurationFactory.build(hz));
+        val config = HazelcastConfigurationFactory.build(hz);
+        serializerConfigs.getIfAvailable(ArrayList::new).forEach(serializer -> {
+            LOGGER.debug("Registering Hazelcast serializer [{}]", serializer);
+            config.getSerializationConfig().addSerializerConfig(serializer);
+        });
+        return Hazelcast.newHazelcastInstance(config);
+    }
+
+    @ConditionalOnMissingBean(name = PrincipalAttributesCacheInvalidationChannel.BEAN_NAME)
+    @Bean
+    public PrincipalAttributesCacheInvalidationChannel principalAttributesCacheInvalidationChannel() {
+        return new HazelcastPrincipalAttributesCacheInvalidationChannel(casHazelcastInstance());
     }
 }
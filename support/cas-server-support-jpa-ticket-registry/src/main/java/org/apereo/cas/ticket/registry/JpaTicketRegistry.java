@@ -37,6 +37,7 @@ import java.util.stream.Stream;
 @Slf4j
 public class JpaTicketRegistry extends AbstractTicketRegistry {
     private static final int STREAM_BATCH_SIZE = 100;
+    private static final String PRINCIPAL_SESSION_ENTITY_NAME = PrincipalSessionEntity.class.getSimpleName();
 
     private final TicketCatalog ticketCatalog;
     private final LockModeType lockType;
@@ -64,14 +65,35 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ticket;
     }
 
+    private static boolean isTicketGrantingTicketDefinition(final TicketDefinition metadata) {
+        return TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass());
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         this.entityManager.persist(ticket);
+        getSessionPrincipalId(ticket).ifPresent(principalId ->
+            this.entityManager.persist(new PrincipalSessionEntity(ticket.getId(), digestPrincipalId(principalId))));
         LOGGER.debug("Added ticket [{}] to registry.", ticket);
     }
 
+    /**
+     * Apply all operations in the batch within the same transaction,
+     * so that changes are flushed to the database together.
+     *
+     * @param batch the batch
+     */
+    @Override
+    public void commit(final TicketRegistryBatch batch) {
+        batch.getTicketsToDelete().forEach(this::deleteTicket);
+        batch.getTicketsToUpdate().forEach(this::updateTicket);
+        batch.getTicketsToAdd().forEach(this::addTicket);
+        LOGGER.debug("Applied ticket batch [{}]", batch);
+    }
+
     @Override
     public long deleteAll() {
+        entityManager.createQuery(String.format("delete from %s", PRINCIPAL_SESSION_ENTITY_NAME)).executeUpdate();
         return this.ticketCatalog.findAll().stream()
             .map(JpaTicketRegistry::getTicketEntityName)
             .map(entityName -> entityManager.createQuery(String.format("delete from %s", entityName)))
@@ -79,6 +101,38 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .sum();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Index entries whose ticket-granting ticket no longer exists are removed as they are found.
+     */
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val digest = digestPrincipalId(principalId);
+        val indexSql = String.format("select p.id from %s p where p.principalId = :principalId", PRINCIPAL_SESSION_ENTITY_NAME);
+        val ids = entityManager.createQuery(indexSql, String.class)
+            .setParameter("principalId", digest)
+            .getResultList();
+        if (ids.isEmpty()) {
+            return Stream.empty();
+        }
+        val md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val sql = String.format("select t from %s t where t.id in :ids", getTicketEntityName(md));
+        val query = entityManager.createQuery(sql, md.getImplementationClass());
+        query.setParameter("ids", ids);
+        query.setLockMode(this.lockType);
+        val tickets = query.getResultList();
+        if (tickets.size() < ids.size()) {
+            val found = tickets.stream().map(Ticket::getId).collect(Collectors.toSet());
+            val orphans = ids.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+            LOGGER.debug("Removing [{}] session index entries whose ticket-granting tickets no longer exist", orphans.size());
+            entityManager.createQuery(String.format("delete from %s p where p.id in :ids", PRINCIPAL_SESSION_ENTITY_NAME))
+                .setParameter("ids", orphans)
+                .executeUpdate();
+        }
+        return tickets.stream().filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
@@ -151,11 +205,33 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return countToLong(query.getSingleResult());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ticket-granting and service tickets are counted by the database, so the statistics cover all CAS nodes.
+     * Expiration policies are only known once tickets are loaded, so tickets that have expired but are not yet
+     * cleaned up are counted as active, and the number of expired tickets is reported as unknown.
+     */
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        return new TicketRegistryStatistics()
+            .addActive(TicketGrantingTicket.PREFIX, sessionCount())
+            .addActive(ServiceTicket.PREFIX, serviceTicketCount())
+            .addExpired(TicketGrantingTicket.PREFIX, TicketRegistryStatistics.UNKNOWN)
+            .addExpired(ServiceTicket.PREFIX, TicketRegistryStatistics.UNKNOWN);
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         var totalCount = 0;
         val md = this.ticketCatalog.find(ticketId);
 
+        if (isTicketGrantingTicketDefinition(md)) {
+            val sql = String.format("delete from %s p where p.id = :id", PRINCIPAL_SESSION_ENTITY_NAME);
+            val query = entityManager.createQuery(sql);
+            query.setParameter("id", ticketId);
+            query.executeUpdate();
+        }
         if (md.getProperties().isCascade()) {
             totalCount = deleteTicketGrantingTickets(ticketId);
         } else {
@@ -191,6 +267,12 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         totalCount += query.executeUpdate();
 
         val tgt = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val sessionSql = String.format("delete from %s p where p.id in (select s.id from %s s where s.ticketGrantingTicket.id = :id)",
+            PRINCIPAL_SESSION_ENTITY_NAME, getTicketEntityName(tgt));
+        query = entityManager.createQuery(sessionSql);
+        query.setParameter("id", ticketId);
+        query.executeUpdate();
+
         val sql2 = String.format("delete from %s s where s.ticketGrantingTicket.id = :id", getTicketEntityName(tgt));
         query = entityManager.createQuery(sql2);
         query.setParameter("id", ticketId);
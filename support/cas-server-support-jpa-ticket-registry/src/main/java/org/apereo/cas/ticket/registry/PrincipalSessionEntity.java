@@ -0,0 +1,39 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+/**
+ * This is {@link PrincipalSessionEntity} that links a ticket-granting ticket
+ * to the (digested) principal id for which it was issued, allowing
+ * sessions to be looked up by principal without scanning all tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Entity(name = "PrincipalSessionEntity")
+@Table(name = "PRINCIPAL_SESSIONS", indexes = @Index(name = "IDX_PRINCIPAL_SESSIONS_PRINCIPAL", columnList = "PRINCIPAL_ID"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrincipalSessionEntity implements Serializable {
+
+    private static final long serialVersionUID = 2963415285372416837L;
+
+    @Id
+    @Column(name = "ID", nullable = false)
+    private String id;
+
+    @Column(name = "PRINCIPAL_ID", nullable = false)
+    private String principalId;
+}
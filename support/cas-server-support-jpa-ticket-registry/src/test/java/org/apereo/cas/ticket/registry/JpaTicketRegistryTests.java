@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -21,8 +22,13 @@ import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.config.support.EnvironmentConversionServiceInitializer;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.parallel.ResourceLock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -30,10 +36,15 @@ import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit test for {@link JpaTicketRegistry} class.
@@ -74,6 +85,9 @@ public class JpaTicketRegistryTests extends BaseTicketRegistryTests {
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @PersistenceContext(unitName = "ticketEntityManagerFactory")
+    private EntityManager entityManager;
+
     @AfterEach
     public void cleanup() {
         ticketRegistry.deleteAll();
@@ -83,4 +97,42 @@ public class JpaTicketRegistryTests extends BaseTicketRegistryTests {
     protected TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @RepeatedTest(2)
+    public void verifySessionIndexIsRemovedWithCascadedTickets() {
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser");
+        val tgt = new TicketGrantingTicketImpl("TGT-1-session-index", authentication, new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-1-session-index", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(tgt);
+        val pgt = st.grantProxyGrantingTicket("PGT-1-session-index", authentication, new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(pgt);
+        ticketRegistry.updateTicket(tgt);
+        assertEquals(2, countSessionIndexEntries());
+
+        val registry = (JpaTicketRegistry) AopTestUtils.getTargetObject(ticketRegistry);
+        assertTrue(registry.deleteSingleTicket(tgt.getId()));
+        assertNull(ticketRegistry.getTicket(pgt.getId()));
+        assertEquals(0, countSessionIndexEntries());
+    }
+
+    @RepeatedTest(2)
+    public void verifyStaleSessionIndexEntriesAreRemoved() {
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser");
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-2-session-index", authentication, new NeverExpiresExpirationPolicy()));
+        val registry = (JpaTicketRegistry) AopTestUtils.getTargetObject(ticketRegistry);
+        entityManager.persist(new PrincipalSessionEntity("TGT-3-session-index", registry.digestPrincipalId("casuser")));
+        assertEquals(2, countSessionIndexEntries());
+
+        try (val sessions = ticketRegistry.getSessionsFor("casuser")) {
+            assertEquals(1, sessions.count());
+        }
+        assertEquals(1, countSessionIndexEntries());
+    }
+
+    private long countSessionIndexEntries() {
+        return entityManager.createQuery("select count(p) from PrincipalSessionEntity p", Long.class).getSingleResult();
+    }
 }
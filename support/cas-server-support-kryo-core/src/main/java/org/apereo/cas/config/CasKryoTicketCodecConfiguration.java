@@ -0,0 +1,26 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.kryo.KryoTicketCodec;
+import org.apereo.cas.ticket.registry.TicketCodec;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link CasKryoTicketCodecConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Configuration("casKryoTicketCodecConfiguration")
+@ConditionalOnProperty(prefix = "cas.ticket.registry", name = "codec", havingValue = "KRYO")
+public class CasKryoTicketCodecConfiguration {
+
+    @ConditionalOnMissingBean(name = "ticketRegistryCodec")
+    @Bean
+    public TicketCodec ticketRegistryCodec() {
+        return new KryoTicketCodec();
+    }
+}
@@ -1,4 +1,4 @@
-package org.apereo.cas.memcached.kryo;
+package org.apereo.cas.kryo;
 
 import org.apereo.cas.authentication.DefaultAuthentication;
 import org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult;
@@ -18,11 +18,11 @@ import org.apereo.cas.authentication.principal.SimplePrincipal;
 import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl;
 import org.apereo.cas.authentication.principal.cache.AbstractPrincipalAttributesRepository;
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepository;
-import org.apereo.cas.memcached.kryo.serial.RegisteredServiceSerializer;
-import org.apereo.cas.memcached.kryo.serial.SimpleWebApplicationServiceSerializer;
-import org.apereo.cas.memcached.kryo.serial.ThrowableSerializer;
-import org.apereo.cas.memcached.kryo.serial.URLSerializer;
-import org.apereo.cas.memcached.kryo.serial.ZonedDateTimeSerializer;
+import org.apereo.cas.kryo.serial.RegisteredServiceSerializer;
+import org.apereo.cas.kryo.serial.SimpleWebApplicationServiceSerializer;
+import org.apereo.cas.kryo.serial.ThrowableSerializer;
+import org.apereo.cas.kryo.serial.URLSerializer;
+import org.apereo.cas.kryo.serial.ZonedDateTimeSerializer;
 import org.apereo.cas.services.DefaultRegisteredServiceAccessStrategy;
 import org.apereo.cas.services.DefaultRegisteredServiceContact;
 import org.apereo.cas.services.DefaultRegisteredServiceDelegatedAuthenticationPolicy;
@@ -0,0 +1,66 @@
+package org.apereo.cas.kryo;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.DefaultTicketCodec;
+import org.apereo.cas.ticket.registry.TicketCodec;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.ArrayList;
+
+/**
+ * This is {@link KryoTicketCodec} that encodes tickets using Kryo, which produces smaller payloads
+ * than Java serialization and avoids the cost of class descriptors and reflective lookups.
+ * Classes that are not registered with Kryo up front, such as those added by extensions,
+ * are written along with their class name.
+ * <p>
+ * Payloads written by the {@link DefaultTicketCodec} start with the Java serialization stream magic number,
+ * which Kryo does not produce, and continue to be decoded by that codec. This allows the codec
+ * to be switched while tickets written by the previous codec are still around.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class KryoTicketCodec implements TicketCodec {
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final byte[] JAVA_SERIALIZATION_MAGIC = {(byte) 0xAC, (byte) 0xED};
+
+    private final CasKryoPool kryoPool;
+
+    private final TicketCodec defaultTicketCodec;
+
+    public KryoTicketCodec() {
+        this(new CasKryoPool(new ArrayList<>(), false, false, true, true), new DefaultTicketCodec());
+    }
+
+    private static boolean isJavaSerialized(final byte[] value) {
+        return value.length >= JAVA_SERIALIZATION_MAGIC.length
+            && value[0] == JAVA_SERIALIZATION_MAGIC[0]
+            && value[1] == JAVA_SERIALIZATION_MAGIC[1];
+    }
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        try (val kryo = kryoPool.borrow();
+             val output = new Output(BUFFER_SIZE, -1)) {
+            kryo.writeClassAndObject(output, ticket);
+            return output.toBytes();
+        }
+    }
+
+    @Override
+    public Ticket decode(final byte[] value) {
+        if (isJavaSerialized(value)) {
+            return this.defaultTicketCodec.decode(value);
+        }
+        try (val kryo = kryoPool.borrow();
+             val input = new Input(value)) {
+            return (Ticket) kryo.readClassAndObject(input);
+        }
+    }
+}
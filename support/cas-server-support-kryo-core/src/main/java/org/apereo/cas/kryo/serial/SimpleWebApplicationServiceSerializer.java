@@ -1,4 +1,4 @@
-package org.apereo.cas.memcached.kryo.serial;
+package org.apereo.cas.kryo.serial;
 
 import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl;
 import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
@@ -0,0 +1,16 @@
+package org.apereo.cas.kryo;
+
+import org.junit.platform.suite.api.SelectClasses;
+
+/**
+ * This is {@link KryoCoreTestsSuite}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@SelectClasses({
+    KryoTicketCodecTests.class,
+    ZonedDateTimeSerializerTests.class
+})
+public class KryoCoreTestsSuite {
+}
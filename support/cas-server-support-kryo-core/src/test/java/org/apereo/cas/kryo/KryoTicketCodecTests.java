@@ -0,0 +1,50 @@
+package org.apereo.cas.kryo;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DefaultTicketCodec;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link KryoTicketCodecTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class KryoTicketCodecTests {
+    private static final String TGT_ID = "TGT-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK-cas1";
+
+    private static final String ST_ID = "ST-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK";
+
+    private static TicketGrantingTicketImpl getTicketGrantingTicket() {
+        val tgt = new TicketGrantingTicketImpl(TGT_ID, RegisteredServiceTestUtils.getService(),
+            null, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        tgt.grantServiceTicket(ST_ID, RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        return tgt;
+    }
+
+    @Test
+    public void verifyEncodeDecode() {
+        val codec = new KryoTicketCodec();
+        val tgt = getTicketGrantingTicket();
+        val encoded = codec.encode(tgt);
+        assertTrue(encoded.length < new DefaultTicketCodec().encode(tgt).length);
+        val decoded = (TicketGrantingTicketImpl) codec.decode(encoded);
+        assertEquals(tgt, decoded);
+        assertEquals(tgt.getServices().keySet(), decoded.getServices().keySet());
+        assertEquals(tgt.getAuthentication().getPrincipal(), decoded.getAuthentication().getPrincipal());
+    }
+
+    @Test
+    public void verifyJavaSerializedTicketIsDecoded() {
+        val tgt = getTicketGrantingTicket();
+        val encoded = new DefaultTicketCodec().encode(tgt);
+        assertEquals(tgt, new KryoTicketCodec().decode(encoded));
+    }
+}
@@ -1,5 +1,8 @@
 package org.apereo.cas.memcached.kryo;
 
+import org.apereo.cas.kryo.CasKryoPool;
+import org.apereo.cas.kryo.CloseableKryo;
+
 import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
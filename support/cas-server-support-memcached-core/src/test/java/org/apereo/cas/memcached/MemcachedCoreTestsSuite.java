@@ -1,7 +1,6 @@
 package org.apereo.cas.memcached;
 
 import org.apereo.cas.memcached.kryo.CasKryoTranscoderTests;
-import org.apereo.cas.memcached.kryo.ZonedDateTimeSerializerTests;
 
 import org.junit.platform.suite.api.SelectClasses;
 
@@ -11,9 +10,6 @@ import org.junit.platform.suite.api.SelectClasses;
  * @author Misagh Moayyed
  * @since 6.0.0
  */
-@SelectClasses({
-    CasKryoTranscoderTests.class,
-    ZonedDateTimeSerializerTests.class
-})
+@SelectClasses(CasKryoTranscoderTests.class)
 public class MemcachedCoreTestsSuite {
 }
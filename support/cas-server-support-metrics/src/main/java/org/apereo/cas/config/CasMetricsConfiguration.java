@@ -1,9 +1,18 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.metrics.MeteredTicketRegistryBeanPostProcessor;
+import org.apereo.cas.metrics.RegisteredServiceTagMeterFilter;
+import org.apereo.cas.util.MetricsUtils;
 
 import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,8 +27,40 @@ import org.springframework.context.annotation.Configuration;
 @Configuration("casMetricsConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class CasMetricsConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Bean
     public TimedAspect timedAspect(final MeterRegistry registry) {
         return new TimedAspect(registry);
     }
+
+    @Bean
+    public MeterFilter registeredServiceTagMeterFilter() {
+        return new RegisteredServiceTagMeterFilter(casProperties.getMonitor().getMetrics().getMaximumServiceTags());
+    }
+
+    @Bean
+    public MeterFilter casTimerDistributionMeterFilter() {
+        val percentileHistogram = casProperties.getMonitor().getMetrics().isPercentileHistogram();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(final Meter.Id id, final DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !id.getName().startsWith(MetricsUtils.METER_NAME_PREFIX)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(percentileHistogram)
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.monitor.metrics", name = "ticketRegistryEnabled", havingValue = "true", matchIfMissing = true)
+    public static MeteredTicketRegistryBeanPostProcessor meteredTicketRegistryBeanPostProcessor() {
+        return new MeteredTicketRegistryBeanPostProcessor();
+    }
 }
@@ -0,0 +1,178 @@
+package org.apereo.cas.metrics;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryBatch;
+import org.apereo.cas.ticket.registry.TicketRegistryStatistics;
+import org.apereo.cas.util.MetricsUtils;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link MeteredTicketRegistry} that decorates a ticket registry and records the latency
+ * of individual ticket operations, tagged by the registry type, the operation and the ticket type.
+ * Bulk operations that scan the registry are passed through as they are, since their cost
+ * is dominated by the consumer of the returned tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+public class MeteredTicketRegistry implements TicketRegistry, DisposableBean {
+    /**
+     * Name of the timer that records ticket registry operations.
+     */
+    public static final String METER_NAME_TICKET_REGISTRY = "cas.ticket.registry";
+
+    private static final String TAG_REGISTRY = "registry";
+
+    private static final String TAG_OPERATION = "operation";
+
+    private final TicketRegistry delegate;
+
+    private final String registryType;
+
+    public MeteredTicketRegistry(@NonNull final TicketRegistry delegate) {
+        this.delegate = delegate;
+        this.registryType = delegate.getClass().getSimpleName();
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        record("add", MetricsUtils.getTicketTypeTag(ticket.getId()), () -> {
+            this.delegate.addTicket(ticket);
+            return null;
+        });
+    }
+
+    @Override
+    public void commit(final TicketRegistryBatch batch) {
+        record("commit", "batch", () -> {
+            this.delegate.commit(batch);
+            return null;
+        });
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        return record("get", MetricsUtils.getTicketTypeTag(ticketId), () -> this.delegate.getTicket(ticketId, clazz));
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        return record("get", MetricsUtils.getTicketTypeTag(ticketId), () -> this.delegate.getTicket(ticketId));
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        return record("get", MetricsUtils.getTicketTypeTag(ticketId), () -> this.delegate.getTicket(ticketId, predicate));
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        return record("delete", MetricsUtils.getTicketTypeTag(ticketId), () -> this.delegate.deleteTicket(ticketId));
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) {
+        return record("delete", MetricsUtils.getTicketTypeTag(ticket.getId()), () -> this.delegate.deleteTicket(ticket));
+    }
+
+    @Override
+    public long deleteAll() {
+        return this.delegate.deleteAll();
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return this.delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        return record("update", MetricsUtils.getTicketTypeTag(ticket.getId()), () -> this.delegate.updateTicket(ticket));
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        return this.delegate.getStatistics();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return this.delegate.getSessionsFor(principalId);
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return this.delegate.countSessionsFor(principalId);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return this.delegate.getTicketsStream();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        return this.delegate.getExpiredTicketsStream();
+    }
+
+    @Override
+    public boolean registerExpirationListener(final Consumer<Ticket> listener) {
+        return this.delegate.registerExpirationListener(listener);
+    }
+
+    @Override
+    public boolean registerTicketChangeListener(final Consumer<String> listener) {
+        return this.delegate.registerTicketChangeListener(listener);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.delegate instanceof DisposableBean) {
+            ((DisposableBean) this.delegate).destroy();
+        } else if (this.delegate instanceof AutoCloseable) {
+            ((AutoCloseable) this.delegate).close();
+        }
+    }
+
+    private <T> T record(final String operation, final String ticketType, final Supplier<T> supplier) {
+        val sample = MetricsUtils.startTimer();
+        var success = false;
+        try {
+            val result = supplier.get();
+            success = true;
+            return result;
+        } finally {
+            MetricsUtils.stopTimer(sample, METER_NAME_TICKET_REGISTRY, success,
+                TAG_REGISTRY, this.registryType,
+                TAG_OPERATION, operation,
+                MetricsUtils.TAG_TICKET_TYPE, ticketType);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.apereo.cas.metrics;
+
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * This is {@link MeteredTicketRegistryBeanPostProcessor} that decorates the ticket registry bean
+ * with a {@link MeteredTicketRegistry}, regardless of the registry implementation in use.
+ * It runs after the auto-proxy creator, so that proxies that apply transactions and other advice
+ * to the registry are decorated along with it, and ahead of other decorators that are not ordered,
+ * such as the near cache, so that the latency of the backing registry itself is recorded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class MeteredTicketRegistryBeanPostProcessor implements BeanPostProcessor, Ordered {
+    /**
+     * Name of the ticket registry bean that is decorated.
+     */
+    public static final String BEAN_NAME_TICKET_REGISTRY = "ticketRegistry";
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (BEAN_NAME_TICKET_REGISTRY.equals(beanName) && bean instanceof TicketRegistry && !(bean instanceof MeteredTicketRegistry)) {
+            LOGGER.info("Recording metrics for operations of ticket registry [{}]", bean.getClass().getSimpleName());
+            return new MeteredTicketRegistry((TicketRegistry) bean);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
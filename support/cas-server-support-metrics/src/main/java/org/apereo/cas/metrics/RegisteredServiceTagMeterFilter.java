@@ -0,0 +1,67 @@
+package org.apereo.cas.metrics;
+
+import org.apereo.cas.util.MetricsUtils;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceTagMeterFilter} that caps the number of distinct registered services
+ * that are tagged on CAS meters. Services are tagged individually in the order in which they are first seen;
+ * once the cap is reached, all other services are tagged as {@value #TAG_VALUE_OTHER}, so that the number
+ * of time series remains bounded regardless of the size of the service registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RegisteredServiceTagMeterFilter implements MeterFilter {
+    /**
+     * Tag value for services beyond the cap.
+     */
+    public static final String TAG_VALUE_OTHER = "other";
+
+    private final Set<String> services = ConcurrentHashMap.newKeySet();
+
+    private final int maximumServiceTags;
+
+    @Override
+    public Meter.Id map(final Meter.Id id) {
+        if (!id.getName().startsWith(MetricsUtils.METER_NAME_PREFIX)) {
+            return id;
+        }
+        val service = id.getTag(MetricsUtils.TAG_SERVICE);
+        if (service == null || MetricsUtils.UNKNOWN.equals(service) || isTagged(service)) {
+            return id;
+        }
+        val tags = id.getTags()
+            .stream()
+            .map(tag -> MetricsUtils.TAG_SERVICE.equals(tag.getKey()) ? Tag.of(tag.getKey(), TAG_VALUE_OTHER) : tag)
+            .collect(Collectors.toList());
+        return id.replaceTags(tags);
+    }
+
+    private boolean isTagged(final String service) {
+        if (this.services.contains(service)) {
+            return true;
+        }
+        synchronized (this.services) {
+            if (this.services.size() < this.maximumServiceTags) {
+                this.services.add(service);
+                return true;
+            }
+        }
+        LOGGER.trace("Maximum number of [{}] service tags is reached; service [{}] is tagged as [{}]",
+            this.maximumServiceTags, service, TAG_VALUE_OTHER);
+        return false;
+    }
+}
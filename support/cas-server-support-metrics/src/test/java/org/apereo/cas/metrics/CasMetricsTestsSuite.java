@@ -0,0 +1,16 @@
+package org.apereo.cas.metrics;
+
+import org.junit.platform.suite.api.SelectClasses;
+
+/**
+ * This is {@link CasMetricsTestsSuite}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@SelectClasses({
+    MeteredTicketRegistryTests.class,
+    RegisteredServiceTagMeterFilterTests.class
+})
+public class CasMetricsTestsSuite {
+}
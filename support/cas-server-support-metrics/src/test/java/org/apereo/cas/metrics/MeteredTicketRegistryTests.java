@@ -0,0 +1,83 @@
+package org.apereo.cas.metrics;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.MetricsUtils;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link MeteredTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class MeteredTicketRegistryTests {
+    private static final String TICKET_ID = "TGT-1-abcdefghijklmnopqrstuvwxyz-cas";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void initialize() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(this.meterRegistry);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Metrics.removeRegistry(this.meterRegistry);
+    }
+
+    @Test
+    public void verifyOperationsAreTimed() {
+        val ticket = mock(Ticket.class);
+        when(ticket.getId()).thenReturn(TICKET_ID);
+        val delegate = mock(TicketRegistry.class);
+        when(delegate.getTicket(TICKET_ID)).thenReturn(ticket);
+        val registry = new MeteredTicketRegistry(delegate);
+
+        registry.addTicket(ticket);
+        assertSame(ticket, registry.getTicket(TICKET_ID));
+        assertSame(ticket, registry.getTicket(TICKET_ID));
+        verify(delegate).addTicket(ticket);
+        verify(delegate, times(2)).getTicket(TICKET_ID);
+
+        val timer = this.meterRegistry.get(MeteredTicketRegistry.METER_NAME_TICKET_REGISTRY)
+            .tag("registry", delegate.getClass().getSimpleName())
+            .tag("operation", "get")
+            .tag(MetricsUtils.TAG_TICKET_TYPE, "TGT")
+            .tag(MetricsUtils.TAG_OUTCOME, MetricsUtils.OUTCOME_SUCCESS)
+            .timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, this.meterRegistry.get(MeteredTicketRegistry.METER_NAME_TICKET_REGISTRY)
+            .tag("operation", "add").timer().count());
+    }
+
+    @Test
+    public void verifyFailuresAreTimed() {
+        val delegate = mock(TicketRegistry.class);
+        when(delegate.deleteTicket(TICKET_ID)).thenThrow(new IllegalStateException("Registry is unavailable"));
+        val registry = new MeteredTicketRegistry(delegate);
+        assertThrows(IllegalStateException.class, () -> registry.deleteTicket(TICKET_ID));
+        assertEquals(1, this.meterRegistry.get(MeteredTicketRegistry.METER_NAME_TICKET_REGISTRY)
+            .tag("operation", "delete")
+            .tag(MetricsUtils.TAG_OUTCOME, MetricsUtils.OUTCOME_FAILURE)
+            .timer().count());
+    }
+
+    @Test
+    public void verifyChangeNotificationIsDelegated() {
+        val delegate = mock(TicketRegistry.class);
+        when(delegate.registerTicketChangeListener(any())).thenReturn(true);
+        assertTrue(new MeteredTicketRegistry(delegate).registerTicketChangeListener(id -> {
+        }));
+    }
+}
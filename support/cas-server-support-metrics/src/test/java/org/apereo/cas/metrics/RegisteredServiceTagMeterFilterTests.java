@@ -0,0 +1,43 @@
+package org.apereo.cas.metrics;
+
+import org.apereo.cas.util.MetricsUtils;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServiceTagMeterFilterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class RegisteredServiceTagMeterFilterTests {
+    private static Meter.Id getMeterId(final String name, final String service) {
+        return new Meter.Id(name, Tags.of(MetricsUtils.TAG_SERVICE, service, MetricsUtils.TAG_OUTCOME, MetricsUtils.OUTCOME_SUCCESS),
+            null, null, Meter.Type.TIMER);
+    }
+
+    @Test
+    public void verifyServicesBeyondTheCapAreTaggedAsOther() {
+        val filter = new RegisteredServiceTagMeterFilter(2);
+        assertEquals("1", filter.map(getMeterId("cas.validation", "1")).getTag(MetricsUtils.TAG_SERVICE));
+        assertEquals("2", filter.map(getMeterId("cas.validation", "2")).getTag(MetricsUtils.TAG_SERVICE));
+        val other = filter.map(getMeterId("cas.validation", "3"));
+        assertEquals(RegisteredServiceTagMeterFilter.TAG_VALUE_OTHER, other.getTag(MetricsUtils.TAG_SERVICE));
+        assertEquals(MetricsUtils.OUTCOME_SUCCESS, other.getTag(MetricsUtils.TAG_OUTCOME));
+        assertEquals("1", filter.map(getMeterId("cas.services.find", "1")).getTag(MetricsUtils.TAG_SERVICE));
+    }
+
+    @Test
+    public void verifyUnknownServicesAndOtherMetersAreUntouched() {
+        val filter = new RegisteredServiceTagMeterFilter(0);
+        assertEquals(MetricsUtils.UNKNOWN, filter.map(getMeterId("cas.validation", MetricsUtils.UNKNOWN)).getTag(MetricsUtils.TAG_SERVICE));
+        assertEquals("1", filter.map(getMeterId("http.server.requests", "1")).getTag(MetricsUtils.TAG_SERVICE));
+        val id = new Meter.Id("cas.authentication", Tags.empty(), null, null, Meter.Type.TIMER);
+        assertSame(id, filter.map(id));
+    }
+}
@@ -1,48 +1,133 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.BaseTicketSerializers;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.util.serialization.StringSerializer;
 
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableSet;
+import com.mongodb.CursorType;
 import com.mongodb.client.ListIndexesIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.CollectionOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
+ * <p>
+ * Ticket-granting tickets that are not encrypted are updated in place where possible: once the registry knows
+ * which services, proxy-granting tickets and descendant tickets are stored with a ticket-granting ticket,
+ * because it has just read or written the ticket, updates only set the entries that were added, unset the entries
+ * that were removed and set the usage state of the ticket, so the size of an update does not grow with the age of the session.
+ * Any other change to the ticket, such as an updated authentication, causes the ticket to be written in full.
+ * <p>
+ * Once a ticket change listener is registered, changes to ticket-granting tickets are published to the other
+ * CAS nodes through a capped collection that each node tails.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Slf4j
-public class MongoDbTicketRegistry extends AbstractTicketRegistry {
+public class MongoDbTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
     private static final ImmutableSet<String> MONGO_INDEX_KEYS = ImmutableSet.of("v", "key", "name", "ns");
 
+    /**
+     * Maximum number of ticket-granting tickets whose stored state is remembered to allow for incremental updates.
+     */
+    private static final int MAXIMUM_TRACKED_TICKETS = 10_000;
+
+    /**
+     * Duration for which the stored state of a ticket-granting ticket is remembered since it was last read or written.
+     */
+    private static final Duration TRACKED_TICKET_EXPIRATION = Duration.ofMinutes(5);
+
+    /**
+     * Capped collection through which changes to ticket-granting tickets are published to other CAS nodes.
+     */
+    private static final String TICKET_CHANGES_COLLECTION = "casTicketChanges";
+
+    private static final long TICKET_CHANGES_COLLECTION_SIZE = 10L * 1024 * 1024;
+
+    private static final long TICKET_CHANGES_RETRY_INTERVAL = 1000L;
+
+    private static final String FIELD_NAME_CHANGE_ORIGIN = "origin";
+
+    private static final String FIELD_NAME_CHANGE_TICKET = "ticket";
+
+    private static final StringSerializer<Service> SERVICE_SERIALIZER = new AbstractJacksonBackedStringSerializer<>(new MinimalPrettyPrinter()) {
+        private static final long serialVersionUID = -2536395185214364271L;
+
+        @Override
+        protected Class<Service> getTypeToSerialize() {
+            return Service.class;
+        }
+    };
+
     private final TicketCatalog ticketCatalog;
     private final MongoOperations mongoTemplate;
     private final boolean dropCollection;
+    private final Cache<String, StoredTicketGrantingTicket> storedTicketGrantingTickets = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_TRACKED_TICKETS)
+        .expireAfterAccess(TRACKED_TICKET_EXPIRATION)
+        .build();
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<Consumer<String>> ticketChangeListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean tailingTicketChanges = new AtomicBoolean();
 
     public MongoDbTicketRegistry(final TicketCatalog ticketCatalog,
                                  final MongoOperations mongoTemplate,
@@ -85,6 +170,85 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return BaseTicketSerializers.deserializeTicket(holder.getJson(), holder.getType());
     }
 
+    /**
+     * Escape the ticket id so it may be used as a field name;
+     * field names may not contain dots, or start with a dollar sign.
+     */
+    private static String escapeFieldName(final String ticketId) {
+        return ticketId.replace("%", "%25").replace(".", "%2E").replace("$", "%24");
+    }
+
+    private static String unescapeFieldName(final String fieldName) {
+        return fieldName.replace("%24", "$").replace("%2E", ".").replace("%25", "%");
+    }
+
+    private static String formatTime(final ZonedDateTime time) {
+        return time == null ? null : time.toString();
+    }
+
+    private static ZonedDateTime parseTime(final String time) {
+        return time == null ? null : ZonedDateTime.parse(time);
+    }
+
+    private static Map<String, String> serializeServices(final Map<String, Service> services) {
+        val results = new LinkedHashMap<String, String>(services.size());
+        services.forEach((id, service) -> results.put(escapeFieldName(id), SERVICE_SERIALIZER.toString(service)));
+        return results;
+    }
+
+    private static void deserializeServices(final Map<String, String> source, final Map<String, Service> services) {
+        services.clear();
+        if (source != null) {
+            source.forEach((id, service) -> services.put(unescapeFieldName(id), SERVICE_SERIALIZER.from(service)));
+        }
+    }
+
+    /**
+     * Set the entries that are present in the ticket and not in the store, and unset the entries
+     * that are present in the store and no longer in the ticket.
+     */
+    private static void stageIncrementalUpdate(final Update update, final String fieldName,
+                                               final Set<String> stored, final Collection<String> current,
+                                               final Function<String, Object> valueFunction) {
+        current.stream()
+            .filter(id -> !stored.contains(id))
+            .forEach(id -> update.set(fieldName + '.' + escapeFieldName(id), valueFunction.apply(id)));
+        stored.stream()
+            .filter(id -> !current.contains(id))
+            .forEach(id -> update.unset(fieldName + '.' + escapeFieldName(id)));
+    }
+
+    private static Update buildTicketUpdate(final TicketHolder holder) {
+        val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+        if (holder.getServices() != null) {
+            update.set(TicketHolder.FIELD_NAME_SERVICES, holder.getServices())
+                .set(TicketHolder.FIELD_NAME_PROXY_GRANTING_TICKETS, holder.getProxyGrantingTickets())
+                .set(TicketHolder.FIELD_NAME_DESCENDANT_TICKETS, holder.getDescendantTickets())
+                .set(TicketHolder.FIELD_NAME_LAST_TIME_USED, holder.getLastTimeUsed())
+                .set(TicketHolder.FIELD_NAME_PREVIOUS_TIME_USED, holder.getPreviousTimeUsed())
+                .set(TicketHolder.FIELD_NAME_COUNT_OF_USES, holder.getCountOfUses());
+        }
+        return update;
+    }
+
+    /**
+     * Digest the state of the ticket-granting ticket that is only stored as part of the ticket json,
+     * and cannot be updated incrementally.
+     */
+    private static byte[] digestTicketGrantingTicketState(final TicketGrantingTicket ticket) {
+        val state = new ArrayList<Serializable>();
+        state.add(ticket.getAuthentication());
+        state.add(ticket.getProxiedBy());
+        state.add(ticket.getTicketGrantingTicket() == null ? null : ticket.getTicketGrantingTicket().getId());
+        state.add(ticket.getExpirationPolicy());
+        state.add(ticket.getCreationTime());
+        return DigestUtils.rawDigest("SHA-256", SerializationUtils.serialize(state));
+    }
+
+    private static boolean isTicketGrantingTicketDefinition(final TicketDefinition metadata) {
+        return TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass());
+    }
+
     private MongoCollection createTicketCollection(final TicketDefinition ticket, final MongoDbConnectionFactory factory) {
         val collectionName = ticket.getProperties().getStorageName();
         LOGGER.trace("Setting up MongoDb Ticket Registry instance [{}]", collectionName);
@@ -95,6 +259,10 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val index = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout());
         removeDifferingIndexIfAny(collection, index);
         mongoTemplate.indexOps(collectionName).ensureIndex(index);
+        if (isTicketGrantingTicketDefinition(ticket)) {
+            LOGGER.trace("Creating indices on collection [{}] to look up documents by principal...", collectionName);
+            mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC).sparse());
+        }
         return collection;
     }
 
@@ -134,7 +302,6 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     public Ticket updateTicket(final Ticket ticket) {
         LOGGER.debug("Updating ticket [{}]", ticket);
         try {
-            val holder = buildTicketAsDocument(ticket);
             val metadata = this.ticketCatalog.find(ticket);
             if (metadata == null) {
                 LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
@@ -146,10 +313,18 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 LOGGER.error("Could not locate collection linked to ticket definition for ticket [{}]", ticket.getId());
                 return null;
             }
-            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
-            this.mongoTemplate.upsert(query, update, collectionName);
-            LOGGER.debug("Updated ticket [{}]", ticket);
+            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encodeTicketId(ticket.getId())));
+            val incrementalUpdate = buildIncrementalTicketUpdate(ticket);
+            if (incrementalUpdate.isPresent() && this.mongoTemplate.updateFirst(query, incrementalUpdate.get(), collectionName).getMatchedCount() > 0) {
+                LOGGER.debug("Updated ticket [{}] incrementally", ticket);
+            } else {
+                this.mongoTemplate.upsert(query, buildTicketUpdate(buildTicketAsDocument(ticket)), collectionName);
+                LOGGER.debug("Updated ticket [{}]", ticket);
+            }
+            trackStoredTicketGrantingTicket(ticket);
+            if (ticket instanceof TicketGrantingTicket) {
+                publishTicketChange(ticket.getId());
+            }
         } catch (final Exception e) {
             LOGGER.error("Failed updating [{}]: [{}]", ticket, e);
         }
@@ -174,12 +349,64 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             }
             LOGGER.trace("Found collection [{}] linked to ticket [{}]", collectionName, metadata);
             this.mongoTemplate.insert(holder, collectionName);
+            trackStoredTicketGrantingTicket(ticket);
             LOGGER.debug("Added ticket [{}]", ticket.getId());
         } catch (final Exception e) {
             LOGGER.error(String.format("Failed adding %s", ticket), e);
         }
     }
 
+    /**
+     * Write all added and updated tickets in the batch via bulk operations,
+     * so that the batch costs a single round-trip per ticket collection.
+     * Ticket-granting tickets are updated incrementally where possible; tickets
+     * whose documents could not be found to be updated incrementally are written in full.
+     *
+     * @param batch the batch
+     */
+    @Override
+    public void commit(final TicketRegistryBatch batch) {
+        batch.getTicketsToDelete().forEach(this::deleteTicket);
+        val operations = new LinkedHashMap<String, BulkOperations>();
+        val updateCounts = new LinkedHashMap<String, Integer>();
+        val incrementalUpdates = new LinkedHashMap<String, List<Ticket>>();
+        val tickets = new ArrayList<Ticket>();
+        try {
+            batch.getTicketsToUpdate().forEach(ticket -> getTicketCollectionName(ticket).ifPresent(collectionName -> {
+                val bulk = getBulkOperations(operations, collectionName);
+                val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encodeTicketId(ticket.getId())));
+                val incrementalUpdate = buildIncrementalTicketUpdate(ticket);
+                if (incrementalUpdate.isPresent()) {
+                    bulk.updateOne(query, incrementalUpdate.get());
+                    incrementalUpdates.computeIfAbsent(collectionName, name -> new ArrayList<>()).add(ticket);
+                } else {
+                    bulk.upsert(query, buildTicketUpdate(buildTicketAsDocument(ticket)));
+                }
+                updateCounts.merge(collectionName, 1, Integer::sum);
+                tickets.add(ticket);
+            }));
+            batch.getTicketsToAdd().forEach(ticket -> getTicketCollectionName(ticket).ifPresent(collectionName -> {
+                getBulkOperations(operations, collectionName).insert(buildTicketAsDocument(ticket));
+                tickets.add(ticket);
+            }));
+            operations.forEach((collectionName, bulk) -> {
+                val result = bulk.execute();
+                LOGGER.debug("Wrote tickets to collection [{}] with [{}] insert(s) and [{}] update(s)",
+                    collectionName, result.getInsertedCount(), result.getModifiedCount() + result.getUpserts().size());
+                val unmatched = updateCounts.getOrDefault(collectionName, 0) - result.getMatchedCount() - result.getUpserts().size();
+                if (unmatched > 0 && incrementalUpdates.containsKey(collectionName)) {
+                    upsertMissingTickets(collectionName, incrementalUpdates.get(collectionName));
+                }
+            });
+            tickets.forEach(this::trackStoredTicketGrantingTicket);
+            batch.getTicketsToUpdate().stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .forEach(ticket -> publishTicketChange(ticket.getId()));
+        } catch (final Exception e) {
+            LOGGER.error("Failed writing tickets [{}]: [{}]", batch, e);
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
@@ -198,8 +425,10 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId));
             val d = this.mongoTemplate.findOne(query, TicketHolder.class, collectionName);
             if (d != null) {
-                val decoded = deserializeTicketFromMongoDocument(d);
-                val result = decodeTicket(decoded);
+                val result = decodeTicketDocument(d);
+                if (d.getServices() != null) {
+                    trackStoredTicketGrantingTicket(result);
+                }
 
                 if (predicate.test(result)) {
                     return result;
@@ -218,20 +447,66 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .map(this::getTicketCollectionInstanceByMetadata)
             .map(map -> mongoTemplate.findAll(TicketHolder.class, map))
             .flatMap(List::stream)
-            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
+            .map(this::decodeTicketDocument)
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).is(digestPrincipalId(principalId)));
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(MongoDbTicketRegistry::isTicketGrantingTicketDefinition)
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .map(collectionName -> mongoTemplate.find(query, TicketHolder.class, collectionName))
+            .flatMap(List::stream)
+            .map(this::decodeTicketDocument)
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are counted by the database, based on the expiration time of ticket documents,
+     * so the statistics cover all CAS nodes. Tickets are counted as expired once their expiration time has passed,
+     * until they are removed by the database. Tickets that cannot be counted are reported as unknown.
+     */
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        val statistics = new TicketRegistryStatistics();
+        val now = new Date();
+        this.ticketCatalog.findAll().forEach(metadata -> {
+            try {
+                val collection = getTicketCollectionInstance(metadata.getProperties().getStorageName());
+                val expired = collection.countDocuments(Filters.lte(TicketHolder.FIELD_NAME_EXPIRE_AT, now));
+                val active = collection.countDocuments(Filters.or(
+                    Filters.gt(TicketHolder.FIELD_NAME_EXPIRE_AT, now),
+                    Filters.eq(TicketHolder.FIELD_NAME_EXPIRE_AT, null)));
+                statistics.addActive(metadata.getPrefix(), active).addExpired(metadata.getPrefix(), expired);
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to count tickets of type [{}]: [{}]", metadata.getPrefix(), e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+                statistics.addActive(metadata.getPrefix(), TicketRegistryStatistics.UNKNOWN)
+                    .addExpired(metadata.getPrefix(), TicketRegistryStatistics.UNKNOWN);
+            }
+        });
+        return statistics;
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val ticketId = encodeTicketId(ticketIdToDelete);
         LOGGER.debug("Deleting ticket [{}]", ticketId);
+        this.storedTicketGrantingTickets.invalidate(ticketIdToDelete);
         try {
             val metadata = this.ticketCatalog.find(ticketIdToDelete);
             val collectionName = getTicketCollectionInstanceByMetadata(metadata);
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(ticketId));
             val res = this.mongoTemplate.remove(query, collectionName);
             LOGGER.debug("Deleted ticket [{}] with result [{}]", ticketIdToDelete, res);
+            if (isTicketGrantingTicketDefinition(metadata)) {
+                publishTicketChange(ticketIdToDelete);
+            }
             return true;
         } catch (final Exception e) {
             LOGGER.error("Failed deleting [{}]: [{}]", ticketId, e);
@@ -241,6 +516,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long deleteAll() {
+        this.storedTicketGrantingTickets.invalidateAll();
         val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).exists(true));
         return this.ticketCatalog.findAll().stream()
             .map(this::getTicketCollectionInstanceByMetadata)
@@ -253,17 +529,230 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .sum();
     }
 
+    /**
+     * Listen to changes of ticket-granting tickets that are published by other CAS nodes.
+     * The first listener creates the capped collection through which changes are published, if needed,
+     * and starts tailing it; changes are reported shortly after they are made, and not before the operation
+     * that made them returns.
+     *
+     * @param listener the listener
+     * @return true if the collection of ticket changes is available
+     */
+    @Override
+    public boolean registerTicketChangeListener(final Consumer<String> listener) {
+        if (!createTicketChangesCollection()) {
+            return false;
+        }
+        this.ticketChangeListeners.add(listener);
+        if (this.tailingTicketChanges.compareAndSet(false, true)) {
+            val thread = new Thread(this::tailTicketChanges, "cas-mongo-ticket-changes");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        this.tailingTicketChanges.set(false);
+    }
+
+    private boolean createTicketChangesCollection() {
+        try {
+            if (!this.mongoTemplate.collectionExists(TICKET_CHANGES_COLLECTION)) {
+                this.mongoTemplate.createCollection(TICKET_CHANGES_COLLECTION,
+                    CollectionOptions.empty().capped().size(TICKET_CHANGES_COLLECTION_SIZE));
+            }
+            return true;
+        } catch (final Exception e) {
+            if (this.mongoTemplate.collectionExists(TICKET_CHANGES_COLLECTION)) {
+                return true;
+            }
+            LOGGER.warn("Unable to create collection [{}] to publish ticket changes: [{}]", TICKET_CHANGES_COLLECTION, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Tail the capped collection of ticket changes, starting with changes published from now on.
+     * The cursor dies when the collection is empty, in which case the collection is queried again after a while.
+     */
+    private void tailTicketChanges() {
+        val collection = this.mongoTemplate.getCollection(TICKET_CHANGES_COLLECTION);
+        var lastId = new ObjectId();
+        while (this.tailingTicketChanges.get()) {
+            try (val cursor = collection.find(Filters.gt("_id", lastId)).cursorType(CursorType.TailableAwait).noCursorTimeout(true).iterator()) {
+                while (this.tailingTicketChanges.get()) {
+                    val change = cursor.tryNext();
+                    if (change != null) {
+                        lastId = change.getObjectId("_id");
+                        if (!this.nodeId.equals(change.getString(FIELD_NAME_CHANGE_ORIGIN))) {
+                            val digest = change.getString(FIELD_NAME_CHANGE_TICKET);
+                            this.ticketChangeListeners.forEach(listener -> listener.accept(digest));
+                        }
+                    } else if (cursor.getServerCursor() == null) {
+                        break;
+                    }
+                }
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to read ticket changes from [{}]: [{}]", TICKET_CHANGES_COLLECTION, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+            pauseTailingTicketChanges();
+        }
+    }
+
+    private void pauseTailingTicketChanges() {
+        try {
+            Thread.sleep(TICKET_CHANGES_RETRY_INTERVAL);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.tailingTicketChanges.set(false);
+        }
+    }
+
+    private void publishTicketChange(final String ticketId) {
+        if (this.ticketChangeListeners.isEmpty()) {
+            return;
+        }
+        try {
+            this.mongoTemplate.getCollection(TICKET_CHANGES_COLLECTION).insertOne(new Document(FIELD_NAME_CHANGE_ORIGIN, this.nodeId)
+                .append(FIELD_NAME_CHANGE_TICKET, DigestUtils.sha512(ticketId)));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to publish change of ticket [{}]: [{}]", ticketId, e.getMessage());
+        }
+    }
+
     private TicketHolder buildTicketAsDocument(final Ticket ticket) {
         val encTicket = encodeTicket(ticket);
         val json = serializeTicketForMongoDocument(encTicket);
         if (StringUtils.isNotBlank(json)) {
             LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             val expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            val principal = getSessionPrincipalId(ticket).map(this::digestPrincipalId).orElse(null);
+            val holder = new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt, principal);
+            if (isIncrementallyUpdatable(ticket)) {
+                val tgt = (TicketGrantingTicket) ticket;
+                val state = (TicketState) ticket;
+                holder.setServices(serializeServices(tgt.getServices()));
+                holder.setProxyGrantingTickets(serializeServices(tgt.getProxyGrantingTickets()));
+                holder.setDescendantTickets(tgt.getDescendantTickets().stream()
+                    .collect(Collectors.toMap(MongoDbTicketRegistry::escapeFieldName, id -> Boolean.TRUE, (v1, v2) -> v1, LinkedHashMap::new)));
+                holder.setLastTimeUsed(formatTime(state.getLastTimeUsed()));
+                holder.setPreviousTimeUsed(formatTime(state.getPreviousTimeUsed()));
+                holder.setCountOfUses(state.getCountOfUses());
+            }
+            return holder;
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
 
+    /**
+     * Ticket-granting tickets may be updated in place unless they are encrypted,
+     * in which case their state is only available as part of the encoded ticket.
+     */
+    private boolean isIncrementallyUpdatable(final Ticket ticket) {
+        return ticket instanceof TicketGrantingTicket && ticket instanceof AbstractTicket && !isCipherExecutorEnabled();
+    }
+
+    private Optional<Update> buildIncrementalTicketUpdate(final Ticket ticket) {
+        if (!isIncrementallyUpdatable(ticket) || ticket.isExpired()) {
+            return Optional.empty();
+        }
+        val stored = this.storedTicketGrantingTickets.getIfPresent(ticket.getId());
+        if (stored == null) {
+            return Optional.empty();
+        }
+        val tgt = (TicketGrantingTicket) ticket;
+        if (!Arrays.equals(stored.getDigest(), digestTicketGrantingTicketState(tgt))) {
+            LOGGER.trace("Ticket [{}] has changed beyond its services and usage, and cannot be updated incrementally", ticket.getId());
+            return Optional.empty();
+        }
+        val state = (TicketState) ticket;
+        val update = new Update();
+        stageIncrementalUpdate(update, TicketHolder.FIELD_NAME_SERVICES, stored.getServices(),
+            tgt.getServices().keySet(), id -> SERVICE_SERIALIZER.toString(tgt.getServices().get(id)));
+        stageIncrementalUpdate(update, TicketHolder.FIELD_NAME_PROXY_GRANTING_TICKETS, stored.getProxyGrantingTickets(),
+            tgt.getProxyGrantingTickets().keySet(), id -> SERVICE_SERIALIZER.toString(tgt.getProxyGrantingTickets().get(id)));
+        stageIncrementalUpdate(update, TicketHolder.FIELD_NAME_DESCENDANT_TICKETS, stored.getDescendantTickets(),
+            tgt.getDescendantTickets(), id -> Boolean.TRUE);
+        update.set(TicketHolder.FIELD_NAME_LAST_TIME_USED, formatTime(state.getLastTimeUsed()))
+            .set(TicketHolder.FIELD_NAME_PREVIOUS_TIME_USED, formatTime(state.getPreviousTimeUsed()))
+            .set(TicketHolder.FIELD_NAME_COUNT_OF_USES, state.getCountOfUses());
+        LOGGER.trace("Built incremental update [{}] for ticket [{}]", update, ticket.getId());
+        return Optional.of(update);
+    }
+
+    /**
+     * Remember the state of the ticket-granting ticket as it is found in the store,
+     * so the next update of the ticket can be applied incrementally.
+     */
+    private void trackStoredTicketGrantingTicket(final Ticket ticket) {
+        if (isIncrementallyUpdatable(ticket)) {
+            val tgt = (TicketGrantingTicket) ticket;
+            this.storedTicketGrantingTickets.put(ticket.getId(), new StoredTicketGrantingTicket(
+                new HashSet<>(tgt.getServices().keySet()),
+                new HashSet<>(tgt.getProxyGrantingTickets().keySet()),
+                new HashSet<>(tgt.getDescendantTickets()),
+                digestTicketGrantingTicketState(tgt)));
+        }
+    }
+
+    private Ticket decodeTicketDocument(final TicketHolder holder) {
+        val ticket = decodeTicket(deserializeTicketFromMongoDocument(holder));
+        if (holder.getServices() == null || !isIncrementallyUpdatable(ticket)) {
+            return ticket;
+        }
+        val tgt = (TicketGrantingTicket) ticket;
+        deserializeServices(holder.getServices(), tgt.getServices());
+        deserializeServices(holder.getProxyGrantingTickets(), tgt.getProxyGrantingTickets());
+        val descendantTickets = tgt.getDescendantTickets();
+        descendantTickets.clear();
+        if (holder.getDescendantTickets() != null) {
+            holder.getDescendantTickets().keySet().forEach(id -> descendantTickets.add(unescapeFieldName(id)));
+        }
+        val state = (AbstractTicket) ticket;
+        Optional.ofNullable(parseTime(holder.getLastTimeUsed())).ifPresent(state::setLastTimeUsed);
+        Optional.ofNullable(parseTime(holder.getPreviousTimeUsed())).ifPresent(state::setPreviousTimeUsed);
+        Optional.ofNullable(holder.getCountOfUses()).ifPresent(state::setCountOfUses);
+        return ticket;
+    }
+
+    /**
+     * Write the tickets whose documents are no longer found in full, as {@link #updateTicket(Ticket)} does.
+     */
+    private void upsertMissingTickets(final String collectionName, final List<Ticket> tickets) {
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID)
+            .in(tickets.stream().map(ticket -> encodeTicketId(ticket.getId())).collect(Collectors.toList())));
+        query.fields().include(TicketHolder.FIELD_NAME_ID);
+        val found = this.mongoTemplate.find(query, Document.class, collectionName)
+            .stream()
+            .map(document -> document.getString(TicketHolder.FIELD_NAME_ID))
+            .collect(Collectors.toSet());
+        tickets.stream()
+            .filter(ticket -> !found.contains(encodeTicketId(ticket.getId())))
+            .forEach(ticket -> {
+                LOGGER.debug("Ticket [{}] could not be found to be updated incrementally, and is written in full", ticket.getId());
+                val ticketQuery = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encodeTicketId(ticket.getId())));
+                this.mongoTemplate.upsert(ticketQuery, buildTicketUpdate(buildTicketAsDocument(ticket)), collectionName);
+            });
+    }
+
+    private Optional<String> getTicketCollectionName(final Ticket ticket) {
+        val metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
+            return Optional.empty();
+        }
+        return Optional.of(getTicketCollectionInstanceByMetadata(metadata));
+    }
+
+    private BulkOperations getBulkOperations(final Map<String, BulkOperations> operations, final String collectionName) {
+        return operations.computeIfAbsent(collectionName,
+            name -> this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TicketHolder.class, name));
+    }
+
     private String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating collection name [{}] for ticket definition [{}]", mapName, metadata);
@@ -284,5 +773,20 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         }
         return null;
     }
-}
 
+    /**
+     * Ids of the services, proxy-granting tickets and descendant tickets
+     * that are stored with a ticket-granting ticket, and the digest of its remaining state.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class StoredTicketGrantingTicket {
+        private final Set<String> services;
+
+        private final Set<String> proxyGrantingTickets;
+
+        private final Set<String> descendantTickets;
+
+        private final byte[] digest;
+    }
+}
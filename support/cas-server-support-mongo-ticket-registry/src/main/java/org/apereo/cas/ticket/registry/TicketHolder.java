@@ -1,23 +1,28 @@
 package org.apereo.cas.ticket.registry;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.Map;
 
 /**
  * This is {@link TicketHolder}.
+ * <p>
+ * Ticket-granting tickets that are not encrypted also carry their services, proxy-granting tickets,
+ * descendant tickets and usage state in separate fields, keyed by escaped ticket ids, so they
+ * can be updated in place. These fields take precedence over the state captured in the ticket json.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Getter
-@AllArgsConstructor
+@RequiredArgsConstructor
 @ToString
 @Document
 @Setter
@@ -38,6 +43,41 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_ID = "ticketId";
 
+    /**
+     * Field name to hold the (digested) principal id of ticket-granting tickets.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name to hold the services of ticket-granting tickets, keyed by service ticket id.
+     */
+    public static final String FIELD_NAME_SERVICES = "services";
+
+    /**
+     * Field name to hold the proxy-granting tickets of ticket-granting tickets, keyed by ticket id.
+     */
+    public static final String FIELD_NAME_PROXY_GRANTING_TICKETS = "proxyGrantingTickets";
+
+    /**
+     * Field name to hold the descendant tickets of ticket-granting tickets, keyed by ticket id.
+     */
+    public static final String FIELD_NAME_DESCENDANT_TICKETS = "descendantTickets";
+
+    /**
+     * Field name to hold the last time the ticket was used.
+     */
+    public static final String FIELD_NAME_LAST_TIME_USED = "lastTimeUsed";
+
+    /**
+     * Field name to hold the previous time the ticket was used.
+     */
+    public static final String FIELD_NAME_PREVIOUS_TIME_USED = "previousTimeUsed";
+
+    /**
+     * Field name to hold the number of times the ticket was used.
+     */
+    public static final String FIELD_NAME_COUNT_OF_USES = "countOfUses";
+
     private static final long serialVersionUID = -4843440028617071224L;
 
     @JsonProperty
@@ -50,4 +90,18 @@ public class TicketHolder implements Serializable {
     private final String type;
 
     private final Date expireAt;
+
+    private final String principal;
+
+    private Map<String, String> services;
+
+    private Map<String, String> proxyGrantingTickets;
+
+    private Map<String, Boolean> descendantTickets;
+
+    private String lastTimeUsed;
+
+    private String previousTimeUsed;
+
+    private Integer countOfUses;
 }
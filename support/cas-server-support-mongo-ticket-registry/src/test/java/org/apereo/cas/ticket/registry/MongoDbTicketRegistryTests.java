@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -20,20 +21,37 @@ import org.apereo.cas.config.MongoDbTicketRegistryConfiguration;
 import org.apereo.cas.config.MongoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.junit.EnabledIfContinuousIntegration;
 import org.apereo.cas.util.junit.EnabledIfPortOpen;
 
+import lombok.val;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link MongoDbTicketRegistryTests}.
  *
@@ -84,6 +102,14 @@ public class MongoDbTicketRegistryTests extends BaseTicketRegistryTests {
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("mongoDbTicketRegistryTemplate")
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
     @BeforeEach
     public void before() {
         ticketRegistry.deleteAll();
@@ -93,4 +119,94 @@ public class MongoDbTicketRegistryTests extends BaseTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @RepeatedTest(2)
+    public void verifyTicketGrantingTicketUpdatedIncrementally() {
+        val tgt = new TicketGrantingTicketImpl("TGT-INCREMENTAL", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        for (var i = 0; i < 5; i++) {
+            val st = tgt.grantServiceTicket("ST-" + i + ".example.org", RegisteredServiceTestUtils.getService("service" + i),
+                new NeverExpiresExpirationPolicy(), false, false);
+            ticketRegistry.addTicket(st);
+            ticketRegistry.updateTicket(tgt);
+        }
+        var ticket = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(tgt.getServices().keySet(), ticket.getServices().keySet());
+        assertEquals(tgt.getDescendantTickets(), ticket.getDescendantTickets());
+        assertEquals(tgt.getCountOfUses(), ticket.getCountOfUses());
+        assertEquals(RegisteredServiceTestUtils.getService("service3").getId(), ticket.getServices().get("ST-3.example.org").getId());
+
+        val st = ticket.grantServiceTicket("ST-LAST", RegisteredServiceTestUtils.getService("service0"),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(ticket);
+        val services = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices();
+        assertEquals(5, services.size());
+        assertTrue(services.containsKey("ST-LAST"));
+        assertFalse(services.containsKey("ST-0.example.org"));
+    }
+
+    @RepeatedTest(2)
+    public void verifyUpdatedAuthenticationIsWrittenInFull() {
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-AUTHN", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy()));
+        val tgt = ticketRegistry.getTicket("TGT-AUTHN", TicketGrantingTicket.class);
+        tgt.getAuthentication().addAttribute("authnContextClass", "mfa-duo");
+        ticketRegistry.updateTicket(tgt);
+        ticketRegistry.commit(new TicketRegistryBatch().update(tgt));
+
+        val ticket = ticketRegistry.getTicket("TGT-AUTHN", TicketGrantingTicket.class);
+        assertTrue(ticket.getAuthentication().getAttributes().containsKey("authnContextClass"));
+
+        ticket.getAuthentication().addAttribute("bypass", "true");
+        ticketRegistry.commit(new TicketRegistryBatch().update(ticket));
+        val result = ticketRegistry.getTicket("TGT-AUTHN", TicketGrantingTicket.class);
+        assertTrue(result.getAuthentication().getAttributes().containsKey("bypass"));
+    }
+
+    @RepeatedTest(2)
+    public void verifyMissingTicketIsWrittenInFullByCommit() {
+        val tgt = new TicketGrantingTicketImpl("TGT-MISSING", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        assertNotNull(ticketRegistry.getTicket(tgt.getId()));
+        mongoTemplate.remove(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(tgt.getId())), "ticketGrantingTicketsCollection");
+        tgt.update();
+        ticketRegistry.commit(new TicketRegistryBatch().update(tgt));
+        assertNotNull(ticketRegistry.getTicket(tgt.getId()));
+    }
+
+    @RepeatedTest(2)
+    public void verifyStatisticsAreCountedByTheDatabase() {
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-STATISTICS", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy()));
+        val statistics = ticketRegistry.getStatistics();
+        assertEquals(1, statistics.getActiveCount(TicketGrantingTicket.PREFIX));
+        assertEquals(0, statistics.getExpiredCount(TicketGrantingTicket.PREFIX));
+        assertEquals(0, statistics.getActiveCount(ServiceTicket.PREFIX));
+    }
+
+    @RepeatedTest(1)
+    public void verifyTicketChangesArePublishedToOtherNodes() throws Exception {
+        val otherNode = new MongoDbTicketRegistry(ticketCatalog, mongoTemplate, false);
+        try {
+            val changes = new LinkedBlockingQueue<String>();
+            assertTrue(otherNode.registerTicketChangeListener(changes::add));
+            val ownChanges = new LinkedBlockingQueue<String>();
+            assertTrue(ticketRegistry.registerTicketChangeListener(ownChanges::add));
+
+            val tgt = new TicketGrantingTicketImpl("TGT-CHANGED", CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            ticketRegistry.addTicket(tgt);
+            tgt.update();
+            ticketRegistry.updateTicket(tgt);
+            assertEquals(DigestUtils.sha512(tgt.getId()), changes.poll(10, TimeUnit.SECONDS));
+            ticketRegistry.deleteTicket(tgt.getId());
+            assertEquals(DigestUtils.sha512(tgt.getId()), changes.poll(10, TimeUnit.SECONDS));
+            assertTrue(ownChanges.isEmpty());
+        } finally {
+            otherNode.destroy();
+        }
+    }
 }
@@ -21,6 +21,7 @@ import org.apereo.cas.ticket.device.DeviceUserCode;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
 import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryBatch;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.RequiredArgsConstructor;
@@ -197,11 +198,11 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             authn, ticketGrantingTicket, holder.getScopes());
 
         LOGGER.debug("Created access token [{}]", accessToken);
-        addTicketToRegistry(accessToken, ticketGrantingTicket);
+        val batch = new TicketRegistryBatch().add(accessToken).update(ticketGrantingTicket);
+        updateOAuthCode(holder, batch);
+        this.ticketRegistry.commit(batch);
         LOGGER.debug("Added access token [{}] to registry", accessToken);
 
-        updateOAuthCode(holder);
-
         val refreshToken = FunctionUtils.doIf(holder.isGenerateRefreshToken(),
             () -> generateRefreshToken(holder),
             () -> {
@@ -218,16 +219,28 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      * @param holder the holder
      */
     protected void updateOAuthCode(final AccessTokenRequestDataHolder holder) {
+        val batch = new TicketRegistryBatch();
+        updateOAuthCode(holder, batch);
+        this.ticketRegistry.commit(batch);
+    }
+
+    /**
+     * Stage the OAuth code updates in the given batch.
+     *
+     * @param holder the holder
+     * @param batch  the batch
+     */
+    protected void updateOAuthCode(final AccessTokenRequestDataHolder holder, final TicketRegistryBatch batch) {
         if (holder.getToken() instanceof OAuthCode) {
             val codeState = TicketState.class.cast(holder.getToken());
             codeState.update();
 
             if (holder.getToken().isExpired()) {
-                this.ticketRegistry.deleteTicket(holder.getToken().getId());
+                batch.delete(holder.getToken().getId());
             } else {
-                this.ticketRegistry.updateTicket(holder.getToken());
+                batch.update(holder.getToken());
             }
-            this.ticketRegistry.updateTicket(holder.getTicketGrantingTicket());
+            batch.update(holder.getTicketGrantingTicket());
         }
     }
 
@@ -239,11 +252,12 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      */
     protected void addTicketToRegistry(final Ticket ticket, final TicketGrantingTicket ticketGrantingTicket) {
         LOGGER.debug("Adding ticket [{}] to registry", ticket);
-        this.ticketRegistry.addTicket(ticket);
+        val batch = new TicketRegistryBatch().add(ticket);
         if (ticketGrantingTicket != null) {
             LOGGER.debug("Updating parent ticket-granting ticket [{}]", ticketGrantingTicket);
-            this.ticketRegistry.updateTicket(ticketGrantingTicket);
+            batch.update(ticketGrantingTicket);
         }
+        this.ticketRegistry.commit(batch);
     }
 
     /**
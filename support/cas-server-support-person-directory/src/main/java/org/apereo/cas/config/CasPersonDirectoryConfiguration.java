@@ -4,14 +4,17 @@ import org.apereo.cas.authentication.CoreAuthenticationUtils;
 import org.apereo.cas.authentication.principal.resolvers.InternalGroovyScriptDao;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.authentication.JdbcPrincipalAttributesProperties;
+import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LdapUtils;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.IOUtils;
@@ -45,6 +48,8 @@ import org.springframework.http.HttpMethod;
 import javax.naming.directory.SearchControls;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -331,12 +336,19 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        val mergingDao = new MergingPersonAttributeDaoImpl();
         val merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace").trim();
         LOGGER.trace("Configured merging strategy for attribute sources is [{}]", merger);
-        mergingDao.setMerger(CoreAuthenticationUtils.getAttributeMerger(merger));
 
         val list = attributeRepositories();
+        val parallel = casProperties.getAuthn().getAttributeRepository().getParallel();
+        if (parallel.isEnabled()) {
+            val sources = getParallelAttributeSources(list, parallel);
+            LOGGER.debug("Configured [{}] attribute repository source(s) to query concurrently and merge together", sources.size());
+            return new ParallelMergingPersonAttributeDao(sources, CoreAuthenticationUtils.getAttributeMerger(merger), parallel.getThreads());
+        }
+
+        val mergingDao = new MergingPersonAttributeDaoImpl();
+        mergingDao.setMerger(CoreAuthenticationUtils.getAttributeMerger(merger));
         mergingDao.setPersonAttributeDaos(list);
 
         if (list.isEmpty()) {
@@ -347,5 +359,42 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
 
         return mergingDao;
     }
-}
 
+    @Bean
+    @ConditionalOnMissingBean(name = "aggregatingAttributeRepositoryMeterBinder")
+    public MeterBinder aggregatingAttributeRepositoryMeterBinder() {
+        return registry -> {
+            val repository = aggregatingAttributeRepository();
+            if (repository instanceof MeterBinder) {
+                ((MeterBinder) repository).bindTo(registry);
+            }
+        };
+    }
+
+    private List<ParallelMergingPersonAttributeDao.AttributeSource> getParallelAttributeSources(
+        final List<IPersonAttributeDao> list, final PrincipalAttributesProperties.Parallel parallel) {
+        val types = new IdentityHashMap<IPersonAttributeDao, String>();
+        ldapAttributeRepositories().forEach(dao -> types.put(dao, "ldap"));
+        jdbcAttributeRepositories().forEach(dao -> types.put(dao, "jdbc"));
+        jsonAttributeRepositories().forEach(dao -> types.put(dao, "json"));
+        groovyAttributeRepositories().forEach(dao -> types.put(dao, "groovy"));
+        grouperAttributeRepositories().forEach(dao -> types.put(dao, "grouper"));
+        restfulAttributeRepositories().forEach(dao -> types.put(dao, "rest"));
+        scriptedAttributeRepositories().forEach(dao -> types.put(dao, "script"));
+        stubAttributeRepositories().forEach(dao -> types.put(dao, "stub"));
+
+        val positions = new HashMap<String, Integer>();
+        val sources = new ArrayList<ParallelMergingPersonAttributeDao.AttributeSource>(list.size());
+        list.forEach(dao -> {
+            val type = types.getOrDefault(dao, dao.getClass().getSimpleName());
+            val position = positions.merge(type, 1, Integer::sum) - 1;
+            val name = type + '-' + position;
+            val source = ObjectUtils.defaultIfNull(parallel.getSources().get(name), parallel.getSources().get(type));
+            val timeout = source != null && StringUtils.isNotBlank(source.getTimeout()) ? source.getTimeout() : parallel.getTimeout();
+            val failOpen = source != null && source.getFailOpen() != null ? source.getFailOpen() : parallel.isFailOpen();
+            LOGGER.trace("Attribute repository source [{}] is given [{}] to respond; fail-open: [{}]", name, timeout, failOpen);
+            sources.add(new ParallelMergingPersonAttributeDao.AttributeSource(name, dao, Beans.newDuration(timeout), failOpen));
+        });
+        return sources;
+    }
+}
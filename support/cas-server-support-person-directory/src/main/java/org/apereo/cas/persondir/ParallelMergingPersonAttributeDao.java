@@ -0,0 +1,262 @@
+package org.apereo.cas.persondir;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao} that queries all attribute repository sources concurrently
+ * on a bounded pool of threads, and merges their results in the order in which sources are defined using the
+ * configured merging strategy. Each source is given its own deadline; a source that fails or misses its deadline
+ * is either skipped (fail-open) or fails the entire query (fail-closed).
+ * <p>
+ * Once the pool of threads and its queue are exhausted, sources are queried by the calling thread,
+ * in which case their deadlines can no longer be enforced.
+ * <p>
+ * The statistics collected for each source are published as meters, tagged with the name of the source.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class ParallelMergingPersonAttributeDao extends BasePersonAttributeDao implements DisposableBean, MeterBinder {
+    private static final int QUEUE_CAPACITY_PER_THREAD = 100;
+
+    private static final String METER_NAME_PREFIX = "cas.attribute.repository.source.";
+
+    private final List<AttributeSource> sources;
+
+    private final IAttributeMerger merger;
+
+    private final ExecutorService executor;
+
+    public ParallelMergingPersonAttributeDao(final List<AttributeSource> sources, final IAttributeMerger merger, final int threads) {
+        this.sources = sources;
+        this.merger = merger;
+        val poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(poolSize * QUEUE_CAPACITY_PER_THREAD),
+            new BasicThreadFactory.Builder().namingPattern("cas-attribute-repository-%d").daemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static Map<String, List<Object>> stuffAttributesIntoList(final Map<String, ?> personAttributesMap) {
+        val entries = (Set<? extends Map.Entry<String, ?>>) personAttributesMap.entrySet();
+        return entries.stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> CollectionUtils.toCollection(entry.getValue(), ArrayList.class)));
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid) {
+        val results = query(dao -> {
+            val person = dao.getPerson(uid);
+            return person == null ? null : CollectionUtils.wrapSet(person);
+        });
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        if (results.size() > 1) {
+            LOGGER.warn("Attribute repository sources produced [{}] distinct people for [{}]; the first is used", results.size(), uid);
+        }
+        return results.iterator().next();
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> query) {
+        return getPeopleWithMultivaluedAttributes(stuffAttributesIntoList(query));
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        return query(dao -> dao.getPeopleWithMultivaluedAttributes(query));
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames() {
+        Set<String> names = null;
+        for (val source : this.sources) {
+            val current = source.getDao().getPossibleUserAttributeNames();
+            if (current != null) {
+                names = this.merger.mergePossibleUserAttributeNames(names == null ? new LinkedHashSet<>() : names, current);
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes() {
+        Set<String> names = null;
+        for (val source : this.sources) {
+            val current = source.getDao().getAvailableQueryAttributes();
+            if (current != null) {
+                names = this.merger.mergeAvailableQueryAttributes(names == null ? new LinkedHashSet<>() : names, current);
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.sources.forEach(source -> bindSource(registry, source));
+    }
+
+    private static void bindSource(final MeterRegistry registry, final AttributeSource source) {
+        bindCounter(registry, source, source.getFailures(), "failures", "Queries that failed");
+        bindCounter(registry, source, source.getTimeouts(), "timeouts", "Queries that did not complete in time");
+        FunctionTimer.builder(METER_NAME_PREFIX + "latency", source,
+            s -> s.getRequests().sum(), s -> s.getTotalLatency().sum(), TimeUnit.NANOSECONDS)
+            .description("Latency of queries by attribute repository source")
+            .tag("source", source.getName())
+            .register(registry);
+        Gauge.builder(METER_NAME_PREFIX + "latency.max", source,
+            s -> TimeUnit.NANOSECONDS.toMicros(s.getMaximumLatency().get()) / 1000D)
+            .description("Maximum latency, in milliseconds, of queries by attribute repository source")
+            .tag("source", source.getName())
+            .baseUnit("milliseconds")
+            .register(registry);
+    }
+
+    private static void bindCounter(final MeterRegistry registry, final AttributeSource source, final LongAdder adder,
+                                    final String name, final String description) {
+        FunctionCounter.builder(METER_NAME_PREFIX + name, adder, LongAdder::sum)
+            .description(description)
+            .tag("source", source.getName())
+            .register(registry);
+    }
+
+    private Set<IPersonAttributes> query(final Function<IPersonAttributeDao, Set<IPersonAttributes>> function) {
+        val futures = new ArrayList<Future<Set<IPersonAttributes>>>(this.sources.size());
+        val started = System.nanoTime();
+        this.sources.forEach(source -> futures.add(this.executor.submit(() -> source.query(function))));
+
+        Set<IPersonAttributes> results = null;
+        try {
+            for (var i = 0; i < this.sources.size(); i++) {
+                val people = await(this.sources.get(i), futures.get(i), started);
+                if (people != null) {
+                    results = results == null ? new LinkedHashSet<>(people) : this.merger.mergeResults(results, people);
+                }
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    private static Set<IPersonAttributes> await(final AttributeSource source, final Future<Set<IPersonAttributes>> future,
+                                                final long started) {
+        val remaining = source.getTimeout().toNanos() - (System.nanoTime() - started);
+        try {
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            source.getTimeouts().increment();
+            return handleFailure(source, "did not respond within " + source.getTimeout(), null);
+        } catch (final ExecutionException e) {
+            return handleFailure(source, "failed", e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return handleFailure(source, "was interrupted", e);
+        }
+    }
+
+    private static Set<IPersonAttributes> handleFailure(final AttributeSource source, final String reason, final Throwable cause) {
+        val message = "Attribute repository source [" + source.getName() + "] " + reason;
+        if (!source.isFailOpen()) {
+            throw new IllegalStateException(message, cause);
+        }
+        LOGGER.warn("[{}]; its attributes are skipped", message);
+        if (cause != null) {
+            LOGGER.debug(cause.getMessage(), cause);
+        }
+        return null;
+    }
+
+    /**
+     * An attribute repository source along with its deadline, failure policy and latency statistics.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static class AttributeSource {
+        private final String name;
+
+        private final IPersonAttributeDao dao;
+
+        private final Duration timeout;
+
+        private final boolean failOpen;
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        private final LongAdder totalLatency = new LongAdder();
+
+        private final LongAccumulator maximumLatency = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Gets the average time, in milliseconds, this source took to answer queries.
+         *
+         * @return the average latency
+         */
+        public double getAverageLatency() {
+            val count = this.requests.sum();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(this.totalLatency.sum()) / 1000D / count;
+        }
+
+        private Set<IPersonAttributes> query(final Function<IPersonAttributeDao, Set<IPersonAttributes>> function) {
+            val started = System.nanoTime();
+            try {
+                return function.apply(this.dao);
+            } catch (final RuntimeException e) {
+                this.failures.increment();
+                throw e;
+            } finally {
+                val latency = System.nanoTime() - started;
+                this.requests.increment();
+                this.totalLatency.add(latency);
+                this.maximumLatency.accumulate(latency);
+                LOGGER.trace("Attribute repository source [{}] answered in [{}] ms", this.name, TimeUnit.NANOSECONDS.toMillis(latency));
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.platform.suite.api.SelectClasses;
     JdbcSingleRowAttributeRepositoryTests.class,
     RestfulPersonAttributeDaoTests.class,
     CachingAttributeRepositoryTests.class,
+    ParallelMergingPersonAttributeDaoTests.class,
     JdbcSingleRowAttributeRepositoryPostgresTests.class
 })
 public class AllTestsSuite {
@@ -0,0 +1,136 @@
+package org.apereo.cas;
+
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+import org.apereo.cas.util.CollectionUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.CaseInsensitiveNamedPersonImpl;
+import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class ParallelMergingPersonAttributeDaoTests {
+
+    private static IPersonAttributeDao getAttributeRepository(final String name, final Object value) {
+        val dao = mock(IPersonAttributeDao.class);
+        when(dao.getPerson(anyString())).thenAnswer(invocation -> person(invocation.getArgument(0), name, value));
+        return dao;
+    }
+
+    private static IPersonAttributeDao getSlowAttributeRepository(final CountDownLatch release) {
+        val dao = mock(IPersonAttributeDao.class);
+        when(dao.getPerson(anyString())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return person(invocation.getArgument(0), "slow", "value");
+        });
+        return dao;
+    }
+
+    private static IPersonAttributes person(final String uid, final String name, final Object value) {
+        return new CaseInsensitiveNamedPersonImpl(uid, (Map) CollectionUtils.wrap(name, CollectionUtils.wrapList(value)));
+    }
+
+    @Test
+    public void verifyResultsAreMergedInOrder() {
+        val sources = CollectionUtils.wrapList(
+            new ParallelMergingPersonAttributeDao.AttributeSource("stub-0",
+                getAttributeRepository("role", "first"), Duration.ofSeconds(5), true),
+            new ParallelMergingPersonAttributeDao.AttributeSource("stub-1",
+                getAttributeRepository("role", "second"), Duration.ofSeconds(5), true));
+        val dao = new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 2);
+        val person = dao.getPerson("casuser");
+        assertEquals("casuser", person.getName());
+        assertEquals(List.of("first", "second"), person.getAttributeValues("role"));
+        sources.forEach(source -> {
+            assertEquals(1, source.getRequests().sum());
+            assertEquals(0, source.getTimeouts().sum());
+        });
+        dao.destroy();
+    }
+
+    @Test
+    public void verifySlowSourceIsSkippedWhenFailOpen() {
+        val release = new CountDownLatch(1);
+        val slow = new ParallelMergingPersonAttributeDao.AttributeSource("rest-0",
+            getSlowAttributeRepository(release), Duration.ofMillis(200), true);
+        val sources = CollectionUtils.wrapList(slow,
+            new ParallelMergingPersonAttributeDao.AttributeSource("stub-0",
+                getAttributeRepository("role", "fast"), Duration.ofSeconds(5), true));
+        val dao = new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 2);
+        val started = System.nanoTime();
+        val person = dao.getPerson("casuser");
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started) < 5);
+        assertEquals(List.of("fast"), person.getAttributeValues("role"));
+        assertNull(person.getAttributeValues("slow"));
+        assertEquals(1, slow.getTimeouts().sum());
+        release.countDown();
+        dao.destroy();
+    }
+
+    @Test
+    public void verifySlowSourceFailsWhenFailClosed() {
+        val release = new CountDownLatch(1);
+        val sources = CollectionUtils.wrapList(
+            new ParallelMergingPersonAttributeDao.AttributeSource("rest-0",
+                getSlowAttributeRepository(release), Duration.ofMillis(200), false),
+            new ParallelMergingPersonAttributeDao.AttributeSource("stub-0",
+                getAttributeRepository("role", "fast"), Duration.ofSeconds(5), true));
+        val dao = new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 2);
+        assertThrows(IllegalStateException.class, () -> dao.getPerson("casuser"));
+        release.countDown();
+        dao.destroy();
+    }
+
+    @Test
+    public void verifyFailingSource() {
+        val failing = mock(IPersonAttributeDao.class);
+        when(failing.getPerson(anyString())).thenThrow(new IllegalArgumentException("failed"));
+        val source = new ParallelMergingPersonAttributeDao.AttributeSource("jdbc-0", failing, Duration.ofSeconds(5), true);
+        val sources = CollectionUtils.wrapList(source,
+            new ParallelMergingPersonAttributeDao.AttributeSource("stub-0",
+                getAttributeRepository("role", "fast"), Duration.ofSeconds(5), true));
+        val dao = new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 1);
+        assertEquals(List.of("fast"), dao.getPerson("casuser").getAttributeValues("role"));
+        assertEquals(1, source.getFailures().sum());
+        dao.destroy();
+    }
+
+    @Test
+    public void verifySourceStatisticsAreBoundToMeters() {
+        val failing = mock(IPersonAttributeDao.class);
+        when(failing.getPerson(anyString())).thenThrow(new IllegalArgumentException("failed"));
+        val sources = CollectionUtils.wrapList(
+            new ParallelMergingPersonAttributeDao.AttributeSource("jdbc-0", failing, Duration.ofSeconds(5), true),
+            new ParallelMergingPersonAttributeDao.AttributeSource("stub-0",
+                getAttributeRepository("role", "fast"), Duration.ofSeconds(5), true));
+        val dao = new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 2);
+        val registry = new SimpleMeterRegistry();
+        dao.bindTo(registry);
+        dao.getPerson("casuser");
+        dao.getPerson("casuser");
+
+        assertEquals(2, registry.get("cas.attribute.repository.source.latency").tag("source", "stub-0").functionTimer().count(), 0);
+        assertEquals(2, registry.get("cas.attribute.repository.source.failures").tag("source", "jdbc-0").functionCounter().count(), 0);
+        assertEquals(0, registry.get("cas.attribute.repository.source.timeouts").tag("source", "jdbc-0").functionCounter().count(), 0);
+        assertNotNull(registry.find("cas.attribute.repository.source.latency.max").tag("source", "jdbc-0").gauge());
+        dao.destroy();
+    }
+}
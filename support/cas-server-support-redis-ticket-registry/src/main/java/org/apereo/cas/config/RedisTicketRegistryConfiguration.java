@@ -8,13 +8,16 @@ import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * This is {@link RedisTicketRegistryConfiguration}.
@@ -29,6 +32,10 @@ public class RedisTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("redisTicketMessageListenerContainer")
+    private ObjectProvider<RedisMessageListenerContainer> redisTicketMessageListenerContainer;
+
     @ConditionalOnMissingBean(name = "redisTicketConnectionFactory")
     @Bean
     public RedisConnectionFactory redisTicketConnectionFactory() {
@@ -42,11 +49,22 @@ public class RedisTicketRegistryConfiguration {
         return RedisObjectFactory.newRedisTemplate(redisTicketConnectionFactory());
     }
 
+    @ConditionalOnMissingBean(name = "redisTicketMessageListenerContainer")
+    @Bean
+    public RedisMessageListenerContainer redisTicketMessageListenerContainer() {
+        val container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTicketConnectionFactory());
+        return container;
+    }
+
     @Bean
     public TicketRegistry ticketRegistry() {
         val redis = casProperties.getTicket().getRegistry().getRedis();
         val r = new RedisTicketRegistry(ticketRedisTemplate());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
+        r.setScanBatchSize(redis.getScanBatchSize());
+        r.setMessageListenerContainer(redisTicketMessageListenerContainer.getIfAvailable());
+        r.setKeyspaceNotifications(redis.isKeyspaceNotifications());
         return r;
     }
 }
@@ -1,19 +1,39 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.DigestUtils;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -29,10 +49,49 @@ import java.util.stream.StreamSupport;
 @RequiredArgsConstructor
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
-    private static final long SCAN_COUNT = 100L;
+    private static final String CAS_PRINCIPAL_PREFIX = "CAS_PRINCIPAL:";
+    private static final String CAS_TICKET_COUNTER_PREFIX = "CAS_TICKET_COUNTER:";
+    private static final String SESSIONS_COUNTER_KEY = CAS_TICKET_COUNTER_PREFIX + "sessions";
+    private static final String SERVICE_TICKETS_COUNTER_KEY = CAS_TICKET_COUNTER_PREFIX + "serviceTickets";
+    private static final String CAS_TICKET_EXPIRATION_KEY = "CAS_TICKET_EXPIRATION";
+    private static final String CAS_TICKET_EXPIRES_PREFIX = "CAS_TICKET_EXPIRES:";
+    private static final String KEYSPACE_NOTIFICATIONS_CONFIG = "notify-keyspace-events";
+    private static final String KEYEVENT_EXPIRED_TOPIC = "__keyevent@*__:expired";
+    private static final String CAS_TICKET_CHANGES_CHANNEL = "CAS_TICKET_CHANGES";
+    private static final int SCAN_COUNT = 100;
+
+    /**
+     * Ticket-granting tickets are kept around past their expiration for this many seconds,
+     * so they can still be loaded and cleaned once they are found to be expired.
+     */
+    private static final long EXPIRATION_GRACE_PERIOD = 300;
 
     private final RedisTemplate<String, Ticket> client;
 
+    /**
+     * Number of keys requested per SCAN page, and fetched per MGET when streaming tickets.
+     */
+    @Setter
+    private int scanBatchSize = SCAN_COUNT;
+
+    /**
+     * Container used to subscribe to keyspace notifications and ticket changes, if any.
+     */
+    @Setter
+    private RedisMessageListenerContainer messageListenerContainer;
+
+    /**
+     * Whether expired ticket-granting tickets should be reported via keyspace notifications.
+     */
+    @Setter
+    private boolean keyspaceNotifications;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Consumer<Ticket> expirationListener;
+
+    private volatile Consumer<String> changeListener;
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -55,6 +114,38 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + '*';
     }
 
+    private static String getPrincipalRedisKey(final String principal) {
+        return CAS_PRINCIPAL_PREFIX + principal;
+    }
+
+    private static String getExpirationRedisKey(final String ticketId) {
+        return CAS_TICKET_EXPIRES_PREFIX + ticketId;
+    }
+
+    private static long getStorageTimeout(final Ticket ticket, final long timeout) {
+        if (ticket instanceof TicketGrantingTicket) {
+            return timeout + EXPIRATION_GRACE_PERIOD;
+        }
+        return timeout;
+    }
+
+    /**
+     * Gets the key of the sorted set that tracks tickets of the given type,
+     * scored by their expiration time, so they may be counted without a scan.
+     *
+     * @param ticket the ticket
+     * @return the counter key, if the ticket type is tracked
+     */
+    private static Optional<String> getCounterRedisKey(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            return Optional.of(SESSIONS_COUNTER_KEY);
+        }
+        if (ticket instanceof ServiceTicket) {
+            return Optional.of(SERVICE_TICKETS_COUNTER_KEY);
+        }
+        return Optional.empty();
+    }
+
     @Override
     public long deleteAll() {
         val redisKeys = this.client.keys(getPatternTicketRedisKey());
@@ -64,6 +155,15 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         }
         val size = redisKeys.size();
         this.client.delete(redisKeys);
+        val principalKeys = this.client.keys(CAS_PRINCIPAL_PREFIX + '*');
+        if (principalKeys != null) {
+            this.client.delete(principalKeys);
+        }
+        val expirationKeys = this.client.keys(CAS_TICKET_EXPIRES_PREFIX + '*');
+        if (expirationKeys != null) {
+            this.client.delete(expirationKeys);
+        }
+        this.client.delete(List.of(SESSIONS_COUNTER_KEY, SERVICE_TICKETS_COUNTER_KEY, CAS_TICKET_EXPIRATION_KEY));
         return size;
     }
 
@@ -72,6 +172,8 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         try {
             val redisKey = getTicketRedisKey(ticketId);
             this.client.delete(redisKey);
+            untrackTicket(ticketId);
+            publishTicketChange(ticketId);
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -83,15 +185,42 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            val redisKey = getTicketRedisKey(ticket.getId());
-            val encodeTicket = encodeTicket(ticket);
-            val timeout = getTimeout(ticket);
-            this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            storeTicket(ticket);
+            getSessionPrincipalId(ticket).ifPresent(principalId -> addSessionToIndex(principalId, ticket.getId(), getTimeout(ticket)));
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket, e);
         }
     }
 
+    /**
+     * Gets sessions for the principal via the principal's set of ticket-granting ticket ids.
+     * Entries whose tickets are no longer found are removed from the set as they are encountered,
+     * since tickets that expire in Redis do not update the index.
+     *
+     * @param principalId the principal id
+     * @return the sessions
+     */
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val principalKey = serialize(getPrincipalRedisKey(digestPrincipalId(principalId)));
+        val members = this.client.execute((RedisCallback<Set<byte[]>>) connection -> connection.sMembers(principalKey));
+        if (members == null || members.isEmpty()) {
+            return Stream.empty();
+        }
+        return new ArrayList<>(members)
+            .stream()
+            .map(member -> {
+                val ticketId = deserialize(member);
+                val ticket = getTicket(ticketId, Objects::nonNull);
+                if (ticket == null) {
+                    LOGGER.trace("Removing ticket [{}] from principal sessions as it can no longer be found", ticketId);
+                    this.client.execute((RedisCallback<Long>) connection -> connection.sRem(principalKey, member));
+                }
+                return ticket;
+            })
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
@@ -119,33 +248,194 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * Stream tickets as SCAN pages arrive. Keys are fetched in batches via MGET,
+     * so the full key set is never materialized and each batch costs a single round-trip.
+     * Note that SCAN may return a key more than once if the keyspace is rehashed while iterating.
+     *
+     * @return the tickets stream
+     */
     @Override
     public Stream<? extends Ticket> getTicketsStream() {
-        return getKeysStream()
-            .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
-                }
-                return ticket;
+        val cursor = scanTicketKeys();
+        val batches = new KeyBatchIterator(cursor, this.scanBatchSize);
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .map(batch -> batch.stream().map(key -> (String) client.getKeySerializer().deserialize(key)).collect(Collectors.toList()))
+            .flatMap(keys -> {
+                val tickets = this.client.opsForValue().multiGet(keys);
+                return tickets == null ? Stream.<Ticket>empty() : tickets.stream();
             })
             .filter(Objects::nonNull)
-            .map(this::decodeTicket);
+            .map(this::decodeTicket)
+            .onClose(() -> {
+                try {
+                    cursor.close();
+                } catch (final IOException e) {
+                    LOGGER.error("Could not close Redis connection", e);
+                }
+            });
+    }
+
+    /**
+     * Gets expired ticket-granting tickets, looked up via the expiration index
+     * that is maintained when keyspace notifications are not used.
+     * Indexed tickets that are due but not yet expired are moved forward in the index.
+     *
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        val key = serialize(CAS_TICKET_EXPIRATION_KEY);
+        val now = System.currentTimeMillis();
+        val due = this.client.execute((RedisCallback<Set<byte[]>>) connection -> connection.zRangeByScore(key, Double.NEGATIVE_INFINITY, now));
+        if (due == null || due.isEmpty()) {
+            return Stream.empty();
+        }
+        val batches = new KeyBatchIterator(due.iterator(), this.scanBatchSize);
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .flatMap(batch -> {
+                val ticketIds = batch.stream().map(this::deserialize).collect(Collectors.toList());
+                val tickets = this.client.opsForValue().multiGet(ticketIds.stream()
+                    .map(RedisTicketRegistry::getTicketRedisKey)
+                    .collect(Collectors.toList()));
+                val expired = new ArrayList<Ticket>(ticketIds.size());
+                for (var i = 0; i < ticketIds.size(); i++) {
+                    val found = tickets == null ? null : tickets.get(i);
+                    if (found == null) {
+                        untrackTicket(ticketIds.get(i));
+                    } else {
+                        val ticket = decodeTicket(found);
+                        if (ticket.isExpired()) {
+                            expired.add(ticket);
+                        } else {
+                            trackExpiration(ticket);
+                        }
+                    }
+                }
+                return expired.stream();
+            });
+    }
+
+    /**
+     * Subscribe to keyspace notifications to learn about expired ticket-granting tickets.
+     * Redis is asked to publish expiration events, if it does not already do so.
+     *
+     * @param listener the listener
+     * @return true if a message listener container is available
+     */
+    @Override
+    public boolean registerExpirationListener(final Consumer<Ticket> listener) {
+        if (this.messageListenerContainer == null || !this.keyspaceNotifications) {
+            return false;
+        }
+        enableKeyspaceNotifications();
+        this.expirationListener = listener;
+        this.messageListenerContainer.addMessageListener((message, pattern) -> onKeyExpired(deserialize(message.getBody())),
+            new PatternTopic(KEYEVENT_EXPIRED_TOPIC));
+        return true;
+    }
+
+    /**
+     * Subscribe to changes published by other CAS nodes when tickets are updated or deleted.
+     * Once registered, this node publishes its own changes as well.
+     *
+     * @param listener the listener
+     * @return true if a message listener container is available
+     */
+    @Override
+    public boolean registerTicketChangeListener(final Consumer<String> listener) {
+        if (this.messageListenerContainer == null) {
+            return false;
+        }
+        this.changeListener = listener;
+        this.messageListenerContainer.addMessageListener((message, pattern) -> {
+            val change = deserialize(message.getBody());
+            val origin = StringUtils.substringBefore(change, ":");
+            if (!this.nodeId.equals(origin)) {
+                listener.accept(StringUtils.substringAfter(change, ":"));
+            }
+        }, new ChannelTopic(CAS_TICKET_CHANGES_CHANNEL));
+        return true;
+    }
+
+    /**
+     * Handle an expired key, as reported by keyspace notifications. The ticket-granting ticket linked to an
+     * expired marker is still available during its grace period; if it is found to be expired, the first node
+     * that manages to remove the ticket reports it to the expiration listener.
+     *
+     * @param key the expired key
+     */
+    protected void onKeyExpired(final String key) {
+        if (this.expirationListener == null || !StringUtils.startsWith(key, CAS_TICKET_EXPIRES_PREFIX)) {
+            return;
+        }
+        val ticketId = StringUtils.removeStart(key, CAS_TICKET_EXPIRES_PREFIX);
+        val redisKey = getTicketRedisKey(ticketId);
+        val found = this.client.boundValueOps(redisKey).get();
+        if (found == null) {
+            untrackTicket(ticketId);
+            return;
+        }
+        val ticket = decodeTicket(found);
+        if (!ticket.isExpired()) {
+            trackExpiration(ticket);
+            return;
+        }
+        if (Boolean.TRUE.equals(this.client.delete(redisKey))) {
+            LOGGER.debug("Ticket [{}] has expired", ticketId);
+            this.expirationListener.accept(ticket);
+        }
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTrackedTickets(SESSIONS_COUNTER_KEY);
+    }
 
+    @Override
+    public long serviceTicketCount() {
+        return countTrackedTickets(SERVICE_TICKETS_COUNTER_KEY);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ticket-granting and service tickets are counted from the sorted sets that track them in Redis,
+     * so the statistics cover all CAS nodes. Tickets are counted as expired once their tracked expiration
+     * time has passed, until their keys expire in Redis or the sorted sets are trimmed.
+     */
+    @Override
+    public TicketRegistryStatistics getStatistics() {
+        val statistics = new TicketRegistryStatistics();
+        addTrackedTicketStatistics(statistics, TicketGrantingTicket.PREFIX, SESSIONS_COUNTER_KEY);
+        addTrackedTicketStatistics(statistics, ServiceTicket.PREFIX, SERVICE_TICKETS_COUNTER_KEY);
+        return statistics;
+    }
+
+    private void addTrackedTicketStatistics(final TicketRegistryStatistics statistics, final String prefix, final String counterKey) {
+        try {
+            val key = serialize(counterKey);
+            val counts = this.client.execute((RedisCallback<long[]>) connection -> {
+                val expired = connection.zCount(key, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+                val total = connection.zCard(key);
+                return new long[]{expired == null ? 0 : expired, total == null ? 0 : total};
+            });
+            statistics.addActive(prefix, counts[1] - counts[0]).addExpired(prefix, counts[0]);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to count tickets tracked by [{}]", counterKey, e);
+            statistics.addActive(prefix, TicketRegistryStatistics.UNKNOWN).addExpired(prefix, TicketRegistryStatistics.UNKNOWN);
+        }
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Updating ticket [{}]", ticket);
-            val encodeTicket = this.encodeTicket(ticket);
-            val redisKey = getTicketRedisKey(ticket.getId());
-            LOGGER.debug("Fetched redis key [{}] for ticket [{}]", redisKey, ticket);
-
-            val timeout = getTimeout(ticket);
-            this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
-            return encodeTicket;
+            val encodedTicket = storeTicket(ticket);
+            publishTicketChange(ticket.getId());
+            return encodedTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket, e);
         }
@@ -153,26 +443,199 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     }
 
     /**
-     * Get a stream of all CAS-related keys from Redis DB.
+     * Write all added and updated tickets in the batch through a single pipeline,
+     * so the batch costs one round-trip. Deletions are applied beforehand,
+     * and principal sessions of added tickets are indexed afterwards, since
+     * the index needs to inspect its current state.
      *
-     * @return stream of all CAS-related keys from Redis DB
+     * @param batch the batch
      */
-    private Stream<String> getKeysStream() {
-        val cursor = client.getConnectionFactory().getConnection()
-                .scan(ScanOptions.scanOptions().match(getPatternTicketRedisKey())
-                .count(SCAN_COUNT)
-                .build());
-        return StreamSupport
-            .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
-            .map(key -> (String) client.getKeySerializer().deserialize(key))
-            .collect(Collectors.toSet())
-            .stream()
-            .onClose(() -> {
-                try {
-                    cursor.close();
-                } catch (final IOException e) {
-                    LOGGER.error("Could not close Redis connection", e);
+    @Override
+    public void commit(final TicketRegistryBatch batch) {
+        batch.getTicketsToDelete().forEach(this::deleteTicket);
+        val tickets = new ArrayList<Ticket>(batch.getTicketsToUpdate());
+        tickets.addAll(batch.getTicketsToAdd());
+        if (tickets.isEmpty()) {
+            return;
+        }
+        try {
+            LOGGER.debug("Writing [{}] ticket(s) via a pipeline", tickets.size());
+            this.client.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                    tickets.forEach(RedisTicketRegistry.this::storeTicket);
+                    batch.getTicketsToUpdate().forEach(ticket -> publishTicketChange(ticket.getId()));
+                    return null;
+                }
+            });
+            batch.getTicketsToAdd().forEach(ticket -> getSessionPrincipalId(ticket)
+                .ifPresent(principalId -> addSessionToIndex(principalId, ticket.getId(), getTimeout(ticket))));
+        } catch (final Exception e) {
+            LOGGER.error("Failed to write tickets [{}]", tickets, e);
+        }
+    }
+
+    private void publishTicketChange(final String ticketId) {
+        if (this.changeListener != null) {
+            val channel = serialize(CAS_TICKET_CHANGES_CHANNEL);
+            val message = serialize(this.nodeId + ':' + DigestUtils.sha512(ticketId));
+            this.client.execute((RedisCallback<Long>) connection -> connection.publish(channel, message));
+        }
+    }
+
+    private Ticket storeTicket(final Ticket ticket) {
+        val redisKey = getTicketRedisKey(ticket.getId());
+        val encodeTicket = encodeTicket(ticket);
+        val timeout = getTimeout(ticket);
+        this.client.boundValueOps(redisKey).set(encodeTicket, getStorageTimeout(ticket, timeout), TimeUnit.SECONDS);
+        trackTicket(ticket, timeout);
+        trackExpiration(ticket);
+        return encodeTicket;
+    }
+
+    private void addSessionToIndex(final String principalId, final String ticketId, final long timeout) {
+        val principalKey = serialize(getPrincipalRedisKey(digestPrincipalId(principalId)));
+        val member = serialize(ticketId);
+        this.client.execute((RedisCallback<Boolean>) connection -> {
+            connection.sAdd(principalKey, member);
+            val ttl = connection.ttl(principalKey);
+            if (ttl == null || ttl < timeout) {
+                connection.expire(principalKey, timeout);
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private byte[] serialize(final String value) {
+        return this.client.getStringSerializer().serialize(value);
+    }
+
+    private String deserialize(final byte[] value) {
+        return this.client.getStringSerializer().deserialize(value);
+    }
+
+    /**
+     * Keep track of when the ticket-granting ticket should expire, either via a marker key
+     * that expires along with the ticket when keyspace notifications are used, or via an
+     * index sorted by expiration time otherwise.
+     *
+     * @param ticket the ticket
+     */
+    private void trackExpiration(final Ticket ticket) {
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            return;
+        }
+        val now = System.currentTimeMillis();
+        var expirationTime = getExpirationTime(ticket);
+        if (expirationTime <= now && !ticket.isExpired()) {
+            expirationTime = now + TimeUnit.SECONDS.toMillis(getTimeout(ticket));
+        }
+        val expiresAt = expirationTime;
+        val member = serialize(ticket.getId());
+        if (this.expirationListener != null) {
+            val expiresIn = Math.max(1, expiresAt - now);
+            val key = serialize(getExpirationRedisKey(ticket.getId()));
+            this.client.execute((RedisCallback<Boolean>) connection -> connection.pSetEx(key, expiresIn, new byte[0]));
+        } else {
+            val key = serialize(CAS_TICKET_EXPIRATION_KEY);
+            this.client.execute((RedisCallback<Boolean>) connection -> connection.zAdd(key, expiresAt, member));
+        }
+    }
+
+    private void enableKeyspaceNotifications() {
+        try {
+            this.client.execute((RedisCallback<Boolean>) connection -> {
+                val config = connection.getConfig(KEYSPACE_NOTIFICATIONS_CONFIG);
+                if (config == null || StringUtils.isBlank(config.getProperty(KEYSPACE_NOTIFICATIONS_CONFIG))) {
+                    connection.setConfig(KEYSPACE_NOTIFICATIONS_CONFIG, "Ex");
                 }
+                return Boolean.TRUE;
             });
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to enable keyspace notifications; Redis must be configured to publish expiration events via [{}]: [{}]",
+                KEYSPACE_NOTIFICATIONS_CONFIG, e.getMessage());
+        }
+    }
+
+    private void trackTicket(final Ticket ticket, final long timeout) {
+        getCounterRedisKey(ticket).ifPresent(counterKey -> {
+            val key = serialize(counterKey);
+            val member = serialize(ticket.getId());
+            val expiresAt = System.currentTimeMillis() + (double) TimeUnit.SECONDS.toMillis(timeout);
+            this.client.execute((RedisCallback<Boolean>) connection -> connection.zAdd(key, expiresAt, member));
+        });
+    }
+
+    private void untrackTicket(final String ticketId) {
+        val member = serialize(ticketId);
+        this.client.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zRem(serialize(SESSIONS_COUNTER_KEY), member);
+            connection.zRem(serialize(SERVICE_TICKETS_COUNTER_KEY), member);
+            connection.zRem(serialize(CAS_TICKET_EXPIRATION_KEY), member);
+            connection.del(serialize(getExpirationRedisKey(ticketId)));
+            return null;
+        });
+    }
+
+    /**
+     * Count tickets tracked in the given sorted set, after removing
+     * entries whose tickets have already expired in Redis.
+     *
+     * @param counterKey the counter key
+     * @return the count
+     */
+    private long countTrackedTickets(final String counterKey) {
+        try {
+            val key = serialize(counterKey);
+            val count = this.client.execute((RedisCallback<Long>) connection -> {
+                connection.zRemRangeByScore(key, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+                return connection.zCard(key);
+            });
+            return count == null ? 0 : count;
+        } catch (final Exception e) {
+            LOGGER.error("Failed to count tickets tracked by [{}]", counterKey, e);
+            return TicketRegistryStatistics.UNKNOWN;
+        }
+    }
+
+    /**
+     * Scan all CAS ticket keys from Redis DB, using a dedicated connection
+     * that is released when the cursor is closed.
+     *
+     * @return cursor over all CAS ticket keys
+     */
+    private Cursor<byte[]> scanTicketKeys() {
+        val options = ScanOptions.scanOptions()
+            .match(getPatternTicketRedisKey())
+            .count(this.scanBatchSize)
+            .build();
+        return this.client.executeWithStickyConnection(connection -> connection.scan(options));
+    }
+
+    /**
+     * Groups keys produced by a cursor into batches of a fixed size.
+     */
+    @RequiredArgsConstructor
+    private static class KeyBatchIterator implements Iterator<List<byte[]>> {
+        private final Iterator<byte[]> keys;
+
+        private final int batchSize;
+
+        @Override
+        public boolean hasNext() {
+            return keys.hasNext();
+        }
+
+        @Override
+        public List<byte[]> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            val batch = new ArrayList<byte[]>(batchSize);
+            while (keys.hasNext() && batch.size() < batchSize) {
+                batch.add(keys.next());
+            }
+            return batch;
+        }
     }
 }
@@ -1,13 +1,20 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -16,9 +23,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import redis.embedded.RedisServer;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Unit test for {@link RedisTicketRegistry}.
  *
@@ -64,4 +77,49 @@ public class RedisEmbeddedTicketRegistryTests extends BaseTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @RepeatedTest(1)
+    public void verifyTicketCountsAndBatchedStream() {
+        val registry = (RedisTicketRegistry) AopTestUtils.getTargetObject(this.ticketRegistry);
+        registry.deleteAll();
+        registry.setScanBatchSize(3);
+        for (var i = 0; i < 10; i++) {
+            val tgt = new TicketGrantingTicketImpl("TGT-COUNT-" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+            registry.addTicket(tgt);
+            val st = tgt.grantServiceTicket("ST-COUNT-" + i, RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+            registry.addTicket(st);
+            registry.updateTicket(tgt);
+        }
+        assertEquals(10, registry.sessionCount());
+        assertEquals(10, registry.serviceTicketCount());
+        try (val tickets = registry.getTicketsStream()) {
+            assertEquals(20, tickets.map(Ticket::getId).collect(Collectors.toSet()).size());
+        }
+        registry.deleteSingleTicket("ST-COUNT-0");
+        registry.deleteSingleTicket("TGT-COUNT-0");
+        assertEquals(9, registry.sessionCount());
+        assertEquals(9, registry.serviceTicketCount());
+        registry.deleteAll();
+        assertEquals(0, registry.sessionCount());
+        registry.setScanBatchSize(100);
+    }
+
+    @RepeatedTest(1)
+    public void verifyExpiredTicketsFromIndex() {
+        val registry = (RedisTicketRegistry) AopTestUtils.getTargetObject(this.ticketRegistry);
+        registry.deleteAll();
+        val expired = new TicketGrantingTicketImpl("TGT-EXPIRED", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        expired.markTicketExpired();
+        registry.addTicket(expired);
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-ACTIVE", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        try (val tickets = registry.getExpiredTicketsStream()) {
+            assertEquals(List.of("TGT-EXPIRED"), tickets.map(Ticket::getId).collect(Collectors.toList()));
+        }
+        registry.deleteSingleTicket("TGT-EXPIRED");
+        try (val tickets = registry.getExpiredTicketsStream()) {
+            assertEquals(0, tickets.count());
+        }
+    }
 }
@@ -4,6 +4,7 @@ import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.web.BaseCasActuatorEndpoint;
@@ -12,6 +13,7 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
@@ -24,6 +26,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * SSO Report web controller that produces JSON data for the view.
@@ -43,10 +46,40 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
     private static final String TICKET_GRANTING_TICKET = "ticketGrantingTicket";
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final TicketRegistry ticketRegistry;
+
     public SingleSignOnSessionsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+                                        final TicketRegistry ticketRegistry,
                                         final CasConfigurationProperties casProperties) {
         super(casProperties);
         this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
+    }
+
+    private static Map<String, Object> getSsoSessionAttributes(final TicketGrantingTicket tgt,
+                                                               final SsoSessionReportOptions option,
+                                                               final ISOStandardDateFormat dateFormat) {
+        val authentication = tgt.getAuthentication();
+        val principal = authentication.getPrincipal();
+        val sso = new HashMap<String, Object>(SsoSessionAttributeKeys.values().length);
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATED_PRINCIPAL.toString(), principal.getId());
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE.toString(), authentication.getAuthenticationDate());
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE_FORMATTED.toString(),
+            dateFormat.format(DateTimeUtils.dateOf(authentication.getAuthenticationDate())));
+        sso.put(SsoSessionAttributeKeys.NUMBER_OF_USES.toString(), tgt.getCountOfUses());
+        sso.put(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString(), tgt.getId());
+        sso.put(SsoSessionAttributeKeys.PRINCIPAL_ATTRIBUTES.toString(), principal.getAttributes());
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATION_ATTRIBUTES.toString(), authentication.getAttributes());
+        if (option != SsoSessionReportOptions.DIRECT) {
+            if (tgt.getProxiedBy() != null) {
+                sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.TRUE);
+                sso.put(SsoSessionAttributeKeys.PROXIED_BY.toString(), tgt.getProxiedBy().getId());
+            } else {
+                sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.FALSE);
+            }
+        }
+        sso.put(SsoSessionAttributeKeys.AUTHENTICATED_SERVICES.toString(), tgt.getServices());
+        return sso;
     }
 
     /**
@@ -60,29 +93,7 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
         val dateFormat = new ISOStandardDateFormat();
         getNonExpiredTicketGrantingTickets().stream().map(TicketGrantingTicket.class::cast)
             .filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
-            .forEach(tgt -> {
-                val authentication = tgt.getAuthentication();
-                val principal = authentication.getPrincipal();
-                val sso = new HashMap<String, Object>(SsoSessionAttributeKeys.values().length);
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATED_PRINCIPAL.toString(), principal.getId());
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE.toString(), authentication.getAuthenticationDate());
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATION_DATE_FORMATTED.toString(),
-                    dateFormat.format(DateTimeUtils.dateOf(authentication.getAuthenticationDate())));
-                sso.put(SsoSessionAttributeKeys.NUMBER_OF_USES.toString(), tgt.getCountOfUses());
-                sso.put(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString(), tgt.getId());
-                sso.put(SsoSessionAttributeKeys.PRINCIPAL_ATTRIBUTES.toString(), principal.getAttributes());
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATION_ATTRIBUTES.toString(), authentication.getAttributes());
-                if (option != SsoSessionReportOptions.DIRECT) {
-                    if (tgt.getProxiedBy() != null) {
-                        sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.TRUE);
-                        sso.put(SsoSessionAttributeKeys.PROXIED_BY.toString(), tgt.getProxiedBy().getId());
-                    } else {
-                        sso.put(SsoSessionAttributeKeys.IS_PROXIED.toString(), Boolean.FALSE);
-                    }
-                }
-                sso.put(SsoSessionAttributeKeys.AUTHENTICATED_SERVICES.toString(), tgt.getServices());
-                activeSessions.add(sso);
-            });
+            .forEach(tgt -> activeSessions.add(getSsoSessionAttributes(tgt, option, dateFormat)));
         return activeSessions;
     }
 
@@ -137,6 +148,42 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
         return sessionsMap;
     }
 
+    /**
+     * Endpoint for getting the SSO sessions that belong to the given principal,
+     * looked up via the ticket registry's principal index.
+     *
+     * @param user the principal id
+     * @return the sso sessions
+     */
+    @ReadOperation
+    public Map<String, Object> getSsoSessionsFor(@Selector final String user) {
+        val dateFormat = new ISOStandardDateFormat();
+        try (val sessions = this.ticketRegistry.getSessionsFor(user)) {
+            val activeSsoSessions = sessions
+                .map(TicketGrantingTicket.class::cast)
+                .map(tgt -> getSsoSessionAttributes(tgt, SsoSessionReportOptions.ALL, dateFormat))
+                .collect(Collectors.toList());
+            val sessionsMap = new HashMap<String, Object>(2);
+            sessionsMap.put("activeSsoSessions", activeSsoSessions);
+            sessionsMap.put("totalTicketGrantingTickets", activeSsoSessions.size());
+            return sessionsMap;
+        }
+    }
+
+    /**
+     * Endpoint for destroying all SSO sessions that belong to the given principal.
+     *
+     * @param user the principal id
+     * @return result map
+     */
+    @DeleteOperation
+    public Map<String, Object> destroySsoSessionsFor(@Selector final String user) {
+        try (val sessions = this.ticketRegistry.getSessionsFor(user)) {
+            val ticketGrantingTickets = sessions.map(Ticket::getId).collect(Collectors.toList());
+            return destroyTicketGrantingTickets(ticketGrantingTickets);
+        }
+    }
+
     /**
      * Endpoint for destroying a single SSO Session.
      *
@@ -169,21 +216,25 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
     @WriteOperation
     public Map<String, Object> destroySsoSessions(final String type) {
 
-        val sessionsMap = new HashMap<String, Object>();
-        val failedTickets = new HashMap<String, String>();
         val option = SsoSessionReportOptions.valueOf(type);
-        val collection = getActiveSsoSessions(option);
-        collection
+        val ticketGrantingTickets = getActiveSsoSessions(option)
             .stream()
             .map(sso -> sso.get(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString()).toString())
-            .forEach(ticketGrantingTicket -> {
-                try {
-                    this.centralAuthenticationService.destroyTicketGrantingTicket(ticketGrantingTicket);
-                } catch (final Exception e) {
-                    LOGGER.error(e.getMessage(), e);
-                    failedTickets.put(ticketGrantingTicket, e.getMessage());
-                }
-            });
+            .collect(Collectors.toList());
+        return destroyTicketGrantingTickets(ticketGrantingTickets);
+    }
+
+    private Map<String, Object> destroyTicketGrantingTickets(final Collection<String> ticketGrantingTickets) {
+        val sessionsMap = new HashMap<String, Object>();
+        val failedTickets = new HashMap<String, String>();
+        ticketGrantingTickets.forEach(ticketGrantingTicket -> {
+            try {
+                this.centralAuthenticationService.destroyTicketGrantingTicket(ticketGrantingTicket);
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
+                failedTickets.put(ticketGrantingTicket, e.getMessage());
+            }
+        });
         if (failedTickets.isEmpty()) {
             sessionsMap.put(STATUS, HttpServletResponse.SC_OK);
         } else {
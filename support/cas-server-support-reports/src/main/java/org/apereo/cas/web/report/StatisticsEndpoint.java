@@ -1,8 +1,10 @@
 package org.apereo.cas.web.report;
 
-import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryStatistics;
 import org.apereo.cas.web.BaseCasActuatorEndpoint;
 
 import lombok.val;
@@ -15,7 +17,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * @author Scott Battaglia
@@ -25,12 +27,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class StatisticsEndpoint extends BaseCasActuatorEndpoint {
     private final ZonedDateTime upTimeStartDate = ZonedDateTime.now(ZoneOffset.UTC);
 
-    private final CentralAuthenticationService centralAuthenticationService;
+    private final TicketRegistry ticketRegistry;
 
-    public StatisticsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+    public StatisticsEndpoint(final TicketRegistry ticketRegistry,
                               final CasConfigurationProperties casProperties) {
         super(casProperties);
-        this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
     }
 
     /**
@@ -50,35 +52,30 @@ public class StatisticsEndpoint extends BaseCasActuatorEndpoint {
         model.put("maxMemory", FileUtils.byteCountToDisplaySize(runtime.maxMemory()));
         model.put("freeMemory", FileUtils.byteCountToDisplaySize(runtime.freeMemory()));
 
-        val unexpiredTgts = new AtomicInteger();
-        val unexpiredSts = new AtomicInteger();
-        val expiredTgts = new AtomicInteger();
-        val expiredSts = new AtomicInteger();
+        val statistics = this.ticketRegistry.getStatistics();
+        putCount(model, "unexpiredTgts", statistics.getActiveCount(TicketGrantingTicket.PREFIX));
+        putCount(model, "unexpiredSts", statistics.getActiveCount(ServiceTicket.PREFIX));
+        putCount(model, "expiredTgts", statistics.getExpiredCount(TicketGrantingTicket.PREFIX));
+        putCount(model, "expiredSts", statistics.getExpiredCount(ServiceTicket.PREFIX));
+        model.put("unexpiredTickets", getKnownCounts(statistics.getActiveTickets()));
+        model.put("expiredTickets", getKnownCounts(statistics.getExpiredTickets()));
 
-        val tickets = this.centralAuthenticationService.getTickets(ticket -> true);
-        tickets.forEach(ticket -> {
-            if (ticket instanceof ServiceTicket) {
-                if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredSts.incrementAndGet();
-                } else {
-                    unexpiredSts.incrementAndGet();
-                }
-            } else {
-                if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredTgts.incrementAndGet();
-                } else {
-                    unexpiredTgts.incrementAndGet();
-                }
-            }
-        });
+        return model;
+    }
 
-        model.put("unexpiredTgts", unexpiredTgts);
-        model.put("unexpiredSts", unexpiredSts);
-        model.put("expiredTgts", expiredTgts);
-        model.put("expiredSts", expiredSts);
+    /**
+     * Counts that the ticket registry is unable to report are left out.
+     */
+    private static void putCount(final Map<String, Object> model, final String key, final long count) {
+        if (count != TicketRegistryStatistics.UNKNOWN) {
+            model.put(key, count);
+        }
+    }
 
-        return model;
+    private static Map<String, Long> getKnownCounts(final Map<String, Long> counts) {
+        return counts.entrySet()
+            .stream()
+            .filter(entry -> entry.getValue() != TicketRegistryStatistics.UNKNOWN)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 }
@@ -0,0 +1,42 @@
+package org.apereo.cas.web.report;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryStatistics;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link StatisticsEndpointTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class StatisticsEndpointTests {
+    @Test
+    public void verifyUnknownCountsAreOmitted() {
+        val statistics = new TicketRegistryStatistics()
+            .addActive(TicketGrantingTicket.PREFIX, 10)
+            .addExpired(TicketGrantingTicket.PREFIX, TicketRegistryStatistics.UNKNOWN)
+            .addActive(ServiceTicket.PREFIX, TicketRegistryStatistics.UNKNOWN)
+            .addExpired(ServiceTicket.PREFIX, 2);
+        val registry = mock(TicketRegistry.class);
+        when(registry.getStatistics()).thenReturn(statistics);
+
+        val model = new StatisticsEndpoint(registry, new CasConfigurationProperties()).handle();
+        assertEquals(10L, model.get("unexpiredTgts"));
+        assertEquals(2L, model.get("expiredSts"));
+        assertFalse(model.containsKey("expiredTgts"));
+        assertFalse(model.containsKey("unexpiredSts"));
+        assertEquals(Map.of(TicketGrantingTicket.PREFIX, 10L), model.get("unexpiredTickets"));
+        assertEquals(Map.of(ServiceTicket.PREFIX, 2L), model.get("expiredTickets"));
+    }
+}
@@ -0,0 +1,267 @@
+package org.apereo.cas.support.saml;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import net.shibboleth.utilities.java.support.component.AbstractIdentifiableInitializableComponent;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import net.shibboleth.utilities.java.support.resolver.ResolverException;
+import net.shibboleth.utilities.java.support.xml.DOMTypeSupport;
+import net.shibboleth.utilities.java.support.xml.ParserPool;
+import net.shibboleth.utilities.java.support.xml.SerializeSupport;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
+import org.opensaml.saml.saml2.common.CacheableSAMLObject;
+import org.opensaml.saml.saml2.common.TimeBoundSAMLObject;
+import org.opensaml.saml.saml2.metadata.EntitiesDescriptor;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+
+import javax.xml.XMLConstants;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link IndexedEntityMetadataResolver} that serves entity descriptors out of a metadata aggregate
+ * which is split, once, into per-entity documents that are stored back to back in a single file on local disk.
+ * The file is accompanied by an in-memory index of entity ids to the position of each document, and entity
+ * descriptors are only parsed and unmarshalled once they are requested, and are then kept in a bounded cache.
+ * <p>
+ * Splitting takes place after the aggregate is filtered and its signature is validated; the per-entity documents
+ * are produced by this resolver and are trusted as such. The {@code validUntil} and {@code cacheDuration} of enclosing
+ * {@link EntitiesDescriptor}s are carried over to each per-entity document, whenever they are more restrictive than
+ * those of the entity itself, so that an aggregate that expires is rejected when valid metadata is required.
+ * Only lookups by {@link EntityIdCriterion} are supported.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class IndexedEntityMetadataResolver extends AbstractIdentifiableInitializableComponent implements MetadataResolver {
+    private static final String FILENAME_EXTENSION = ".entities";
+
+    private final File dataFile;
+
+    private final Map<String, long[]> index;
+
+    private final ParserPool parserPool;
+
+    private final FileChannel channel;
+
+    private final LoadingCache<String, EntityDescriptor> entityDescriptors;
+
+    @Setter
+    private boolean requireValidMetadata = true;
+
+    /**
+     * Filters are expected to run against the aggregate before it is indexed;
+     * a filter that is set here is not applied again.
+     */
+    @Setter
+    private MetadataFilter metadataFilter;
+
+    public IndexedEntityMetadataResolver(final File dataFile, final Map<String, long[]> index,
+                                         final ParserPool parserPool, final long cacheSize) throws IOException {
+        this.dataFile = dataFile;
+        this.index = index;
+        this.parserPool = parserPool;
+        this.channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ);
+        this.entityDescriptors = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .recordStats()
+            .build(this::readEntityDescriptor);
+    }
+
+    /**
+     * Split the entity descriptors into a new data file in the given directory
+     * and build a resolver on top of it. Data files previously produced under the same name are removed.
+     *
+     * @param entities   the entity descriptors
+     * @param directory  the directory
+     * @param name       the name of the data file
+     * @param parserPool the parser pool
+     * @param cacheSize  the maximum number of unmarshalled entity descriptors to keep
+     * @return the resolver
+     * @throws Exception the exception
+     */
+    public static IndexedEntityMetadataResolver build(final Iterable<EntityDescriptor> entities, final File directory,
+                                                      final String name, final ParserPool parserPool,
+                                                      final long cacheSize) throws Exception {
+        Files.createDirectories(directory.toPath());
+        val dataFile = File.createTempFile(name + '-', FILENAME_EXTENSION, directory);
+        val index = new HashMap<String, long[]>();
+        try (val output = new BufferedOutputStream(Files.newOutputStream(dataFile.toPath()))) {
+            var offset = 0L;
+            for (val entity : entities) {
+                val entityId = entity.getEntityID();
+                if (StringUtils.isBlank(entityId) || index.containsKey(entityId)) {
+                    LOGGER.warn("Skipping entity descriptor with a blank or duplicate entity id [{}]", entityId);
+                    continue;
+                }
+                val document = new ByteArrayOutputStream();
+                SerializeSupport.writeNode(getStandaloneElement(entity), document);
+                document.writeTo(output);
+                index.put(entityId, new long[]{offset, document.size()});
+                offset += document.size();
+            }
+        } catch (final Exception e) {
+            Files.deleteIfExists(dataFile.toPath());
+            throw e;
+        }
+        LOGGER.debug("Indexed [{}] entity descriptor(s) into [{}]", index.size(), dataFile);
+        removeDataFiles(directory, name, dataFile);
+        return new IndexedEntityMetadataResolver(dataFile, index, parserPool, cacheSize);
+    }
+
+    /**
+     * Gets the entity ids that are indexed.
+     *
+     * @return the entity ids
+     */
+    public Set<String> getEntityIds() {
+        return Collections.unmodifiableSet(this.index.keySet());
+    }
+
+    /**
+     * Gets the hit/miss statistics of the unmarshalled entity descriptors.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStatistics() {
+        return this.entityDescriptors.stats();
+    }
+
+    @Override
+    public Iterable<EntityDescriptor> resolve(final CriteriaSet criteria) throws ResolverException {
+        val entity = resolveSingle(criteria);
+        return entity == null ? new ArrayList<>(0) : CollectionUtils.wrapList(entity);
+    }
+
+    @Override
+    public EntityDescriptor resolveSingle(final CriteriaSet criteria) throws ResolverException {
+        val criterion = criteria == null ? null : criteria.get(EntityIdCriterion.class);
+        if (criterion == null || !this.index.containsKey(criterion.getEntityId())) {
+            return null;
+        }
+        try {
+            val entity = this.entityDescriptors.get(criterion.getEntityId());
+            if (this.requireValidMetadata && !entity.isValid()) {
+                LOGGER.debug("Entity descriptor [{}] is no longer valid", criterion.getEntityId());
+                return null;
+            }
+            return entity;
+        } catch (final Exception e) {
+            throw new ResolverException("Unable to read entity descriptor " + criterion.getEntityId() + " from " + this.dataFile, e);
+        }
+    }
+
+    @Override
+    protected void doDestroy() {
+        this.entityDescriptors.invalidateAll();
+        try {
+            this.channel.close();
+            Files.deleteIfExists(this.dataFile.toPath());
+        } catch (final Exception e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+        super.doDestroy();
+    }
+
+    private EntityDescriptor readEntityDescriptor(final String entityId) throws Exception {
+        val position = this.index.get(entityId);
+        val buffer = ByteBuffer.allocate((int) position[1]);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position[0] + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + this.dataFile + " while reading " + entityId);
+            }
+        }
+        LOGGER.trace("Unmarshalling entity descriptor [{}] from [{}]", entityId, this.dataFile);
+        try (val input = new ByteArrayInputStream(buffer.array())) {
+            return (EntityDescriptor) XMLObjectSupport.unmarshallFromInputStream(this.parserPool, input);
+        }
+    }
+
+    /**
+     * Copy the entity element out of the aggregate, along with the namespace declarations
+     * of its ancestors so that prefixes used in attribute values remain resolvable, and the
+     * validity and cache duration that the entity inherits from the aggregate.
+     */
+    private static Element getStandaloneElement(final EntityDescriptor entity) throws Exception {
+        val element = entity.getDOM() != null ? entity.getDOM() : XMLObjectSupport.marshall(entity);
+        val copy = (Element) element.cloneNode(true);
+        var validUntil = entity.getValidUntil();
+        var cacheDuration = entity.getCacheDuration();
+        var ancestor = entity.getParent();
+        while (ancestor instanceof EntitiesDescriptor) {
+            val entities = (EntitiesDescriptor) ancestor;
+            if (entities.getValidUntil() != null && (validUntil == null || entities.getValidUntil().isBefore(validUntil))) {
+                validUntil = entities.getValidUntil();
+            }
+            if (entities.getCacheDuration() != null && (cacheDuration == null || entities.getCacheDuration() < cacheDuration)) {
+                cacheDuration = entities.getCacheDuration();
+            }
+            ancestor = ancestor.getParent();
+        }
+        if (validUntil != null) {
+            copy.setAttributeNS(null, TimeBoundSAMLObject.VALID_UNTIL_ATTRIB_NAME, formatDateTime(validUntil));
+        }
+        if (cacheDuration != null) {
+            copy.setAttributeNS(null, CacheableSAMLObject.CACHE_DURATION_ATTRIB_NAME, DOMTypeSupport.longToDuration(cacheDuration));
+        }
+        var parent = element.getParentNode();
+        while (parent instanceof Element) {
+            val attributes = parent.getAttributes();
+            for (var i = 0; i < attributes.getLength(); i++) {
+                val attribute = (Attr) attributes.item(i);
+                if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())
+                    && !copy.hasAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attribute.getLocalName())) {
+                    copy.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attribute.getName(), attribute.getValue());
+                }
+            }
+            parent = parent.getParentNode();
+        }
+        return copy;
+    }
+
+    private static String formatDateTime(final DateTime dateTime) {
+        return dateTime.withZone(DateTimeZone.UTC).toString();
+    }
+
+    private static void removeDataFiles(final File directory, final String name, final File current) {
+        val files = directory.listFiles((dir, fileName) -> fileName.startsWith(name + '-')
+            && fileName.endsWith(FILENAME_EXTENSION) && !fileName.equals(current.getName()));
+        if (files != null) {
+            for (val file : files) {
+                if (!file.delete()) {
+                    LOGGER.trace("Unable to delete previous data file [{}]", file);
+                }
+            }
+        }
+    }
+}
@@ -4,34 +4,94 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import net.shibboleth.utilities.java.support.component.DestructableComponent;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Once a cached metadata resolver has been around for a given percentage of its expiration time,
+ * it is refreshed in the background while the cached resolver continues to be served, so that metadata
+ * is not reloaded on the request path. Refreshes are carried out one at a time to limit memory usage
+ * of large metadata aggregates. Resolvers that are evicted or replaced are destroyed, along with the resolvers
+ * they chain, so that resources such as indexed data files are released. Destruction is delayed by a grace period,
+ * so that lookups that obtained a resolver just before it was replaced are able to complete.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
-public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver {
+public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver, DisposableBean {
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
+    private static final double PERCENTAGE = 100D;
+
+    private static final Duration DEFAULT_DESTRUCTION_GRACE_PERIOD = Duration.ofMinutes(1);
+
     private final SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
     private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
 
+    private final double refreshAheadRatio;
+
+    private final Map<SamlRegisteredServiceCacheKey, LoadedResolver> loadedResolvers = new ConcurrentHashMap<>();
+
+    private final Set<SamlRegisteredServiceCacheKey> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+    private final Set<MetadataResolver> retiredResolvers = ConcurrentHashMap.newKeySet();
+
+    private final Duration destructionGracePeriod;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        new BasicThreadFactory.Builder().namingPattern("cas-saml-metadata-%d").daemon(true).build());
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, 0, loader);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final int refreshAheadPercentage,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, refreshAheadPercentage, DEFAULT_DESTRUCTION_GRACE_PERIOD, loader);
+    }
+
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final int refreshAheadPercentage,
+                                                               final Duration destructionGracePeriod,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
         this.chainingMetadataResolverCacheLoader = loader;
+        this.destructionGracePeriod = destructionGracePeriod;
+        this.refreshAheadRatio = refreshAheadPercentage > 0 && refreshAheadPercentage < PERCENTAGE ? refreshAheadPercentage / PERCENTAGE : 0;
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
             .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
-            .build(this.chainingMetadataResolverCacheLoader);
+            .removalListener((SamlRegisteredServiceCacheKey key, MetadataResolver resolver, RemovalCause cause) -> {
+                if (key != null && cause != RemovalCause.REPLACED) {
+                    this.loadedResolvers.computeIfPresent(key, (k, loaded) -> loaded.getResolver() == resolver ? null : loaded);
+                }
+                retireMetadataResolver(resolver);
+            })
+            .build(this::load);
     }
 
     @Override
@@ -42,6 +102,7 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         @NonNull
         val resolver = this.cache.get(cacheKey);
         LOGGER.debug("Loaded and cached SAML metadata [{}] from [{}]", resolver.getId(), service.getMetadataLocation());
+        refreshAheadIfNecessary(cacheKey, resolver);
         return resolver;
     }
 
@@ -57,4 +118,106 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         val k = new SamlRegisteredServiceCacheKey(service);
         this.cache.invalidate(k);
     }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+        this.retiredResolvers.forEach(SamlRegisteredServiceDefaultCachingMetadataResolver::destroyMetadataResolver);
+        this.retiredResolvers.clear();
+        this.cache.asMap().values().forEach(SamlRegisteredServiceDefaultCachingMetadataResolver::destroyMetadataResolver);
+    }
+
+    private static void destroyMetadataResolver(final MetadataResolver resolver) {
+        if (resolver instanceof ChainingMetadataResolver) {
+            ((ChainingMetadataResolver) resolver).getResolvers()
+                .forEach(SamlRegisteredServiceDefaultCachingMetadataResolver::destroyMetadataResolver);
+        }
+        if (resolver instanceof DestructableComponent) {
+            try {
+                LOGGER.trace("Destroying metadata resolver [{}]", resolver.getId());
+                ((DestructableComponent) resolver).destroy();
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Destroy the resolver once the grace period has passed, since it may still be in use
+     * by lookups that obtained it before it was evicted or replaced.
+     *
+     * @param resolver the resolver
+     */
+    private void retireMetadataResolver(final MetadataResolver resolver) {
+        if (resolver == null) {
+            return;
+        }
+        this.retiredResolvers.add(resolver);
+        try {
+            this.executor.schedule(() -> {
+                if (this.retiredResolvers.remove(resolver)) {
+                    destroyMetadataResolver(resolver);
+                }
+            }, this.destructionGracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final Exception e) {
+            LOGGER.debug(e.getMessage(), e);
+            if (this.retiredResolvers.remove(resolver)) {
+                destroyMetadataResolver(resolver);
+            }
+        }
+    }
+
+    private MetadataResolver load(final SamlRegisteredServiceCacheKey cacheKey) throws Exception {
+        val resolver = this.chainingMetadataResolverCacheLoader.load(cacheKey);
+        if (resolver != null) {
+            this.loadedResolvers.put(cacheKey, new LoadedResolver(resolver, System.nanoTime()));
+        }
+        return resolver;
+    }
+
+    private void refreshAheadIfNecessary(final SamlRegisteredServiceCacheKey cacheKey, final MetadataResolver resolver) {
+        if (this.refreshAheadRatio <= 0) {
+            return;
+        }
+        val loaded = this.loadedResolvers.get(cacheKey);
+        if (loaded == null || loaded.getResolver() != resolver) {
+            return;
+        }
+        this.cache.policy().expireVariably().ifPresent(policy -> policy.getExpiresAfter(cacheKey, TimeUnit.NANOSECONDS).ifPresent(remaining -> {
+            val elapsed = System.nanoTime() - loaded.getLoadTime();
+            if (elapsed >= (elapsed + remaining) * this.refreshAheadRatio && this.pendingRefreshes.add(cacheKey)) {
+                LOGGER.debug("Refreshing metadata for [{}] ahead of its expiration", cacheKey.getId());
+                try {
+                    this.executor.execute(() -> refresh(cacheKey));
+                } catch (final Exception e) {
+                    this.pendingRefreshes.remove(cacheKey);
+                    LOGGER.debug(e.getMessage(), e);
+                }
+            }
+        }));
+    }
+
+    private void refresh(final SamlRegisteredServiceCacheKey cacheKey) {
+        try {
+            val resolver = load(cacheKey);
+            if (resolver != null) {
+                this.cache.put(cacheKey, resolver);
+                LOGGER.debug("Refreshed metadata for [{}]", cacheKey.getId());
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to refresh metadata for [{}]; cached metadata continues to be used until it expires: [{}]",
+                cacheKey.getId(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        } finally {
+            this.pendingRefreshes.remove(cacheKey);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class LoadedResolver {
+        private final MetadataResolver resolver;
+
+        private final long loadTime;
+    }
 }
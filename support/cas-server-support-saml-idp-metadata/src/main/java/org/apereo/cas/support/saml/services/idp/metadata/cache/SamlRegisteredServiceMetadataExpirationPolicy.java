@@ -53,8 +53,9 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   @Nonnull final MetadataResolver chainingMetadataResolver,
                                   final long currentTime, final long currentDuration) {
-        LOGGER.trace("Cache expiration duration after updates is set to [{}]", currentDuration);
-        return currentDuration;
+        val duration = expireAfterCreate(cacheKey, chainingMetadataResolver, currentTime);
+        LOGGER.trace("Cache expiration duration after updates is set to [{}]", duration);
+        return duration;
     }
 
     @Override
@@ -1,20 +1,29 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
+import org.apereo.cas.configuration.model.support.saml.idp.metadata.SamlIdPMetadataProperties;
+import org.apereo.cas.support.saml.IndexedEntityMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.plan.SamlRegisteredServiceMetadataResolutionPlan;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.http.HttpClient;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import net.shibboleth.utilities.java.support.component.DestructableComponent;
+import org.opensaml.saml.metadata.IterableMetadataSource;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Objects;
 
 /**
@@ -29,6 +38,7 @@ import java.util.Objects;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> {
+    private static final String DIRNAME_METADATA_INDEX = "metadata-index";
 
     /**
      * The Config bean.
@@ -42,6 +52,12 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
 
     private final SamlRegisteredServiceMetadataResolutionPlan metadataResolutionPlan;
 
+    /**
+     * Metadata settings that control whether large aggregates are indexed.
+     */
+    @Setter
+    private SamlIdPMetadataProperties metadataProperties;
+
     @Override
     @Synchronized
     @SneakyThrows
@@ -64,7 +80,9 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
                 LOGGER.trace("Metadata resolver [{}] has started to process metadata for [{}]", r.getName(), service.getName());
                 return r.resolve(service);
             })
-            .forEach(metadataResolvers::addAll);
+            .flatMap(Collection::stream)
+            .map(r -> indexMetadataResolverIfNeeded(service, r))
+            .forEach(metadataResolvers::add);
 
         if (metadataResolvers.isEmpty()) {
             throw new SamlException("No metadata resolvers could be configured for service " + service.getName()
@@ -79,6 +97,47 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
         return metadataResolver;
 
     }
-}
-
 
+    /**
+     * Replace the metadata resolver with one that is backed by per-entity documents on disk,
+     * if indexing is turned on and the resolver holds on to a large enough set of entity descriptors.
+     *
+     * @param service  the service
+     * @param resolver the resolver
+     * @return the metadata resolver
+     */
+    protected MetadataResolver indexMetadataResolverIfNeeded(final SamlRegisteredService service, final MetadataResolver resolver) {
+        if (metadataProperties == null || !metadataProperties.isIndexAggregates() || !(resolver instanceof IterableMetadataSource)) {
+            return resolver;
+        }
+        try {
+            val entities = (IterableMetadataSource) resolver;
+            val iterator = entities.iterator();
+            var count = 0;
+            while (iterator.hasNext() && count < metadataProperties.getIndexMinimumEntities()) {
+                iterator.next();
+                count++;
+            }
+            if (count < metadataProperties.getIndexMinimumEntities()) {
+                LOGGER.trace("Metadata for [{}] has too few entities to be indexed", service.getMetadataLocation());
+                return resolver;
+            }
+            val directory = new File(metadataProperties.getLocation().getFile(), DIRNAME_METADATA_INDEX);
+            val indexed = IndexedEntityMetadataResolver.build(entities, directory,
+                DigestUtils.sha256(service.getMetadataLocation()), configBean.getParserPool(), metadataProperties.getIndexCacheSize());
+            indexed.setId(IndexedEntityMetadataResolver.class.getCanonicalName());
+            indexed.setRequireValidMetadata(resolver.isRequireValidMetadata());
+            indexed.initialize();
+            LOGGER.info("Indexed [{}] entities of metadata [{}] at [{}]", indexed.getEntityIds().size(),
+                service.getMetadataLocation(), indexed.getDataFile());
+            if (resolver instanceof DestructableComponent) {
+                ((DestructableComponent) resolver).destroy();
+            }
+            return indexed;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to index metadata [{}]; metadata will be kept in memory: [{}]", service.getMetadataLocation(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return resolver;
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * This is {@link MetadataQueryProtocolMetadataResolver}.
@@ -40,9 +41,9 @@ public class MetadataQueryProtocolMetadataResolver extends UrlResourceMetadataRe
     }
 
     @Override
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> requestHeaders) {
         val metadata = samlIdPProperties.getMetadata();
-        val headers = new LinkedHashMap<String, Object>();
+        val headers = new LinkedHashMap<String, Object>(requestHeaders);
         headers.put("Content-Type", metadata.getSupportedContentTypes());
         headers.put("Accept", "*/*");
         return HttpUtils.getViaBasicAuth(metadataLocation, metadata.getBasicAuthnUsername(),
@@ -9,12 +9,13 @@ import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.AndFileFilter;
 import org.apache.commons.io.filefilter.CanReadFileFilter;
 import org.apache.commons.io.filefilter.CanWriteFileFilter;
@@ -22,6 +23,7 @@ import org.apache.commons.io.filefilter.PrefixFileFilter;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
@@ -29,17 +31,26 @@ import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpStatus;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
+ * <p>
+ * Metadata is streamed from the response straight into the backup file, and is then parsed from the file,
+ * so that large metadata aggregates are not held in memory as strings. The {@code ETag} and {@code Last-Modified}
+ * headers of the response are remembered, and metadata is fetched conditionally afterwards; if the metadata
+ * is not modified, it is loaded from the backup file.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -51,6 +62,8 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
 
     private final File metadataBackupDirectory;
 
+    private final Map<String, CacheValidators> cacheValidators = new ConcurrentHashMap<>();
+
     @SneakyThrows
     public UrlResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
                                        final OpenSamlConfigBean configBean) {
@@ -76,18 +89,27 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             val metadataResource = new UrlResource(metadataLocation);
 
             val backupFile = getMetadataBackupFile(metadataResource, service);
-            if (backupFile.exists() && samlIdPProperties.getMetadata().isForceMetadataRefresh()) {
+            val canonicalPath = backupFile.getCanonicalPath();
+            val validators = this.cacheValidators.get(canonicalPath);
+            if (backupFile.exists() && samlIdPProperties.getMetadata().isForceMetadataRefresh() && validators == null) {
                 cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
             }
-            val canonicalPath = backupFile.getCanonicalPath();
             LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
             FileUtils.forceMkdirParent(backupFile);
 
-            response = fetchMetadata(metadataLocation);
+            val headers = new LinkedHashMap<String, Object>();
+            if (validators != null && backupFile.exists()) {
+                validators.apply(headers);
+            }
+            response = fetchMetadata(metadataLocation, headers);
             if (response != null) {
                 val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
                 if (shouldHttpResponseStatusBeProcessed(status)) {
+                    if (status != HttpStatus.NOT_MODIFIED) {
+                        this.cacheValidators.remove(canonicalPath);
+                    }
                     val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
+                    CacheValidators.from(response).ifPresent(v -> this.cacheValidators.put(canonicalPath, v));
                     configureAndInitializeSingleMetadataResolver(metadataProvider, service);
                     return CollectionUtils.wrap(metadataProvider);
                 }
@@ -107,7 +129,7 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * @return the boolean
      */
     protected boolean shouldHttpResponseStatusBeProcessed(final HttpStatus status) {
-        return status.is2xxSuccessful();
+        return status.is2xxSuccessful() || status == HttpStatus.NOT_MODIFIED;
     }
 
     /**
@@ -119,14 +141,25 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * @throws Exception the exception
      */
     protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
-        val result = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
         val path = backupFile.toPath();
-        LOGGER.trace("Writing metadata to file at [{}]", path);
-        try (val output = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            IOUtils.write(result, output);
-            output.flush();
+        if (response.getStatusLine().getStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            if (!backupFile.exists()) {
+                throw new FileNotFoundException("Metadata is not modified, yet no copy of the metadata is found at " + path);
+            }
+            LOGGER.debug("Metadata is not modified; loading metadata from [{}]", path);
+        } else {
+            val downloadFile = Files.createTempFile(path.getParent(), backupFile.getName(), ".download");
+            LOGGER.trace("Writing metadata to file at [{}]", path);
+            try (val input = response.getEntity().getContent()) {
+                Files.copy(input, downloadFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(downloadFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(downloadFile);
+            }
+        }
+        try (val input = new BufferedInputStream(Files.newInputStream(path))) {
+            return new InMemoryResourceMetadataResolver(input, configBean);
         }
-        return new InMemoryResourceMetadataResolver(backupFile, configBean);
     }
 
     /**
@@ -136,8 +169,20 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * @return the http response
      */
     protected HttpResponse fetchMetadata(final String metadataLocation) {
+        return fetchMetadata(metadataLocation, new LinkedHashMap<>());
+    }
+
+    /**
+     * Fetch metadata http response, passing along the given request headers
+     * which may carry validators for conditional requests.
+     *
+     * @param metadataLocation the metadata location
+     * @param headers          the headers
+     * @return the http response
+     */
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
         LOGGER.debug("Fetching metadata from [{}]", metadataLocation);
-        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>());
+        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>(), headers);
     }
 
     /**
@@ -230,4 +275,45 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         }
         return false;
     }
+
+    /**
+     * Validators of a metadata response that allow subsequent requests to be made conditionally.
+     */
+    @Getter
+    @AllArgsConstructor
+    protected static class CacheValidators {
+        private final String entityTag;
+
+        private final String lastModified;
+
+        /**
+         * Collect the validators from the response, if any.
+         *
+         * @param response the response
+         * @return the validators
+         */
+        static Optional<CacheValidators> from(final HttpResponse response) {
+            val etag = response.getFirstHeader(HttpHeaders.ETAG);
+            val lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+            if (etag == null && lastModified == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new CacheValidators(etag == null ? null : etag.getValue(),
+                lastModified == null ? null : lastModified.getValue()));
+        }
+
+        /**
+         * Add conditional request headers.
+         *
+         * @param headers the headers
+         */
+        void apply(final Map<String, Object> headers) {
+            if (StringUtils.isNotBlank(this.entityTag)) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, this.entityTag);
+            }
+            if (StringUtils.isNotBlank(this.lastModified)) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, this.lastModified);
+            }
+        }
+    }
 }
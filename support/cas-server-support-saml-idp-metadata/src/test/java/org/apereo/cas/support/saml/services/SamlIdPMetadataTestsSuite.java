@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml.services;
 
+import org.apereo.cas.support.saml.services.idp.metadata.cache.IndexedEntityMetadataResolverTests;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.DynamicResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.GroovyResourceMetadataResolverTests;
@@ -20,7 +22,9 @@ import org.junit.platform.suite.api.SelectClasses;
     DynamicResourceMetadataResolverTests.class,
     GroovyResourceMetadataResolverTests.class,
     UrlResourceMetadataResolverTests.class,
-    JsonResourceMetadataResolverTests.class
+    JsonResourceMetadataResolverTests.class,
+    IndexedEntityMetadataResolverTests.class,
+    SamlRegisteredServiceDefaultCachingMetadataResolverTests.class
 })
 public class SamlIdPMetadataTestsSuite {
 }
@@ -0,0 +1,107 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.IndexedEntityMetadataResolver;
+import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
+
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.core.xml.schema.XSString;
+import org.opensaml.saml.common.xml.SAMLConstants;
+import org.opensaml.saml.ext.saml2mdattr.EntityAttributes;
+import org.opensaml.saml.metadata.IterableMetadataSource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link IndexedEntityMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class IndexedEntityMetadataResolverTests extends BaseSamlIdPServicesTests {
+    @TempDir
+    public File directory;
+
+    private IndexedEntityMetadataResolver buildIndexedResolver() throws Exception {
+        return buildIndexedResolver(new ClassPathResource("sample-aggregate.xml"));
+    }
+
+    private IndexedEntityMetadataResolver buildIndexedResolver(final Resource resource) throws Exception {
+        val aggregate = new InMemoryResourceMetadataResolver(resource, openSamlConfigBean);
+        aggregate.setId(InMemoryResourceMetadataResolver.class.getCanonicalName());
+        aggregate.setRequireValidMetadata(false);
+        aggregate.setParserPool(openSamlConfigBean.getParserPool());
+        aggregate.initialize();
+        val resolver = IndexedEntityMetadataResolver.build((IterableMetadataSource) aggregate, directory,
+            "aggregate", openSamlConfigBean.getParserPool(), 10);
+        resolver.setId(IndexedEntityMetadataResolver.class.getCanonicalName());
+        resolver.initialize();
+        return resolver;
+    }
+
+    @Test
+    public void verifyEntitiesAreIndexed() throws Exception {
+        val resolver = buildIndexedResolver();
+        assertEquals(3, resolver.getEntityIds().size());
+        assertTrue(resolver.getDataFile().exists());
+        assertEquals(0, resolver.getStatistics().loadCount());
+
+        val entity = resolver.resolveSingle(new CriteriaSet(new EntityIdCriterion("https://sp3.example.org/shibboleth")));
+        assertNotNull(entity);
+        assertEquals("https://sp3.example.org/shibboleth", entity.getEntityID());
+        assertNotNull(entity.getSPSSODescriptor(SAMLConstants.SAML20P_NS));
+        assertSame(entity, resolver.resolveSingle(new CriteriaSet(new EntityIdCriterion("https://sp3.example.org/shibboleth"))));
+        assertEquals(1, resolver.getStatistics().loadCount());
+
+        assertNull(resolver.resolveSingle(new CriteriaSet(new EntityIdCriterion("https://unknown.example.org"))));
+        assertFalse(resolver.resolve(new CriteriaSet()).iterator().hasNext());
+        resolver.destroy();
+        assertFalse(resolver.getDataFile().exists());
+    }
+
+    @Test
+    public void verifyInheritedNamespacesArePreserved() throws Exception {
+        val resolver = buildIndexedResolver();
+        val entity = resolver.resolveSingle(new CriteriaSet(new EntityIdCriterion("https://sp1.example.org/shibboleth")));
+        assertNotNull(entity);
+        val attributes = (EntityAttributes) entity.getExtensions().getUnknownXMLObjects(EntityAttributes.DEFAULT_ELEMENT_NAME).get(0);
+        val attribute = attributes.getAttributes().get(0);
+        assertTrue(attribute.getAttributeValues().get(0) instanceof XSString);
+        resolver.destroy();
+    }
+
+    @Test
+    public void verifyExpiredAggregateIsRejected() throws Exception {
+        val metadata = new String(new ClassPathResource("sample-aggregate.xml").getInputStream().readAllBytes(), StandardCharsets.UTF_8)
+            .replace("Name=\"urn:example:federation\"", "Name=\"urn:example:federation\" validUntil=\"2000-01-01T00:00:00Z\" cacheDuration=\"PT1H\"");
+        val resolver = buildIndexedResolver(new ByteArrayResource(metadata.getBytes(StandardCharsets.UTF_8)));
+        val criteria = new CriteriaSet(new EntityIdCriterion("https://sp1.example.org/shibboleth"));
+        assertNull(resolver.resolveSingle(criteria));
+
+        resolver.setRequireValidMetadata(false);
+        val entity = resolver.resolveSingle(criteria);
+        assertNotNull(entity);
+        assertFalse(entity.isValid());
+        assertEquals(3_600_000L, entity.getCacheDuration());
+        resolver.destroy();
+    }
+
+    @Test
+    public void verifyPreviousDataFilesAreRemoved() throws Exception {
+        val first = buildIndexedResolver();
+        val second = buildIndexedResolver();
+        assertFalse(first.getDataFile().exists());
+        assertTrue(second.getDataFile().exists());
+        second.destroy();
+    }
+}
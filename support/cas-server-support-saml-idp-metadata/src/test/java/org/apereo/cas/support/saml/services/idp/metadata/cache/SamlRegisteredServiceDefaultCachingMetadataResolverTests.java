@@ -0,0 +1,64 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.junit.jupiter.api.Test;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SamlRegisteredServiceDefaultCachingMetadataResolverTests {
+
+    private static ChainingMetadataResolver newMetadataResolver() throws Exception {
+        val resolver = new ChainingMetadataResolver();
+        resolver.setId(ChainingMetadataResolver.class.getCanonicalName());
+        resolver.setResolvers(new ArrayList<>(0));
+        resolver.initialize();
+        return resolver;
+    }
+
+    private static void waitUntilDestroyed(final ChainingMetadataResolver resolver) throws Exception {
+        for (var i = 0; i < 100 && !resolver.isDestroyed(); i++) {
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    public void verifyReplacedResolverOutlivesOverlappingLookup() throws Exception {
+        val loader = mock(SamlRegisteredServiceMetadataResolverCacheLoader.class);
+        when(loader.load(any())).thenAnswer(args -> newMetadataResolver());
+        val cachingResolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(30, 0, Duration.ofSeconds(1), loader);
+
+        val service = new SamlRegisteredService();
+        service.setName("SAML");
+        service.setServiceId("https://sp.example.org/shibboleth");
+        service.setMetadataLocation("classpath:sample-sp.xml");
+
+        val inFlight = (ChainingMetadataResolver) cachingResolver.resolve(service);
+        cachingResolver.invalidate(service);
+        val current = (ChainingMetadataResolver) cachingResolver.resolve(service);
+        assertNotSame(inFlight, current);
+
+        assertFalse(inFlight.isDestroyed());
+        assertNotNull(inFlight.resolve(new CriteriaSet()));
+
+        waitUntilDestroyed(inFlight);
+        assertTrue(inFlight.isDestroyed());
+        assertFalse(current.isDestroyed());
+
+        cachingResolver.destroy();
+        assertTrue(current.isDestroyed());
+    }
+}
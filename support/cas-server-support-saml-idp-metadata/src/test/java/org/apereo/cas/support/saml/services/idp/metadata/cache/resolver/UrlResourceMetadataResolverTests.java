@@ -6,11 +6,23 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 
 import lombok.val;
 import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -49,4 +61,47 @@ public class UrlResourceMetadataResolverTests extends BaseSamlIdPServicesTests {
         val results = resolver.resolve(service);
         assertFalse(results.isEmpty());
     }
+
+    @Test
+    public void verifyResolverFetchesConditionally() {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        val requests = new ArrayList<Map<String, Object>>();
+        val resolver = new UrlResourceMetadataResolver(props, openSamlConfigBean) {
+            @Override
+            protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
+                requests.add(new HashMap<>(headers));
+                return requests.size() == 1 ? getMetadataResponse() : getNotModifiedResponse();
+            }
+        };
+        val service = new SamlRegisteredService();
+        service.setName("Conditional");
+        service.setId(2000);
+        service.setMetadataLocation("https://metadata.example.org/conditional-sp-metadata.xml");
+
+        assertFalse(resolver.resolve(service).isEmpty());
+        assertFalse(requests.get(0).containsKey(HttpHeaders.IF_NONE_MATCH));
+
+        assertFalse(resolver.resolve(service).isEmpty());
+        assertEquals(List.of("\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT"),
+            List.of(requests.get(1).get(HttpHeaders.IF_NONE_MATCH), requests.get(1).get(HttpHeaders.IF_MODIFIED_SINCE)));
+    }
+
+    private static HttpResponse getMetadataResponse() {
+        try {
+            val response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+            response.setEntity(new InputStreamEntity(new ClassPathResource("sample-sp.xml").getInputStream()));
+            response.addHeader(HttpHeaders.ETAG, "\"v1\"");
+            response.addHeader(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+            return response;
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static HttpResponse getNotModifiedResponse() {
+        val response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_NOT_MODIFIED, "Not Modified");
+        response.addHeader(HttpHeaders.ETAG, "\"v1\"");
+        return response;
+    }
 }
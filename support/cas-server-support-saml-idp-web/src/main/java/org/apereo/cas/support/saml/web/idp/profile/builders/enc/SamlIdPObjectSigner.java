@@ -13,6 +13,8 @@ import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -46,15 +48,28 @@ import org.opensaml.xmlsec.SignatureSigningParameters;
 import org.opensaml.xmlsec.config.impl.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
+import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.security.PrivateKey;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link SamlIdPObjectSigner}.
+ * <p>
+ * Signature signing configurations, along with the resolved signing credentials and private key, are cached
+ * by the identity provider entity id and the credential selection options of the service. Signature signing parameters
+ * are cached by the service provider role descriptor as well. Cached entries are discarded once the identity provider
+ * metadata, signing certificate or key are found to have changed, which is checked at most once every few seconds.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -62,12 +77,39 @@ import java.util.regex.Pattern;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlIdPObjectSigner {
+    private static final long SIGNING_CREDENTIAL_CHECK_INTERVAL_MILLIS = 5_000;
+
+    private static final int SIGNING_CACHE_SIZE = 1_000;
+
     private final MetadataResolver casSamlIdPMetadataResolver;
 
     private final CasConfigurationProperties casProperties;
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    private final SAMLMetadataSignatureSigningParametersResolver signatureSigningParametersResolver =
+        new SAMLMetadataSignatureSigningParametersResolver();
+
+    private final Cache<String, SignatureSigningConfiguration> signatureSigningConfigurations = Caffeine.newBuilder()
+        .maximumSize(SIGNING_CACHE_SIZE)
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
+
+    /**
+     * Signature signing parameters are cached per role descriptor, which is held weakly and compared by identity,
+     * so that parameters are resolved again once service provider metadata is refreshed and descriptors
+     * of stale metadata are not kept in memory.
+     */
+    private final Cache<RoleDescriptor, Map<String, SignatureSigningParameters>> signatureSigningParameters = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(SIGNING_CACHE_SIZE)
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
+
+    private volatile String signingCredentialVersion;
+
+    private volatile long signingCredentialCheckTime;
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -192,13 +234,25 @@ public class SamlIdPObjectSigner {
     @SneakyThrows
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
                                                                          final SamlRegisteredService service) {
+        val parameters = this.signatureSigningParameters.get(descriptor, d -> new ConcurrentHashMap<>());
+        val params = parameters.computeIfAbsent(getSignatureSigningConfigurationKey(service),
+            k -> resolveSignatureSigningParameters(descriptor, service));
+        if (params == null) {
+            LOGGER.warn("Unable to resolve SignatureSigningParameters, response signing will fail."
+                    + " Make sure domain names in IDP metadata URLs and certificates match CAS domain name");
+        }
+        return params;
+    }
+
+    @SneakyThrows
+    private SignatureSigningParameters resolveSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                         final SamlRegisteredService service) {
         val criteria = new CriteriaSet();
         val signatureSigningConfiguration = getSignatureSigningConfiguration(descriptor, service);
         criteria.add(new SignatureSigningConfigurationCriterion(signatureSigningConfiguration));
         criteria.add(new RoleDescriptorCriterion(descriptor));
-        val resolver = new SAMLMetadataSignatureSigningParametersResolver();
         LOGGER.trace("Resolving signature signing parameters for [{}]", descriptor.getElementQName().getLocalPart());
-        val params = resolver.resolveSingle(criteria);
+        val params = this.signatureSigningParametersResolver.resolveSingle(criteria);
         if (params != null) {
             LOGGER.trace("Created signature signing parameters."
                             + "\nSignature algorithm: [{}]"
@@ -207,9 +261,6 @@ public class SamlIdPObjectSigner {
                     params.getSignatureAlgorithm(),
                     params.getSignatureCanonicalizationAlgorithm(),
                     params.getSignatureReferenceDigestMethod());
-        } else {
-            LOGGER.warn("Unable to resolve SignatureSigningParameters, response signing will fail."
-                    + " Make sure domain names in IDP metadata URLs and certificates match CAS domain name");
         }
         return params;
     }
@@ -224,6 +275,26 @@ public class SamlIdPObjectSigner {
      */
     protected SignatureSigningConfiguration getSignatureSigningConfiguration(final RoleDescriptor roleDescriptor,
                                                                              final SamlRegisteredService service) throws Exception {
+        return this.signatureSigningConfigurations.get(getSignatureSigningConfigurationKey(service),
+            k -> buildSignatureSigningConfiguration(service));
+    }
+
+    /**
+     * Discard cached signing credentials and signing parameters.
+     */
+    public void invalidateSigningCredentials() {
+        this.signatureSigningConfigurations.invalidateAll();
+        this.signatureSigningParameters.invalidateAll();
+    }
+
+    /**
+     * Build signature signing configuration, resolving signing credentials from the identity provider metadata.
+     *
+     * @param service the service
+     * @return the signature signing configuration
+     */
+    @SneakyThrows
+    protected SignatureSigningConfiguration buildSignatureSigningConfiguration(final SamlRegisteredService service) {
         val config = DefaultSecurityConfigurationBootstrap.buildDefaultSignatureSigningConfiguration();
         val samlIdp = casProperties.getAuthn().getSamlIdp();
         val algs = samlIdp.getAlgs();
@@ -294,13 +365,67 @@ public class SamlIdPObjectSigner {
         return config;
     }
 
+    /**
+     * Gets the key under which the signature signing configuration of the service is cached.
+     * The key changes once the signing credentials of the identity provider change.
+     *
+     * @param service the service
+     * @return the key
+     */
+    protected String getSignatureSigningConfigurationKey(final SamlRegisteredService service) {
+        val samlIdp = casProperties.getAuthn().getSamlIdp();
+        return String.join("|",
+            samlIdp.getEntityId(),
+            StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase(Locale.ENGLISH),
+            StringUtils.defaultString(service.getSigningCredentialFingerprint()),
+            getSigningCredentialVersion());
+    }
+
+    private String getSigningCredentialVersion() {
+        val now = System.currentTimeMillis();
+        if (this.signingCredentialVersion == null || now - this.signingCredentialCheckTime >= SIGNING_CREDENTIAL_CHECK_INTERVAL_MILLIS) {
+            val version = calculateSigningCredentialVersion();
+            if (this.signingCredentialVersion != null && !version.equals(this.signingCredentialVersion)) {
+                LOGGER.debug("Identity provider signing credentials have changed; cached signing configurations are discarded");
+                invalidateSigningCredentials();
+            }
+            this.signingCredentialVersion = version;
+            this.signingCredentialCheckTime = now;
+        }
+        return this.signingCredentialVersion;
+    }
+
+    private String calculateSigningCredentialVersion() {
+        try {
+            val resources = new Resource[]{samlIdPMetadataLocator.getMetadata(),
+                samlIdPMetadataLocator.getSigningCertificate(), samlIdPMetadataLocator.getSigningKey()};
+            if (Arrays.stream(resources).allMatch(r -> r != null && r.isFile())) {
+                return Arrays.stream(resources)
+                    .map(r -> {
+                        val file = getFile(r);
+                        return file.lastModified() + ":" + file.length();
+                    })
+                    .collect(Collectors.joining(","));
+            }
+            return String.valueOf(System.identityHashCode(samlIdPMetadataLocator.fetch()));
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to determine the version of identity provider signing credentials: [{}]", e.getMessage());
+            return StringUtils.EMPTY;
+        }
+    }
+
+    @SneakyThrows
+    private static File getFile(final Resource resource) {
+        return resource.getFile();
+    }
+
     private AbstractCredential getResolvedSigningCredential(final Credential c, final PrivateKey privateKey,
                                                             final SamlRegisteredService service) {
         val samlIdp = casProperties.getAuthn().getSamlIdp();
 
         try {
             val credType = SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(
-                StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase());
+                StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase(Locale.ENGLISH));
             LOGGER.trace("Requested credential type [{}] is found for service [{}]", credType, service.getName());
 
             switch (credType) {
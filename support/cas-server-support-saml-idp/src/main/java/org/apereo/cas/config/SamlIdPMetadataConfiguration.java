@@ -163,10 +163,12 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader() {
-        return new SamlRegisteredServiceMetadataResolverCacheLoader(
+        val loader = new SamlRegisteredServiceMetadataResolverCacheLoader(
             openSamlConfigBean.getIfAvailable(),
             httpClient.getIfAvailable(),
             samlRegisteredServiceMetadataResolvers());
+        loader.setMetadataProperties(casProperties.getAuthn().getSamlIdp().getMetadata());
+        return loader;
     }
 
     @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataResolvers")
@@ -197,8 +199,10 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
+        val metadata = casProperties.getAuthn().getSamlIdp().getMetadata();
         return new SamlRegisteredServiceDefaultCachingMetadataResolver(
-            casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
+            metadata.getCacheExpirationMinutes(),
+            metadata.getCacheRefreshAheadPercentage(),
             chainingMetadataResolverCacheLoader()
         );
     }
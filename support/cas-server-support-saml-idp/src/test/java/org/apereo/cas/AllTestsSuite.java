@@ -15,6 +15,7 @@ import org.apereo.cas.support.saml.services.logout.SamlIdPSingleLogoutServiceLog
 import org.apereo.cas.support.saml.services.logout.SamlProfileSingleLogoutMessageCreatorTests;
 import org.apereo.cas.support.saml.util.SamlIdPUtilsTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.attr.SamlProfileSamlRegisteredServiceAttributeBuilderTests;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPObjectSignerTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlObjectSignatureValidatorTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.nameid.SamlProfileSamlNameIdBuilderTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.response.SamlProfileSaml2ResponseBuilderTests;
@@ -45,7 +46,8 @@ import org.junit.platform.suite.api.SelectClasses;
     RefedsRSAttributeReleasePolicyTests.class,
     MetadataRequestedAttributesAttributeReleasePolicyTests.class,
     SamlObjectSignatureValidatorTests.class,
-    SamlProfileSaml2ResponseBuilderTests.class
+    SamlProfileSaml2ResponseBuilderTests.class,
+    SamlIdPObjectSignerTests.class
 })
 public class AllTestsSuite {
 }
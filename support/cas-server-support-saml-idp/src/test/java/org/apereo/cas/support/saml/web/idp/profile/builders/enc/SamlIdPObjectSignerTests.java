@@ -0,0 +1,54 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link SamlIdPObjectSignerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Tag("FileSystem")
+public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
+
+    @Test
+    public void verifySigningConfigurationIsCached() throws Exception {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        val descriptor = adaptor.getSsoDescriptor();
+
+        val configuration = samlIdPObjectSigner.getSignatureSigningConfiguration(descriptor, service);
+        assertNotNull(configuration);
+        assertFalse(configuration.getSigningCredentials().isEmpty());
+        assertSame(configuration, samlIdPObjectSigner.getSignatureSigningConfiguration(descriptor, service));
+
+        val parameters = samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service);
+        assertNotNull(parameters);
+        assertSame(parameters, samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service));
+
+        samlIdPObjectSigner.invalidateSigningCredentials();
+        assertNotSame(configuration, samlIdPObjectSigner.getSignatureSigningConfiguration(descriptor, service));
+        assertNotSame(parameters, samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service));
+    }
+
+    @Test
+    public void verifySigningConfigurationIsCachedPerCredentialType() throws Exception {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        val descriptor = adaptor.getSsoDescriptor();
+
+        val configuration = samlIdPObjectSigner.getSignatureSigningConfiguration(descriptor, service);
+        service.setSigningCredentialType("BASIC");
+        val basicConfiguration = samlIdPObjectSigner.getSignatureSigningConfiguration(descriptor, service);
+        assertNotSame(configuration, basicConfiguration);
+    }
+}
@@ -15,6 +15,10 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
  * of IP Addresses to number of failures to authenticate.
+ * <p>
+ * Failures are either counted over a sliding window using a {@link SlidingWindowSubmissionCounter},
+ * or when a (possibly distributed) map is provided, tracked by the time of the last failure
+ * for each key, from which the submission rate is computed.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -27,6 +31,8 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
 
     private final ConcurrentMap<String, ZonedDateTime> ipMap;
 
+    private final SlidingWindowSubmissionCounter submissionCounter;
+
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
                                                                         final int failureRangeInSeconds,
                                                                         final String usernameParameter,
@@ -40,6 +46,23 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode,
             throttledRequestResponseHandler, throttledRequestExecutor);
         this.ipMap = map;
+        this.submissionCounter = null;
+    }
+
+    public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
+                                                                        final int failureRangeInSeconds,
+                                                                        final String usernameParameter,
+                                                                        final String authenticationFailureCode,
+                                                                        final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                        final String applicationCode,
+                                                                        final ThrottledRequestResponseHandler throttledRequestResponseHandler,
+                                                                        final SlidingWindowSubmissionCounter submissionCounter,
+                                                                        final ThrottledRequestExecutor throttledRequestExecutor) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode,
+            throttledRequestResponseHandler, throttledRequestExecutor);
+        this.ipMap = null;
+        this.submissionCounter = submissionCounter;
     }
 
     /**
@@ -55,6 +78,9 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
 
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
+        if (this.submissionCounter != null) {
+            return this.submissionCounter.estimate(constructKey(request), System.currentTimeMillis()) > getFailureThreshold();
+        }
         val last = this.ipMap.get(constructKey(request));
         return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
     }
@@ -63,15 +89,25 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     public void recordSubmissionFailure(final HttpServletRequest request) {
         val key = constructKey(request);
         LOGGER.debug("Recording submission failure [{}]", key);
-        this.ipMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+        if (this.submissionCounter != null) {
+            this.submissionCounter.increment(key, System.currentTimeMillis());
+        } else {
+            this.ipMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+        }
     }
 
     /**
      * This class relies on an external configuration to clean it up.
-     * It ignores the threshold data in the parent class.
+     * It ignores the threshold data in the parent class. Sliding window counters
+     * evict stale keys on their own, and are only asked to carry out pending evictions.
      */
     @Override
     public void decrement() {
+        if (this.submissionCounter != null) {
+            this.submissionCounter.cleanUp();
+            LOGGER.debug("Tracking [{}] key(s) for throttling", this.submissionCounter.size());
+            return;
+        }
         LOGGER.info("Beginning audit cleanup...");
         val now = ZonedDateTime.now(ZoneOffset.UTC);
         this.ipMap.entrySet().removeIf(entry -> submissionRate(now, entry.getValue()) < getThresholdRate());
@@ -0,0 +1,197 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.cas.throttle.ThrottledRequestExecutor;
+import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link CounterThrottledSubmissionHandlerInterceptorAdapter} that throttles failed submissions by
+ * IP address and username, based on per-key failure counters kept in a {@link ThrottledSubmissionCounterRepository}.
+ * Failures are counted in fixed windows as long as the failure range, and the number of failures within the
+ * sliding range is estimated from the counts of the current and the previous window.
+ * <p>
+ * Failures are first recorded locally and are written to the repository in batches, at most once every
+ * flush interval, on a background thread so that requests never wait for the repository; failures that
+ * are not yet written are still taken into account by this node, and are kept for the next flush if
+ * the repository cannot be reached.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class CounterThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter implements DisposableBean {
+    private final ThrottledSubmissionCounterRepository repository;
+
+    private final String name;
+
+    private final long windowLength;
+
+    private final long flushInterval;
+
+    private final Map<Long, Map<String, LongAdder>> pendingFailures = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastFlushTime = new AtomicLong(System.currentTimeMillis());
+
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(
+        new BasicThreadFactory.Builder().namingPattern("cas-throttle-flush-%d").daemon(true).build());
+
+    public CounterThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
+                                                               final int failureRangeInSeconds,
+                                                               final String usernameParameter,
+                                                               final String authenticationFailureCode,
+                                                               final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                               final String applicationCode,
+                                                               final ThrottledRequestResponseHandler throttledRequestResponseHandler,
+                                                               final ThrottledRequestExecutor throttledRequestExecutor,
+                                                               final ThrottledSubmissionCounterRepository repository,
+                                                               final Duration flushInterval,
+                                                               final String name) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode,
+            throttledRequestResponseHandler, throttledRequestExecutor);
+        this.repository = repository;
+        this.windowLength = Math.max(1, failureRangeInSeconds) * 1000L;
+        this.flushInterval = flushInterval.toMillis();
+        this.name = name;
+    }
+
+    /**
+     * Construct the throttling key from the request.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        val remoteAddress = ClientInfoHolder.getClientInfo().getClientIpAddress();
+        val username = getUsernameParameterFromRequest(request);
+        if (StringUtils.isBlank(username)) {
+            return remoteAddress;
+        }
+        return remoteAddress + ';' + username.toLowerCase(Locale.ENGLISH);
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        val key = constructKey(request);
+        val now = System.currentTimeMillis();
+        val window = now / this.windowLength;
+        val failures = this.repository.getFailures(key, window - 1);
+        val previous = failures.getOrDefault(window - 1, 0L) + getPendingFailures(key, window - 1);
+        val current = failures.getOrDefault(window, 0L) + getPendingFailures(key, window);
+        val overlap = 1 - (double) (now % this.windowLength) / this.windowLength;
+        val estimate = previous * overlap + current;
+        LOGGER.trace("Estimated [{}] failure(s) for [{}] within the failure range", estimate, key);
+        return estimate > getFailureThreshold();
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        val key = constructKey(request);
+        val now = System.currentTimeMillis();
+        LOGGER.debug("Recording submission failure [{}]", key);
+        addPendingFailures(key, now / this.windowLength, 1);
+        val lastFlush = this.lastFlushTime.get();
+        if (now - lastFlush >= this.flushInterval && this.lastFlushTime.compareAndSet(lastFlush, now)) {
+            this.flushExecutor.execute(() -> flush(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Write pending failures to the repository and remove counters that no longer fall within the failure range.
+     */
+    @Override
+    public void decrement() {
+        val now = System.currentTimeMillis();
+        this.lastFlushTime.set(now);
+        flush(now);
+        try {
+            this.repository.removeBefore(now / this.windowLength - 1);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to remove expired throttling counters: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Write failures that are recorded locally to the repository, one batch per window.
+     *
+     * @param now the current time
+     */
+    protected void flush(final long now) {
+        val currentWindow = now / this.windowLength;
+        this.pendingFailures.forEach((window, counters) -> {
+            if (window < currentWindow) {
+                this.pendingFailures.remove(window);
+            }
+            val batch = new HashMap<String, Long>(counters.size());
+            counters.forEach((key, adder) -> {
+                val count = adder.sumThenReset();
+                if (count > 0) {
+                    batch.put(key, count);
+                }
+            });
+            if (!batch.isEmpty()) {
+                try {
+                    LOGGER.trace("Writing failure counters for [{}] key(s) in window [{}]", batch.size(), window);
+                    this.repository.increment(window, batch);
+                } catch (final Exception e) {
+                    LOGGER.error("Unable to write throttling counters for [{}] key(s): [{}]", batch.size(), e.getMessage());
+                    LOGGER.debug(e.getMessage(), e);
+                    if (window >= currentWindow - 1) {
+                        batch.forEach((key, count) -> addPendingFailures(key, window, count));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop flushing on the background thread, and write any failures that are still pending.
+     *
+     * @throws Exception the exception
+     */
+    @Override
+    public void destroy() throws Exception {
+        this.flushExecutor.shutdown();
+        if (!this.flushExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            LOGGER.warn("Timed out waiting for throttling counters to be written");
+        }
+        flush(System.currentTimeMillis());
+    }
+
+    private void addPendingFailures(final String key, final long window, final long count) {
+        this.pendingFailures.computeIfAbsent(window, w -> new ConcurrentHashMap<>())
+            .computeIfAbsent(key, k -> new LongAdder())
+            .add(count);
+    }
+
+    private long getPendingFailures(final String key, final long window) {
+        val counters = this.pendingFailures.get(window);
+        if (counters == null) {
+            return 0;
+        }
+        val adder = counters.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+}
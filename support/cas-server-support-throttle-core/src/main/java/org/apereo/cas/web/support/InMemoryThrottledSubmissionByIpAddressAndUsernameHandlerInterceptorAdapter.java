@@ -35,6 +35,20 @@ public class InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
             throttledRequestResponseHandler, map, throttledRequestExecutor);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(final int failureThreshold,
+                                                                                      final int failureRangeInSeconds,
+                                                                                      final String usernameParameter,
+                                                                                      final String authenticationFailureCode,
+                                                                                      final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                                      final String applicationCode,
+                                                                                      final ThrottledRequestResponseHandler throttledRequestResponseHandler,
+                                                                                      final SlidingWindowSubmissionCounter submissionCounter,
+                                                                                      final ThrottledRequestExecutor throttledRequestExecutor) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode,
+            throttledRequestResponseHandler, submissionCounter, throttledRequestExecutor);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         val username = request.getParameter(getUsernameParameter());
@@ -32,6 +32,20 @@ public class InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter ext
             throttledRequestResponseHandler, map, throttledRequestExecutor);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(final int failureThreshold,
+                                                                           final int failureRangeInSeconds,
+                                                                           final String usernameParameter,
+                                                                           final String authenticationFailureCode,
+                                                                           final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                           final String applicationCode,
+                                                                           final ThrottledRequestResponseHandler throttledRequestResponseHandler,
+                                                                           final SlidingWindowSubmissionCounter submissionCounter,
+                                                                           final ThrottledRequestExecutor throttledRequestExecutor) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode,
+            throttledRequestResponseHandler, submissionCounter, throttledRequestExecutor);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         return ClientInfoHolder.getClientInfo().getClientIpAddress();
@@ -0,0 +1,123 @@
+package org.apereo.cas.web.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link SlidingWindowSubmissionCounter} that counts submissions per key over a sliding window,
+ * approximated by the counts of the current and the previous fixed windows; the previous count is weighed
+ * by how much of it still overlaps with the sliding window.
+ * <p>
+ * The state of each key is packed into a single {@link AtomicLong} and is updated lock-free,
+ * holding the window index in the upper 32 bits followed by the previous and current counts
+ * in 16 bits each. Keys are kept in a bounded cache that evicts the least recently used keys
+ * and keys that have not been seen for two windows, so there is no need to periodically sweep all keys.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+public class SlidingWindowSubmissionCounter {
+    private static final int WINDOW_SHIFT = 32;
+
+    private static final int PREVIOUS_SHIFT = 16;
+
+    private static final long COUNT_MASK = 0xFFFF;
+
+    private final long windowLength;
+
+    private final Cache<String, AtomicLong> windows;
+
+    public SlidingWindowSubmissionCounter(final Duration window, final long maximumSize) {
+        this.windowLength = window.toMillis();
+        this.windows = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(this.windowLength * 2, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    private static long pack(final long window, final long previous, final long current) {
+        return (window << WINDOW_SHIFT) | (previous << PREVIOUS_SHIFT) | current;
+    }
+
+    private static long roll(final long state, final long window) {
+        val stateWindow = state >>> WINDOW_SHIFT;
+        if (stateWindow == window) {
+            return state;
+        }
+        if (stateWindow == window - 1) {
+            return pack(window, state & COUNT_MASK, 0);
+        }
+        return pack(window, 0, 0);
+    }
+
+    /**
+     * Record a submission for the key.
+     *
+     * @param key  the key
+     * @param time the time of submission in epoch milliseconds
+     */
+    public void increment(final String key, final long time) {
+        val state = this.windows.get(key, k -> new AtomicLong());
+        val window = time / this.windowLength;
+        while (true) {
+            val current = state.get();
+            val rolled = roll(current, window);
+            val count = rolled & COUNT_MASK;
+            val next = count == COUNT_MASK ? rolled : rolled + 1;
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Estimate the number of submissions for the key within the sliding window that ends at the given time.
+     *
+     * @param key  the key
+     * @param time the time in epoch milliseconds
+     * @return the estimated number of submissions
+     */
+    public double estimate(final String key, final long time) {
+        val state = this.windows.getIfPresent(key);
+        if (state == null) {
+            return 0;
+        }
+        val rolled = roll(state.get(), time / this.windowLength);
+        val previous = (rolled >>> PREVIOUS_SHIFT) & COUNT_MASK;
+        val current = rolled & COUNT_MASK;
+        val overlap = 1 - (double) (time % this.windowLength) / this.windowLength;
+        return previous * overlap + current;
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key the key
+     */
+    public void remove(final String key) {
+        this.windows.invalidate(key);
+    }
+
+    /**
+     * Carry out pending evictions of keys that have expired.
+     */
+    public void cleanUp() {
+        this.windows.cleanUp();
+    }
+
+    /**
+     * Number of keys tracked.
+     *
+     * @return the size
+     */
+    public long size() {
+        return this.windows.estimatedSize();
+    }
+}
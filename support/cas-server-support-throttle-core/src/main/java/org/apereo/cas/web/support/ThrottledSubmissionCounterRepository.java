@@ -0,0 +1,39 @@
+package org.apereo.cas.web.support;
+
+import java.util.Map;
+
+/**
+ * This is {@link ThrottledSubmissionCounterRepository} that keeps track of the number of failed submissions
+ * per key in fixed time windows, each identified by its index since the epoch. Counters are meant to be
+ * kept in a dedicated and compact store, so that throttling decisions do not have to scan audit records.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface ThrottledSubmissionCounterRepository {
+
+    /**
+     * Atomically add the given number of failures to the counters of each key in the window,
+     * creating counters that do not exist yet.
+     *
+     * @param window   the window index
+     * @param failures the failures to add, keyed by throttling key
+     */
+    void increment(long window, Map<String, Long> failures);
+
+    /**
+     * Gets the failure counters for the key in all windows starting from the given window.
+     *
+     * @param key        the throttling key
+     * @param fromWindow the first window index
+     * @return the failures, keyed by window index
+     */
+    Map<Long, Long> getFailures(String key, long fromWindow);
+
+    /**
+     * Remove counters of all windows before the given window.
+     *
+     * @param window the window index
+     */
+    void removeBefore(long window);
+}
@@ -2,10 +2,15 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.couchdb.audit.AuditActionContextCouchDbRepository;
+import org.apereo.cas.couchdb.core.CouchDbConnectorFactory;
+import org.apereo.cas.couchdb.throttle.ThrottledSubmissionCounterCouchDbRepository;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.CounterThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.CouchDbThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -48,12 +53,40 @@ public class CasCouchDbThrottlingConfiguration {
     @Qualifier("throttledRequestResponseHandler")
     private ObjectProvider<ThrottledRequestResponseHandler> throttledRequestResponseHandler;
 
+    @Autowired
+    @Qualifier("auditCouchDbFactory")
+    private ObjectProvider<CouchDbConnectorFactory> auditCouchDbFactory;
+
+    @ConditionalOnMissingBean(name = "throttledSubmissionCounterCouchDbRepository")
+    @Bean
+    @RefreshScope
+    public ThrottledSubmissionCounterCouchDbRepository throttledSubmissionCounterCouchDbRepository() {
+        val repository = new ThrottledSubmissionCounterCouchDbRepository(auditCouchDbFactory.getIfAvailable().getCouchDbConnector(),
+            casProperties.getAudit().getCouchDb().isCreateIfNotExists());
+        repository.initStandardDesignDocument();
+        return repository;
+    }
+
     @ConditionalOnMissingBean(name = "couchDbAuthenticationThrottle")
     @Bean
     @RefreshScope
-    public CouchDbThrottledSubmissionHandlerInterceptorAdapter authenticationThrottle() {
+    public ThrottledSubmissionHandlerInterceptor authenticationThrottle() {
         val throttle = casProperties.getAuthn().getThrottle();
         val failure = throttle.getFailure();
+        val counters = throttle.getCounters();
+        if (counters.isEnabled()) {
+            return new CounterThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
+                failure.getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                failure.getCode(),
+                auditTrailManager.getIfAvailable(),
+                throttle.getAppCode(),
+                throttledRequestResponseHandler.getIfAvailable(),
+                throttledRequestExecutor.getIfAvailable(),
+                throttledSubmissionCounterCouchDbRepository(),
+                Beans.newDuration(counters.getFlushInterval()),
+                CouchDbThrottledSubmissionHandlerInterceptorAdapter.NAME);
+        }
         return new CouchDbThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
             failure.getRangeSeconds(),
             throttle.getUsernameParameter(),
@@ -0,0 +1,49 @@
+package org.apereo.cas.couchdb.throttle;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link CouchDbThrottledSubmissionCounter} that holds the number of failures
+ * recorded for a throttling key in a window.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+@Setter
+public class CouchDbThrottledSubmissionCounter implements Serializable {
+    private static final long serialVersionUID = 3528641923364786195L;
+
+    @JsonProperty("_id")
+    private String cid;
+
+    @JsonProperty("_rev")
+    private String rev;
+
+    @JsonProperty
+    private String throttleKey;
+
+    @JsonProperty
+    private long failureWindow;
+
+    @JsonProperty
+    private long failures;
+
+    @JsonCreator
+    public CouchDbThrottledSubmissionCounter(@JsonProperty("_id") final String cid,
+                                             @JsonProperty("_rev") final String rev,
+                                             @JsonProperty("throttleKey") final String throttleKey,
+                                             @JsonProperty("failureWindow") final long failureWindow,
+                                             @JsonProperty("failures") final long failures) {
+        this.cid = cid;
+        this.rev = rev;
+        this.throttleKey = throttleKey;
+        this.failureWindow = failureWindow;
+        this.failures = failures;
+    }
+}
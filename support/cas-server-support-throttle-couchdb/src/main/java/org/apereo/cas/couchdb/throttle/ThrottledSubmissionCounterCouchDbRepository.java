@@ -0,0 +1,86 @@
+package org.apereo.cas.couchdb.throttle;
+
+import org.apereo.cas.web.support.ThrottledSubmissionCounterRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.ektorp.BulkDeleteDocument;
+import org.ektorp.ComplexKey;
+import org.ektorp.CouchDbConnector;
+import org.ektorp.UpdateConflictException;
+import org.ektorp.support.CouchDbRepositorySupport;
+import org.ektorp.support.View;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ThrottledSubmissionCounterCouchDbRepository} that keeps failure counters as documents,
+ * one per throttling key and window. Since documents cannot be incremented in place, counters are read and
+ * updated with their revision, and updates that conflict with other nodes are retried a few times.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@View(name = "all", map = "function(doc) { if(doc.throttleKey) { emit(doc._id, doc) } }")
+public class ThrottledSubmissionCounterCouchDbRepository extends CouchDbRepositorySupport<CouchDbThrottledSubmissionCounter>
+    implements ThrottledSubmissionCounterRepository {
+
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    public ThrottledSubmissionCounterCouchDbRepository(final CouchDbConnector db, final boolean createIfNotExists) {
+        super(CouchDbThrottledSubmissionCounter.class, db, createIfNotExists);
+    }
+
+    @Override
+    public void increment(final long window, final Map<String, Long> failures) {
+        failures.forEach((key, count) -> increment(key, window, count));
+    }
+
+    @View(name = "by_key_and_window", map = "function(doc) { if(doc.throttleKey) { emit([doc.throttleKey, doc.failureWindow], doc.failures) } }")
+    @Override
+    public Map<Long, Long> getFailures(final String key, final long fromWindow) {
+        val query = createQuery("by_key_and_window")
+            .startKey(ComplexKey.of(key, fromWindow))
+            .endKey(ComplexKey.of(key, ComplexKey.emptyObject()));
+        val results = new HashMap<Long, Long>();
+        db.queryView(query).getRows()
+            .forEach(row -> results.put(row.getKeyAsNode().get(1).asLong(), row.getValueAsNode().asLong()));
+        return results;
+    }
+
+    @View(name = "by_window", map = "function(doc) { if(doc.throttleKey) { emit(doc.failureWindow, doc._rev) } }")
+    @Override
+    public void removeBefore(final long window) {
+        val query = createQuery("by_window").endKey(window).inclusiveEnd(false);
+        val documents = db.queryView(query).getRows()
+            .stream()
+            .map(row -> new BulkDeleteDocument(row.getId(), row.getValue()))
+            .collect(Collectors.toList());
+        if (!documents.isEmpty()) {
+            db.executeBulk(documents);
+            LOGGER.trace("Removed [{}] expired throttling counter(s)", documents.size());
+        }
+    }
+
+    private void increment(final String key, final long window, final long count) {
+        val id = key + '@' + window;
+        for (var attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            try {
+                val counter = db.find(CouchDbThrottledSubmissionCounter.class, id);
+                if (counter == null) {
+                    db.create(new CouchDbThrottledSubmissionCounter(id, null, key, window, count));
+                } else {
+                    counter.setFailures(counter.getFailures() + count);
+                    db.update(counter);
+                }
+                return;
+            } catch (final UpdateConflictException e) {
+                LOGGER.trace("Throttling counter [{}] was updated concurrently; attempt [{}] of [{}]", id, attempt, MAX_UPDATE_ATTEMPTS);
+            }
+        }
+        LOGGER.warn("Unable to record [{}] failure(s) for [{}] after [{}] attempts", count, key, MAX_UPDATE_ATTEMPTS);
+    }
+}
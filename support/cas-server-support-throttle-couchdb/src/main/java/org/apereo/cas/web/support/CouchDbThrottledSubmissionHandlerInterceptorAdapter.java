@@ -22,7 +22,10 @@ import java.util.stream.Collectors;
  */
 public class CouchDbThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
 
-    private static final String NAME = "CouchDbThrottle";
+    /**
+     * Name of this throttle.
+     */
+    public static final String NAME = "CouchDbThrottle";
 
     private final AuditActionContextCouchDbRepository repository;
 
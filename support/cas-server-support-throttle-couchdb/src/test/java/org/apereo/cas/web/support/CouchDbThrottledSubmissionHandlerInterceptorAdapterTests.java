@@ -25,6 +25,7 @@ import org.apereo.cas.config.CasThrottlingConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.couchdb.audit.AuditActionContextCouchDbRepository;
 import org.apereo.cas.couchdb.core.CouchDbConnectorFactory;
+import org.apereo.cas.couchdb.throttle.ThrottledSubmissionCounterCouchDbRepository;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 
 import lombok.Getter;
@@ -88,6 +89,10 @@ public class CouchDbThrottledSubmissionHandlerInterceptorAdapterTests extends
     @Qualifier("auditActionContextCouchDbRepository")
     private AuditActionContextCouchDbRepository couchDbRepository;
 
+    @Autowired
+    @Qualifier("throttledSubmissionCounterCouchDbRepository")
+    private ThrottledSubmissionCounterCouchDbRepository counterRepository;
+
     @Autowired
     @Qualifier("auditCouchDbFactory")
     private CouchDbConnectorFactory couchDbFactory;
@@ -96,6 +101,7 @@ public class CouchDbThrottledSubmissionHandlerInterceptorAdapterTests extends
     public void setUp() {
         couchDbFactory.getCouchDbInstance().createDatabaseIfNotExists(couchDbFactory.getCouchDbConnector().getDatabaseName());
         couchDbRepository.initStandardDesignDocument();
+        counterRepository.initStandardDesignDocument();
     }
 
     @AfterEach
@@ -2,10 +2,14 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.CounterThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.JdbcThrottledSubmissionCounterRepository;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionCounterRepository;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.val;
@@ -13,6 +17,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -52,11 +57,39 @@ public class CasJdbcThrottlingConfiguration {
         return JpaBeans.newDataSource(casProperties.getAuthn().getThrottle().getJdbc());
     }
 
+    @RefreshScope
+    @Bean
+    @ConditionalOnMissingBean(name = "jdbcThrottledSubmissionCounterRepository")
+    public ThrottledSubmissionCounterRepository jdbcThrottledSubmissionCounterRepository() {
+        val jdbc = casProperties.getAuthn().getThrottle().getJdbc();
+        val repository = new JdbcThrottledSubmissionCounterRepository(inspektrThrottleDataSource(),
+            casProperties.getAuthn().getThrottle().getCounters().getStorageName());
+        if (!"none".equalsIgnoreCase(jdbc.getDdlAuto()) && !"validate".equalsIgnoreCase(jdbc.getDdlAuto())) {
+            repository.createTable();
+        }
+        return repository;
+    }
+
     @Bean
     @RefreshScope
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle() {
         val throttle = casProperties.getAuthn().getThrottle();
         val failure = throttle.getFailure();
+        val counters = throttle.getCounters();
+        if (counters.isEnabled()) {
+            return new CounterThrottledSubmissionHandlerInterceptorAdapter(
+                failure.getThreshold(),
+                failure.getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                failure.getCode(),
+                auditTrailManager.getIfAvailable(),
+                throttle.getAppCode(),
+                throttledRequestResponseHandler.getIfAvailable(),
+                throttledRequestExecutor.getIfAvailable(),
+                jdbcThrottledSubmissionCounterRepository(),
+                Beans.newDuration(counters.getFlushInterval()),
+                JdbcThrottledSubmissionHandlerInterceptorAdapter.NAME);
+        }
         return new JdbcThrottledSubmissionHandlerInterceptorAdapter(
             failure.getThreshold(),
             failure.getRangeSeconds(),
@@ -0,0 +1,132 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link JdbcThrottledSubmissionCounterRepository} that keeps failure counters in a dedicated table,
+ * with one row per throttling key and window. Counters are incremented in place with an update statement;
+ * rows that do not exist yet are inserted, and the increment is retried as an update if another node
+ * inserted the same row concurrently. Drivers that do not report the number of rows affected by each
+ * statement of a batch are detected, in which case existing rows are looked up before inserting and
+ * later increments are issued as individual updates.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class JdbcThrottledSubmissionCounterRepository implements ThrottledSubmissionCounterRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String tableName;
+
+    private final String sqlUpdate;
+
+    private final String sqlInsert;
+
+    private final String sqlSelect;
+
+    private final String sqlDelete;
+
+    private final String sqlSelectKeys;
+
+    private volatile boolean batchUpdateCountsReported = true;
+
+    public JdbcThrottledSubmissionCounterRepository(final DataSource dataSource, final String tableName) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tableName = tableName;
+        this.sqlUpdate = "UPDATE " + tableName + " SET FAILURES = FAILURES + ? WHERE THROTTLE_KEY = ? AND WINDOW_ID = ?";
+        this.sqlInsert = "INSERT INTO " + tableName + " (THROTTLE_KEY, WINDOW_ID, FAILURES) VALUES (?, ?, ?)";
+        this.sqlSelect = "SELECT WINDOW_ID, FAILURES FROM " + tableName + " WHERE THROTTLE_KEY = ? AND WINDOW_ID >= ?";
+        this.sqlDelete = "DELETE FROM " + tableName + " WHERE WINDOW_ID < ?";
+        this.sqlSelectKeys = "SELECT THROTTLE_KEY FROM " + tableName + " WHERE WINDOW_ID = ?";
+    }
+
+    /**
+     * Create the counters table, unless it already exists.
+     */
+    public void createTable() {
+        try {
+            this.jdbcTemplate.queryForList("SELECT THROTTLE_KEY FROM " + this.tableName + " WHERE 1 = 0");
+            LOGGER.trace("Throttling counters table [{}] already exists", this.tableName);
+        } catch (final Exception e) {
+            LOGGER.debug("Creating throttling counters table [{}]", this.tableName);
+            this.jdbcTemplate.execute("CREATE TABLE " + this.tableName
+                + " (THROTTLE_KEY VARCHAR(512) NOT NULL, WINDOW_ID BIGINT NOT NULL, FAILURES BIGINT NOT NULL,"
+                + " PRIMARY KEY (THROTTLE_KEY, WINDOW_ID))");
+        }
+    }
+
+    @Override
+    public void increment(final long window, final Map<String, Long> failures) {
+        val keys = new ArrayList<String>(failures.keySet());
+        if (!this.batchUpdateCountsReported) {
+            keys.forEach(key -> {
+                if (this.jdbcTemplate.update(this.sqlUpdate, failures.get(key), key, window) == 0) {
+                    insert(key, window, failures.get(key));
+                }
+            });
+            return;
+        }
+        val updates = new ArrayList<Object[]>(keys.size());
+        keys.forEach(key -> updates.add(new Object[]{failures.get(key), key, window}));
+        val results = this.jdbcTemplate.batchUpdate(this.sqlUpdate, updates);
+        val unknown = new ArrayList<String>();
+        for (var i = 0; i < results.length; i++) {
+            val key = keys.get(i);
+            if (results[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(key);
+            } else if (results[i] == 0) {
+                insert(key, window, failures.get(key));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            LOGGER.warn("Database driver does not report the number of rows updated in a batch; "
+                + "throttling counters will be updated individually from now on");
+            this.batchUpdateCountsReported = false;
+            insertMissing(window, unknown, failures);
+        }
+    }
+
+    @Override
+    public Map<Long, Long> getFailures(final String key, final long fromWindow) {
+        val results = new HashMap<Long, Long>();
+        this.jdbcTemplate.query(this.sqlSelect, new Object[]{key, fromWindow},
+            rs -> {
+                results.put(rs.getLong(1), rs.getLong(2));
+            });
+        return results;
+    }
+
+    private void insertMissing(final long window, final List<String> keys, final Map<String, Long> failures) {
+        val existing = new HashSet<String>(this.jdbcTemplate.queryForList(this.sqlSelectKeys, String.class, window));
+        keys.stream()
+            .filter(key -> !existing.contains(key))
+            .forEach(key -> insert(key, window, failures.get(key)));
+    }
+
+    private void insert(final String key, final long window, final long count) {
+        try {
+            this.jdbcTemplate.update(this.sqlInsert, key, window, count);
+        } catch (final DuplicateKeyException e) {
+            LOGGER.trace("Throttling counter for [{}] was created concurrently; updating it instead", key);
+            this.jdbcTemplate.update(this.sqlUpdate, count, key, window);
+        }
+    }
+
+    @Override
+    public void removeBefore(final long window) {
+        val count = this.jdbcTemplate.update(this.sqlDelete, window);
+        LOGGER.trace("Removed [{}] expired throttling counter(s)", count);
+    }
+}
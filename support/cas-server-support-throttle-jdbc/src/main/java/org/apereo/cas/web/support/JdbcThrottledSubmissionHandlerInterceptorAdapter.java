@@ -27,6 +27,12 @@ import java.util.stream.Collectors;
  * @since 3.3.5
  */
 public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
+
+    /**
+     * Name of this throttle.
+     */
+    public static final String NAME = "InspektrIpAddressUsernameThrottle";
+
     private final String sqlQueryAudit;
     private final JdbcTemplate jdbcTemplate;
 
@@ -69,6 +75,6 @@ public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractIn
 
     @Override
     public String getName() {
-        return "InspektrIpAddressUsernameThrottle";
+        return NAME;
     }
 }
@@ -2,9 +2,12 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.CounterThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.MongoDbThrottledSubmissionCounterRepository;
 import org.apereo.cas.web.support.MongoDbThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
@@ -51,6 +54,23 @@ public class CasMongoDbThrottlingConfiguration {
         val mongoTemplate = factory.buildMongoTemplate(mongo);
         factory.createCollection(mongoTemplate, mongo.getCollection(), mongo.isDropCollection());
 
+        val counters = throttle.getCounters();
+        if (counters.isEnabled()) {
+            val repository = new MongoDbThrottledSubmissionCounterRepository(mongoTemplate, counters.getStorageName());
+            repository.createCollection();
+            return new CounterThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
+                failure.getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                failure.getCode(),
+                auditTrailExecutionPlan,
+                throttle.getAppCode(),
+                throttledRequestResponseHandler.getIfAvailable(),
+                throttledRequestExecutor.getIfAvailable(),
+                repository,
+                Beans.newDuration(counters.getFlushInterval()),
+                MongoDbThrottledSubmissionHandlerInterceptorAdapter.NAME);
+        }
+
         return new MongoDbThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
             failure.getRangeSeconds(),
             throttle.getUsernameParameter(),
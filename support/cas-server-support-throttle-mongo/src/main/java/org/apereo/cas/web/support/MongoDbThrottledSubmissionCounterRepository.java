@@ -0,0 +1,82 @@
+package org.apereo.cas.web.support;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is {@link MongoDbThrottledSubmissionCounterRepository} that keeps failure counters in a dedicated collection,
+ * with one document per throttling key and window. Counters are incremented with unordered bulk upserts.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MongoDbThrottledSubmissionCounterRepository implements ThrottledSubmissionCounterRepository {
+    private static final String FIELD_ID = "_id";
+
+    private static final String FIELD_KEY = "key";
+
+    private static final String FIELD_WINDOW = "window";
+
+    private static final String FIELD_FAILURES = "failures";
+
+    private final transient MongoTemplate mongoTemplate;
+
+    private final String collectionName;
+
+    /**
+     * Create the counters collection and its indexes, unless they already exist.
+     */
+    public void createCollection() {
+        if (!this.mongoTemplate.collectionExists(this.collectionName)) {
+            LOGGER.debug("Creating throttling counters collection [{}]", this.collectionName);
+            this.mongoTemplate.createCollection(this.collectionName);
+        }
+        val indexes = this.mongoTemplate.indexOps(this.collectionName);
+        indexes.ensureIndex(new Index().on(FIELD_KEY, Sort.Direction.ASC).on(FIELD_WINDOW, Sort.Direction.ASC));
+        indexes.ensureIndex(new Index().on(FIELD_WINDOW, Sort.Direction.ASC));
+    }
+
+    @Override
+    public void increment(final long window, final Map<String, Long> failures) {
+        val operations = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, this.collectionName);
+        failures.forEach((key, count) -> {
+            val query = new Query(Criteria.where(FIELD_ID).is(key + '@' + window));
+            val update = new Update()
+                .inc(FIELD_FAILURES, count)
+                .setOnInsert(FIELD_KEY, key)
+                .setOnInsert(FIELD_WINDOW, window);
+            operations.upsert(query, update);
+        });
+        val result = operations.execute();
+        LOGGER.trace("Incremented [{}] and created [{}] throttling counter(s)", result.getModifiedCount(), result.getUpserts().size());
+    }
+
+    @Override
+    public Map<Long, Long> getFailures(final String key, final long fromWindow) {
+        val query = new Query(Criteria.where(FIELD_KEY).is(key).and(FIELD_WINDOW).gte(fromWindow));
+        val results = new HashMap<Long, Long>();
+        this.mongoTemplate.find(query, Document.class, this.collectionName)
+            .forEach(doc -> results.put(((Number) doc.get(FIELD_WINDOW)).longValue(), ((Number) doc.get(FIELD_FAILURES)).longValue()));
+        return results;
+    }
+
+    @Override
+    public void removeBefore(final long window) {
+        val result = this.mongoTemplate.remove(new Query(Criteria.where(FIELD_WINDOW).lt(window)), this.collectionName);
+        LOGGER.trace("Removed [{}] expired throttling counter(s)", result.getDeletedCount());
+    }
+}
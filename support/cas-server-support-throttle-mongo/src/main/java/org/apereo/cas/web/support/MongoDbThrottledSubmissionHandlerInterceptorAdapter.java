@@ -24,6 +24,12 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class MongoDbThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
+
+    /**
+     * Name of this throttle.
+     */
+    public static final String NAME = "MongoDbThrottle";
+
     private final transient MongoTemplate mongoTemplate;
     private final String collectionName;
 
@@ -70,6 +76,6 @@ public class MongoDbThrottledSubmissionHandlerInterceptorAdapter extends Abstrac
 
     @Override
     public String getName() {
-        return "MongoDbThrottle";
+        return NAME;
     }
 }
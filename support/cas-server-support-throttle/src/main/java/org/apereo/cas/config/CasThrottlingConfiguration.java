@@ -11,6 +11,7 @@ import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
+import org.apereo.cas.web.support.SlidingWindowSubmissionCounter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -27,9 +28,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 
-import java.time.ZonedDateTime;
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -51,6 +51,10 @@ public class CasThrottlingConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("throttleSubmissionMap")
+    private ObjectProvider<ConcurrentMap> throttleSubmissionMap;
+
     @RefreshScope
     @Bean
     @ConditionalOnMissingBean(name = "throttledRequestResponseHandler")
@@ -67,10 +71,12 @@ public class CasThrottlingConfiguration {
     }
 
     @RefreshScope
-    @ConditionalOnMissingBean(name = "throttleSubmissionMap")
+    @ConditionalOnMissingBean(name = "throttleSubmissionCounter")
     @Bean
-    public ConcurrentMap throttleSubmissionMap() {
-        return new ConcurrentHashMap<String, ZonedDateTime>();
+    public SlidingWindowSubmissionCounter throttleSubmissionCounter() {
+        val throttle = casProperties.getAuthn().getThrottle();
+        return new SlidingWindowSubmissionCounter(Duration.ofSeconds(Math.max(1, throttle.getFailure().getRangeSeconds())),
+            throttle.getInMemory().getMaximumSize());
     }
 
     @RefreshScope
@@ -84,6 +90,45 @@ public class CasThrottlingConfiguration {
             return ThrottledSubmissionHandlerInterceptor.noOp();
         }
 
+        val map = throttleSubmissionMap.getIfAvailable();
+        if (map != null) {
+            LOGGER.trace("Tracking authentication failures in the provided submission map");
+            return buildAuthenticationThrottle(map);
+        }
+        LOGGER.trace("Counting authentication failures in memory over a sliding window");
+        return buildAuthenticationThrottle(throttleSubmissionCounter());
+    }
+
+    private ThrottledSubmissionHandlerInterceptor buildAuthenticationThrottle(final ConcurrentMap map) {
+        val throttle = casProperties.getAuthn().getThrottle();
+        if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
+            LOGGER.trace("Activating authentication throttling based on IP address and username...");
+            return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(
+                throttle.getFailure().getThreshold(),
+                throttle.getFailure().getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                throttle.getFailure().getCode(),
+                auditTrailExecutionPlan.getIfAvailable(),
+                throttle.getAppCode(),
+                throttledRequestResponseHandler(),
+                map,
+                throttledRequestExecutor());
+        }
+        LOGGER.trace("Activating authentication throttling based on IP address...");
+        return new InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(
+            throttle.getFailure().getThreshold(),
+            throttle.getFailure().getRangeSeconds(),
+            throttle.getUsernameParameter(),
+            throttle.getFailure().getCode(),
+            auditTrailExecutionPlan.getIfAvailable(),
+            throttle.getAppCode(),
+            throttledRequestResponseHandler(),
+            map,
+            throttledRequestExecutor());
+    }
+
+    private ThrottledSubmissionHandlerInterceptor buildAuthenticationThrottle(final SlidingWindowSubmissionCounter counter) {
+        val throttle = casProperties.getAuthn().getThrottle();
         if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
             LOGGER.trace("Activating authentication throttling based on IP address and username...");
             return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(
@@ -94,7 +139,7 @@ public class CasThrottlingConfiguration {
                 auditTrailExecutionPlan.getIfAvailable(),
                 throttle.getAppCode(),
                 throttledRequestResponseHandler(),
-                throttleSubmissionMap(),
+                counter,
                 throttledRequestExecutor());
         }
         LOGGER.trace("Activating authentication throttling based on IP address...");
@@ -106,7 +151,7 @@ public class CasThrottlingConfiguration {
             auditTrailExecutionPlan.getIfAvailable(),
             throttle.getAppCode(),
             throttledRequestResponseHandler(),
-            throttleSubmissionMap(),
+            counter,
             throttledRequestExecutor());
     }
 
@@ -0,0 +1,133 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link CounterThrottledSubmissionHandlerInterceptorAdapterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CounterThrottledSubmissionHandlerInterceptorAdapterTests {
+    private static final String IP_ADDRESS = "1.2.3.4";
+
+    private InMemoryCounterRepository repository;
+
+    private static CounterThrottledSubmissionHandlerInterceptorAdapter getThrottle(final ThrottledSubmissionCounterRepository repository,
+                                                                                 final Duration flushInterval) {
+        return new CounterThrottledSubmissionHandlerInterceptorAdapter(2, 3600, "username",
+            "AUTHENTICATION_FAILED", null, "CAS", null, null,
+            repository, flushInterval, "CounterThrottle");
+    }
+
+    private static MockHttpServletRequest getRequest(final String username) {
+        val request = new MockHttpServletRequest();
+        request.setRemoteAddr(IP_ADDRESS);
+        request.setLocalAddr(IP_ADDRESS);
+        request.setParameter("username", username);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+        return request;
+    }
+
+    @BeforeEach
+    public void initialize() {
+        this.repository = new InMemoryCounterRepository();
+    }
+
+    @AfterEach
+    public void afterEachTest() {
+        ClientInfoHolder.setClientInfo(null);
+    }
+
+    @Test
+    public void verifyFailuresAreWrittenToCounters() throws Exception {
+        val throttle = getThrottle(repository, Duration.ZERO);
+        val request = getRequest("casuser");
+        IntStream.range(0, 2).forEach(i -> throttle.recordSubmissionFailure(request));
+        assertFalse(throttle.exceedsThreshold(request));
+        throttle.recordSubmissionFailure(request);
+        assertTrue(throttle.exceedsThreshold(request));
+        throttle.destroy();
+        assertEquals(3, repository.getTotalFailures(IP_ADDRESS + ";casuser"));
+        assertFalse(throttle.exceedsThreshold(getRequest("other")));
+    }
+
+    @Test
+    public void verifyFailuresAreKeptWhenCountersCannotBeWritten() {
+        val failing = new InMemoryCounterRepository() {
+            private boolean available;
+
+            @Override
+            public void increment(final long window, final Map<String, Long> failures) {
+                if (!available) {
+                    available = true;
+                    throw new IllegalStateException("Repository is unavailable");
+                }
+                super.increment(window, failures);
+            }
+        };
+        val throttle = getThrottle(failing, Duration.ofHours(1));
+        val request = getRequest("casuser");
+        IntStream.range(0, 3).forEach(i -> throttle.recordSubmissionFailure(request));
+        throttle.decrement();
+        assertEquals(0, failing.getTotalFailures(IP_ADDRESS + ";casuser"));
+        assertTrue(throttle.exceedsThreshold(request));
+        throttle.decrement();
+        assertEquals(3, failing.getTotalFailures(IP_ADDRESS + ";casuser"));
+    }
+
+    @Test
+    public void verifyPendingFailuresAreCountedAndFlushed() {
+        val throttle = getThrottle(repository, Duration.ofHours(1));
+        val request = getRequest("CasUser");
+        IntStream.range(0, 3).forEach(i -> throttle.recordSubmissionFailure(request));
+        assertEquals(0, repository.getTotalFailures(IP_ADDRESS + ";casuser"));
+        assertTrue(throttle.exceedsThreshold(request));
+        throttle.decrement();
+        assertEquals(3, repository.getTotalFailures(IP_ADDRESS + ";casuser"));
+        assertTrue(throttle.exceedsThreshold(request));
+    }
+
+    private static class InMemoryCounterRepository implements ThrottledSubmissionCounterRepository {
+        private final Map<String, Map<Long, Long>> counters = new ConcurrentHashMap<>();
+
+        @Override
+        public void increment(final long window, final Map<String, Long> failures) {
+            failures.forEach((key, count) -> counters.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).merge(window, count, Long::sum));
+        }
+
+        @Override
+        public Map<Long, Long> getFailures(final String key, final long fromWindow) {
+            val results = new HashMap<Long, Long>();
+            counters.getOrDefault(key, Map.of()).forEach((window, count) -> {
+                if (window >= fromWindow) {
+                    results.put(window, count);
+                }
+            });
+            return results;
+        }
+
+        @Override
+        public void removeBefore(final long window) {
+            counters.values().forEach(windows -> windows.keySet().removeIf(w -> w < window));
+        }
+
+        long getTotalFailures(final String key) {
+            return counters.getOrDefault(key, Map.of()).values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link SlidingWindowSubmissionCounterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SlidingWindowSubmissionCounterTests {
+    private static final String KEY = "1.2.3.4";
+
+    @Test
+    public void verifySlidingWindow() {
+        val counter = new SlidingWindowSubmissionCounter(Duration.ofSeconds(10), 100);
+        val start = 100_000L;
+        IntStream.range(0, 4).forEach(i -> counter.increment(KEY, start + i));
+        assertEquals(4, counter.estimate(KEY, start + 5), 0.001);
+        assertEquals(2, counter.estimate(KEY, start + 15_000), 0.001);
+        counter.increment(KEY, start + 15_000);
+        assertEquals(3, counter.estimate(KEY, start + 15_000), 0.001);
+        assertEquals(0, counter.estimate(KEY, start + 40_000), 0.001);
+        assertEquals(0, counter.estimate("unknown", start), 0.001);
+    }
+
+    @Test
+    public void verifyConcurrentIncrements() throws Exception {
+        val counter = new SlidingWindowSubmissionCounter(Duration.ofSeconds(60), 100);
+        val time = 60_000L;
+        val executor = Executors.newFixedThreadPool(4);
+        IntStream.range(0, 1000).forEach(i -> executor.submit(() -> counter.increment(KEY, time)));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1000, counter.estimate(KEY, time), 0.001);
+    }
+
+    @Test
+    public void verifyBoundedSize() {
+        val counter = new SlidingWindowSubmissionCounter(Duration.ofSeconds(60), 10);
+        IntStream.range(0, 100).forEach(i -> counter.increment("key" + i, 1000));
+        counter.cleanUp();
+        assertTrue(counter.size() <= 10);
+    }
+}
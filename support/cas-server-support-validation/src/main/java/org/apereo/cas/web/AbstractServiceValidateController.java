@@ -23,6 +23,7 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.UnsatisfiedAuthenticationContextTicketValidationException;
 import org.apereo.cas.ticket.proxy.ProxyHandler;
+import org.apereo.cas.util.MetricsUtils;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.validation.Assertion;
 import org.apereo.cas.validation.CasProtocolValidationSpecification;
@@ -32,6 +33,7 @@ import org.apereo.cas.validation.UnauthorizedServiceTicketValidationException;
 import org.apereo.cas.validation.ValidationResponseType;
 import org.apereo.cas.web.support.ArgumentExtractor;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -70,6 +72,12 @@ import java.util.function.Function;
 @Setter
 @AllArgsConstructor
 public abstract class AbstractServiceValidateController extends AbstractDelegateController {
+    private static final String METER_NAME_VALIDATION = "cas.validation";
+
+    private static final String REQUEST_ATTRIBUTE_REGISTERED_SERVICE = AbstractServiceValidateController.class.getName() + ".registeredService";
+
+    private static final String TAG_CONTROLLER = "controller";
+
 
     private Set<CasProtocolValidationSpecification> validationSpecifications = new LinkedHashSet<>();
 
@@ -127,6 +135,7 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
         if (StringUtils.isNotBlank(pgtUrl)) {
             try {
                 val registeredService = this.servicesManager.findServiceBy(service);
+                request.setAttribute(REQUEST_ATTRIBUTE_REGISTERED_SERVICE, registeredService);
                 verifyRegisteredServiceProperties(registeredService, service);
                 return new HttpBasedServiceCredential(new URL(pgtUrl), registeredService);
             } catch (final Exception e) {
@@ -174,9 +183,13 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
             LOGGER.debug("Could not identify service and/or service ticket for service: [{}]", service);
             return generateErrorView(CasProtocolConstants.ERROR_CODE_INVALID_REQUEST, null, request, service);
         }
+        val sample = MetricsUtils.startTimer();
+        var validated = false;
         try {
             prepareForTicketValidation(request, service, serviceTicketId);
-            return handleTicketValidation(request, service, serviceTicketId);
+            val modelAndView = handleTicketValidation(request, service, serviceTicketId);
+            validated = modelAndView.getModel().containsKey(CasViewConstants.MODEL_ATTRIBUTE_NAME_ASSERTION);
+            return modelAndView;
         } catch (final AbstractTicketValidationException e) {
             val code = e.getCode();
             return generateErrorView(code, new Object[]{serviceTicketId, e.getService().getId(), service.getId()}, request, service);
@@ -186,9 +199,24 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
             return generateErrorView(CasProtocolConstants.ERROR_CODE_UNAUTHORIZED_SERVICE_PROXY, new Object[]{service.getId()}, request, service);
         } catch (final UnauthorizedServiceException | PrincipalException e) {
             return generateErrorView(CasProtocolConstants.ERROR_CODE_UNAUTHORIZED_SERVICE, null, request, service);
+        } finally {
+            recordValidation(sample, request, getClass(), validated);
         }
     }
 
+    /**
+     * Record the validation, tagged by the registered service that was located while validating the ticket
+     * or delivering a proxy-granting ticket. Validations that fail before the registered service is located
+     * are tagged as unknown, so that the service registry is never searched again just to record metrics.
+     */
+    private static void recordValidation(final Timer.Sample sample, final HttpServletRequest request,
+                                         final Class<?> controller, final boolean validated) {
+        val registeredService = (RegisteredService) request.getAttribute(REQUEST_ATTRIBUTE_REGISTERED_SERVICE);
+        MetricsUtils.stopTimer(sample, METER_NAME_VALIDATION, validated,
+            TAG_CONTROLLER, controller.getSimpleName(),
+            MetricsUtils.TAG_SERVICE, MetricsUtils.getServiceTag(registeredService != null ? registeredService.getId() : null));
+    }
+
     /**
      * Prepare for ticket validation.
      *
@@ -226,6 +254,9 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
             }
         }
         val assertion = validateServiceTicket(service, serviceTicketId);
+        if (assertion.getRegisteredService() != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE_REGISTERED_SERVICE, assertion.getRegisteredService());
+        }
         if (!validateAssertion(request, serviceTicketId, assertion, service)) {
             return generateErrorView(CasProtocolConstants.ERROR_CODE_INVALID_TICKET, new Object[]{serviceTicketId}, request, service);
         }
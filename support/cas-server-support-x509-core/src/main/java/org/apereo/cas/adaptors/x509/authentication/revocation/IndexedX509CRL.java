@@ -0,0 +1,225 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation;
+
+import lombok.Getter;
+import lombok.val;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.Principal;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.security.cert.CRLException;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * This is {@link IndexedX509CRL} that decorates a parsed CRL with a compact index of the serial numbers
+ * it revokes. The index is a table of primitive {@code long} values that holds the lower 64 bits of each serial
+ * number, and answers whether a serial number may be revoked in constant time without consulting the CRL
+ * entries. Serial numbers that are found in the index are confirmed against the CRL itself.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class IndexedX509CRL extends X509CRL {
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    @Getter
+    private final X509CRL crl;
+
+    @Getter
+    private final int revokedCount;
+
+    private final long[] serials;
+
+    private final boolean zeroSerialRevoked;
+
+    public IndexedX509CRL(final X509CRL crl) {
+        this.crl = crl;
+        val revoked = crl.getRevokedCertificates();
+        this.revokedCount = revoked == null ? 0 : revoked.size();
+        val capacity = Integer.highestOneBit(Math.max(1, this.revokedCount * 2 - 1)) << 1;
+        this.serials = new long[capacity];
+        var zero = false;
+        if (revoked != null) {
+            for (val entry : revoked) {
+                val key = entry.getSerialNumber().longValue();
+                if (key == 0) {
+                    zero = true;
+                } else {
+                    insert(key);
+                }
+            }
+        }
+        this.zeroSerialRevoked = zero;
+    }
+
+    private static int slot(final long key, final int mask) {
+        val hash = key * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Determine whether the serial number may be revoked by this CRL.
+     * A negative answer is definitive.
+     *
+     * @param serialNumber the serial number
+     * @return true if the serial number may be revoked
+     */
+    public boolean mayBeRevoked(final BigInteger serialNumber) {
+        val key = serialNumber.longValue();
+        if (key == 0) {
+            return this.zeroSerialRevoked;
+        }
+        val mask = this.serials.length - 1;
+        var index = slot(key, mask);
+        while (this.serials[index] != 0) {
+            if (this.serials[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final BigInteger serialNumber) {
+        return mayBeRevoked(serialNumber) ? this.crl.getRevokedCertificate(serialNumber) : null;
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final X509Certificate certificate) {
+        return mayBeRevoked(certificate.getSerialNumber()) ? this.crl.getRevokedCertificate(certificate) : null;
+    }
+
+    @Override
+    public boolean isRevoked(final Certificate cert) {
+        if (cert instanceof X509Certificate) {
+            return getRevokedCertificate((X509Certificate) cert) != null;
+        }
+        return this.crl.isRevoked(cert);
+    }
+
+    @Override
+    public byte[] getEncoded() throws CRLException {
+        return this.crl.getEncoded();
+    }
+
+    @Override
+    public void verify(final PublicKey key) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, NoSuchProviderException, SignatureException {
+        this.crl.verify(key);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final String sigProvider) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, NoSuchProviderException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public void verify(final PublicKey key, final Provider sigProvider) throws CRLException, NoSuchAlgorithmException,
+        InvalidKeyException, SignatureException {
+        this.crl.verify(key, sigProvider);
+    }
+
+    @Override
+    public int getVersion() {
+        return this.crl.getVersion();
+    }
+
+    @Override
+    public Principal getIssuerDN() {
+        return this.crl.getIssuerDN();
+    }
+
+    @Override
+    public X500Principal getIssuerX500Principal() {
+        return this.crl.getIssuerX500Principal();
+    }
+
+    @Override
+    public Date getThisUpdate() {
+        return this.crl.getThisUpdate();
+    }
+
+    @Override
+    public Date getNextUpdate() {
+        return this.crl.getNextUpdate();
+    }
+
+    @Override
+    public Set<? extends X509CRLEntry> getRevokedCertificates() {
+        return this.crl.getRevokedCertificates();
+    }
+
+    @Override
+    public byte[] getTBSCertList() throws CRLException {
+        return this.crl.getTBSCertList();
+    }
+
+    @Override
+    public byte[] getSignature() {
+        return this.crl.getSignature();
+    }
+
+    @Override
+    public String getSigAlgName() {
+        return this.crl.getSigAlgName();
+    }
+
+    @Override
+    public String getSigAlgOID() {
+        return this.crl.getSigAlgOID();
+    }
+
+    @Override
+    public byte[] getSigAlgParams() {
+        return this.crl.getSigAlgParams();
+    }
+
+    @Override
+    public boolean hasUnsupportedCriticalExtension() {
+        return this.crl.hasUnsupportedCriticalExtension();
+    }
+
+    @Override
+    public Set<String> getCriticalExtensionOIDs() {
+        return this.crl.getCriticalExtensionOIDs();
+    }
+
+    @Override
+    public Set<String> getNonCriticalExtensionOIDs() {
+        return this.crl.getNonCriticalExtensionOIDs();
+    }
+
+    @Override
+    public byte[] getExtensionValue(final String oid) {
+        return this.crl.getExtensionValue(oid);
+    }
+
+    @Override
+    public String toString() {
+        return this.crl.toString();
+    }
+
+    private void insert(final long key) {
+        val mask = this.serials.length - 1;
+        var index = slot(key, mask);
+        while (this.serials[index] != 0) {
+            if (this.serials[index] == key) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        this.serials[index] = key;
+    }
+}
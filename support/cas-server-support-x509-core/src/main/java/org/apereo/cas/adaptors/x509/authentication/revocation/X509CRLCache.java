@@ -0,0 +1,213 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation;
+
+import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link X509CRLCache} that keeps CRLs fetched from distribution points parsed and indexed
+ * in memory. A CRL is parsed, and its signature is verified against the trusted issuer certificates if any,
+ * only once when it is fetched. Concurrent requests for a distribution point that is not cached yet share
+ * a single fetch. Cached CRLs are refreshed in the background once their next update is due, or once
+ * the maximum refresh interval elapses, whichever comes first; if a refresh fails, the cached copy is kept
+ * and the refresh is retried shortly after.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Getter
+public class X509CRLCache implements DisposableBean {
+    private static final Duration MINIMUM_REFRESH_INTERVAL = Duration.ofMinutes(1);
+
+    private final CRLFetcher fetcher;
+
+    private final Collection<X509Certificate> issuerCertificates;
+
+    private final Duration maximumRefreshInterval;
+
+    private final LoadingCache<URI, IndexedX509CRL> cache;
+
+    private final Map<URI, ScheduledFuture<?>> refreshes = new ConcurrentHashMap<>();
+
+    private final LongAdder refreshFailures = new LongAdder();
+
+    private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1,
+        new BasicThreadFactory.Builder().namingPattern("cas-crl-refresh-%d").daemon(true).build());
+
+    public X509CRLCache(final CRLFetcher fetcher, final Collection<X509Certificate> issuerCertificates,
+                        final long maximumSize, final Duration maximumRefreshInterval, final Duration idleTimeout) {
+        this.fetcher = fetcher;
+        this.issuerCertificates = issuerCertificates;
+        this.maximumRefreshInterval = maximumRefreshInterval.compareTo(MINIMUM_REFRESH_INTERVAL) < 0
+            ? MINIMUM_REFRESH_INTERVAL
+            : maximumRefreshInterval;
+        val builder = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .removalListener((URI uri, IndexedX509CRL crl, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    cancelRefresh(uri);
+                }
+            });
+        if (idleTimeout != null && !idleTimeout.isZero() && !idleTimeout.isNegative()) {
+            builder.expireAfterAccess(idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        this.cache = builder.build(this::load);
+    }
+
+    /**
+     * Gets the CRL published at the given distribution point,
+     * fetching it if it is not cached yet.
+     *
+     * @param uri the distribution point
+     * @return the CRL, or null if none could be fetched
+     * @throws Exception the exception
+     */
+    public X509CRL get(final URI uri) throws Exception {
+        try {
+            return this.cache.get(uri);
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Put the CRL into the cache for the given distribution point.
+     *
+     * @param uri the distribution point
+     * @param crl the crl
+     */
+    public void put(final URI uri, final X509CRL crl) {
+        val indexed = crl instanceof IndexedX509CRL ? (IndexedX509CRL) crl : new IndexedX509CRL(crl);
+        this.cache.put(uri, indexed);
+        scheduleRefresh(uri, indexed);
+    }
+
+    /**
+     * Remove the CRL for the given distribution point.
+     *
+     * @param uri the distribution point
+     */
+    public void invalidate(final URI uri) {
+        cancelRefresh(uri);
+        this.cache.invalidate(uri);
+    }
+
+    /**
+     * Gets the hit/miss statistics of the cache.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStatistics() {
+        return this.cache.stats();
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+    }
+
+    private IndexedX509CRL load(final URI uri) throws Exception {
+        LOGGER.debug("Fetching CRL from [{}]", uri);
+        val crl = this.fetcher.fetch(uri);
+        if (crl == null) {
+            LOGGER.warn("Could not fetch X509 CRL for [{}]. Returned value is null", uri);
+            return null;
+        }
+        verify(uri, crl);
+        val indexed = new IndexedX509CRL(crl);
+        LOGGER.info("Fetched CRL at [{}] with [{}] revoked certificate(s); next update is at [{}]",
+            uri, indexed.getRevokedCount(), crl.getNextUpdate());
+        scheduleRefresh(uri, indexed);
+        return indexed;
+    }
+
+    private void verify(final URI uri, final X509CRL crl) throws GeneralSecurityException {
+        if (this.issuerCertificates == null || this.issuerCertificates.isEmpty()) {
+            return;
+        }
+        val issuer = this.issuerCertificates.stream()
+            .filter(cert -> cert.getSubjectX500Principal().equals(crl.getIssuerX500Principal()))
+            .findFirst()
+            .orElseThrow(() -> new CRLException("No trusted issuer certificate is found for CRL at "
+                + uri + " issued by " + crl.getIssuerX500Principal()));
+        crl.verify(issuer.getPublicKey());
+        LOGGER.debug("Verified signature of CRL at [{}] with [{}]", uri, issuer.getSubjectX500Principal());
+    }
+
+    private void scheduleRefresh(final URI uri, final X509CRL crl) {
+        var delay = this.maximumRefreshInterval;
+        if (crl.getNextUpdate() != null) {
+            val untilNextUpdate = Duration.between(Instant.now(), crl.getNextUpdate().toInstant());
+            if (untilNextUpdate.compareTo(delay) < 0) {
+                delay = untilNextUpdate.compareTo(MINIMUM_REFRESH_INTERVAL) < 0 ? MINIMUM_REFRESH_INTERVAL : untilNextUpdate;
+            }
+        }
+        scheduleRefresh(uri, delay);
+    }
+
+    private void scheduleRefresh(final URI uri, final Duration delay) {
+        if (this.scheduler.isShutdown()) {
+            return;
+        }
+        LOGGER.trace("Scheduling refresh of CRL at [{}] in [{}]", uri, delay);
+        val future = this.scheduler.schedule(() -> refresh(uri), delay.toMillis(), TimeUnit.MILLISECONDS);
+        val previous = this.refreshes.put(uri, future);
+        if (previous != null && previous != future) {
+            previous.cancel(false);
+        }
+    }
+
+    private void cancelRefresh(final URI uri) {
+        val future = this.refreshes.remove(uri);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    private void refresh(final URI uri) {
+        if (!this.cache.asMap().containsKey(uri)) {
+            LOGGER.trace("CRL at [{}] is no longer cached and will not be refreshed", uri);
+            this.refreshes.remove(uri);
+            return;
+        }
+        try {
+            val crl = load(uri);
+            if (crl != null) {
+                this.cache.put(uri, crl);
+                return;
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to refresh CRL at [{}]; the cached copy is kept: [{}]", uri, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        this.refreshFailures.increment();
+        scheduleRefresh(uri, MINIMUM_REFRESH_INTERVAL);
+    }
+}
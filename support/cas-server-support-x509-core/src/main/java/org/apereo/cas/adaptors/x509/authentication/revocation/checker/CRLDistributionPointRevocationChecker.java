@@ -2,6 +2,7 @@ package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.X509CRLCache;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.crypto.CertUtils;
@@ -37,7 +38,8 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. When constructed with a {@link X509CRLCache}, CRLs are cached parsed and
+ * indexed, rather than encoded, so they are not parsed again on every revocation check.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
@@ -46,6 +48,7 @@ import java.util.stream.IntStream;
 public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker {
 
     private final Cache crlCache;
+    private final X509CRLCache parsedCrlCache;
     private final CRLFetcher fetcher;
     private final boolean throwOnFetchFailure;
 
@@ -103,10 +106,21 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
                                                  final CRLFetcher fetcher, final boolean throwOnFetchFailure) {
         super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
         this.crlCache = crlCache;
+        this.parsedCrlCache = null;
         this.fetcher = fetcher;
         this.throwOnFetchFailure = throwOnFetchFailure;
     }
 
+    public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                                 final RevocationPolicy<X509CRL> expiredCRLPolicy, final X509CRLCache crlCache,
+                                                 final boolean throwOnFetchFailure) {
+        super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
+        this.crlCache = null;
+        this.parsedCrlCache = crlCache;
+        this.fetcher = crlCache.getFetcher();
+        this.throwOnFetchFailure = throwOnFetchFailure;
+    }
+
     /**
      * Gets the distribution points.
      *
@@ -162,7 +176,6 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     }
 
     @Override
-    @SneakyThrows
     protected List<X509CRL> getCRLs(final X509Certificate cert) {
         val urls = getDistributionPoints(cert);
         LOGGER.debug("Distribution points for [{}]: [{}].", CertUtils.toString(cert), CollectionUtils.wrap(urls));
@@ -171,33 +184,9 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
         for (var index = 0; !stopFetching && index < urls.length; index++) {
             val url = urls[index];
-            val item = this.crlCache.get(url);
-
-            if (item != null) {
-                LOGGER.debug("Found CRL in cache for [{}]", CertUtils.toString(cert));
-                val encodedCrl = (byte[]) item.getObjectValue();
-                val crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
-
-                if (crlFetched != null) {
-                    listOfLocations.add(crlFetched);
-                } else {
-                    LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
-                }
-            } else {
-                LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", CertUtils.toString(cert));
-                try {
-                    val crl = this.fetcher.fetch(url);
-                    if (crl != null) {
-                        LOGGER.info("Success. Caching fetched CRL at [{}].", url);
-                        addCRL(url, crl);
-                        listOfLocations.add(crl);
-                    }
-                } catch (final Exception e) {
-                    LOGGER.error("Error fetching CRL at [{}]", url, e);
-                    if (this.throwOnFetchFailure) {
-                        throw new RuntimeException(e.getMessage(), e);
-                    }
-                }
+            val crl = this.parsedCrlCache != null ? getParsedCRL(url) : getEncodedCRL(cert, url);
+            if (crl != null) {
+                listOfLocations.add(crl);
             }
 
             if (!this.checkAll && !listOfLocations.isEmpty()) {
@@ -211,9 +200,62 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         return listOfLocations;
     }
 
+    @SneakyThrows
+    private X509CRL getEncodedCRL(final X509Certificate cert, final URI url) {
+        val item = this.crlCache.get(url);
+
+        if (item != null) {
+            LOGGER.debug("Found CRL in cache for [{}]", CertUtils.toString(cert));
+            val encodedCrl = (byte[]) item.getObjectValue();
+            val crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
+
+            if (crlFetched == null) {
+                LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
+            }
+            return crlFetched;
+        }
+        LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", CertUtils.toString(cert));
+        try {
+            val crl = this.fetcher.fetch(url);
+            if (crl != null) {
+                LOGGER.info("Success. Caching fetched CRL at [{}].", url);
+                addCRL(url, crl);
+            }
+            return crl;
+        } catch (final Exception e) {
+            LOGGER.error("Error fetching CRL at [{}]", url, e);
+            if (this.throwOnFetchFailure) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+
+    private X509CRL getParsedCRL(final URI url) {
+        try {
+            return this.parsedCrlCache.get(url);
+        } catch (final Exception e) {
+            LOGGER.error("Error fetching CRL at [{}]", url, e);
+            if (this.throwOnFetchFailure) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+
     @Override
     @SneakyThrows
     protected boolean addCRL(final Object id, final X509CRL crl) {
+        if (this.parsedCrlCache != null) {
+            val uri = (URI) id;
+            if (crl == null) {
+                LOGGER.debug("No CRL was passed. Removing [{}] from cache...", id);
+                this.parsedCrlCache.invalidate(uri);
+                return true;
+            }
+            this.parsedCrlCache.put(uri, crl);
+            return true;
+        }
         if (crl == null) {
             LOGGER.debug("No CRL was passed. Removing [{}] from cache...", id);
             return this.crlCache.remove(id);
@@ -11,6 +11,7 @@ import org.apereo.cas.adaptors.x509.authentication.principal.X509SerialNumberPri
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectAlternativeNameUPNPrincipalResolverTests;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectDNPrincipalResolverTests;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectPrincipalResolverTests;
+import org.apereo.cas.adaptors.x509.authentication.revocation.X509CRLCacheTests;
 
 import org.junit.platform.suite.api.SelectClasses;
 
@@ -32,7 +33,8 @@ import org.junit.platform.suite.api.SelectClasses;
     X509CertificateCredentialTests.class,
     ThresholdExpiredCRLRevocationPolicyTests.class,
     X509CredentialsAuthenticationHandlerTests.class,
-    CRLDistributionPointRevocationCheckerTests.class
+    CRLDistributionPointRevocationCheckerTests.class,
+    X509CRLCacheTests.class
 })
 public class AllTestsSuite {
 }
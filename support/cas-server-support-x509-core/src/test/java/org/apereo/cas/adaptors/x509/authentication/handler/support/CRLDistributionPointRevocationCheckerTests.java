@@ -1,6 +1,8 @@
 package org.apereo.cas.adaptors.x509.authentication.handler.support;
 
 import org.apereo.cas.adaptors.x509.authentication.ExpiredCRLException;
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.X509CRLCache;
 import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.AllowRevocationPolicy;
@@ -25,6 +27,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -165,6 +168,16 @@ public class CRLDistributionPointRevocationCheckerTests extends BaseCRLRevocatio
             new RevokedCertificateException(ZonedDateTime.now(ZoneOffset.UTC), new BigInteger("1"))
         ));
 
+        // Test case #7
+        // Revoked certificate on valid CRL data that is cached parsed
+        params.add(arguments(
+            new CRLDistributionPointRevocationChecker(false, null, defaultPolicy,
+                new X509CRLCache(new ResourceCRLFetcher(), new ArrayList<>(), 100, Duration.ofSeconds(20), Duration.ofSeconds(10)), false),
+            new String[]{"user-revoked-distcrl.crt"},
+            "userCA-valid.crl",
+            new RevokedCertificateException(ZonedDateTime.now(ZoneOffset.UTC), new BigInteger("1"))
+        ));
+
         return params.stream();
     }
 
@@ -0,0 +1,100 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation;
+
+import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.crypto.CertUtils;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link X509CRLCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class X509CRLCacheTests {
+    private static final URI DISTRIBUTION_POINT = URI.create("http://localhost:8085/ca.crl");
+
+    @SneakyThrows
+    private static X509CRL getCRL() {
+        return new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+    }
+
+    @Test
+    public void verifyRevokedSerialsAreIndexed() {
+        val crl = new IndexedX509CRL(getCRL());
+        assertEquals(crl.getCrl().getRevokedCertificates().size(), crl.getRevokedCount());
+        val revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt"));
+        val valid = CertUtils.readCertificate(new ClassPathResource("user-valid-distcrl.crt"));
+        assertTrue(crl.mayBeRevoked(revoked.getSerialNumber()));
+        assertNotNull(crl.getRevokedCertificate(revoked));
+        assertTrue(crl.isRevoked(revoked));
+        assertFalse(crl.mayBeRevoked(valid.getSerialNumber()));
+        assertNull(crl.getRevokedCertificate(valid));
+        assertFalse(crl.mayBeRevoked(BigInteger.ZERO));
+        assertEquals(crl.getCrl(), crl);
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyConcurrentFetchesAreShared() {
+        val release = new CountDownLatch(1);
+        val fetcher = mock(CRLFetcher.class);
+        when(fetcher.fetch(any(URI.class))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return getCRL();
+        });
+        val cache = new X509CRLCache(fetcher, new ArrayList<>(), 10, Duration.ofHours(1), Duration.ofHours(1));
+        val executor = Executors.newFixedThreadPool(4);
+        val results = new ArrayList<Future<X509CRL>>();
+        for (var i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> cache.get(DISTRIBUTION_POINT)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (val result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS) instanceof IndexedX509CRL);
+        }
+        assertSame(cache.get(DISTRIBUTION_POINT), results.get(0).get());
+        verify(fetcher, times(1)).fetch(any(URI.class));
+        executor.shutdownNow();
+        cache.destroy();
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifySignatureIsVerifiedOnFetch() {
+        val fetcher = mock(CRLFetcher.class);
+        when(fetcher.fetch(any(URI.class))).thenAnswer(invocation -> getCRL());
+        val trusted = new X509CRLCache(fetcher,
+            CollectionUtils.wrapList(CertUtils.readCertificate(new ClassPathResource("userCA.crt"))),
+            10, Duration.ofHours(1), Duration.ZERO);
+        assertNotNull(trusted.get(DISTRIBUTION_POINT));
+        trusted.destroy();
+
+        val untrusted = new X509CRLCache(fetcher,
+            CollectionUtils.wrapList(CertUtils.readCertificate(new ClassPathResource("rootCA.crt"))),
+            10, Duration.ofHours(1), Duration.ZERO);
+        assertThrows(CRLException.class, () -> untrusted.get(DISTRIBUTION_POINT));
+        untrusted.destroy();
+    }
+}
@@ -10,6 +10,7 @@ import org.apereo.cas.adaptors.x509.authentication.principal.X509SerialNumberPri
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectAlternativeNameUPNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectDNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectPrincipalResolver;
+import org.apereo.cas.adaptors.x509.authentication.revocation.X509CRLCache;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.NoOpRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.ResourceCRLRevocationChecker;
@@ -28,6 +29,7 @@ import org.apereo.cas.configuration.model.support.x509.X509Properties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.LdapUtils;
 import org.apereo.cas.util.RegexUtils;
+import org.apereo.cas.util.crypto.CertUtils;
 
 import lombok.val;
 import net.sf.ehcache.Cache;
@@ -43,6 +45,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ResourceLoader;
 
+import java.time.Duration;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -99,6 +102,14 @@ public class X509AuthenticationConfiguration {
     @ConditionalOnMissingBean(name = "crlDistributionPointRevocationChecker")
     public RevocationChecker crlDistributionPointRevocationChecker() {
         val x509 = casProperties.getAuthn().getX509();
+        if (x509.isCacheParsedCrls()) {
+            return new CRLDistributionPointRevocationChecker(
+                x509.isCheckAll(),
+                getRevocationPolicy(x509.getCrlUnavailablePolicy()),
+                getRevocationPolicy(x509.getCrlExpiredPolicy()),
+                crlDistributionPointCache(),
+                x509.isThrowOnFetchFailure());
+        }
         val cache = new Cache("CRL".concat(UUID.randomUUID().toString()),
             x509.getCacheMaxElementsInMemory(),
             x509.isCacheDiskOverflow(),
@@ -115,6 +126,21 @@ public class X509AuthenticationConfiguration {
             x509.isThrowOnFetchFailure());
     }
 
+    @Bean
+    @RefreshScope
+    @ConditionalOnMissingBean(name = "crlDistributionPointCache")
+    public X509CRLCache crlDistributionPointCache() {
+        val x509 = casProperties.getAuthn().getX509();
+        val issuers = x509.getCrlIssuerCertificates()
+            .stream()
+            .map(s -> CertUtils.readCertificate(this.resourceLoader.getResource(s)))
+            .collect(Collectors.toList());
+        return new X509CRLCache(crlFetcher(), issuers,
+            x509.getCacheMaxElementsInMemory(),
+            Duration.ofSeconds(x509.getCacheTimeToLiveSeconds()),
+            Duration.ofSeconds(x509.getCacheTimeToIdleSeconds()));
+    }
+
     @Bean
     @RefreshScope
     @ConditionalOnMissingBean(name = "noOpRevocationChecker")